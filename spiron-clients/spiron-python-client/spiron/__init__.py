@@ -3,12 +3,14 @@
 __version__ = "0.1.0"
 
 from .client import SpironClient
+from .commits import CommitEvent
 from .eddy import EddyState
 from .exceptions import SpironException, TimeoutException, ConnectionException
 
 __all__ = [
     "SpironClient",
     "EddyState", 
+    "CommitEvent",
     "SpironException",
     "TimeoutException",
     "ConnectionException",
@@ -3,9 +3,16 @@
 import asyncio
 import logging
 from concurrent.futures import ThreadPoolExecutor
-from typing import List, Optional
+from typing import AsyncIterator, List, Optional
 import grpc
 
+from .commits import (
+    SUBSCRIBE_COMMITS_METHOD,
+    CommitEvent,
+    CommitSubscription,
+    decode_commit_event,
+    encode_subscription,
+)
 from .eddy import EddyState
 from .exceptions import SpironException, TimeoutException, ConnectionException
 
@@ -176,6 +183,55 @@ class SpironClient:
         # For now, delegate to propose (in real implementation, use different RPC)
         self.propose(state)
     
+    async def subscribe_commits(
+        self,
+        topic: Optional[str] = None,
+        id_prefix: str = "",
+        peer: int = 0,
+    ) -> AsyncIterator[CommitEvent]:
+        """
+        Stream commits from one peer as they happen.
+        
+        Usage::
+        
+            async for event in client.subscribe_commits(topic="orders"):
+                print(event.sequence, event.state.id)
+        
+        The stream has no end; leaving the ``async for`` cancels it. Commits made
+        before subscribing are not replayed, and a gap in ``sequence`` means the
+        peer dropped events because this consumer fell behind.
+        
+        Args:
+            topic: Only this topic ("" is the default topic); None streams every topic
+            id_prefix: Only eddies whose id starts with this
+            peer: Index into ``peers`` of the node to subscribe to
+            
+        Raises:
+            ConnectionException: If the peer is unavailable
+            SpironException: For other errors
+        """
+        request = CommitSubscription(topic=topic, id_prefix=id_prefix)
+        async with grpc.aio.insecure_channel(
+            self.peers[peer],
+            options=[
+                ('grpc.max_receive_message_length', 100 * 1024 * 1024),
+                ('grpc.keepalive_time_ms', 30000),
+                ('grpc.keepalive_timeout_ms', 10000),
+            ],
+        ) as channel:
+            subscribe = channel.unary_stream(
+                SUBSCRIBE_COMMITS_METHOD,
+                request_serializer=encode_subscription,
+                response_deserializer=decode_commit_event,
+            )
+            try:
+                async for event in subscribe(request):
+                    yield event
+            except grpc.aio.AioRpcError as e:
+                if e.code() == grpc.StatusCode.UNAVAILABLE:
+                    raise ConnectionException(f"Peer {self.peers[peer]} unavailable") from e
+                raise SpironException(f"Commit subscription failed: {e.details()}") from e
+    
     def close(self) -> None:
         """Close the client and cleanup resources."""
         logger.info("Closing SpironClient")
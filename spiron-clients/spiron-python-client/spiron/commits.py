@@ -0,0 +1,146 @@
+"""Commit subscription messages (SubscribeCommits) and their protobuf wire codec.
+
+The client carries no generated stubs, so the two messages of the streaming RPC are
+encoded by hand. Field numbers follow ``CommitSubscription`` and ``CommitEvent`` in
+``eddy.proto``; unknown fields are skipped, so newer servers stay readable.
+"""
+
+import struct
+from dataclasses import dataclass
+from typing import Optional, Tuple
+
+from .eddy import EddyState
+
+
+SUBSCRIBE_COMMITS_METHOD = "/com.spiron.proto.EddyRpc/SubscribeCommits"
+
+_VARINT = 0
+_FIXED64 = 1
+_LENGTH_DELIMITED = 2
+_FIXED32 = 5
+
+
+@dataclass(frozen=True)
+class CommitSubscription:
+    """Which commits to stream."""
+
+    topic: Optional[str] = None
+    """Only this topic ("" is the default topic); None streams every topic."""
+
+    id_prefix: str = ""
+    """Only eddies whose id starts with this; empty matches any id."""
+
+
+@dataclass(frozen=True)
+class CommitEvent:
+    """One commit streamed by a node."""
+
+    sequence: int
+    """Position in the node's commit feed; a gap means events were dropped."""
+
+    topic: str
+    state: EddyState
+    parent_id: Optional[str] = None
+
+
+def encode_subscription(subscription: CommitSubscription) -> bytes:
+    """Serialize a subscription request."""
+    out = bytearray()
+    if subscription.topic is not None:
+        # Explicit presence: an empty topic still selects the default topic
+        _write_string(out, 1, subscription.topic)
+    if subscription.id_prefix:
+        _write_string(out, 2, subscription.id_prefix)
+    return bytes(out)
+
+
+def decode_commit_event(data: bytes) -> CommitEvent:
+    """Parse one streamed commit."""
+    sequence = 0
+    topic = ""
+    eddy_id = ""
+    vector = []
+    energy = 0.0
+    parent_id = ""
+    committed_at = 0
+
+    pos = 0
+    while pos < len(data):
+        key, pos = _read_varint(data, pos)
+        field, wire_type = key >> 3, key & 7
+        if field == 1 and wire_type == _VARINT:
+            sequence, pos = _read_varint(data, pos)
+        elif field == 2 and wire_type == _LENGTH_DELIMITED:
+            topic, pos = _read_string(data, pos)
+        elif field == 3 and wire_type == _LENGTH_DELIMITED:
+            eddy_id, pos = _read_string(data, pos)
+        elif field == 4 and wire_type == _LENGTH_DELIMITED:
+            length, pos = _read_varint(data, pos)
+            vector.extend(v for (v,) in struct.iter_unpack("<d", data[pos:pos + length]))
+            pos += length
+        elif field == 4 and wire_type == _FIXED64:
+            vector.append(struct.unpack_from("<d", data, pos)[0])
+            pos += 8
+        elif field == 5 and wire_type == _FIXED64:
+            energy = struct.unpack_from("<d", data, pos)[0]
+            pos += 8
+        elif field == 6 and wire_type == _LENGTH_DELIMITED:
+            parent_id, pos = _read_string(data, pos)
+        elif field == 7 and wire_type == _VARINT:
+            committed_at, pos = _read_varint(data, pos)
+            if committed_at >= 1 << 63:
+                committed_at -= 1 << 64
+        else:
+            pos = _skip(data, pos, wire_type)
+
+    state = EddyState(eddy_id, vector, energy, timestamp=committed_at)
+    return CommitEvent(sequence, topic, state, parent_id or None)
+
+
+def _write_varint(out: bytearray, value: int) -> None:
+    while value > 0x7F:
+        out.append((value & 0x7F) | 0x80)
+        value >>= 7
+    out.append(value)
+
+
+def _write_string(out: bytearray, field: int, value: str) -> None:
+    raw = value.encode("utf-8")
+    _write_varint(out, (field << 3) | _LENGTH_DELIMITED)
+    _write_varint(out, len(raw))
+    out.extend(raw)
+
+
+def _read_varint(data: bytes, pos: int) -> Tuple[int, int]:
+    result = 0
+    shift = 0
+    while True:
+        if pos >= len(data):
+            raise ValueError("Truncated varint")
+        b = data[pos]
+        pos += 1
+        result |= (b & 0x7F) << shift
+        if not b & 0x80:
+            return result, pos
+        shift += 7
+
+
+def _read_string(data: bytes, pos: int) -> Tuple[str, int]:
+    length, pos = _read_varint(data, pos)
+    end = pos + length
+    if end > len(data):
+        raise ValueError("Truncated string field")
+    return data[pos:end].decode("utf-8"), end
+
+
+def _skip(data: bytes, pos: int, wire_type: int) -> int:
+    if wire_type == _VARINT:
+        return _read_varint(data, pos)[1]
+    if wire_type == _FIXED64:
+        return pos + 8
+    if wire_type == _LENGTH_DELIMITED:
+        length, pos = _read_varint(data, pos)
+        return pos + length
+    if wire_type == _FIXED32:
+        return pos + 4
+    raise ValueError(f"Unsupported wire type {wire_type}")
@@ -0,0 +1,78 @@
+"""Tests for the commit subscription wire codec."""
+
+import struct
+
+from spiron.commits import CommitSubscription, decode_commit_event, encode_subscription
+
+
+def _key(field, wire_type):
+    return bytes([(field << 3) | wire_type])
+
+
+def _string(field, value):
+    raw = value.encode("utf-8")
+    return _key(field, 2) + bytes([len(raw)]) + raw
+
+
+def _double(field, value):
+    return _key(field, 1) + struct.pack("<d", value)
+
+
+class TestCommitSubscription:
+    """Test subscription encoding."""
+
+    def test_every_topic_is_empty_message(self):
+        """Test that no filter encodes to nothing."""
+        assert encode_subscription(CommitSubscription()) == b""
+
+    def test_default_topic_is_encoded_explicitly(self):
+        """Test that the empty topic keeps field presence."""
+        assert encode_subscription(CommitSubscription(topic="")) == b"\x0a\x00"
+
+    def test_topic_and_prefix(self):
+        """Test encoding both filters."""
+        data = encode_subscription(CommitSubscription(topic="t", id_prefix="order-"))
+        assert data == _string(1, "t") + _string(2, "order-")
+
+
+class TestCommitEvent:
+    """Test commit event decoding."""
+
+    def test_decode_full_event(self):
+        """Test decoding every field, with a packed vector."""
+        packed = struct.pack("<dd", 0.6, 0.8)
+        data = (
+            _key(1, 0) + b"\xac\x02"  # sequence 300
+            + _string(2, "orders")
+            + _string(3, "E1")
+            + _key(4, 2) + bytes([len(packed)]) + packed
+            + _double(5, 4.5)
+            + _string(6, "E0")
+            + _key(7, 0) + b"\xe8\x07"  # committed_at 1000
+        )
+
+        event = decode_commit_event(data)
+
+        assert event.sequence == 300
+        assert event.topic == "orders"
+        assert event.parent_id == "E0"
+        assert event.state.id == "E1"
+        assert event.state.vector == [0.6, 0.8]
+        assert event.state.energy == 4.5
+        assert event.state.timestamp == 1000
+
+    def test_unpacked_vector_and_unknown_fields(self):
+        """Test that unpacked doubles are read and unknown fields skipped."""
+        data = (
+            _string(3, "E1")
+            + _double(4, 1.0)
+            + _double(4, 2.0)
+            + _key(15, 0) + b"\x05"
+            + _string(14, "ignored")
+        )
+
+        event = decode_commit_event(data)
+
+        assert event.state.vector == [1.0, 2.0]
+        assert event.topic == ""
+        assert event.parent_id is None
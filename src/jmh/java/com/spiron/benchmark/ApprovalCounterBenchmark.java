@@ -0,0 +1,97 @@
+package com.spiron.benchmark;
+
+import com.spiron.crdt.ApprovalCounter;
+import com.spiron.crdt.CRDTMergeEngine;
+import com.spiron.proto.EddyProto;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Approval counter cost: merge and cumulative sum for the compact (interned,
+ * {@code long[]}) {@link ApprovalCounter} against the previous
+ * {@code HashMap<String, Long>} representation, which is kept inline here as the
+ * baseline.
+ *
+ * - merge*: element-wise max of two counters that each saw half the replicas bumped
+ * - cumulative*: finality-style sum read
+ * - protoMerge: CRDTMergeEngine.merge of two eddies differing only in approvals
+ *
+ * Run: ./gradlew jmh -Pjmh.includes=ApprovalCounterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ApprovalCounterBenchmark {
+
+  @Param({ "3", "16", "64" })
+  public int replicas;
+
+  private Map<String, Long> mapA;
+  private Map<String, Long> mapB;
+  private ApprovalCounter compactA;
+  private ApprovalCounter compactB;
+  private EddyProto.CRDTEddy eddyA;
+  private EddyProto.CRDTEddy eddyB;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    mapA = new HashMap<>();
+    mapB = new HashMap<>();
+    for (int i = 0; i < replicas; i++) {
+      String replica = "node-" + i;
+      mapA.put(replica, (long) (i % 2 == 0 ? i + 2 : i + 1));
+      mapB.put(replica, (long) (i % 2 == 0 ? i + 1 : i + 2));
+    }
+    compactA = new ApprovalCounter(mapA);
+    compactB = new ApprovalCounter(mapB);
+
+    EddyProto.CRDTVector vector = EddyProto.CRDTVector.newBuilder()
+      .addVector(1.0)
+      .setTimestamp(1L)
+      .setReplicaId("node-0")
+      .build();
+    eddyA = EddyProto.CRDTEddy.newBuilder()
+      .setId("eddy-1")
+      .setState(vector)
+      .setApprovals(EddyProto.ApprovalCounter.newBuilder().putAllPerReplica(mapA))
+      .setLastUpdated(1L)
+      .build();
+    eddyB = eddyA.toBuilder()
+      .setApprovals(EddyProto.ApprovalCounter.newBuilder().putAllPerReplica(mapB))
+      .build();
+  }
+
+  @Benchmark
+  public long mapMerge() {
+    // Previous ApprovalCounter.merge: copy the other side, then merge boxed values
+    Map<String, Long> merged = new HashMap<>(mapA);
+    Map<String, Long> other = new HashMap<>(mapB);
+    for (String replicaId : other.keySet()) {
+      merged.merge(replicaId, other.get(replicaId), Math::max);
+    }
+    return merged.size();
+  }
+
+  @Benchmark
+  public long compactMerge() {
+    ApprovalCounter merged = compactA.copy();
+    merged.merge(compactB);
+    return merged.getCumulative();
+  }
+
+  @Benchmark
+  public long mapCumulative() {
+    return mapA.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  @Benchmark
+  public long compactCumulative() {
+    return compactA.getCumulative();
+  }
+
+  @Benchmark
+  public EddyProto.CRDTEddy protoMerge() {
+    return CRDTMergeEngine.merge(eddyA, eddyB);
+  }
+}
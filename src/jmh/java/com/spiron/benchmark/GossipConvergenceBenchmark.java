@@ -0,0 +1,222 @@
+package com.spiron.benchmark;
+
+import com.spiron.crdt.AdaptiveGossipPolicy;
+import com.spiron.crdt.CRDTMergeEngine;
+import com.spiron.proto.EddyProto;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Gossip convergence simulation: N replicas each start with their own version of
+ * every eddy, then run push-pull Sync rounds on a simulated clock (each replica
+ * reschedules itself after its policy's interval) until all replicas hold identical
+ * CRDT state.
+ *
+ * For every (clusterSize, policy) pair the trial teardown prints:
+ * - rounds: mean gossip rounds per replica until convergence
+ * - simulated ms: mean simulated wall-clock time until convergence
+ * - syncs: mean Sync RPCs issued cluster-wide until convergence
+ *
+ * "fixed" is the legacy behaviour (one random peer every 500ms); "adaptive" is
+ * {@link AdaptiveGossipPolicy#forInterval(long)} around the same 500ms base.
+ *
+ * Run: ./gradlew jmh -Pjmh.includes=GossipConvergenceBenchmark
+ * or run {@link #main} for the table alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GossipConvergenceBenchmark {
+
+  static final long BASE_INTERVAL_MS = 500;
+  static final int EDDIES = 8;
+  static final int DIMENSIONS = 16;
+
+  @Param({ "3", "7", "15", "31" })
+  public int clusterSize;
+
+  @Param({ "fixed", "adaptive" })
+  public String policy;
+
+  private long seed;
+  private long runs;
+  private long totalRounds;
+  private long totalSimulatedMs;
+  private long totalSyncs;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    seed = 42;
+    runs = 0;
+    totalRounds = 0;
+    totalSimulatedMs = 0;
+    totalSyncs = 0;
+  }
+
+  @Benchmark
+  public long simulateConvergence() {
+    Result r = simulate(clusterSize, policy, seed++);
+    runs++;
+    totalRounds += r.roundsPerReplica;
+    totalSimulatedMs += r.simulatedMs;
+    totalSyncs += r.syncs;
+    return r.simulatedMs;
+  }
+
+  @TearDown(Level.Trial)
+  public void report() {
+    if (runs == 0) return;
+    System.out.printf(
+      "%n[gossip] nodes=%d policy=%s rounds=%.1f simulated=%.0fms syncs=%.1f (runs=%d)%n",
+      clusterSize,
+      policy,
+      (double) totalRounds / runs,
+      (double) totalSimulatedMs / runs,
+      (double) totalSyncs / runs,
+      runs
+    );
+  }
+
+  /** Outcome of one simulated run. */
+  record Result(long roundsPerReplica, long simulatedMs, long syncs) {}
+
+  /**
+   * Run one simulation until every replica holds the same state.
+   */
+  static Result simulate(int nodes, String policyName, long seed) {
+    Random random = new Random(seed);
+    List<Map<String, EddyProto.CRDTEddy>> state = new ArrayList<>();
+    List<AdaptiveGossipPolicy> policies = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < nodes; i++) {
+      names.add("node-" + i);
+    }
+
+    for (int i = 0; i < nodes; i++) {
+      Map<String, EddyProto.CRDTEddy> local = new HashMap<>();
+      for (int e = 0; e < EDDIES; e++) {
+        local.put("eddy-" + e, buildEddy("eddy-" + e, names.get(i), i + 1, random));
+      }
+      state.add(local);
+      policies.add(
+        "fixed".equals(policyName)
+          ? AdaptiveGossipPolicy.fixed(BASE_INTERVAL_MS, random)
+          : new AdaptiveGossipPolicy(
+            BASE_INTERVAL_MS,
+            BASE_INTERVAL_MS / 4,
+            BASE_INTERVAL_MS * 4,
+            1,
+            3,
+            true,
+            random
+          )
+      );
+    }
+
+    // Event queue of (time, node); each replica starts at a random phase of the base interval
+    PriorityQueue<long[]> events = new PriorityQueue<>(Comparator.comparingLong(ev -> ev[0]));
+    for (int i = 0; i < nodes; i++) {
+      events.add(new long[] { random.nextLong(BASE_INTERVAL_MS), i });
+    }
+
+    long rounds = 0;
+    long syncs = 0;
+    long now = 0;
+    while (!converged(state)) {
+      long[] ev = events.poll();
+      now = ev[0];
+      int node = (int) ev[1];
+      AdaptiveGossipPolicy p = policies.get(node);
+
+      List<String> peers = new ArrayList<>(names);
+      peers.remove(node);
+      int changes = 0;
+      for (String peer : p.selectPeers(peers)) {
+        int target = names.indexOf(peer);
+        changes += mergeInto(state.get(target), state.get(node));
+        changes += mergeInto(state.get(node), state.get(target));
+        p.recordSync(peer, now);
+        syncs++;
+      }
+      p.onRoundComplete(changes > 0);
+      rounds++;
+      events.add(new long[] { now + p.nextIntervalMs(), node });
+    }
+    return new Result(rounds / nodes, now, syncs);
+  }
+
+  /** Merge every eddy of {@code from} into {@code into}; returns how many changed. */
+  private static int mergeInto(
+    Map<String, EddyProto.CRDTEddy> into,
+    Map<String, EddyProto.CRDTEddy> from
+  ) {
+    int changed = 0;
+    for (Map.Entry<String, EddyProto.CRDTEddy> entry : from.entrySet()) {
+      EddyProto.CRDTEddy local = into.get(entry.getKey());
+      EddyProto.CRDTEddy merged = CRDTMergeEngine.merge(local, entry.getValue());
+      if (local == null || !CRDTMergeEngine.sameVersion(merged, local)) {
+        into.put(entry.getKey(), merged);
+        changed++;
+      }
+    }
+    return changed;
+  }
+
+  private static boolean converged(List<Map<String, EddyProto.CRDTEddy>> state) {
+    Map<String, EddyProto.CRDTEddy> first = state.get(0);
+    for (int i = 1; i < state.size(); i++) {
+      if (!first.equals(state.get(i))) return false;
+    }
+    return true;
+  }
+
+  private static EddyProto.CRDTEddy buildEddy(
+    String id,
+    String replicaId,
+    long timestamp,
+    Random random
+  ) {
+    EddyProto.CRDTVector.Builder vb = EddyProto.CRDTVector.newBuilder()
+      .setTimestamp(timestamp)
+      .setReplicaId(replicaId);
+    for (int d = 0; d < DIMENSIONS; d++) {
+      vb.addVector(random.nextDouble());
+    }
+    return EddyProto.CRDTEddy.newBuilder()
+      .setId(id)
+      .setState(vb.build())
+      .setApprovals(
+        EddyProto.ApprovalCounter.newBuilder().putPerReplica(replicaId, 1L).build()
+      )
+      .setLastUpdated(timestamp)
+      .build();
+  }
+
+  /** Print a rounds-to-convergence table without the JMH harness. */
+  public static void main(String[] args) {
+    int runs = 50;
+    System.out.printf("%-6s %-9s %8s %12s %8s%n", "nodes", "policy", "rounds", "simulated", "syncs");
+    for (int nodes : new int[] { 3, 7, 15, 31 }) {
+      for (String policyName : new String[] { "fixed", "adaptive" }) {
+        long rounds = 0;
+        long ms = 0;
+        long syncs = 0;
+        for (int run = 0; run < runs; run++) {
+          Result r = simulate(nodes, policyName, run);
+          rounds += r.roundsPerReplica;
+          ms += r.simulatedMs;
+          syncs += r.syncs;
+        }
+        System.out.printf(
+          "%-6d %-9s %8.1f %10.0fms %8.1f%n",
+          nodes,
+          policyName,
+          (double) rounds / runs,
+          (double) ms / runs,
+          (double) syncs / runs
+        );
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.spiron.benchmark;
+
+import com.spiron.crdt.CRDTMergeEngine;
+import com.spiron.proto.EddyProto;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * CRDTMergeEngine.merge cost on 4096-dimension eddies for the three cases gossip
+ * sees: a converged replica (equal state, distinct instances as after deserialization),
+ * a stale replica (one side dominates) and a concurrent update (full rebuild).
+ * {@code deepEquals} is the payload comparison merge used to start with.
+ *
+ * Run with the GC profiler to see allocation per merge:
+ * ./gradlew jmh -Pjmh.includes=MergeFastPathBenchmark -Pjmh.profilers=gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MergeFastPathBenchmark {
+
+  static final int DIMENSIONS = 4096;
+
+  private EddyProto.CRDTEddy local;
+  private EddyProto.CRDTEddy localCopy;
+  private EddyProto.CRDTEddy stale;
+  private EddyProto.CRDTEddy concurrent;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(42);
+    EddyProto.CRDTVector.Builder vb = EddyProto.CRDTVector.newBuilder()
+      .setTimestamp(200L)
+      .setReplicaId("node-1");
+    for (int d = 0; d < DIMENSIONS; d++) {
+      vb.addVector(random.nextDouble());
+    }
+    local = EddyProto.CRDTEddy.newBuilder()
+      .setId("eddy-1")
+      .setState(vb.build())
+      .setApprovals(
+        EddyProto.ApprovalCounter.newBuilder()
+          .putPerReplica("node-1", 3L)
+          .putPerReplica("node-2", 2L)
+      )
+      .setLastUpdated(200L)
+      .build();
+    // Separate instance, no shared memoized hash
+    localCopy = local.toBuilder().setState(vb.build()).build();
+    stale = local.toBuilder()
+      .setState(vb.setTimestamp(100L).build())
+      .setApprovals(EddyProto.ApprovalCounter.newBuilder().putPerReplica("node-1", 1L))
+      .setLastUpdated(100L)
+      .build();
+    concurrent = stale.toBuilder()
+      .setApprovals(EddyProto.ApprovalCounter.newBuilder().putPerReplica("node-3", 4L))
+      .build();
+  }
+
+  @Benchmark
+  public boolean deepEquals() {
+    return local.equals(localCopy);
+  }
+
+  @Benchmark
+  public EddyProto.CRDTEddy mergeConverged() {
+    return CRDTMergeEngine.merge(local, localCopy);
+  }
+
+  @Benchmark
+  public EddyProto.CRDTEddy mergeDominated() {
+    return CRDTMergeEngine.merge(local, stale);
+  }
+
+  @Benchmark
+  public EddyProto.CRDTEddy mergeConcurrent() {
+    return CRDTMergeEngine.merge(local, concurrent);
+  }
+}
@@ -0,0 +1,88 @@
+package com.spiron.benchmark;
+
+import com.spiron.core.EddyEngine;
+import com.spiron.core.EddyState;
+import com.spiron.metrics.EnergyMetrics;
+import com.spiron.metrics.StorageMetrics;
+import com.spiron.metrics.ThroughputMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Cost of engine metrics on the ingest path: the same ingest stream into an engine
+ * with no metrics attached and into one with energy, throughput and storage metrics
+ * on a Prometheus registry, as the server runs it.
+ *
+ * Ingests cycle over a fixed set of ids, so nearly every ingest merges (the path
+ * with the most metric calls: energy summary, ingest and merge counters, merge
+ * timer). Metrics overhead is (withMetrics - withoutMetrics) / withoutMetrics; the
+ * target is under 1%.
+ *
+ * Run: ./gradlew jmh -Pjmh.includes=MetricsOverheadBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MetricsOverheadBenchmark {
+
+  static final int EDDIES = 1024;
+
+  @Param({ "128", "1024" })
+  public int dimensions;
+
+  private EddyState[] stream;
+  private int next;
+  private EddyEngine bare;
+  private EddyEngine metered;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(42);
+    stream = new EddyState[EDDIES * 4];
+    for (int i = 0; i < stream.length; i++) {
+      double[] v = new double[dimensions];
+      for (int d = 0; d < dimensions; d++) {
+        v[d] = random.nextGaussian();
+      }
+      stream[i] = new EddyState("eddy-" + (i % EDDIES), v, random.nextDouble(), null);
+    }
+
+    bare = new EddyEngine(0.98, 0.2, 0.6, Double.MAX_VALUE);
+    metered = new EddyEngine(0.98, 0.2, 0.6, Double.MAX_VALUE);
+    var registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    metered.attachMetrics(new EnergyMetrics(registry));
+    metered.attachThroughputMetrics(new ThroughputMetrics(registry));
+    metered.attachStorageMetrics(new StorageMetrics(registry));
+
+    // Seed both tables so the measured ingests merge
+    for (int i = 0; i < EDDIES; i++) {
+      bare.ingest(stream[i]);
+      metered.ingest(stream[i]);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    bare.close();
+    metered.close();
+  }
+
+  private EddyState nextEddy() {
+    EddyState s = stream[next];
+    next = (next + 1) % stream.length;
+    return s;
+  }
+
+  @Benchmark
+  public void withoutMetrics() {
+    bare.ingest(nextEddy());
+  }
+
+  @Benchmark
+  public void withMetrics() {
+    metered.ingest(nextEddy());
+  }
+}
@@ -0,0 +1,113 @@
+package com.spiron.benchmark;
+
+import com.spiron.validation.RateLimiter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * RateLimiter.allowRequest under contention from 64 threads: the lock-free packed
+ * bucket against the previous synchronized bucket (kept inline here as the
+ * baseline, including its per-call System.currentTimeMillis()).
+ *
+ * - *SharedPeer: every thread hits one peer's bucket (worst-case contention)
+ * - *PerThreadPeer: each thread has its own peer (map lookup plus uncontended bucket)
+ * - rate: a low limit mostly rejects (read-only fast path), a high one mostly admits
+ *
+ * Run: ./gradlew jmh -Pjmh.includes=RateLimiterContentionBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+public class RateLimiterContentionBenchmark {
+
+  @Param({ "100", "1000000" })
+  public int rate;
+
+  private RateLimiter lockFree;
+  private SynchronizedLimiter synchronizedLimiter;
+
+  @State(Scope.Thread)
+  public static class ThreadPeer {
+
+    private static final AtomicInteger NEXT = new AtomicInteger();
+    public final String peer = "peer-" + NEXT.getAndIncrement();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    lockFree = new RateLimiter(rate);
+    synchronizedLimiter = new SynchronizedLimiter(rate);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    lockFree.shutdown();
+  }
+
+  @Benchmark
+  public boolean lockFreeSharedPeer() {
+    return lockFree.allowRequest("shared");
+  }
+
+  @Benchmark
+  public boolean synchronizedSharedPeer() {
+    return synchronizedLimiter.allowRequest("shared");
+  }
+
+  @Benchmark
+  public boolean lockFreePerThreadPeer(ThreadPeer p) {
+    return lockFree.allowRequest(p.peer);
+  }
+
+  @Benchmark
+  public boolean synchronizedPerThreadPeer(ThreadPeer p) {
+    return synchronizedLimiter.allowRequest(p.peer);
+  }
+
+  /** The previous RateLimiter request path, minus persistence. */
+  static final class SynchronizedLimiter {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int rate;
+
+    SynchronizedLimiter(int rate) {
+      this.rate = rate;
+    }
+
+    boolean allowRequest(String peer) {
+      return buckets.computeIfAbsent(peer, k -> new Bucket(rate, rate * 2)).tryConsume();
+    }
+  }
+
+  static final class Bucket {
+
+    private final double refillRate;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillTime;
+
+    Bucket(int tokensPerSecond, int capacity) {
+      this.refillRate = tokensPerSecond / 1000.0;
+      this.capacity = capacity;
+      this.tokens = capacity;
+      this.lastRefillTime = System.currentTimeMillis();
+    }
+
+    synchronized boolean tryConsume() {
+      long now = System.currentTimeMillis();
+      long elapsedMs = now - lastRefillTime;
+      if (elapsedMs > 0) {
+        tokens = Math.min(capacity, tokens + elapsedMs * refillRate);
+        lastRefillTime = now;
+      }
+      if (tokens >= 1.0) {
+        tokens -= 1.0;
+        return true;
+      }
+      return false;
+    }
+  }
+}
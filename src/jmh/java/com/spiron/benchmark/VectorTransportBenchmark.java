@@ -0,0 +1,103 @@
+package com.spiron.benchmark;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.spiron.network.PooledEddyStateMsgMarshaller;
+import com.spiron.network.ProtoVectors;
+import com.spiron.network.VectorSlabPool;
+import java.io.ByteArrayInputStream;
+import com.spiron.proto.EddyProto;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Converting a 4096-dimension vector to and from {@code EddyStateMsg}, the way the
+ * RPC paths used to (boxed {@code List<Double>} through streams) and through the
+ * primitive indexed accessors ({@link ProtoVectors}). Both produce the same bytes.
+ * {@code receivePooled} decodes through {@link PooledEddyStateMsgMarshaller}, the
+ * server's Broadcast path, into a reused direct slab.
+ *
+ * Run with the GC profiler to see allocation per message (gc.alloc.rate.norm):
+ * ./gradlew jmh -Pjmh.includes=VectorTransportBenchmark -Pjmh.profilers=gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class VectorTransportBenchmark {
+
+  static final int DIMENSIONS = 4096;
+
+  private double[] vector;
+  private EddyProto.EddyStateMsg message;
+  private byte[] wire;
+  private PooledEddyStateMsgMarshaller pooledMarshaller;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(42);
+    vector = new double[DIMENSIONS];
+    for (int d = 0; d < DIMENSIONS; d++) {
+      vector[d] = random.nextDouble();
+    }
+    message = encodePrimitive();
+    wire = message.toByteArray();
+    pooledMarshaller = new PooledEddyStateMsgMarshaller(
+      new VectorSlabPool(DIMENSIONS * Double.BYTES, 4)
+    );
+  }
+
+  @Benchmark
+  public EddyProto.EddyStateMsg encodeBoxed() {
+    return EddyProto.EddyStateMsg.newBuilder()
+      .setId("eddy-1")
+      .addAllVector(Arrays.stream(vector).boxed().collect(Collectors.toList()))
+      .setEnergy(1.0)
+      .build();
+  }
+
+  @Benchmark
+  public EddyProto.EddyStateMsg encodePrimitive() {
+    var builder = EddyProto.EddyStateMsg.newBuilder().setId("eddy-1").setEnergy(1.0);
+    ProtoVectors.addAll(vector, builder::addVector);
+    return builder.build();
+  }
+
+  @Benchmark
+  public double[] decodeBoxed() {
+    return message.getVectorList().stream().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  @Benchmark
+  public double[] decodePrimitive() {
+    return ProtoVectors.toArray(message.getVectorCount(), message::getVector);
+  }
+
+  /** Parse from the wire and decode: the whole receive path for one broadcast. */
+  @Benchmark
+  public double[] receiveBoxed() throws InvalidProtocolBufferException {
+    var msg = EddyProto.EddyStateMsg.parseFrom(wire);
+    return msg.getVectorList().stream().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  @Benchmark
+  public double[] receivePrimitive() throws InvalidProtocolBufferException {
+    var msg = EddyProto.EddyStateMsg.parseFrom(wire);
+    return ProtoVectors.toArray(msg.getVectorCount(), msg::getVector);
+  }
+
+  @Benchmark
+  public double receivePooled() {
+    var msg = pooledMarshaller.parse(new ByteArrayInputStream(wire));
+    try {
+      double sum = 0.0;
+      for (int i = 0; i < msg.getVectorCount(); i++) {
+        sum += msg.getVector(i);
+      }
+      return sum;
+    } finally {
+      msg.release();
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package com.spiron.benchmark;
+
+import com.spiron.config.BroadcastValidationConfig;
+import com.spiron.core.EddyEngine;
+import com.spiron.core.EddyState;
+import com.spiron.crdt.FinallityDetector;
+import com.spiron.network.RpcClient;
+import com.spiron.network.RpcServer;
+import com.spiron.security.ClusterKeys;
+import com.spiron.serialization.CRDTJsonCodec;
+import com.spiron.storage.RocksDbCRDTStore;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Broadcast fan-out through {@link RpcClient} to {@code peers} in-process
+ * {@link RpcServer}s on loopback, with both sides in platform-thread or
+ * virtual-thread mode ({@code spiron.rpc.virtual-threads}). Each operation
+ * broadcasts one eddy and waits until every server has ingested it.
+ *
+ * The servers run the real Broadcast handler (validation, rate limiting,
+ * duplicate check, RocksDB persist); only the engine is replaced, by one that
+ * parks for {@code serverMicros} to stand in for blocking work on the call thread
+ * (an etcd round trip, a slow disk) and keeps nothing in memory.
+ *
+ * 32 callers share one client, as concurrent broadcasts do. With the default 4
+ * platform workers the peer calls queue behind each other and the servers grow
+ * gRPC's cached pool; in virtual mode every call gets its own virtual thread.
+ * Sample mode reports p50/p99/p999 per fan-out.
+ *
+ * The trial teardown prints the platform threads the client and servers added:
+ * the peak live count minus a baseline taken in setup, after JMH's worker threads
+ * have started and before any server or client exists.
+ *
+ * Run: ./gradlew jmh -Pjmh.includes=VirtualThreadModeBenchmark
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(32)
+public class VirtualThreadModeBenchmark {
+
+  static final int DIMENSIONS = 16;
+  static final long AWAIT_SECONDS = 10;
+
+  @Param({ "platform", "virtual" })
+  public String mode;
+
+  @Param({ "4" })
+  public int peers;
+
+  @Param({ "500" })
+  public long serverMicros;
+
+  /** Platform mode client pool size, as spiron.rpc.workerThreads. */
+  @Param({ "4" })
+  public int workerThreads;
+
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final Map<String, CountDownLatch> pending = new ConcurrentHashMap<>();
+  private final AtomicLong ids = new AtomicLong();
+  private final List<RpcServer> servers = new ArrayList<>();
+  private final List<RocksDbCRDTStore> stores = new ArrayList<>();
+  private final List<Path> dataDirs = new ArrayList<>();
+  private RpcClient client;
+  private double[] vector;
+  private int baselineThreads;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    // JMH's workers are already running here; count only what Spiron starts
+    threads.resetPeakThreadCount();
+    baselineThreads = threads.getThreadCount();
+
+    boolean virtual = "virtual".equals(mode);
+    vector = new double[DIMENSIONS];
+    Arrays.fill(vector, 0.5);
+    var validation = new BroadcastValidationConfig(
+      DIMENSIONS,
+      0.0,
+      1_000.0,
+      "^[a-zA-Z0-9_-]{1,128}$",
+      60_000,
+      Integer.MAX_VALUE, // rate-limited broadcasts are never ingested
+      ""
+    );
+    var codec = new CRDTJsonCodec();
+    List<String> addresses = new ArrayList<>();
+    for (int i = 0; i < peers; i++) {
+      Path dir = Files.createTempDirectory("spiron-vt-bench");
+      var store = new RocksDbCRDTStore(dir);
+      dataDirs.add(dir);
+      stores.add(store);
+      var server = new RpcServer(
+        0,
+        new ParkingEngine(),
+        store,
+        codec,
+        null,
+        null,
+        null,
+        validation,
+        3,
+        null,
+        new FinallityDetector(),
+        null,
+        null,
+        null,
+        virtual,
+        ClusterKeys.none()
+      );
+      server.start();
+      servers.add(server);
+      addresses.add("127.0.0.1:" + server.getPort());
+    }
+    client = new RpcClient(addresses, null, workerThreads, null, null, virtual);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    int peak = threads.getPeakThreadCount();
+    System.out.printf(
+      "%n[threads] mode=%s baseline=%d peak=%d added platform threads=%d%n",
+      mode,
+      baselineThreads,
+      peak,
+      peak - baselineThreads
+    );
+    client.shutdown();
+    servers.forEach(RpcServer::stop);
+    stores.forEach(RocksDbCRDTStore::close);
+    for (Path dir : dataDirs) {
+      try (Stream<Path> files = Files.walk(dir)) {
+        for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.deleteIfExists(p);
+        }
+      }
+    }
+    servers.clear();
+    stores.clear();
+    dataDirs.clear();
+  }
+
+  @Benchmark
+  public void fanOut() throws InterruptedException {
+    String id = "bench-" + ids.incrementAndGet();
+    var ingested = new CountDownLatch(peers);
+    pending.put(id, ingested);
+    try {
+      client.broadcast(new EddyState(id, vector, 1.0, null));
+      if (!ingested.await(AWAIT_SECONDS, TimeUnit.SECONDS)) {
+        throw new IllegalStateException(
+          "Broadcast " + id + " reached " + (peers - ingested.getCount()) + " of " + peers + " peers"
+        );
+      }
+    } finally {
+      pending.remove(id);
+    }
+  }
+
+  /** Parks for {@code serverMicros} on the call thread, then signals the caller. */
+  private final class ParkingEngine extends EddyEngine {
+
+    ParkingEngine() {
+      super(0.98, 0.2, 0.6, 2.5);
+    }
+
+    @Override
+    public void ingest(EddyState incoming) {
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(serverMicros));
+      CountDownLatch ingested = pending.get(incoming.id());
+      if (ingested != null) {
+        ingested.countDown();
+      }
+    }
+  }
+}
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.Flow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +58,21 @@ public class SpironClient implements Closeable {
     rpcClient.commit(state);
   }
 
+  /**
+   * Stream commits as they happen, filtered by topic ({@code null} = every topic,
+   * "" = default topic) and id prefix ({@code null} or "" = any id). Each subscriber
+   * opens its own stream; cancel the subscription to close it.
+   */
+  public Flow.Publisher<EddyState> subscribeCommits(String topic, String idPrefix) {
+    ensureOpen();
+    return rpcClient.subscribeCommits(topic, idPrefix);
+  }
+
+  /** Stream every commit, on every topic. */
+  public Flow.Publisher<EddyState> subscribeCommits() {
+    return subscribeCommits(null, null);
+  }
+
   private void ensureOpen() {
     if (closed) throw new IllegalStateException("SpironClient is closed");
   }
@@ -121,7 +137,7 @@ public class SpironClient implements Closeable {
 
       RpcClient rpc = signer == null
         ? new RpcClient(finalPeers)
-        : new RpcClient(finalPeers, signer, finalWorkerThreads, null, null);
+        : new RpcClient(finalPeers, signer, finalWorkerThreads, null, null, cfg.virtualThreads());
       return new SpironClient(rpc, properties);
     }
   }
@@ -1,5 +1,8 @@
 package com.spiron.api;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+
 /**
  * Pluggable state machine API similar to Apache Ratis.
  * Implement to apply and query commands through consensus.
@@ -7,6 +10,21 @@ package com.spiron.api;
 public interface StateMachine {
   /** Apply a deterministic mutation command. */
   void apply(byte[] command);
+
+  /**
+   * Apply commands in order. Each buffer holds one command between its position and
+   * limit; buffers are only read, and may be reused by the caller once this returns.
+   * Override to decode without copying and to apply the batch in one step; the
+   * default copies each command and calls {@link #apply(byte[])}.
+   */
+  default void applyBatch(List<ByteBuffer> commands) {
+    for (ByteBuffer command : commands) {
+      byte[] bytes = new byte[command.remaining()];
+      command.duplicate().get(bytes);
+      apply(bytes);
+    }
+  }
+
   /** Query current state (read-only). */
   byte[] query(byte[] key);
 }
@@ -1,5 +1,7 @@
 package com.spiron.config;
 
+import com.spiron.validation.DuplicateDetector;
+
 /**
  * Configuration for broadcast message validation.
  * Loaded from application.properties.
@@ -11,8 +13,35 @@ public record BroadcastValidationConfig(
   String idPattern,
   long duplicateExpiryMs,
   int rateLimitPerSecond,
-  String peerAllowlistRegex
+  String peerAllowlistRegex,
+  boolean rateLimitDistributed, // rateLimitPerSecond is a cluster-wide limit
+  int duplicateCapacity, // ids tracked per expiry window (fixed memory)
+  double duplicateFalsePositiveRate
 ) {
+
+  /** Per-node rate limiting, default duplicate detector sizing. */
+  public BroadcastValidationConfig(
+    int vectorDimensions,
+    double minEnergy,
+    double maxEnergy,
+    String idPattern,
+    long duplicateExpiryMs,
+    int rateLimitPerSecond,
+    String peerAllowlistRegex
+  ) {
+    this(
+      vectorDimensions,
+      minEnergy,
+      maxEnergy,
+      idPattern,
+      duplicateExpiryMs,
+      rateLimitPerSecond,
+      peerAllowlistRegex,
+      false,
+      DuplicateDetector.DEFAULT_CAPACITY,
+      DuplicateDetector.DEFAULT_FALSE_POSITIVE_RATE
+    );
+  }
   
   /**
    * Creates config from SpironConfig properties.
@@ -25,7 +54,10 @@ public record BroadcastValidationConfig(
       config.broadcastIdPattern(),
       config.broadcastDuplicateExpiryMs(),
       config.broadcastRateLimitPerSecond(),
-      config.broadcastPeerAllowlistRegex()
+      config.broadcastPeerAllowlistRegex(),
+      config.broadcastRateLimitDistributed(),
+      config.broadcastDuplicateCapacity(),
+      config.broadcastDuplicateFalsePositiveRate()
     );
   }
 }
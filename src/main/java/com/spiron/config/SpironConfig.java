@@ -2,11 +2,14 @@ package com.spiron.config;
 
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Properties;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.spiron.core.EddyEngine;
+import com.spiron.core.EvictionPolicy;
 import com.spiron.discovery.Discovery;
 
 /** Loads spiron configuration from application.properties + environment overrides. */
@@ -42,10 +45,34 @@ public record SpironConfig(
   double broadcastMaxEnergy,
   String broadcastIdPattern,
   long broadcastDuplicateExpiryMs,
+  int broadcastDuplicateCapacity, // ids tracked per expiry window
+  double broadcastDuplicateFalsePositiveRate,
   int broadcastRateLimitPerSecond,
   String broadcastPeerAllowlistRegex,
+  boolean broadcastRateLimitDistributed, // share the rate limit cluster-wide (needs etcd)
   // Finality detection
-  long finalityThreshold
+  long finalityThreshold,
+  // Eager (push-on-write) gossip
+  int gossipPushFanout, // peers pushed to per flush, 0 disables
+  long gossipPushCoalesceMs,
+  // Periodic (pull) gossip
+  long gossipIntervalMs, // base round interval, 0 disables
+  long gossipSyncTimeoutMs, // per-call deadline for gossip Sync RPCs
+  // Engine state
+  String engineVectorStorage, // "heap" or "offheap"
+  double engineEvictionEnergyFloor, // 0 disables
+  long engineEvictionIdleTtlMs, // 0 disables
+  int engineEvictionMaxEntries, // 0 = unbounded
+  String engineEvictionOrder, // "energy" or "lru"
+  boolean engineEvictionSpill, // keep evicted eddies in the CRDT store
+  long engineDecayHalfLifeMs, // 0 disables time decay
+  int topicsCommitThreads, // shared pool for per-topic commit checks
+  long topicsCommitIntervalMs,
+  long topicsIdleUnloadMs, // 0 keeps topic engines loaded
+  int commitsFeedCapacity, // commits buffered for subscribers, 0 disables SubscribeCommits
+  boolean virtualThreads, // RPC, lineage and gossip blocking work on virtual threads
+  List<String> clusterPubkeys, // hex BLS keys allowed to sign commit certificates
+  int topicsMaxLoaded // topic engines loaded at once
 ) {
   public static SpironConfig load() {
     try (
@@ -245,13 +272,103 @@ public record SpironConfig(
       "^[a-zA-Z0-9_-]{1,128}$");
     long broadcastDuplicateExpiryMs = parseLongProp("spiron.broadcast.duplicate.expiry-ms",
       props.getProperty("spiron.broadcast.duplicate.expiry-ms", "60000"));
+    int broadcastDuplicateCapacity = parseIntProp("spiron.broadcast.duplicate.capacity",
+      props.getProperty("spiron.broadcast.duplicate.capacity", "100000"));
+    double broadcastDuplicateFalsePositiveRate = parseDoubleProp(
+      "spiron.broadcast.duplicate.false-positive-rate",
+      props.getProperty("spiron.broadcast.duplicate.false-positive-rate", "0.000001"));
     int broadcastRateLimitPerSecond = parseIntProp("spiron.broadcast.rate-limit.requests-per-second",
       props.getProperty("spiron.broadcast.rate-limit.requests-per-second", "100"));
     String broadcastPeerAllowlistRegex = props.getProperty("spiron.broadcast.peer.allowlist-regex", "");
+    boolean broadcastRateLimitDistributed = Boolean.parseBoolean(
+      props.getProperty("spiron.broadcast.rate-limit.distributed", "false"));
     
     long finalityThreshold = parseLongProp("spiron.approval.finality.threshold",
       props.getProperty("spiron.approval.finality.threshold", "3"));
 
+    // Eager gossip configuration
+    int gossipPushFanout = parseIntProp("spiron.gossip.push.fanout",
+      props.getProperty("spiron.gossip.push.fanout", "2"));
+    long gossipPushCoalesceMs = parseLongProp("spiron.gossip.push.coalesce-ms",
+      props.getProperty("spiron.gossip.push.coalesce-ms", "20"));
+    long gossipIntervalMs = parseLongProp("spiron.gossip.interval.ms",
+      props.getProperty("spiron.gossip.interval.ms", "500"));
+    long gossipSyncTimeoutMs = parseLongProp("spiron.gossip.sync-timeout-ms",
+      props.getProperty("spiron.gossip.sync-timeout-ms", "2000"));
+
+    String engineVectorStorage = props.getProperty("spiron.engine.vector-storage", "heap");
+    try {
+      EddyEngine.VectorStorage.fromConfig(engineVectorStorage);
+    } catch (IllegalArgumentException e) {
+      throw new RuntimeException(
+        "Invalid 'spiron.engine.vector-storage' value: " + engineVectorStorage +
+        ". Must be 'heap' or 'offheap'."
+      );
+    }
+
+    double engineEvictionEnergyFloor = parseDoubleProp("spiron.engine.eviction.energy-floor",
+      props.getProperty("spiron.engine.eviction.energy-floor", "0"));
+    long engineEvictionIdleTtlMs = parseLongProp("spiron.engine.eviction.idle-ttl-ms",
+      props.getProperty("spiron.engine.eviction.idle-ttl-ms", "0"));
+    int engineEvictionMaxEntries = parseIntProp("spiron.engine.eviction.max-entries",
+      props.getProperty("spiron.engine.eviction.max-entries", "0"));
+    String engineEvictionOrder = props.getProperty("spiron.engine.eviction.order", "energy");
+    boolean engineEvictionSpill = Boolean.parseBoolean(
+      props.getProperty("spiron.engine.eviction.spill", "false"));
+    long engineDecayHalfLifeMs = parseLongProp("spiron.engine.decay.half-life-ms",
+      props.getProperty("spiron.engine.decay.half-life-ms", "0"));
+    if (engineDecayHalfLifeMs < 0) {
+      throw new RuntimeException("Invalid 'spiron.engine.decay.half-life-ms' value: must be >= 0.");
+    }
+    int topicsCommitThreads = parseIntProp("spiron.topics.commit-threads",
+      props.getProperty("spiron.topics.commit-threads",
+        String.valueOf(Runtime.getRuntime().availableProcessors())));
+    long topicsCommitIntervalMs = parseLongProp("spiron.topics.commit-interval-ms",
+      props.getProperty("spiron.topics.commit-interval-ms", "300"));
+    long topicsIdleUnloadMs = parseLongProp("spiron.topics.idle-unload-ms",
+      props.getProperty("spiron.topics.idle-unload-ms", "600000"));
+    int topicsMaxLoaded = parseIntProp("spiron.topics.max-loaded",
+      props.getProperty("spiron.topics.max-loaded", "1024"));
+    if (topicsCommitThreads < 1 || topicsCommitIntervalMs < 1 || topicsIdleUnloadMs < 0 ||
+        topicsMaxLoaded < 1) {
+      throw new RuntimeException(
+        "Invalid 'spiron.topics.*' value: commit-threads, commit-interval-ms and max-loaded " +
+        "must be >= 1, idle-unload-ms >= 0."
+      );
+    }
+    int commitsFeedCapacity = parseIntProp("spiron.commits.feed-capacity",
+      props.getProperty("spiron.commits.feed-capacity", "4096"));
+    if (commitsFeedCapacity < 0 || commitsFeedCapacity > (1 << 30)) {
+      throw new RuntimeException("Invalid 'spiron.commits.feed-capacity' value: must be in [0, 2^30].");
+    }
+    boolean virtualThreads = Boolean.parseBoolean(
+      props.getProperty("spiron.threads.virtual", "false"));
+    List<String> clusterPubkeys = Arrays.stream(
+        props.getProperty("spiron.cluster.pubkeys", "").split(","))
+      .map(String::trim)
+      .filter(s -> !s.isEmpty())
+      .collect(Collectors.toList());
+    for (String key : clusterPubkeys) {
+      try {
+        HexFormat.of().parseHex(key);
+      } catch (IllegalArgumentException e) {
+        throw new RuntimeException(
+          "Invalid 'spiron.cluster.pubkeys' entry: " + key + ". Must be a hex-encoded BLS public key."
+        );
+      }
+    }
+    if (engineEvictionEnergyFloor < 0 || engineEvictionIdleTtlMs < 0 || engineEvictionMaxEntries < 0) {
+      throw new RuntimeException("Invalid 'spiron.engine.eviction.*' value: thresholds must be >= 0.");
+    }
+    try {
+      EvictionPolicy.Order.fromConfig(engineEvictionOrder);
+    } catch (IllegalArgumentException e) {
+      throw new RuntimeException(
+        "Invalid 'spiron.engine.eviction.order' value: " + engineEvictionOrder +
+        ". Must be 'energy' or 'lru'."
+      );
+    }
+
     // Apply profile overrides if not explicitly set
     var configWithProfile = applyProfile(profile, alpha, siphon, angular, commit, 
       maxIterations, convergenceThreshold, props);
@@ -286,9 +403,30 @@ public record SpironConfig(
       broadcastMaxEnergy,
       broadcastIdPattern,
       broadcastDuplicateExpiryMs,
+      broadcastDuplicateCapacity,
+      broadcastDuplicateFalsePositiveRate,
       broadcastRateLimitPerSecond,
       broadcastPeerAllowlistRegex,
-      finalityThreshold
+      broadcastRateLimitDistributed,
+      finalityThreshold,
+      gossipPushFanout,
+      gossipPushCoalesceMs,
+      gossipIntervalMs,
+      gossipSyncTimeoutMs,
+      engineVectorStorage,
+      engineEvictionEnergyFloor,
+      engineEvictionIdleTtlMs,
+      engineEvictionMaxEntries,
+      engineEvictionOrder,
+      engineEvictionSpill,
+      engineDecayHalfLifeMs,
+      topicsCommitThreads,
+      topicsCommitIntervalMs,
+      topicsIdleUnloadMs,
+      commitsFeedCapacity,
+      virtualThreads,
+      clusterPubkeys,
+      topicsMaxLoaded
     );
   }
 
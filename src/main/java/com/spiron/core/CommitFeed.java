@@ -0,0 +1,134 @@
+package com.spiron.core;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Fan-out ring buffer of recent commits. Engines publish into it; any number of
+ * subscribers read from it, each through its own cursor and at its own pace.
+ *
+ * Semantics:
+ * - Publishing never waits on subscribers: it fills one slot and wakes the cursors.
+ * - A cursor only sees commits published after it subscribed.
+ * - A cursor that falls more than {@code capacity} commits behind skips to the
+ *   oldest commit still in the ring. Skipped commits are counted in
+ *   {@link Cursor#getDropped()} and show up as a gap in sequence numbers.
+ */
+public class CommitFeed {
+
+  /** One published commit. {@code sequence} increases by one per publish. */
+  public record Commit(long sequence, String topic, EddyState state, long committedAtMs) {}
+
+  private final AtomicReferenceArray<Commit> ring;
+  private final int mask;
+  private final LongSupplier clock;
+  private final CopyOnWriteArrayList<Cursor> cursors = new CopyOnWriteArrayList<>();
+  private volatile long head; // sequence of the next publish
+
+  /** @param capacity commits kept for slow subscribers, rounded up to a power of two */
+  public CommitFeed(int capacity) {
+    this(capacity, System::currentTimeMillis);
+  }
+
+  CommitFeed(int capacity, LongSupplier clock) {
+    if (capacity <= 0 || capacity > (1 << 30)) {
+      throw new IllegalArgumentException("capacity must be in (0, 2^30]");
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) size <<= 1;
+    this.ring = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.clock = clock;
+  }
+
+  /** Filter for a topic ({@code null} = every topic) and an id prefix (empty = any id). */
+  public static Predicate<Commit> filter(String topic, String idPrefix) {
+    String prefix = idPrefix == null ? "" : idPrefix;
+    return c ->
+      (topic == null || topic.equals(c.topic())) &&
+      (prefix.isEmpty() || c.state().id().startsWith(prefix));
+  }
+
+  /** Append a commit and wake every subscriber. */
+  public void publish(String topic, EddyState state) {
+    synchronized (this) {
+      long seq = head;
+      ring.set((int) (seq & mask), new Commit(seq, topic == null ? "" : topic, state, clock.getAsLong()));
+      head = seq + 1;
+    }
+    for (Cursor c : cursors) {
+      c.onAvailable.run();
+    }
+  }
+
+  /**
+   * Start reading at the next publish.
+   *
+   * @param onAvailable called after each publish, on the publishing thread; it
+   *     should only schedule a drain, not poll inline
+   */
+  public Cursor subscribe(Predicate<Commit> filter, Runnable onAvailable) {
+    Cursor c = new Cursor(filter, onAvailable, head);
+    cursors.add(c);
+    return c;
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /** Commits published so far. */
+  public long getPublishedTotal() {
+    return head;
+  }
+
+  public int getSubscriberCount() {
+    return cursors.size();
+  }
+
+  /** A subscriber's read position. Polling is single-reader: one thread at a time. */
+  public final class Cursor implements AutoCloseable {
+
+    private final Predicate<Commit> filter;
+    private final Runnable onAvailable;
+    private long next;
+    private volatile long dropped;
+
+    private Cursor(Predicate<Commit> filter, Runnable onAvailable, long start) {
+      this.filter = filter;
+      this.onAvailable = onAvailable;
+      this.next = start;
+    }
+
+    /** Next matching commit, or {@code null} if there is none yet. */
+    public Commit poll() {
+      while (true) {
+        long h = head;
+        if (next >= h) return null;
+        int capacity = mask + 1;
+        if (h - next > capacity) {
+          dropped += h - capacity - next;
+          next = h - capacity;
+        }
+        Commit c = ring.get((int) (next & mask));
+        if (c.sequence() != next) {
+          continue; // overwritten since head was read; the lag check skips ahead
+        }
+        next++;
+        if (filter.test(c)) return c;
+      }
+    }
+
+    /** Commits skipped because this cursor fell too far behind. */
+    public long getDropped() {
+      return dropped;
+    }
+
+    @Override
+    public void close() {
+      cursors.remove(this);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.spiron.core;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link EddyTable} decorator that applies exponential time decay,
+ * {@code energy * e^(-lambda * dt)}, lazily: the wrapped table stores each eddy's
+ * energy as of its last update, and the decay is applied whenever an energy is read
+ * (including the stored side of a merge). Nothing runs on a timer.
+ *
+ * Because every eddy decays at the same rate, {@code ln(energy) + lambda * updatedAt}
+ * orders eddies by their current energy at any later time. That key is fixed until
+ * the eddy is next written, so a sorted set of keys gives the max-energy eddy in
+ * O(log n) without re-sorting as time passes.
+ *
+ * Semantics:
+ * - An energy written at time t reads as {@code energy * 2^(-(now - t) / halfLife)}.
+ * - Ties on the key go to the lower id; non-positive energies rank lowest.
+ * - A clock step backwards does not grow energies (elapsed time is clamped at 0).
+ */
+final class DecayingEddyTable implements EddyTable {
+
+  /** Decay-invariant rank of one eddy. */
+  private record Ranked(String id, double key, long updatedAt) {}
+
+  private static final Comparator<Ranked> ORDER = Comparator
+    .comparingDouble(Ranked::key)
+    .thenComparing(Ranked::id, Comparator.reverseOrder());
+
+  private final EddyTable inner;
+  private final double lambda; // per ms
+  private final LongSupplier clock;
+  private final long epochMs; // keeps keys small for precision
+  private final Map<String, Ranked> ranks = new HashMap<>();
+  private final TreeSet<Ranked> byEnergy = new TreeSet<>(ORDER);
+
+  /**
+   * Wraps {@code inner}; eddies already in it are treated as updated now.
+   *
+   * @param halfLifeMs time for an untouched eddy's energy to halve, must be > 0
+   */
+  DecayingEddyTable(EddyTable inner, long halfLifeMs, LongSupplier clock) {
+    if (halfLifeMs <= 0) {
+      throw new IllegalArgumentException("halfLifeMs must be > 0");
+    }
+    this.inner = inner;
+    this.lambda = Math.log(2) / halfLifeMs;
+    this.clock = clock;
+    this.epochMs = clock.getAsLong();
+    inner.forEachEnergy((id, energy) -> rank(id, energy, epochMs));
+  }
+
+  @Override
+  public void merge(EddyState incoming, MergeFunction merge) {
+    long now = clock.getAsLong();
+    double[] written = { incoming.energy() };
+    inner.merge(incoming, (current, in, similarity) -> {
+      EddyState merged = merge.merge(decayed(current, now), in, similarity);
+      written[0] = merged.energy();
+      return merged;
+    });
+    rank(incoming.id(), written[0], now);
+  }
+
+  @Override
+  public void put(EddyState state) {
+    inner.put(state);
+    rank(state.id(), state.energy(), clock.getAsLong());
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return inner.contains(id);
+  }
+
+  @Override
+  public Optional<EddyState> get(String id) {
+    long now = clock.getAsLong();
+    return inner.get(id).map(s -> decayed(s, now));
+  }
+
+  @Override
+  public void forEachEnergy(EnergyVisitor visitor) {
+    long now = clock.getAsLong();
+    inner.forEachEnergy((id, energy) -> visitor.visit(id, energy * factor(id, now)));
+  }
+
+  @Override
+  public boolean remove(String id) {
+    Ranked r = ranks.remove(id);
+    if (r != null) byEnergy.remove(r);
+    return inner.remove(id);
+  }
+
+  @Override
+  public Optional<EddyState> maxEnergy() {
+    if (byEnergy.isEmpty()) return Optional.empty();
+    return get(byEnergy.last().id());
+  }
+
+  @Override
+  public List<EddyState> snapshot() {
+    long now = clock.getAsLong();
+    return inner.snapshot().stream().map(s -> decayed(s, now)).toList();
+  }
+
+  @Override
+  public int size() {
+    return inner.size();
+  }
+
+  @Override
+  public void close() {
+    inner.close();
+  }
+
+  private void rank(String id, double energy, long now) {
+    Ranked old = ranks.remove(id);
+    if (old != null) byEnergy.remove(old);
+    double logEnergy = energy > 0 ? Math.log(energy) : Double.NEGATIVE_INFINITY;
+    Ranked r = new Ranked(id, logEnergy + lambda * (now - epochMs), now);
+    ranks.put(id, r);
+    byEnergy.add(r);
+  }
+
+  private double factor(String id, long now) {
+    Ranked r = ranks.get(id);
+    if (r == null) return 1.0;
+    return Math.exp(-lambda * Math.max(0, now - r.updatedAt()));
+  }
+
+  private EddyState decayed(EddyState s, long now) {
+    double f = factor(s.id(), now);
+    if (f == 1.0) return s;
+    return new EddyState(s.id(), s.vector(), s.energy() * f, s.parentId());
+  }
+}
@@ -0,0 +1,125 @@
+package com.spiron.core;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of an eddy as a {@link com.spiron.api.StateMachine} command.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   u8   magic (0xF5)
+ *   u16  id length in bytes
+ *   ...  id, UTF-8
+ *   i32  vector dimensions
+ *   f64  vector[dimensions]
+ *   f64  energy
+ * </pre>
+ *
+ * Decoding reads straight from the buffer: the id bytes are decoded in place when the
+ * buffer is heap-backed, and the doubles are bulk-copied into the eddy's vector, so
+ * the only allocations are the id string and the vector itself. The magic byte never
+ * starts a text command, which is how {@link EddyStateMachine} tells the formats apart:
+ * 0xF5 appears nowhere in valid UTF-8, unlike lead bytes such as 0xED (which starts
+ * Hangul ids like "혁").
+ */
+public final class EddyCommandCodec {
+
+  public static final byte MAGIC = (byte) 0xF5;
+  public static final int MAX_ID_BYTES = 0xFFFF;
+
+  private EddyCommandCodec() {
+    // Utility class
+  }
+
+  /** True if {@code command} (from its position) is in this binary format. */
+  public static boolean isBinary(ByteBuffer command) {
+    return command.remaining() > 0 && command.get(command.position()) == MAGIC;
+  }
+
+  /** Bytes needed to encode {@code state}. */
+  public static int encodedSize(EddyState state) {
+    return encodedSize(state.id().getBytes(StandardCharsets.UTF_8).length, state.vector().length);
+  }
+
+  private static int encodedSize(int idBytes, int dimensions) {
+    return 1 + 2 + idBytes + 4 + dimensions * Double.BYTES + Double.BYTES;
+  }
+
+  public static byte[] encode(EddyState state) {
+    byte[] id = idBytes(state);
+    byte[] out = new byte[encodedSize(id.length, state.vector().length)];
+    write(id, state, ByteBuffer.wrap(out));
+    return out;
+  }
+
+  /**
+   * Write {@code state} at {@code dst}'s position and advance it.
+   *
+   * @throws IllegalArgumentException if the id is longer than {@link #MAX_ID_BYTES}
+   * @throws java.nio.BufferOverflowException if {@code dst} is too small
+   */
+  public static void encode(EddyState state, ByteBuffer dst) {
+    write(idBytes(state), state, dst);
+  }
+
+  private static byte[] idBytes(EddyState state) {
+    byte[] id = state.id().getBytes(StandardCharsets.UTF_8);
+    if (id.length > MAX_ID_BYTES) {
+      throw new IllegalArgumentException("Eddy id longer than " + MAX_ID_BYTES + " bytes");
+    }
+    return id;
+  }
+
+  private static void write(byte[] id, EddyState state, ByteBuffer dst) {
+    ByteBuffer out = dst.duplicate().order(ByteOrder.BIG_ENDIAN);
+    out.put(MAGIC).putShort((short) id.length).put(id).putInt(state.vector().length);
+    out.asDoubleBuffer().put(state.vector());
+    out.position(out.position() + state.vector().length * Double.BYTES);
+    out.putDouble(state.energy());
+    dst.position(out.position());
+  }
+
+  /**
+   * Read one command from {@code src}'s position and advance past it. Commands carry
+   * no lineage, so the parent id is null.
+   *
+   * @throws IllegalArgumentException if the command is malformed or truncated
+   */
+  public static EddyState decode(ByteBuffer src) {
+    ByteBuffer in = src.duplicate().order(ByteOrder.BIG_ENDIAN);
+    try {
+      if (in.get() != MAGIC) {
+        throw new IllegalArgumentException("Not a binary eddy command");
+      }
+      int idLength = Short.toUnsignedInt(in.getShort());
+      String id = readUtf8(in, idLength);
+      int dimensions = in.getInt();
+      if (dimensions < 0 || (long) dimensions * Double.BYTES > in.remaining() - Double.BYTES) {
+        throw new IllegalArgumentException("Bad vector dimensions " + dimensions);
+      }
+      double[] vector = new double[dimensions];
+      in.asDoubleBuffer().get(vector);
+      in.position(in.position() + dimensions * Double.BYTES);
+      double energy = in.getDouble();
+      src.position(in.position());
+      return new EddyState(id, vector, energy, null);
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated eddy command", e);
+    }
+  }
+
+  private static String readUtf8(ByteBuffer in, int length) {
+    if (length > in.remaining()) throw new BufferUnderflowException();
+    String s;
+    if (in.hasArray()) {
+      s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+    } else {
+      s = StandardCharsets.UTF_8.decode(in.slice(in.position(), length)).toString();
+    }
+    in.position(in.position() + length);
+    return s;
+  }
+}
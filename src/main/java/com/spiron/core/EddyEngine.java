@@ -5,14 +5,43 @@ import com.spiron.metrics.StorageMetrics;
 import com.spiron.metrics.ThroughputMetrics;
 import com.spiron.network.RpcClient;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Implements Eddy dominance mechanics: energy merging, damping, and commit detection.
+ *
+ * Vectors are kept either on the heap (one array per eddy, the default) or in an
+ * off-heap {@link VectorArena} ({@link VectorStorage#OFF_HEAP}), which keeps large
+ * vector populations out of the garbage collector's way. Both modes behave the same.
+ *
+ * With {@link #attachDecay(long)} eddy energy also decays exponentially with time
+ * since the eddy was last updated, so a stale high-energy eddy stops blocking
+ * dominance. The decay is applied when energies are read, not on a timer.
  */
 public class EddyEngine {
 
+  /** Where eddy vectors are stored. */
+  public enum VectorStorage {
+    HEAP,
+    OFF_HEAP;
+
+    /** Parse a config value: "heap" or "offheap" (case-insensitive). */
+    public static VectorStorage fromConfig(String value) {
+      return switch (value.trim().toLowerCase()) {
+        case "heap" -> HEAP;
+        case "offheap", "off-heap", "off_heap" -> OFF_HEAP;
+        default -> throw new IllegalArgumentException(
+          "Unknown vector storage '" + value + "', expected heap or offheap"
+        );
+      };
+    }
+  }
+
   private static final Logger log = LoggerFactory.getLogger(EddyEngine.class);
 
   private final double alpha;
@@ -22,29 +51,90 @@ public class EddyEngine {
   private SpironRaftLog raftLog;
   private SpironSnapshotStore snapshotStore;
   private RpcClient rpcClient;
+  private String topic = TopicEngines.DEFAULT_TOPIC; // stamped on outgoing messages
   private LineageTracker lineageTracker;
   private com.spiron.metrics.EnergyMetrics energyMetrics;
   private com.spiron.metrics.ThroughputMetrics throughputMetrics;
   private com.spiron.metrics.StorageMetrics storageMetrics;
 
-  private final Map<String, EddyState> eddies = new HashMap<>();
+  private EddyTable eddies;
+  private boolean merged; // the current ingest merged into a stored eddy; guarded by this
+  private volatile EddyEvictor evictor; // null unless an eviction policy is attached
+  private CommitFeed commitFeed; // null unless commits are streamed to subscribers
+  private EddyState lastPublished;
+
+  // Commit stage after the engine lock: persist, propagate, lineage, then subscribers
+  private Executor commitStage; // null runs the stage on the committing thread
+  private final Object commitOrder = new Object();
+  private final Object storageLock = new Object(); // raft log and snapshot writes
+  private EddyState lineageOf; // guarded by commitOrder
+  private CompletableFuture<Void> lineageDurable = CompletableFuture.completedFuture(null); // guarded by commitOrder
+  private CompletableFuture<Void> published = CompletableFuture.completedFuture(null); // guarded by commitOrder
+  private LongSupplier clock = System::currentTimeMillis;
 
   public EddyEngine(
     double alpha,
     double siphonFactor,
     double angularThreshold,
     double commitEnergy
+  ) {
+    this(alpha, siphonFactor, angularThreshold, commitEnergy, VectorStorage.HEAP, 0);
+  }
+
+  /**
+   * @param vectorDimensions vector size, required for {@link VectorStorage#OFF_HEAP}
+   *        (every ingested vector must have exactly this many elements)
+   */
+  public EddyEngine(
+    double alpha,
+    double siphonFactor,
+    double angularThreshold,
+    double commitEnergy,
+    VectorStorage vectorStorage,
+    int vectorDimensions
   ) {
     this.alpha = alpha;
     this.siphonFactor = siphonFactor;
     this.angularThreshold = angularThreshold;
     this.commitEnergy = commitEnergy;
+    this.eddies = vectorStorage == VectorStorage.OFF_HEAP
+      ? new OffHeapEddyTable(vectorDimensions)
+      : new HeapEddyTable();
   }
 
-  public synchronized void ingest(EddyState incoming) {
-    eddies.merge(incoming.id(), incoming, this::merge);
+  public void ingest(EddyState incoming) {
+    // A spilled copy is read before the lock, so the store read never blocks ingest
+    EddyEvictor ev = evictor;
+    EddySpillStore.Prefetch spilled = ev != null ? ev.prefetch(incoming.id()) : null;
+    synchronized (this) {
+      ingestLocked(incoming, ev == evictor ? spilled : null);
+    }
+  }
+
+  private void ingestLocked(EddyState incoming, EddySpillStore.Prefetch spilled) {
+    merged = false;
+    // Time the merge alone, not the eviction work around it
+    long start;
+    long end;
+    if (evictor == null) {
+      start = energyMetrics != null ? System.nanoTime() : 0L;
+      eddies.merge(incoming, this::merge);
+      end = energyMetrics != null ? System.nanoTime() : 0L;
+    } else {
+      evictor.expireIdle();
+      evictor.rehydrate(incoming.id(), spilled);
+      start = energyMetrics != null ? System.nanoTime() : 0L;
+      eddies.merge(incoming, (a, b, sim) -> {
+        EddyState merged = merge(a, b, sim);
+        evictor.merged(merged);
+        return merged;
+      });
+      end = energyMetrics != null ? System.nanoTime() : 0L;
+      evictor.touched(incoming.id());
+    }
     // Record energy level for all ingested eddies
     if (energyMetrics != null) {
+      if (merged) energyMetrics.recordMerge(end - start);
       energyMetrics.recordEnergy(incoming.energy());
       energyMetrics.incCrdtIngest();
     }
@@ -60,8 +150,38 @@ public class EddyEngine {
     }
   }
 
-  private EddyState merge(EddyState a, EddyState b) {
-    double sim = EddyMath.angularSimilarity(a.vector(), b.vector());
+  /**
+   * Ingest {@code batch} in order, taking the engine lock once. An eddy that fails to
+   * ingest is logged and skipped; the rest of the batch is still ingested.
+   *
+   * @return how many eddies were ingested
+   */
+  public int ingestAll(List<EddyState> batch) {
+    EddyEvictor ev = evictor;
+    List<EddySpillStore.Prefetch> spilled = null;
+    if (ev != null) {
+      spilled = new ArrayList<>(batch.size());
+      for (EddyState s : batch) {
+        spilled.add(ev.prefetch(s.id()));
+      }
+    }
+    int ingested = 0;
+    synchronized (this) {
+      boolean usePrefetch = spilled != null && ev == evictor;
+      for (int i = 0; i < batch.size(); i++) {
+        try {
+          ingestLocked(batch.get(i), usePrefetch ? spilled.get(i) : null);
+          ingested++;
+        } catch (RuntimeException e) {
+          log.error("Failed to ingest eddy {} from batch", batch.get(i).id(), e);
+        }
+      }
+    }
+    return ingested;
+  }
+
+  private EddyState merge(EddyState a, EddyState b, double sim) {
+    merged = true;
     if (sim > angularThreshold) {
       double newEnergy = EddyMath.siphon(
         a.energy(),
@@ -76,12 +196,10 @@ public class EddyEngine {
         sim,
         newEnergy
       );
-      // Record merge event and energy level
+      // Record merge event and energy level (ingest times the merge itself)
       if (energyMetrics != null) {
-        energyMetrics.recordMerge(() -> {
-          energyMetrics.incMerge();
-          energyMetrics.recordEnergy(newEnergy);
-        });
+        energyMetrics.incMerge();
+        energyMetrics.recordEnergy(newEnergy);
       }
       // Set parentId to the id of the eddy being merged from (b)
       return new EddyState(a.id(), a.vector(), newEnergy, b.id());
@@ -99,53 +217,190 @@ public class EddyEngine {
   }
 
   public synchronized Optional<EddyState> dominant() {
-    return eddies
-      .values()
-      .stream()
-      .max(Comparator.comparingDouble(EddyState::energy))
-      .filter(e -> e.energy() >= commitEnergy);
-  }
-
-  public synchronized Optional<EddyState> checkAndCommit() {
-    var dom = dominant();
-    dom.ifPresent(d -> {
-      // Record lineage before commit
-      if (lineageTracker != null) {
-        lineageTracker.recordLineage(d.id(), d.parentId());
-        log.info("Recorded lineage for dominant eddy: {}", d.id());
+    if (evictor != null) evictor.expireIdle();
+    return eddies.maxEnergy().filter(e -> e.energy() >= commitEnergy);
+  }
+
+  /**
+   * Commit the dominant eddy, if any. Only the decision is made under the engine
+   * lock; persisting, network fan-out, lineage and subscriber notification run in
+   * the commit stage afterwards (see {@link #attachCommitStage}), so ingest is never
+   * held up by disk or peers.
+   */
+  public Optional<EddyState> checkAndCommit() {
+    long start = System.nanoTime();
+    Optional<EddyState> dom;
+    boolean publish;
+    synchronized (this) {
+      dom = dominant();
+      dom.ifPresent(this::putCommitted);
+      publish = dom.isPresent() && commitFeed != null && !isRepublish(dom.get());
+      if (publish) lastPublished = dom.get();
+    }
+    if (dom.isEmpty()) return dom;
+    EddyState d = dom.get();
+    long decidedAt = System.nanoTime();
+    recordStage(EnergyMetrics.CommitStage.DECIDE, decidedAt - start);
+
+    Executor stage = commitStage;
+    if (stage == null) {
+      runCommitStage(d, publish, decidedAt);
+    } else {
+      try {
+        stage.execute(() -> runCommitStage(d, publish, decidedAt));
+      } catch (RejectedExecutionException e) {
+        log.warn("Commit stage stopped; committing {} on the caller", d.id());
+        runCommitStage(d, publish, decidedAt);
       }
-      
-      // Record commit latency and CRDT commit counter
-      if (energyMetrics != null) {
-        energyMetrics.recordCommit(() -> {
-          energyMetrics.incCrdtCommit();
-          if (rpcClient != null) rpcClient.commit(d);
-          persistState(d);
-        });
-      } else {
-        if (rpcClient != null) rpcClient.commit(d);
-        persistState(d);
+    }
+    return dom;
+  }
+
+  /** Persist, propagate and publish one commit, without the engine lock. */
+  private void runCommitStage(EddyState d, boolean publish, long decidedAt) {
+    long start = System.nanoTime();
+    recordStage(EnergyMetrics.CommitStage.QUEUE, start - decidedAt);
+    synchronized (commitOrder) {
+      try {
+        if (energyMetrics != null) {
+          energyMetrics.recordCommit(() -> {
+            energyMetrics.incCrdtCommit();
+            persistAndSend(d, start);
+          });
+        } else {
+          persistAndSend(d, start);
+        }
+        // Record emitted bytes
+        if (throughputMetrics != null) {
+          throughputMetrics.incEddiesEmitted();
+          long bytes = d.vector().length * 8L;
+          throughputMetrics.recordBytesEmitted(bytes);
+        }
+      } catch (Exception e) {
+        log.error("Commit of {} failed; not publishing it", d.id(), e);
+        return;
       }
-      // Record emitted bytes
-      if (throughputMetrics != null) {
-        throughputMetrics.incEddiesEmitted();
-        long bytes = d.vector().length * 8L;
-        throughputMetrics.recordBytesEmitted(bytes);
+      long sent = System.nanoTime();
+      recordLineageAndPublish(d, publish);
+      recordStage(EnergyMetrics.CommitStage.PUBLISH, System.nanoTime() - sent);
+    }
+  }
+
+  private void persistAndSend(EddyState d, long start) {
+    writeDurable(d);
+    long persisted = System.nanoTime();
+    recordStage(EnergyMetrics.CommitStage.PERSIST, persisted - start);
+    sendCommit(d);
+    recordStage(EnergyMetrics.CommitStage.PROPAGATE, System.nanoTime() - persisted);
+  }
+
+  private void recordStage(EnergyMetrics.CommitStage stage, long nanos) {
+    if (energyMetrics != null) energyMetrics.recordCommitStage(stage, nanos);
+  }
+
+  /**
+   * Run the commit stage of {@link #checkAndCommit} on {@code stage} instead of the
+   * committing thread. A single-threaded executor keeps commits in order; an
+   * executor that rejects (e.g. shut down) makes the caller run the stage itself.
+   */
+  public void attachCommitStage(Executor stage) {
+    this.commitStage = stage;
+  }
+
+  /**
+   * Stores the commit's lineage and tells subscribers about it, outside the engine
+   * lock. Subscribers only hear of a commit once its lineage is durable, and in
+   * commit order.
+   */
+  private void recordLineageAndPublish(EddyState d, boolean publish) {
+    if (lineageTracker == null && !publish) return;
+    synchronized (commitOrder) {
+      // A failed write is retried on the next commit of the same eddy
+      if (
+        lineageTracker != null &&
+        (!sameLineage(lineageOf, d) || lineageDurable.isCompletedExceptionally())
+      ) {
+        // May block while the lineage queue is full; ingest is not held up
+        lineageDurable = lineageTracker.recordLineageAsync(d.id(), d.parentId());
+        lineageOf = d;
       }
-    });
-    return dom;
+      if (!publish) return;
+      CommitFeed feed = commitFeed;
+      String feedTopic = topic;
+      CompletableFuture<Void> durable = lineageDurable;
+      published = published.thenCompose(v ->
+        durable.handle((ok, e) -> {
+          if (e != null) {
+            log.error("Lineage for commit {} not stored; not publishing it", d.id(), e);
+          } else {
+            try {
+              feed.publish(feedTopic, d);
+            } catch (RuntimeException pe) {
+              log.error("Failed to publish commit {}", d.id(), pe);
+            }
+          }
+          return null;
+        })
+      );
+    }
+  }
+
+  /** Lineage depends only on (id, parentId); the commit loop re-commits the same eddy every tick. */
+  private static boolean sameLineage(EddyState last, EddyState d) {
+    return last != null && last.id().equals(d.id()) && Objects.equals(last.parentId(), d.parentId());
   }
 
   public synchronized List<EddyState> snapshot() {
-    return List.copyOf(eddies.values());
+    if (evictor != null) evictor.expireIdle();
+    return eddies.snapshot();
   }
 
   public void attachNetwork(RpcClient client) {
+    attachNetwork(client, TopicEngines.DEFAULT_TOPIC);
+  }
+
+  /** Attach the network for an engine that serves {@code topic} (see {@link TopicEngines}). */
+  public void attachNetwork(RpcClient client, String topic) {
     this.rpcClient = client;
+    this.topic = topic;
   }
 
   public void propagate(EddyState s) {
-    if (rpcClient != null) rpcClient.broadcast(s);
+    if (rpcClient == null) return;
+    if (topic.isEmpty()) {
+      rpcClient.broadcast(s);
+    } else {
+      rpcClient.broadcast(topic, s);
+    }
+  }
+
+  private void sendCommit(EddyState d) {
+    if (rpcClient == null) return;
+    if (topic.isEmpty()) {
+      rpcClient.commit(d);
+    } else {
+      rpcClient.commit(topic, d);
+    }
+  }
+
+  /** Publish this engine's commits to {@code feed}, tagged with the engine's topic. */
+  public void attachCommitFeed(CommitFeed feed) {
+    this.commitFeed = feed;
+  }
+
+  /**
+   * The commit loop re-checks the same dominant eddy every tick; only a changed
+   * eddy, or one that gained energy, is worth telling subscribers about.
+   */
+  private boolean isRepublish(EddyState d) {
+    EddyState last = lastPublished;
+    return (
+      last != null &&
+      last.id().equals(d.id()) &&
+      Objects.equals(last.parentId(), d.parentId()) &&
+      d.energy() <= last.energy() &&
+      Arrays.equals(last.vector(), d.vector())
+    );
   }
 
   public void attachStorage(SpironRaftLog log, SpironSnapshotStore store) {
@@ -170,7 +425,8 @@ public class EddyEngine {
     snapshotStore.load().ifPresent(recovered -> {
       log.info("Recovering from snapshot: eddy={}, energy={}", 
         recovered.id(), recovered.energy());
-      eddies.put(recovered.id(), recovered);
+      eddies.put(recovered);
+      if (evictor != null) evictor.touched(recovered.id());
       if (energyMetrics != null) {
         energyMetrics.recordEnergy(recovered.energy());
       }
@@ -201,6 +457,49 @@ public class EddyEngine {
     return replayed;
   }
 
+  /**
+   * Decay eddy energy over time: an eddy not updated for {@code halfLifeMs} has half
+   * the energy it was last written with. Merges, {@link #dominant()}, commits and
+   * snapshots all see the decayed energy. 0 disables decay.
+   *
+   * Must be attached before eviction.
+   */
+  public synchronized void attachDecay(long halfLifeMs) {
+    if (halfLifeMs <= 0) return;
+    if (evictor != null) {
+      throw new IllegalStateException("Attach decay before eviction");
+    }
+    if (eddies instanceof DecayingEddyTable) {
+      throw new IllegalStateException("Decay is already attached");
+    }
+    this.eddies = new DecayingEddyTable(eddies, halfLifeMs, () -> clock.getAsLong());
+    log.info("Attached energy decay: half-life {}ms", halfLifeMs);
+  }
+
+  /**
+   * Evict cold eddies according to {@code policy}.
+   *
+   * @param spillStore where evicted eddies go when {@link EvictionPolicy#spill()} is
+   *        set; may be null otherwise
+   */
+  public synchronized void attachEviction(EvictionPolicy policy, EddySpillStore spillStore) {
+    if (!policy.isEnabled()) {
+      this.evictor = null;
+      return;
+    }
+    if (policy.spill() && spillStore == null) {
+      throw new IllegalArgumentException("Eviction spill requires a spill store");
+    }
+    this.evictor = new EddyEvictor(eddies, policy, spillStore, () -> clock.getAsLong());
+    log.info("Attached eddy eviction policy: {}", policy);
+    registerEvictionMetrics();
+  }
+
+  /** Time source for idle eviction (tests). */
+  synchronized void useClock(LongSupplier clock) {
+    this.clock = clock;
+  }
+
   public void attachMetrics(EnergyMetrics metrics) {
     this.energyMetrics = metrics;
   }
@@ -209,32 +508,67 @@ public class EddyEngine {
     this.throughputMetrics = metrics;
   }
   
-  public void attachStorageMetrics(StorageMetrics metrics) {
+  public synchronized void attachStorageMetrics(StorageMetrics metrics) {
     this.storageMetrics = metrics;
+    registerEvictionMetrics();
   }
 
-  public synchronized void persistState(EddyState eddy) {
-    if (storageMetrics != null) {
-      storageMetrics.recordWrite(() -> {
+  private void registerEvictionMetrics() {
+    if (storageMetrics == null || evictor == null) return;
+    var ev = evictor;
+    storageMetrics.registerEngineEviction(
+      ev::getLive,
+      ev::getEvictedFloor,
+      ev::getEvictedIdle,
+      ev::getEvictedCapacity,
+      ev::getRehydrated
+    );
+  }
+
+  /**
+   * Store a committed eddy (ours or a peer's): the raft log and snapshot are written
+   * outside the engine lock, then the eddy replaces its entry in the table.
+   */
+  public void persistState(EddyState eddy) {
+    writeDurable(eddy);
+    synchronized (this) {
+      putCommitted(eddy);
+    }
+  }
+
+  private void putCommitted(EddyState eddy) {
+    eddies.put(eddy);
+    if (evictor != null) evictor.touched(eddy.id());
+  }
+
+  private void writeDurable(EddyState eddy) {
+    synchronized (storageLock) {
+      if (storageMetrics != null) {
+        storageMetrics.recordWrite(() -> {
+          if (raftLog != null) {
+            raftLog.append("commit:" + eddy.id() + "," + eddy.energy());
+          }
+          if (snapshotStore != null) {
+            snapshotStore.save(eddy);
+          }
+        });
+        storageMetrics.incWriteOps();
+        long bytes = eddy.vector().length * 8L + 100; // vector + metadata
+        storageMetrics.recordBytesWritten(bytes);
+      } else {
         if (raftLog != null) {
           raftLog.append("commit:" + eddy.id() + "," + eddy.energy());
         }
         if (snapshotStore != null) {
           snapshotStore.save(eddy);
         }
-      });
-      storageMetrics.incWriteOps();
-      long bytes = eddy.vector().length * 8L + 100; // vector + metadata
-      storageMetrics.recordBytesWritten(bytes);
-    } else {
-      if (raftLog != null) {
-        raftLog.append("commit:" + eddy.id() + "," + eddy.energy());
-      }
-      if (snapshotStore != null) {
-        snapshotStore.save(eddy);
       }
     }
+  }
 
-    eddies.put(eddy.id(), eddy);
+  /** Release the engine's vector storage (off-heap memory, if any) and flush pending spills. */
+  public synchronized void close() {
+    if (evictor != null) evictor.close();
+    eddies.close();
   }
 }
@@ -0,0 +1,195 @@
+package com.spiron.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies an {@link EvictionPolicy} to an {@link EddyTable}. Called by
+ * {@link EddyEngine} under its lock; the counters may be read from any thread.
+ *
+ * Victims are only collected under the lock: each call hands the evicted eddies to
+ * the spill store as one batch, which writes them on its own thread. Spilled eddies
+ * are read back before the lock is taken ({@link #prefetch}).
+ *
+ * Idle tracking uses an access-ordered map of last-touch times, so expiry only
+ * looks at the entries that are actually due and LRU victims come off its head.
+ */
+final class EddyEvictor {
+
+  private static final Logger log = LoggerFactory.getLogger(EddyEvictor.class);
+
+  private record Victim(String id, double energy) {}
+
+  private final EddyTable table;
+  private final EvictionPolicy policy;
+  private final EddySpillStore spillStore; // null unless policy.spill()
+  private final LongSupplier clock;
+  private final LinkedHashMap<String, Long> lastTouched; // null when not needed
+  private String floorVictim;
+  private final List<EddyState> toSpill = new ArrayList<>();
+
+  private final AtomicLong live = new AtomicLong();
+  private final AtomicLong evictedFloor = new AtomicLong();
+  private final AtomicLong evictedIdle = new AtomicLong();
+  private final AtomicLong evictedCapacity = new AtomicLong();
+  private final AtomicLong rehydrated = new AtomicLong();
+
+  EddyEvictor(
+    EddyTable table,
+    EvictionPolicy policy,
+    EddySpillStore spillStore,
+    LongSupplier clock
+  ) {
+    this.table = table;
+    this.policy = policy;
+    this.spillStore = policy.spill() ? spillStore : null;
+    this.clock = clock;
+    boolean trackTouches =
+      policy.idleTtlMs() > 0 ||
+      (policy.maxEntries() > 0 && policy.order() == EvictionPolicy.Order.LRU);
+    this.lastTouched = trackTouches ? new LinkedHashMap<>(16, 0.75f, true) : null;
+    this.live.set(table.size());
+  }
+
+  /**
+   * Read a spilled {@code id} ahead of the engine lock; null when spilling is off.
+   * Safe to call without the lock.
+   */
+  EddySpillStore.Prefetch prefetch(String id) {
+    return spillStore == null ? null : spillStore.prefetch(id);
+  }
+
+  /**
+   * Bring a spilled eddy back before {@code id} is ingested.
+   *
+   * @param prefetched result of {@link #prefetch} for {@code id}, or null
+   */
+  void rehydrate(String id, EddySpillStore.Prefetch prefetched) {
+    if (spillStore == null || table.contains(id)) return;
+    spillStore.take(id, prefetched).ifPresent(state -> {
+      table.put(state);
+      rehydrated.incrementAndGet();
+      log.debug("Rehydrated eddy {} (energy={})", id, state.energy());
+    });
+  }
+
+  /** Note the result of merging into an existing eddy. */
+  void merged(EddyState result) {
+    if (policy.energyFloor() > 0 && result.energy() < policy.energyFloor()) {
+      floorVictim = result.id();
+    }
+  }
+
+  /** Record activity on {@code id} and apply the floor and capacity bounds. */
+  void touched(String id) {
+    if (lastTouched != null) {
+      lastTouched.put(id, clock.getAsLong());
+    }
+    if (id.equals(floorVictim)) {
+      evict(id, evictedFloor);
+    }
+    floorVictim = null;
+    enforceCapacity();
+    flushSpills();
+    live.set(table.size());
+  }
+
+  /** Evict eddies idle for longer than the TTL. */
+  void expireIdle() {
+    if (policy.idleTtlMs() <= 0 || lastTouched.isEmpty()) return;
+    long cutoff = clock.getAsLong() - policy.idleTtlMs();
+    List<String> expired = new ArrayList<>();
+    for (var e : lastTouched.entrySet()) {
+      if (e.getValue() > cutoff) break; // access order: the rest are newer
+      expired.add(e.getKey());
+    }
+    for (String id : expired) {
+      evict(id, evictedIdle);
+    }
+    flushSpills();
+    live.set(table.size());
+  }
+
+  private void enforceCapacity() {
+    int max = policy.maxEntries();
+    if (max <= 0 || table.size() <= max) return;
+    // Evict in one batch down to 90% so the selection cost is amortized
+    int count = table.size() - (max - max / 10);
+    List<String> victims = new ArrayList<>(count);
+    if (policy.order() == EvictionPolicy.Order.LRU) {
+      for (String id : lastTouched.keySet()) {
+        if (victims.size() == count) break;
+        victims.add(id);
+      }
+    } else {
+      // Max-heap of the lowest energies seen so far
+      PriorityQueue<Victim> lowest = new PriorityQueue<>(
+        count + 1,
+        Comparator.comparingDouble(Victim::energy).reversed()
+      );
+      table.forEachEnergy((id, energy) -> {
+        if (lowest.size() < count) {
+          lowest.add(new Victim(id, energy));
+        } else if (energy < lowest.peek().energy()) {
+          lowest.poll();
+          lowest.add(new Victim(id, energy));
+        }
+      });
+      lowest.forEach(v -> victims.add(v.id()));
+    }
+    for (String id : victims) {
+      evict(id, evictedCapacity);
+    }
+    log.debug("Evicted {} eddies over capacity {}", victims.size(), max);
+  }
+
+  private void evict(String id, AtomicLong counter) {
+    if (spillStore != null) {
+      table.get(id).ifPresent(toSpill::add);
+    }
+    if (table.remove(id)) {
+      counter.incrementAndGet();
+    }
+    if (lastTouched != null) {
+      lastTouched.remove(id);
+    }
+  }
+
+  private void flushSpills() {
+    if (toSpill.isEmpty()) return;
+    spillStore.spillAll(toSpill);
+    toSpill.clear();
+  }
+
+  /** Flush pending spills to the store. */
+  void close() {
+    if (spillStore != null) spillStore.close();
+  }
+
+  long getLive() {
+    return live.get();
+  }
+
+  long getEvictedFloor() {
+    return evictedFloor.get();
+  }
+
+  long getEvictedIdle() {
+    return evictedIdle.get();
+  }
+
+  long getEvictedCapacity() {
+    return evictedCapacity.get();
+  }
+
+  long getRehydrated() {
+    return rehydrated.get();
+  }
+}
@@ -0,0 +1,198 @@
+package com.spiron.core;
+
+import com.google.gson.Gson;
+import com.spiron.storage.CRDTStore;
+import com.spiron.util.BloomFilter;
+import com.spiron.util.Threads;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps eddies evicted from {@link EddyEngine} in the CRDT store so they can be
+ * rehydrated when the same id shows up again.
+ *
+ * A Bloom filter of the ids spilled by this process gates lookups, so ingesting a
+ * brand-new id does not cost a store read. Spilling is best-effort: a failed write
+ * is logged and the eddy is simply dropped.
+ *
+ * Semantics:
+ * - {@link #spillAll} and {@link #take} run under the engine lock but do no store
+ *   I/O there: spills are handed to a single writer thread and written as one batch,
+ *   and stay readable from memory until the write lands.
+ * - The writer is single-threaded, so a spill, its deletion on rehydrate and a later
+ *   re-spill of the same id reach the store in the order they happened.
+ * - {@link #prefetch} reads a spilled eddy before the engine lock is taken.
+ *   {@link #take} accepts it only if nothing was spilled or taken under that id's
+ *   stripe since, otherwise it falls back to a read under the lock.
+ */
+public class EddySpillStore implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(EddySpillStore.class);
+
+  private static final long DEFAULT_EXPECTED_SPILLS = 1_000_000L;
+  private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+  private static final int STRIPES = 256; // power of two
+
+  /** A spilled eddy read ahead of the engine lock; {@code state} null if none. */
+  public record Prefetch(EddyState state, long stamp) {}
+
+  private final CRDTStore store;
+  private final Gson gson = new Gson();
+  private final BloomFilter spilled;
+  private final Executor writer;
+  private final ExecutorService ownedWriter; // null when the writer was supplied
+  private final ConcurrentHashMap<String, EddyState> pending = new ConcurrentHashMap<>();
+  private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+
+  public EddySpillStore(CRDTStore store) {
+    this(store, DEFAULT_EXPECTED_SPILLS);
+  }
+
+  public EddySpillStore(CRDTStore store, long expectedSpills) {
+    this(store, expectedSpills, null);
+  }
+
+  /**
+   * @param writer runs store writes in submission order; null starts a dedicated
+   *        writer thread
+   */
+  public EddySpillStore(CRDTStore store, long expectedSpills, Executor writer) {
+    this.store = store;
+    this.spilled = new BloomFilter(expectedSpills, BLOOM_FALSE_POSITIVE_RATE);
+    this.ownedWriter = writer == null ? Threads.blockingPool("eddy-spill", 1, false) : null;
+    this.writer = writer != null ? writer : ownedWriter;
+  }
+
+  /** Persist evicted eddies, in one store batch on the writer thread. */
+  public void spillAll(List<EddyState> states) {
+    if (states.isEmpty()) return;
+    for (EddyState state : states) {
+      pending.put(state.id(), state);
+      spilled.put(state.id());
+      bump(state.id());
+    }
+    List<EddyState> batch = List.copyOf(states);
+    writer.execute(() -> write(batch));
+  }
+
+  /**
+   * Read a spilled eddy without removing it; called before the engine lock.
+   */
+  public Prefetch prefetch(String eddyId) {
+    long stamp = stamps.get(stripe(eddyId));
+    return new Prefetch(find(eddyId).orElse(null), stamp);
+  }
+
+  /**
+   * Remove and return a spilled eddy.
+   *
+   * @param prefetched result of {@link #prefetch} for this id, or null
+   * @return the eddy as it was when evicted, or empty if it was never spilled
+   */
+  public Optional<EddyState> take(String eddyId, Prefetch prefetched) {
+    Optional<EddyState> state;
+    if (prefetched != null && prefetched.stamp() == stamps.get(stripe(eddyId))) {
+      state = Optional.ofNullable(prefetched.state());
+    } else {
+      state = find(eddyId);
+    }
+    if (state.isEmpty()) return state;
+    bump(eddyId);
+    // Still pending: the writer deletes the entry once its write lands
+    if (pending.remove(eddyId) == null) {
+      writer.execute(() -> delete(eddyId));
+    }
+    return state;
+  }
+
+  /** As {@link #take(String, Prefetch)} without a prefetched read. */
+  public Optional<EddyState> take(String eddyId) {
+    return take(eddyId, null);
+  }
+
+  /** Flush queued writes and stop the writer thread, if this store started one. */
+  @Override
+  public void close() {
+    if (ownedWriter == null) return;
+    ownedWriter.shutdown();
+    try {
+      if (!ownedWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+        log.warn("Spill writer did not drain within 5s, {} eddies not written", pending.size());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private Optional<EddyState> find(String eddyId) {
+    EddyState inMemory = pending.get(eddyId);
+    if (inMemory != null) return Optional.of(inMemory);
+    if (!spilled.mightContain(eddyId)) return Optional.empty();
+    try {
+      Optional<String> json = store.getSpilled(eddyId);
+      if (json.isEmpty()) return Optional.empty();
+      SpillData data = gson.fromJson(json.get(), SpillData.class);
+      return Optional.of(new EddyState(eddyId, data.vector, data.energy, data.parentId));
+    } catch (Exception e) {
+      log.error("Failed to rehydrate eddy {}", eddyId, e);
+      return Optional.empty();
+    }
+  }
+
+  private void write(List<EddyState> batch) {
+    Map<String, String> json = new LinkedHashMap<>();
+    for (EddyState state : batch) {
+      SpillData data = new SpillData();
+      data.vector = state.vector();
+      data.energy = state.energy();
+      data.parentId = state.parentId();
+      json.put(state.id(), gson.toJson(data));
+    }
+    try {
+      store.putSpilledBatch(json);
+    } catch (Exception e) {
+      log.error("Failed to spill {} eddies", batch.size(), e);
+      batch.forEach(s -> pending.remove(s.id(), s));
+      return;
+    }
+    for (EddyState state : batch) {
+      if (pending.remove(state.id(), state)) continue;
+      // Taken back while the write was in flight; a newer spill stays pending
+      if (!pending.containsKey(state.id())) delete(state.id());
+    }
+  }
+
+  private void delete(String eddyId) {
+    try {
+      store.deleteSpilled(eddyId);
+    } catch (Exception e) {
+      log.error("Failed to delete spilled eddy {}", eddyId, e);
+    }
+  }
+
+  private void bump(String eddyId) {
+    stamps.incrementAndGet(stripe(eddyId));
+  }
+
+  private static int stripe(String eddyId) {
+    int h = eddyId.hashCode();
+    return (h ^ (h >>> 16)) & (STRIPES - 1);
+  }
+
+  /** JSON shape of a spilled eddy (the id is the key). */
+  private static class SpillData {
+
+    double[] vector;
+    double energy;
+    String parentId;
+  }
+}
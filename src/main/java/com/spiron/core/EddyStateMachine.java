@@ -1,11 +1,18 @@
 package com.spiron.core;
 
 import com.spiron.api.StateMachine;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Default internal state machine for spiron. Integrates with the EddyEngine.
+ *
+ * Commands are eddies, either binary ({@link EddyCommandCodec}, preferred) or text
+ * {@code id,v1,...,vn,energy}. Malformed commands are logged and skipped.
  */
 public class EddyStateMachine implements StateMachine {
 
@@ -21,22 +28,54 @@ public class EddyStateMachine implements StateMachine {
   @Override
   public void apply(byte[] command) {
     try {
-      var msg = new String(command);
-      var parts = msg.split(",");
-      var id = parts[0];
-      var vector = new double[] {
-        Double.parseDouble(parts[1]),
-        Double.parseDouble(parts[2]),
-      };
-      var energy = Double.parseDouble(parts[3]);
-      // No lineage info in command, so parentId is null
-      engine.ingest(new EddyState(id, vector, energy, null));
-      log.info("Applied command -> {}", msg);
+      var eddy = decode(ByteBuffer.wrap(command));
+      engine.ingest(eddy);
+      log.debug("Applied command for eddy {}", eddy.id());
     } catch (Exception e) {
       log.error("Failed to apply command", e);
     }
   }
 
+  /**
+   * Decodes the whole batch, then ingests it under one engine lock. As with
+   * {@link #apply}, a command that fails to decode or ingest is skipped on its own.
+   */
+  @Override
+  public void applyBatch(List<ByteBuffer> commands) {
+    List<EddyState> eddies = new ArrayList<>(commands.size());
+    for (ByteBuffer command : commands) {
+      try {
+        eddies.add(decode(command));
+      } catch (Exception e) {
+        log.error("Skipping malformed command in batch", e);
+      }
+    }
+    int applied = engine.ingestAll(eddies);
+    log.debug("Applied {} of {} commands in batch", applied, commands.size());
+  }
+
+  /** Reads {@code command} from its position without moving it. */
+  static EddyState decode(ByteBuffer command) {
+    if (EddyCommandCodec.isBinary(command)) {
+      return EddyCommandCodec.decode(command.duplicate());
+    }
+    return decodeText(StandardCharsets.UTF_8.decode(command.duplicate()).toString());
+  }
+
+  private static EddyState decodeText(String msg) {
+    var parts = msg.split(",");
+    if (parts.length < 3) {
+      throw new IllegalArgumentException("Expected id,v1,...,vn,energy but got '" + msg + "'");
+    }
+    var vector = new double[parts.length - 2];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = Double.parseDouble(parts[i + 1]);
+    }
+    var energy = Double.parseDouble(parts[parts.length - 1]);
+    // No lineage info in command, so parentId is null
+    return new EddyState(parts[0], vector, energy, null);
+  }
+
   @Override
   public byte[] query(byte[] key) {
     return engine.dominant().map(Object::toString).orElse("none").getBytes();
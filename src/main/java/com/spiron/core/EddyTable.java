@@ -0,0 +1,57 @@
+package com.spiron.core;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage behind {@link EddyEngine}: eddies by id, with the merge-on-ingest step
+ * delegated so each implementation can compute similarity where its vectors live.
+ */
+interface EddyTable extends AutoCloseable {
+  /** Combines the stored eddy with an incoming one of the same id. */
+  @FunctionalInterface
+  interface MergeFunction {
+    /**
+     * @param current stored eddy; its vector may be null when the table keeps
+     *        vectors elsewhere (only id, energy and parentId are meaningful)
+     * @param incoming newly ingested eddy
+     * @param similarity angular similarity of their vectors
+     * @return merged eddy; the table keeps {@code current}'s vector and takes
+     *         energy and parentId from the result
+     */
+    EddyState merge(EddyState current, EddyState incoming, double similarity);
+  }
+
+  /** Receives each stored eddy's id and energy. */
+  @FunctionalInterface
+  interface EnergyVisitor {
+    void visit(String id, double energy);
+  }
+
+  /** Insert {@code incoming}, or merge it into the stored eddy with the same id. */
+  void merge(EddyState incoming, MergeFunction merge);
+
+  /** Insert or replace (vector included). */
+  void put(EddyState state);
+
+  boolean contains(String id);
+
+  /** Stored eddy with its vector, or empty. */
+  Optional<EddyState> get(String id);
+
+  /** Visit every eddy's energy without materializing vectors. */
+  void forEachEnergy(EnergyVisitor visitor);
+
+  /** Drop an eddy (and free its vector storage). */
+  boolean remove(String id);
+
+  /** Eddy with the highest energy; the first one seen wins ties. */
+  Optional<EddyState> maxEnergy();
+
+  List<EddyState> snapshot();
+
+  int size();
+
+  @Override
+  default void close() {}
+}
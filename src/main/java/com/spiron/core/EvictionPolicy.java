@@ -0,0 +1,63 @@
+package com.spiron.core;
+
+/**
+ * When {@link EddyEngine} drops cold eddies.
+ *
+ * Semantics:
+ * - {@code energyFloor}: an eddy damped below this energy is evicted at once
+ *   (0 disables). Freshly ingested eddies are not subject to the floor.
+ * - {@code idleTtlMs}: an eddy not ingested, merged or committed for this long is
+ *   evicted (0 disables).
+ * - {@code maxEntries}: when the engine holds more eddies, it evicts down to 90% of
+ *   this bound in one batch, picking victims by {@code order} (0 = unbounded).
+ * - {@code spill}: evicted eddies are written to the CRDT store and rehydrated when
+ *   their id is ingested again.
+ *
+ * @param energyFloor minimum energy after damping, 0 disables
+ * @param idleTtlMs idle time before eviction in ms, 0 disables
+ * @param maxEntries maximum eddies kept, 0 for no limit
+ * @param order which eddies go first when over {@code maxEntries}
+ * @param spill persist evicted eddies for rehydration
+ */
+public record EvictionPolicy(
+  double energyFloor,
+  long idleTtlMs,
+  int maxEntries,
+  Order order,
+  boolean spill
+) {
+  /** Victim order when the engine is over capacity. */
+  public enum Order {
+    /** Least recently ingested first. */
+    LRU,
+    /** Lowest energy first. */
+    ENERGY;
+
+    /** Parse a config value: "lru" or "energy" (case-insensitive). */
+    public static Order fromConfig(String value) {
+      return switch (value.trim().toLowerCase()) {
+        case "lru" -> LRU;
+        case "energy" -> ENERGY;
+        default -> throw new IllegalArgumentException(
+          "Unknown eviction order '" + value + "', expected lru or energy"
+        );
+      };
+    }
+  }
+
+  /** Keep everything (the engine's historic behaviour). */
+  public static final EvictionPolicy NONE = new EvictionPolicy(0, 0, 0, Order.ENERGY, false);
+
+  public EvictionPolicy {
+    if (energyFloor < 0 || idleTtlMs < 0 || maxEntries < 0) {
+      throw new IllegalArgumentException("Eviction thresholds must be >= 0");
+    }
+    if (order == null) {
+      order = Order.ENERGY;
+    }
+  }
+
+  public boolean isEnabled() {
+    return energyFloor > 0 || idleTtlMs > 0 || maxEntries > 0;
+  }
+}
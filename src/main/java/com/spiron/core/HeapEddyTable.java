@@ -0,0 +1,60 @@
+package com.spiron.core;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/** Default {@link EddyTable}: one {@link EddyState} (with its own array) per eddy. */
+final class HeapEddyTable implements EddyTable {
+
+  private final Map<String, EddyState> eddies = new HashMap<>();
+
+  @Override
+  public void merge(EddyState incoming, MergeFunction merge) {
+    eddies.merge(incoming.id(), incoming, (a, b) ->
+      merge.merge(a, b, EddyMath.angularSimilarity(a.vector(), b.vector()))
+    );
+  }
+
+  @Override
+  public void put(EddyState state) {
+    eddies.put(state.id(), state);
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return eddies.containsKey(id);
+  }
+
+  @Override
+  public Optional<EddyState> get(String id) {
+    return Optional.ofNullable(eddies.get(id));
+  }
+
+  @Override
+  public void forEachEnergy(EnergyVisitor visitor) {
+    eddies.forEach((id, state) -> visitor.visit(id, state.energy()));
+  }
+
+  @Override
+  public boolean remove(String id) {
+    return eddies.remove(id) != null;
+  }
+
+  @Override
+  public Optional<EddyState> maxEnergy() {
+    return eddies.values().stream().max(Comparator.comparingDouble(EddyState::energy));
+  }
+
+  @Override
+  public List<EddyState> snapshot() {
+    return List.copyOf(eddies.values());
+  }
+
+  @Override
+  public int size() {
+    return eddies.size();
+  }
+}
@@ -3,11 +3,16 @@ package com.spiron.core;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.spiron.storage.CRDTStore;
+import com.spiron.util.Threads;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +25,12 @@ import org.slf4j.LoggerFactory;
  * 
  * <p>Lineage is stored as JSON arrays in the format:
  * <pre>{"ancestry": ["root_id", "parent_id", "grandparent_id"]}</pre>
+ *
+ * <p>{@link #recordLineageAsync} queues the record for a single writer thread,
+ * which drains the queue in batches and stores each batch with one
+ * {@link CRDTStore#putLineageBatch} call. A full queue blocks the caller. Reads of
+ * an eddy whose record is still queued wait for it to be written, so readers never
+ * see lineage older than what was recorded.</p>
  */
 public class LineageTracker {
   
@@ -28,11 +39,164 @@ public class LineageTracker {
   private final CRDTStore store;
   private final Gson gson;
   private final ExecutorService executor;
-  
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+  public static final int DEFAULT_MAX_BATCH = 256;
+  private static final long PENDING_WAIT_MS = 5000;
+
+  /** A queued lineage record. */
+  private record Pending(String eddyId, String parentId, CompletableFuture<Void> done) {}
+
+  private final BlockingQueue<Pending> queue;
+  private final int maxBatch;
+  private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+  private final Thread writer;
+  private volatile boolean running = true;
+  private volatile boolean stopped; // writer has exited
+  private final LongAdder batches = new LongAdder();
+  private final LongAdder records = new LongAdder();
+
   public LineageTracker(CRDTStore store) {
+    this(store, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH);
+  }
+
+  public LineageTracker(CRDTStore store, int queueCapacity, int maxBatch) {
+    this(store, queueCapacity, maxBatch, false);
+  }
+
+  /**
+   * @param queueCapacity records that may wait for the writer before callers block
+   * @param maxBatch most records stored in one batch write
+   * @param virtualThreads run async reads on virtual threads rather than a small
+   *        fixed pool; the batch writer stays a platform thread, since store writes
+   *        may be native (RocksDB) and would hold a virtual thread's carrier
+   */
+  public LineageTracker(CRDTStore store, int queueCapacity, int maxBatch, boolean virtualThreads) {
+    if (queueCapacity <= 0 || maxBatch <= 0) {
+      throw new IllegalArgumentException("queueCapacity and maxBatch must be > 0");
+    }
     this.store = store;
     this.gson = new Gson();
-    this.executor = Executors.newFixedThreadPool(2); // Small pool for async ops
+    this.executor = Threads.blockingPool("lineage-read", 2, virtualThreads);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.maxBatch = maxBatch;
+    this.writer = new Thread(this::writeLoop, "lineage-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Queue lineage for an eddy; the future completes once it is stored, or
+   * exceptionally if the write failed. Blocks only while the queue is full.
+   *
+   * @param eddyId the eddy to record lineage for
+   * @param parentId the immediate parent eddy id, or null if root
+   */
+  public CompletableFuture<Void> recordLineageAsync(String eddyId, String parentId) {
+    var done = new CompletableFuture<Void>();
+    if (!running) {
+      done.completeExceptionally(new IllegalStateException("LineageTracker is shut down"));
+      return done;
+    }
+    pending.put(eddyId, done);
+    done.whenComplete((v, e) -> pending.remove(eddyId, done));
+    try {
+      queue.put(new Pending(eddyId, parentId, done));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      done.completeExceptionally(e);
+    }
+    if (stopped) failQueued(); // raced with shutdown
+    return done;
+  }
+
+  private void writeLoop() {
+    List<Pending> batch = new ArrayList<>(maxBatch);
+    while (running || !queue.isEmpty()) {
+      try {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+        batch.add(first);
+        queue.drainTo(batch, maxBatch - 1);
+        writeBatch(batch);
+      } catch (InterruptedException e) {
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+    stopped = true;
+    failQueued();
+  }
+
+  private void failQueued() {
+    Pending p;
+    while ((p = queue.poll()) != null) {
+      p.done().completeExceptionally(new IllegalStateException("LineageTracker is shut down"));
+    }
+  }
+
+  /** Resolve every record's ancestry (parents in the same batch included) and store them at once. */
+  private void writeBatch(List<Pending> batch) {
+    try {
+      Map<String, List<String>> resolved = new HashMap<>();
+      Map<String, String> json = new LinkedHashMap<>();
+      long now = System.currentTimeMillis();
+      for (Pending p : batch) {
+        List<String> ancestry = new ArrayList<>();
+        if (p.parentId() != null) {
+          List<String> parent = resolved.get(p.parentId());
+          ancestry.addAll(parent != null ? parent : readAncestry(p.parentId()));
+          ancestry.add(p.parentId());
+        }
+        resolved.put(p.eddyId(), ancestry);
+        LineageData lineage = new LineageData();
+        lineage.ancestry = ancestry;
+        lineage.timestamp = now;
+        json.put(p.eddyId(), gson.toJson(lineage));
+      }
+      store.putLineageBatch(json);
+      batches.increment();
+      records.add(batch.size());
+      log.debug("Stored lineage batch of {} records", batch.size());
+      batch.forEach(p -> p.done().complete(null));
+    } catch (Exception e) {
+      log.error("Failed to store lineage batch of {} records", batch.size(), e);
+      batch.forEach(p -> p.done().completeExceptionally(e));
+    }
+  }
+
+  private List<String> readAncestry(String eddyId) {
+    Optional<String> json = store.getLineage(eddyId);
+    if (json.isEmpty()) return Collections.emptyList();
+    LineageData lineage = gson.fromJson(json.get(), LineageData.class);
+    return lineage.ancestry != null ? lineage.ancestry : Collections.emptyList();
+  }
+
+  /** Wait (bounded) for a queued record of {@code eddyId} to be written. */
+  private void awaitPending(String eddyId) {
+    CompletableFuture<Void> done = pending.get(eddyId);
+    if (done == null || Thread.currentThread() == writer) return;
+    try {
+      done.get(PENDING_WAIT_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      // Failed or slow write: read whatever is stored
+    }
+  }
+
+  /** Records waiting for the writer. */
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public long getBatchesWritten() {
+    return batches.sum();
+  }
+
+  public long getRecordsWritten() {
+    return records.sum();
   }
   
   /**
@@ -48,6 +212,7 @@ public class LineageTracker {
       
       if (parentId != null) {
         // Retrieve parent's lineage from storage
+        awaitPending(parentId);
         Optional<String> parentLineageJson = store.getLineage(parentId);
         if (parentLineageJson.isPresent()) {
           LineageData parentLineage = gson.fromJson(
@@ -87,6 +252,7 @@ public class LineageTracker {
    */
   public CompletableFuture<List<String>> getAncestryAsync(String eddyId) {
     return CompletableFuture.supplyAsync(() -> {
+      awaitPending(eddyId);
       try {
         Optional<String> lineageJson = store.getLineage(eddyId);
         if (lineageJson.isPresent()) {
@@ -111,6 +277,7 @@ public class LineageTracker {
    * Use sparingly - prefer async version.
    */
   public List<String> getAncestry(String eddyId) {
+    awaitPending(eddyId);
     try {
       Optional<String> lineageJson = store.getLineage(eddyId);
       if (lineageJson.isPresent()) {
@@ -145,7 +312,15 @@ public class LineageTracker {
     });
   }
   
+  /** Store what is already queued (bounded wait), then stop. */
   public void shutdown() {
+    running = false;
+    try {
+      writer.join(PENDING_WAIT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    writer.interrupt();
     executor.shutdownNow();
   }
   
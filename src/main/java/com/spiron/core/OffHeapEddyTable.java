@@ -0,0 +1,133 @@
+package com.spiron.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link EddyTable} that keeps vectors in a {@link VectorArena}; the heap holds only
+ * an id to slot index with energy and parent. Full {@link EddyState}s (with a fresh
+ * vector copy) are materialized only when handed out.
+ */
+final class OffHeapEddyTable implements EddyTable {
+
+  /** Heap-side metadata for one eddy. */
+  private static final class Entry {
+
+    final int slot;
+    double energy;
+    String parentId;
+
+    Entry(int slot, double energy, String parentId) {
+      this.slot = slot;
+      this.energy = energy;
+      this.parentId = parentId;
+    }
+  }
+
+  private final VectorArena arena;
+  private final Map<String, Entry> index = new HashMap<>();
+
+  OffHeapEddyTable(int dimensions) {
+    this.arena = new VectorArena(dimensions);
+  }
+
+  @Override
+  public void merge(EddyState incoming, MergeFunction merge) {
+    Entry entry = index.get(incoming.id());
+    if (entry == null) {
+      put(incoming);
+      return;
+    }
+    double sim = arena.angularSimilarity(entry.slot, incoming.vector());
+    EddyState current = new EddyState(incoming.id(), null, entry.energy, entry.parentId);
+    EddyState merged = merge.merge(current, incoming, sim);
+    entry.energy = merged.energy();
+    entry.parentId = merged.parentId();
+  }
+
+  @Override
+  public void put(EddyState state) {
+    Entry entry = index.get(state.id());
+    if (entry == null) {
+      int slot = arena.allocate();
+      try {
+        arena.write(slot, state.vector());
+      } catch (RuntimeException e) {
+        arena.free(slot);
+        throw e;
+      }
+      index.put(state.id(), new Entry(slot, state.energy(), state.parentId()));
+    } else {
+      arena.write(entry.slot, state.vector());
+      entry.energy = state.energy();
+      entry.parentId = state.parentId();
+    }
+  }
+
+  @Override
+  public boolean contains(String id) {
+    return index.containsKey(id);
+  }
+
+  @Override
+  public Optional<EddyState> get(String id) {
+    Entry entry = index.get(id);
+    return entry == null ? Optional.empty() : Optional.of(materialize(id, entry));
+  }
+
+  @Override
+  public void forEachEnergy(EnergyVisitor visitor) {
+    index.forEach((id, entry) -> visitor.visit(id, entry.energy));
+  }
+
+  /** Drop an eddy and recycle its slot. */
+  @Override
+  public boolean remove(String id) {
+    Entry entry = index.remove(id);
+    if (entry == null) return false;
+    arena.free(entry.slot);
+    return true;
+  }
+
+  @Override
+  public Optional<EddyState> maxEnergy() {
+    String bestId = null;
+    Entry best = null;
+    for (var e : index.entrySet()) {
+      if (best == null || e.getValue().energy > best.energy) {
+        bestId = e.getKey();
+        best = e.getValue();
+      }
+    }
+    return best == null ? Optional.empty() : Optional.of(materialize(bestId, best));
+  }
+
+  @Override
+  public List<EddyState> snapshot() {
+    List<EddyState> out = new ArrayList<>(index.size());
+    index.forEach((id, entry) -> out.add(materialize(id, entry)));
+    return List.copyOf(out);
+  }
+
+  @Override
+  public int size() {
+    return index.size();
+  }
+
+  long getReservedBytes() {
+    return arena.getReservedBytes();
+  }
+
+  @Override
+  public void close() {
+    index.clear();
+    arena.close();
+  }
+
+  private EddyState materialize(String id, Entry entry) {
+    return new EddyState(id, arena.read(entry.slot), entry.energy, entry.parentId);
+  }
+}
@@ -0,0 +1,339 @@
+package com.spiron.core;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of per-topic {@link EddyEngine}s, so one node can run many independent
+ * consensus instances (one per topic) side by side.
+ *
+ * Semantics:
+ * - The empty topic is the node's default engine. It is never unloaded and its commit
+ *   loop stays where it was (see {@code SpironServer}).
+ * - Any other topic gets its own engine on first use, built by the factory, which
+ *   also decides how storage is partitioned (e.g. one data directory per topic).
+ * - Commit detection for topics runs on one shared pool. Each sweep checks only the
+ *   topics ingested into since their last check, so idle topics cost nothing.
+ * - Persisting and fan-out run on the commit stage the factory attaches to each
+ *   engine ({@link EddyEngine#attachCommitStage}). Ingest and commit checks only
+ *   share a topic's read lock, and unloading takes its write lock only if free, so a
+ *   commit check waiting on a full stage (a slow disk or peer) never holds up ingest
+ *   into that topic or any other.
+ * - A topic unused for {@code idleUnloadMs} is closed and dropped. Loading it again
+ *   is like restarting it: the engine recovers its last committed eddy from its own
+ *   storage, and uncommitted eddies are gone.
+ * - At most {@code maxLoaded} topics are loaded at once. Loading one more unloads
+ *   the least recently used topic with no pending commit check. If every loaded
+ *   topic has one, the new topic is rejected with
+ *   {@link RejectedExecutionException}.
+ */
+public class TopicEngines implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(TopicEngines.class);
+
+  public static final String DEFAULT_TOPIC = "";
+  public static final String TOPIC_PATTERN = "^[a-zA-Z0-9_-]{1,128}$";
+  private static final Pattern TOPIC = Pattern.compile(TOPIC_PATTERN);
+
+  /**
+   * One loaded topic. Using the engine holds the read lock; closing it holds the
+   * write lock, which also guards {@code unloaded}.
+   */
+  private static final class Topic {
+
+    final String name;
+    final EddyEngine engine;
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    final AtomicBoolean dirty = new AtomicBoolean();
+    volatile long lastUsedMs;
+    boolean unloaded;
+
+    Topic(String name, EddyEngine engine, long now) {
+      this.name = name;
+      this.engine = engine;
+      this.lastUsedMs = now;
+    }
+  }
+
+  private final EddyEngine defaultEngine;
+  private final Function<String, EddyEngine> factory;
+  private final long idleUnloadMs;
+  private final long commitIntervalMs;
+  private final int maxLoaded;
+  private final LongSupplier clock;
+  private final Object loadLock = new Object();
+  private final ScheduledExecutorService pool;
+  private final ConcurrentHashMap<String, Topic> topics = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Topic> dirty = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean started = new AtomicBoolean();
+
+  private final LongAdder loaded = new LongAdder();
+  private final LongAdder unloaded = new LongAdder();
+  private final LongAdder commits = new LongAdder();
+
+  /**
+   * @param factory builds the engine for a topic (never called for the default topic)
+   * @param threads size of the shared commit pool
+   * @param idleUnloadMs unload topics unused for this long, 0 keeps them loaded
+   * @param commitIntervalMs how often topics with new eddies are checked for commit
+   * @param maxLoaded most topics loaded at once (the default topic is not counted)
+   */
+  public TopicEngines(
+    EddyEngine defaultEngine,
+    Function<String, EddyEngine> factory,
+    int threads,
+    long idleUnloadMs,
+    long commitIntervalMs,
+    int maxLoaded
+  ) {
+    this(defaultEngine, factory, threads, idleUnloadMs, commitIntervalMs, maxLoaded, System::currentTimeMillis);
+  }
+
+  TopicEngines(
+    EddyEngine defaultEngine,
+    Function<String, EddyEngine> factory,
+    int threads,
+    long idleUnloadMs,
+    long commitIntervalMs,
+    int maxLoaded,
+    LongSupplier clock
+  ) {
+    if (idleUnloadMs < 0 || commitIntervalMs <= 0 || maxLoaded < 1) {
+      throw new IllegalArgumentException(
+        "idleUnloadMs must be >= 0, commitIntervalMs > 0 and maxLoaded >= 1"
+      );
+    }
+    this.defaultEngine = defaultEngine;
+    this.factory = factory;
+    this.idleUnloadMs = idleUnloadMs;
+    this.commitIntervalMs = commitIntervalMs;
+    this.maxLoaded = maxLoaded;
+    this.clock = clock;
+    AtomicInteger threadIds = new AtomicInteger();
+    this.pool = Executors.newScheduledThreadPool(Math.max(1, threads), r -> {
+      Thread t = new Thread(r, "topic-commit-" + threadIds.getAndIncrement());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  /** True for the default topic and for names matching {@link #TOPIC_PATTERN}. */
+  public static boolean isValidTopic(String topic) {
+    return topic != null && (topic.isEmpty() || TOPIC.matcher(topic).matches());
+  }
+
+  /**
+   * Key for an eddy in stores and caches shared by all topics. Default-topic eddies
+   * keep their plain id, so existing data stays where it was.
+   */
+  public static String scopedId(String topic, String eddyId) {
+    return topic == null || topic.isEmpty() ? eddyId : topic + "/" + eddyId;
+  }
+
+  /** Start the periodic commit sweep. */
+  public void start() {
+    if (!started.compareAndSet(false, true)) return;
+    pool.scheduleWithFixedDelay(this::sweep, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+    log.info(
+      "Topic engines started: commit interval {}ms, idle unload {}ms, max loaded {}",
+      commitIntervalMs,
+      idleUnloadMs,
+      maxLoaded
+    );
+  }
+
+  /** Ingest into the topic's engine, loading it if needed. */
+  public void ingest(String topic, EddyState state) {
+    withEngine(topic, engine -> engine.ingest(state));
+  }
+
+  /** Persist a committed eddy received from a peer into the topic's engine. */
+  public void persistState(String topic, EddyState state) {
+    withEngine(topic, engine -> engine.persistState(state));
+  }
+
+  /** The topic's engine if it is currently loaded (the default engine always is). */
+  public Optional<EddyEngine> loaded(String topic) {
+    if (topic == null || topic.isEmpty()) return Optional.of(defaultEngine);
+    Topic t = topics.get(topic);
+    return t == null ? Optional.empty() : Optional.of(t.engine);
+  }
+
+  private void withEngine(String topic, Consumer<EddyEngine> action) {
+    if (topic == null || topic.isEmpty()) {
+      action.accept(defaultEngine);
+      return;
+    }
+    if (!TOPIC.matcher(topic).matches()) {
+      throw new IllegalArgumentException("Invalid topic '" + topic + "'");
+    }
+    while (true) {
+      Topic t = topics.get(topic);
+      if (t == null) t = loadBounded(topic);
+      t.lock.readLock().lock();
+      try {
+        if (t.unloaded) continue; // raced with unload; load a fresh engine
+        action.accept(t.engine);
+        t.lastUsedMs = clock.getAsLong();
+      } finally {
+        t.lock.readLock().unlock();
+      }
+      if (t.dirty.compareAndSet(false, true)) {
+        dirty.add(t);
+      }
+      return;
+    }
+  }
+
+  /** Load {@code topic}, first making room if {@code maxLoaded} topics are loaded. */
+  private Topic loadBounded(String topic) {
+    synchronized (loadLock) {
+      Topic t = topics.get(topic);
+      if (t != null) return t;
+      if (topics.size() >= maxLoaded && !unloadColdest()) {
+        throw new RejectedExecutionException(
+          "Topic '" + topic + "' rejected: " + maxLoaded + " topics loaded, all busy"
+        );
+      }
+      EddyEngine engine = factory.apply(topic);
+      loaded.increment();
+      log.debug("Loaded engine for topic {}", topic);
+      t = new Topic(topic, engine, clock.getAsLong());
+      topics.put(topic, t);
+      return t;
+    }
+  }
+
+  /** Unload the least recently used topic without a pending commit check. */
+  private boolean unloadColdest() {
+    Topic coldest = null;
+    for (Topic t : topics.values()) {
+      if (t.dirty.get()) continue;
+      if (coldest == null || t.lastUsedMs < coldest.lastUsedMs) coldest = t;
+    }
+    return coldest != null && unload(coldest, Long.MAX_VALUE);
+  }
+
+  /** One sweep: queue commit checks for dirty topics, then unload idle ones. */
+  private void sweep() {
+    try {
+      Topic t;
+      while ((t = dirty.poll()) != null) {
+        Topic topic = t;
+        try {
+          pool.execute(() -> checkAndCommit(topic));
+        } catch (RejectedExecutionException e) {
+          return; // shutting down
+        }
+      }
+      unloadIdle();
+    } catch (Exception e) {
+      log.error("Topic sweep failed", e);
+    }
+  }
+
+  /** Check every dirty topic for commit on the calling thread. */
+  void checkDirty() {
+    Topic t;
+    while ((t = dirty.poll()) != null) {
+      checkAndCommit(t);
+    }
+  }
+
+  private void checkAndCommit(Topic t) {
+    // Clear first: an ingest racing with this check queues the topic again
+    t.dirty.set(false);
+    try {
+      // May wait for room on the commit stage; ingest shares the read lock
+      t.lock.readLock().lock();
+      try {
+        if (t.unloaded) return;
+        t.engine.checkAndCommit().ifPresent(e -> {
+          commits.increment();
+          log.debug("Commit on topic {}: {} energy={}", t.name, e.id(), e.energy());
+        });
+      } finally {
+        t.lock.readLock().unlock();
+      }
+    } catch (Exception e) {
+      log.error("Commit check failed for topic {}", t.name, e);
+    }
+  }
+
+  /** Close and drop topics unused for longer than the idle timeout. */
+  void unloadIdle() {
+    if (idleUnloadMs <= 0) return;
+    long cutoff = clock.getAsLong() - idleUnloadMs;
+    for (Topic t : topics.values()) {
+      if (t.lastUsedMs > cutoff || t.dirty.get()) continue;
+      unload(t, cutoff);
+    }
+  }
+
+  /** Unload {@code t} if it was last used at or before {@code cutoff}. */
+  private boolean unload(Topic t, long cutoff) {
+    // Never wait: a queued writer would hold up readers behind it
+    if (!t.lock.writeLock().tryLock()) return false;
+    try {
+      // A pending commit check keeps the topic loaded until it has run
+      if (t.unloaded || t.lastUsedMs > cutoff || t.dirty.get()) return false;
+      t.unloaded = true;
+      topics.remove(t.name, t);
+      t.engine.close();
+    } finally {
+      t.lock.writeLock().unlock();
+    }
+    unloaded.increment();
+    log.debug("Unloaded topic {}", t.name);
+    return true;
+  }
+
+  public int getLoadedCount() {
+    return topics.size();
+  }
+
+  /** Topic engines created so far (reloads included). */
+  public long getLoadsTotal() {
+    return loaded.sum();
+  }
+
+  public long getUnloadsTotal() {
+    return unloaded.sum();
+  }
+
+  /** Commits made by topic engines (the default engine is not counted). */
+  public long getCommitsTotal() {
+    return commits.sum();
+  }
+
+  /** Stop the commit pool and close every topic engine (not the default engine). */
+  @Override
+  public void close() {
+    pool.shutdownNow();
+    for (Topic t : topics.values()) {
+      t.lock.writeLock().lock();
+      try {
+        t.unloaded = true;
+        t.engine.close();
+      } finally {
+        t.lock.writeLock().unlock();
+      }
+    }
+    topics.clear();
+  }
+}
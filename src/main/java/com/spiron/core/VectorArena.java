@@ -0,0 +1,210 @@
+package com.spiron.core;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Off-heap storage for fixed-size eddy vectors: slabs of native memory carved into
+ * equal slots, addressed by an int slot number.
+ *
+ * Semantics:
+ * - Slabs are allocated on demand and only returned to the OS by {@link #close()};
+ *   freed slots are reused before new ones are carved.
+ * - The first slab is about {@link #INITIAL_SLAB_BYTES}; each next one doubles up to
+ *   about {@link #SLAB_BYTES}. An engine holding few eddies (one of many topics, say)
+ *   reserves kilobytes, not a full slab.
+ * - Similarity kernels read straight from native memory; they match
+ *   {@link EddyMath#angularSimilarity} element for element.
+ * - Not thread-safe: callers serialize access (the engine holds its lock). The
+ *   memory itself is shared, so any thread may do so.
+ */
+public final class VectorArena implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(VectorArena.class);
+
+  /** Target slab size: large enough to amortize allocation, small enough to grow gradually. */
+  static final long SLAB_BYTES = 16L * 1024 * 1024;
+  /** Size of the first slab; later ones double until they reach {@link #SLAB_BYTES}. */
+  static final long INITIAL_SLAB_BYTES = 64L * 1024;
+
+  private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE;
+
+  private final int dimensions;
+  private final long slotBytes;
+  private final int firstSlabSlots; // power of two
+  private final int maxSlabSlots; // power of two, firstSlabSlots << growthSlabs
+  private final int growthSlabs; // slabs smaller than maxSlabSlots
+  private final int growthEnd; // first slot past the growth slabs
+  private long reservedBytes;
+  private final Arena arena = Arena.ofShared();
+  private final List<MemorySegment> slabs = new ArrayList<>();
+
+  private int[] freeSlots = new int[64];
+  private int freeCount;
+  private int nextSlot; // first never-used slot
+  private int liveSlots;
+
+  public VectorArena(int dimensions) {
+    if (dimensions < 1) {
+      throw new IllegalArgumentException("dimensions must be >= 1");
+    }
+    this.dimensions = dimensions;
+    this.slotBytes = (long) dimensions * Double.BYTES;
+    this.maxSlabSlots = Integer.highestOneBit((int) Math.max(1, SLAB_BYTES / slotBytes));
+    this.firstSlabSlots = Math.min(
+      maxSlabSlots,
+      Integer.highestOneBit((int) Math.max(1, INITIAL_SLAB_BYTES / slotBytes))
+    );
+    this.growthSlabs = Integer.numberOfTrailingZeros(maxSlabSlots / firstSlabSlots);
+    this.growthEnd = firstSlabSlots * ((1 << growthSlabs) - 1);
+  }
+
+  public int dimensions() {
+    return dimensions;
+  }
+
+  /** Reserve a slot; its contents are undefined until written. */
+  public int allocate() {
+    liveSlots++;
+    if (freeCount > 0) {
+      return freeSlots[--freeCount];
+    }
+    int slot = nextSlot++;
+    int index = slabIndex(slot);
+    if (index == slabs.size()) {
+      long bytes = slotBytes * slabSlots(index);
+      slabs.add(arena.allocate(bytes, Double.BYTES));
+      reservedBytes += bytes;
+      log.debug(
+        "Vector arena grew to {} slabs ({} bytes)",
+        slabs.size(),
+        getReservedBytes()
+      );
+    }
+    return slot;
+  }
+
+  /** Return a slot for reuse. */
+  public void free(int slot) {
+    checkSlot(slot);
+    if (freeCount == freeSlots.length) {
+      freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+    }
+    freeSlots[freeCount++] = slot;
+    liveSlots--;
+  }
+
+  public void write(int slot, double[] vector) {
+    checkSlot(slot);
+    checkLength(vector);
+    MemorySegment.copy(vector, 0, slab(slot), DOUBLE, offset(slot), dimensions);
+  }
+
+  public double[] read(int slot) {
+    checkSlot(slot);
+    double[] vector = new double[dimensions];
+    MemorySegment.copy(slab(slot), DOUBLE, offset(slot), vector, 0, dimensions);
+    return vector;
+  }
+
+  /** Angular similarity between a stored vector and a heap vector. */
+  public double angularSimilarity(int slot, double[] other) {
+    checkSlot(slot);
+    checkLength(other);
+    MemorySegment seg = slab(slot);
+    long base = offset(slot);
+    double dot = 0, n1 = 0, n2 = 0;
+    for (int i = 0; i < dimensions; i++) {
+      double a = seg.get(DOUBLE, base + (long) i * Double.BYTES);
+      double b = other[i];
+      dot += a * b;
+      n1 += a * a;
+      n2 += b * b;
+    }
+    return dot / (Math.sqrt(n1) * Math.sqrt(n2) + 1e-9);
+  }
+
+  /** Angular similarity between two stored vectors. */
+  public double angularSimilarity(int slotA, int slotB) {
+    checkSlot(slotA);
+    checkSlot(slotB);
+    MemorySegment segA = slab(slotA);
+    MemorySegment segB = slab(slotB);
+    long baseA = offset(slotA);
+    long baseB = offset(slotB);
+    double dot = 0, n1 = 0, n2 = 0;
+    for (int i = 0; i < dimensions; i++) {
+      long off = (long) i * Double.BYTES;
+      double a = segA.get(DOUBLE, baseA + off);
+      double b = segB.get(DOUBLE, baseB + off);
+      dot += a * b;
+      n1 += a * a;
+      n2 += b * b;
+    }
+    return dot / (Math.sqrt(n1) * Math.sqrt(n2) + 1e-9);
+  }
+
+  /** Slots currently allocated and not freed. */
+  public int getLiveSlots() {
+    return liveSlots;
+  }
+
+  /** Native memory held by this arena, in bytes. */
+  public long getReservedBytes() {
+    return reservedBytes;
+  }
+
+  /** Release all native memory; the arena must not be used afterwards. */
+  @Override
+  public void close() {
+    arena.close();
+    slabs.clear();
+    reservedBytes = 0;
+  }
+
+  private MemorySegment slab(int slot) {
+    return slabs.get(slabIndex(slot));
+  }
+
+  private long offset(int slot) {
+    return (long) (slot - slabStart(slabIndex(slot))) * slotBytes;
+  }
+
+  private int slabIndex(int slot) {
+    if (slot < growthEnd) {
+      // Growth slab i starts at firstSlabSlots * (2^i - 1)
+      return 31 - Integer.numberOfLeadingZeros(slot / firstSlabSlots + 1);
+    }
+    return growthSlabs + (slot - growthEnd) / maxSlabSlots;
+  }
+
+  private int slabStart(int index) {
+    return index < growthSlabs
+      ? firstSlabSlots * ((1 << index) - 1)
+      : growthEnd + (index - growthSlabs) * maxSlabSlots;
+  }
+
+  private int slabSlots(int index) {
+    return index < growthSlabs ? firstSlabSlots << index : maxSlabSlots;
+  }
+
+  private void checkSlot(int slot) {
+    if (slot < 0 || slot >= nextSlot) {
+      throw new IndexOutOfBoundsException("Unknown slot " + slot);
+    }
+  }
+
+  private void checkLength(double[] vector) {
+    if (vector.length != dimensions) {
+      throw new IllegalArgumentException(
+        "Expected " + dimensions + " dimensions, got " + vector.length
+      );
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package com.spiron.crdt;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adaptive gossip policy: decides how long to wait before the next round and
+ * how many peers to contact in it.
+ *
+ * Semantics:
+ * - A round that carried changes (either side merged something new) halves the
+ *   interval and raises fanout by one, so fresh state spreads in fewer rounds.
+ * - A no-op round backs the interval off by {@link #BACKOFF_FACTOR} and lowers
+ *   fanout by one, so a converged cluster spends little bandwidth.
+ * - Peers are chosen least-recently-synced first, ties broken randomly, so every
+ *   peer is visited within ceil(N / fanout) rounds instead of by chance.
+ * - A failed sync counts as a visit, and the peer then backs off: after k failures
+ *   in a row it sorts behind every other peer for 2^(k-1) rounds (at most
+ *   {@link #MAX_BACKOFF_ROUNDS}). An unreachable peer is retried, but never keeps
+ *   the live peers from being synced.
+ *
+ * Thread-safety: adapt/select are called from the single gossip thread; the
+ * per-peer sync timestamps may be read concurrently.
+ */
+public class AdaptiveGossipPolicy {
+
+  static final double BACKOFF_FACTOR = 1.5;
+  static final int MAX_BACKOFF_ROUNDS = 32;
+
+  /** Consecutive failed syncs with a peer, and the round its backoff ends. */
+  private record Backoff(int failures, long untilRound) {}
+
+  private final long minIntervalMs;
+  private final long maxIntervalMs;
+  private final int minFanout;
+  private final int maxFanout;
+  private final boolean preferStalePeers;
+  private final Random random; // null = ThreadLocalRandom
+  private final Map<String, Long> lastSyncedAt = new ConcurrentHashMap<>(); // sync or failed attempt
+  private final Map<String, Backoff> backoffs = new ConcurrentHashMap<>();
+  private long round; // selectPeers calls; gossip thread only
+
+  private volatile long intervalMs;
+  private volatile int fanout;
+
+  /**
+   * @param baseIntervalMs interval used for the first round
+   * @param minIntervalMs lower bound reached while rounds keep carrying changes
+   * @param maxIntervalMs upper bound reached while rounds are no-ops
+   * @param minFanout peers contacted per round when idle (>= 1)
+   * @param maxFanout peers contacted per round under churn
+   * @param preferStalePeers pick least-recently-synced peers first (false = uniform random)
+   * @param random source for tie-breaking, or null to use ThreadLocalRandom
+   */
+  public AdaptiveGossipPolicy(
+    long baseIntervalMs,
+    long minIntervalMs,
+    long maxIntervalMs,
+    int minFanout,
+    int maxFanout,
+    boolean preferStalePeers,
+    Random random
+  ) {
+    if (minIntervalMs < 1 || minIntervalMs > maxIntervalMs) {
+      throw new IllegalArgumentException(
+        "Invalid gossip interval bounds: min=" + minIntervalMs + ", max=" + maxIntervalMs
+      );
+    }
+    if (minFanout < 1 || minFanout > maxFanout) {
+      throw new IllegalArgumentException(
+        "Invalid gossip fanout bounds: min=" + minFanout + ", max=" + maxFanout
+      );
+    }
+    this.minIntervalMs = minIntervalMs;
+    this.maxIntervalMs = maxIntervalMs;
+    this.minFanout = minFanout;
+    this.maxFanout = maxFanout;
+    this.preferStalePeers = preferStalePeers;
+    this.random = random;
+    this.intervalMs = clamp(baseIntervalMs, minIntervalMs, maxIntervalMs);
+    this.fanout = minFanout;
+  }
+
+  /**
+   * Default adaptive policy around a configured interval: the interval may drop to
+   * a quarter of the base under churn and grow to four times it when idle, fanout 1..3.
+   */
+  public static AdaptiveGossipPolicy forInterval(long baseIntervalMs) {
+    long base = Math.max(1, baseIntervalMs);
+    return new AdaptiveGossipPolicy(
+      base,
+      Math.max(1, base / 4),
+      base * 4,
+      1,
+      3,
+      true,
+      null
+    );
+  }
+
+  /**
+   * Non-adaptive policy: constant interval, one uniformly random peer per round
+   * (the legacy behaviour, kept as a baseline for the convergence benchmark).
+   */
+  public static AdaptiveGossipPolicy fixed(long intervalMs, Random random) {
+    long base = Math.max(1, intervalMs);
+    return new AdaptiveGossipPolicy(base, base, base, 1, 1, false, random);
+  }
+
+  /**
+   * Adapt interval and fanout after a completed round.
+   *
+   * @param changed true if the round merged new state on either side
+   */
+  public void onRoundComplete(boolean changed) {
+    if (changed) {
+      intervalMs = clamp(intervalMs / 2, minIntervalMs, maxIntervalMs);
+      fanout = Math.min(maxFanout, fanout + 1);
+    } else {
+      intervalMs = clamp(
+        (long) Math.ceil(intervalMs * BACKOFF_FACTOR),
+        minIntervalMs,
+        maxIntervalMs
+      );
+      fanout = Math.max(minFanout, fanout - 1);
+    }
+  }
+
+  /**
+   * Select the peers to contact in the next round: the {@code fanout} peers that
+   * were synced with least recently (never-synced peers first, backing-off peers
+   * last), or a random subset when stale-peer preference is disabled.
+   */
+  public List<String> selectPeers(List<String> peers) {
+    long current = ++round;
+    int n = peers.size();
+    if (n == 0) return List.of();
+    int k = Math.min(fanout, n);
+
+    // Shuffle first so the stable sort below breaks timestamp ties randomly
+    String[] candidates = peers.toArray(new String[0]);
+    for (int i = n - 1; i > 0; i--) {
+      int j = random != null
+        ? random.nextInt(i + 1)
+        : ThreadLocalRandom.current().nextInt(i + 1);
+      String tmp = candidates[i];
+      candidates[i] = candidates[j];
+      candidates[j] = tmp;
+    }
+    if (preferStalePeers) {
+      Comparator<String> backingOff = Comparator.comparingInt(p -> {
+        Backoff b = backoffs.get(p);
+        return b != null && b.untilRound() >= current ? 1 : 0;
+      });
+      Arrays.sort(
+        candidates,
+        backingOff.thenComparingLong(p -> lastSyncedAt.getOrDefault(p, Long.MIN_VALUE))
+      );
+    }
+    return List.of(Arrays.copyOf(candidates, k));
+  }
+
+  /**
+   * Record that a Sync with the peer completed at the given (monotonic) time.
+   */
+  public void recordSync(String peer, long timestamp) {
+    lastSyncedAt.put(peer, timestamp);
+    backoffs.remove(peer);
+  }
+
+  /**
+   * Record that a Sync with the peer failed (no response) at the given time, and
+   * back the peer off.
+   */
+  public void recordFailure(String peer, long timestamp) {
+    lastSyncedAt.put(peer, timestamp);
+    backoffs.compute(peer, (p, b) -> {
+      int failures = b == null ? 1 : b.failures() + 1;
+      long rounds = Math.min(1L << Math.min(failures - 1, 30), MAX_BACKOFF_ROUNDS);
+      return new Backoff(failures, round + rounds);
+    });
+  }
+
+  /** Delay before the next round, in milliseconds. */
+  public long nextIntervalMs() {
+    return intervalMs;
+  }
+
+  /** Number of peers contacted in the next round. */
+  public int currentFanout() {
+    return fanout;
+  }
+
+  private static long clamp(long value, long min, long max) {
+    return Math.max(min, Math.min(max, value));
+  }
+}
@@ -1,6 +1,7 @@
 package com.spiron.crdt;
 
 import com.spiron.metrics.EnergyMetrics;
+import com.spiron.proto.EddyProto;
 import java.util.*;
 
 /**
@@ -14,12 +15,30 @@ import java.util.*;
  * Implementation: Each replica maintains its own non-decreasing counter.
  * Global value = sum of all per-replica counters.
  * Merge via element-wise max per replica.
+ *
+ * Representation: each counter keeps its replica ids and counts in two parallel
+ * arrays ({@code String[]} / {@code long[]}), in first-seen order, and looks ids up
+ * by a linear scan (counters hold one entry per cluster node, so this beats
+ * hashing). Ids are scoped to the counter: replica ids arrive from the network, and
+ * a peer inventing ids can only fill the counters it sends, up to
+ * {@link #MAX_REPLICAS}, never a table other counters depend on. The cumulative sum
+ * is kept up to date on every increment/merge, so {@link #getCumulative()} is O(1).
+ * A count of zero is the same as an absent replica.
  */
 public class ApprovalCounter {
 
-  private final Map<String, Long> perReplicaCount;
+  /** Most replicas one counter accepts; far above any real cluster's membership. */
+  public static final int MAX_REPLICAS = 1024;
+
+  private static final String[] NO_REPLICAS = new String[0];
+  private static final long[] NO_COUNTS = new long[0];
+
+  private String[] replicas;
+  private long[] counts;
+  private int size;
+  private long cumulative;
   private static EnergyMetrics metrics = null;
-  
+
   /**
    * Set the metrics instance for instrumentation.
    */
@@ -28,18 +47,56 @@ public class ApprovalCounter {
   }
 
   public ApprovalCounter() {
-    this.perReplicaCount = new HashMap<>();
+    this.replicas = NO_REPLICAS;
+    this.counts = NO_COUNTS;
   }
 
   public ApprovalCounter(Map<String, Long> perReplicaCount) {
-    this.perReplicaCount = new HashMap<>(perReplicaCount);
+    this();
+    for (Map.Entry<String, Long> entry : perReplicaCount.entrySet()) {
+      mergeEntry(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private ApprovalCounter(String[] replicas, long[] counts, int size, long cumulative) {
+    this.replicas = replicas;
+    this.counts = counts;
+    this.size = size;
+    this.cumulative = cumulative;
+  }
+
+  /**
+   * Build a counter from its proto form.
+   *
+   * @throws IllegalArgumentException if the proto names more than {@link #MAX_REPLICAS} replicas
+   */
+  public static ApprovalCounter fromProto(EddyProto.ApprovalCounter proto) {
+    ApprovalCounter counter = new ApprovalCounter();
+    counter.merge(proto);
+    return counter;
+  }
+
+  /**
+   * Convert to the proto form (replicas with a zero count are omitted).
+   */
+  public EddyProto.ApprovalCounter toProto() {
+    EddyProto.ApprovalCounter.Builder builder =
+      EddyProto.ApprovalCounter.newBuilder();
+    for (int i = 0; i < size; i++) {
+      if (counts[i] != 0) {
+        builder.putPerReplica(replicas[i], counts[i]);
+      }
+    }
+    return builder.build();
   }
 
   /**
    * Increment the counter for a given replica (replica must be the caller's own replicaId).
    */
   public void increment(String replicaId) {
-    perReplicaCount.merge(replicaId, 1L, Long::sum);
+    int idx = slot(replicaId);
+    counts[idx]++;
+    cumulative++;
     if (metrics != null) {
       metrics.incCrdtIngest();
     }
@@ -49,7 +106,8 @@ public class ApprovalCounter {
    * Get the per-replica counter value.
    */
   public long get(String replicaId) {
-    return perReplicaCount.getOrDefault(replicaId, 0L);
+    int idx = indexOf(replicaId);
+    return idx >= 0 ? counts[idx] : 0L;
   }
 
   /**
@@ -57,14 +115,20 @@ public class ApprovalCounter {
    * This is used to determine finality: when cumulative approvals >= threshold, consensus is reached.
    */
   public long getCumulative() {
-    return perReplicaCount.values().stream().mapToLong(Long::longValue).sum();
+    return cumulative;
   }
 
   /**
    * Get a snapshot of the entire per-replica map.
    */
   public Map<String, Long> getPerReplicaMap() {
-    return new HashMap<>(perReplicaCount);
+    Map<String, Long> map = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      if (counts[i] != 0) {
+        map.put(replicas[i], counts[i]);
+      }
+    }
+    return map;
   }
 
   /**
@@ -78,27 +142,87 @@ public class ApprovalCounter {
    * - Monotonic: cumulative never decreases after merge
    */
   public void merge(ApprovalCounter other) {
+    if (other == null || other == this) return;
+    for (int i = 0; i < other.size; i++) {
+      String id = other.replicas[i];
+      // Counters usually list the same replicas in the same order
+      int idx = i < size && replicas[i].equals(id) ? i : -1;
+      mergeEntry(idx, id, other.counts[i]);
+    }
+  }
+
+  /**
+   * Merge a proto approval counter into this one (same rule as {@link #merge(ApprovalCounter)}),
+   * without materialising an intermediate counter.
+   *
+   * @throws IllegalArgumentException if this counter would hold more than
+   *     {@link #MAX_REPLICAS} replicas
+   */
+  public void merge(EddyProto.ApprovalCounter other) {
     if (other == null) return;
-    Map<String, Long> otherMap = other.getPerReplicaMap();
-    for (String replicaId : otherMap.keySet()) {
-      long otherVal = otherMap.get(replicaId);
-      perReplicaCount.merge(replicaId, otherVal, Math::max);
+    for (Map.Entry<String, Long> entry : other.getPerReplicaMap().entrySet()) {
+      mergeEntry(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private void mergeEntry(String replicaId, long value) {
+    mergeEntry(-1, replicaId, value);
+  }
+
+  /** @param idx slot of {@code replicaId} if already known, else -1 */
+  private void mergeEntry(int idx, String replicaId, long value) {
+    if (idx < 0) {
+      idx = indexOf(replicaId);
+      if (idx < 0) {
+        if (value <= 0) return; // zero is the same as absent
+        idx = slot(replicaId);
+      }
+    }
+    long current = counts[idx];
+    if (value > current) {
+      counts[idx] = value;
+      cumulative += value - current;
     }
-    // Also retain replicas that are in our map but not in other (no merging needed)
+  }
+
+  private int indexOf(String replicaId) {
+    for (int i = 0; i < size; i++) {
+      if (replicas[i].equals(replicaId)) return i;
+    }
+    return -1;
+  }
+
+  /** Slot for {@code replicaId}, added with a zero count if new. */
+  private int slot(String replicaId) {
+    int idx = indexOf(replicaId);
+    if (idx >= 0) return idx;
+    if (size == MAX_REPLICAS) {
+      throw new IllegalArgumentException(
+        "Rejecting replica id '" + replicaId + "': counter already holds " + MAX_REPLICAS + " replicas"
+      );
+    }
+    if (size == replicas.length) {
+      int grown = Math.min(MAX_REPLICAS, Math.max(4, size * 2));
+      replicas = Arrays.copyOf(replicas, grown);
+      counts = Arrays.copyOf(counts, grown);
+    }
+    replicas[size] = replicaId;
+    counts[size] = 0L;
+    return size++;
   }
 
   /**
    * Create a copy of this counter.
    */
   public ApprovalCounter copy() {
-    return new ApprovalCounter(new HashMap<>(perReplicaCount));
+    return new ApprovalCounter(replicas.clone(), counts.clone(), size, cumulative);
   }
 
   /**
    * Check if this counter has any approvals.
    */
   public boolean isEmpty() {
-    return perReplicaCount.isEmpty() || getCumulative() == 0;
+    return cumulative == 0;
   }
 
   @Override
@@ -106,9 +230,9 @@ public class ApprovalCounter {
     return (
       "ApprovalCounter{" +
       "perReplica=" +
-      perReplicaCount +
+      getPerReplicaMap() +
       ", cumulative=" +
-      getCumulative() +
+      cumulative +
       '}'
     );
   }
@@ -118,11 +242,25 @@ public class ApprovalCounter {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     ApprovalCounter that = (ApprovalCounter) o;
-    return Objects.equals(perReplicaCount, that.perReplicaCount);
+    if (cumulative != that.cumulative) return false;
+    // Replica order may differ and zero counts count as absent
+    for (int i = 0; i < size; i++) {
+      if (counts[i] != that.get(replicas[i])) return false;
+    }
+    for (int i = 0; i < that.size; i++) {
+      if (that.counts[i] != get(that.replicas[i])) return false;
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(perReplicaCount);
+    int h = 0;
+    for (int i = 0; i < size; i++) {
+      if (counts[i] != 0) {
+        h += replicas[i].hashCode() ^ Long.hashCode(counts[i]);
+      }
+    }
+    return h;
   }
 }
@@ -19,6 +19,13 @@ import org.slf4j.LoggerFactory;
  * - Associative: merge(a, merge(b, c)) == merge(merge(a, b), c)
  * - Idempotent: merge(a, a) == a (no side effects from re-merging)
  * - Convergent: All replicas eventually converge to the same state after gossip.
+ *
+ * Fast paths: two eddies are compared by version — LWW (timestamp, replicaId),
+ * lastUpdated and approvals — never by vector payload, since one (timestamp,
+ * replicaId) pair identifies one write. When one side dominates the other (wins
+ * LWW, has every per-replica count >= and a lastUpdated >=) that side already
+ * is the merge result and is returned as-is, so merges in a converged cluster
+ * allocate nothing.
  */
 public class CRDTMergeEngine {
 
@@ -52,24 +59,47 @@ public class CRDTMergeEngine {
   ) {
     if (eddy1 == null) return eddy2;
     if (eddy2 == null) return eddy1;
-    if (eddy1.equals(eddy2)) return eddy1; // Idempotent: merging identical eddies returns same
+    if (sameVersion(eddy1, eddy2)) { // Idempotent: merging identical eddies returns same
+      if (metrics != null) {
+        metrics.incMergeRebuildAvoided();
+      }
+      return eddy1;
+    }
 
     // Track merge operation
     if (metrics != null) {
       metrics.incMerge();
     }
 
+    // Dominance: one side already holds the merged state
+    EddyProto.CRDTEddy dominant = dominates(eddy1, eddy2)
+      ? eddy1
+      : dominates(eddy2, eddy1) ? eddy2 : null;
+    if (dominant != null) {
+      if (metrics != null) {
+        metrics.incMergeRebuildAvoided();
+      }
+      return dominant;
+    }
+
     // Merge vectors using LWW rule
     EddyProto.CRDTVector mergedVector = mergeLWWVector(
       eddy1.getState(),
       eddy2.getState()
     );
 
-    // Merge approval counters using G-Counter merge
-    EddyProto.ApprovalCounter mergedApprovals = mergeApprovals(
-      eddy1.getApprovals(),
-      eddy2.getApprovals()
-    );
+    // Merge approval counters using G-Counter merge, reusing a dominating side as-is
+    EddyProto.ApprovalCounter mergedApprovals;
+    if (approvalsDominate(eddy1.getApprovals(), eddy2.getApprovals())) {
+      mergedApprovals = eddy1.getApprovals();
+    } else if (approvalsDominate(eddy2.getApprovals(), eddy1.getApprovals())) {
+      mergedApprovals = eddy2.getApprovals();
+    } else {
+      mergedApprovals = mergeApprovals(
+        eddy1.getApprovals(),
+        eddy2.getApprovals()
+      ).toProto();
+    }
 
     // Update lastUpdated to the most recent timestamp
     long lastUpdated = Math.max(eddy1.getLastUpdated(), eddy2.getLastUpdated());
@@ -84,12 +114,63 @@ public class CRDTMergeEngine {
 
     return EddyProto.CRDTEddy.newBuilder()
       .setId(eddy1.getId())
+      .setTopic(eddy1.getTopic())
       .setState(mergedVector)
       .setApprovals(mergedApprovals)
       .setLastUpdated(lastUpdated)
       .build();
   }
 
+  /**
+   * Version equality: same id, same LWW write (timestamp, replicaId), same lastUpdated
+   * and same approvals. Cost is independent of vector dimensions.
+   *
+   * @return true if merging {@code a} and {@code b} cannot change either side
+   */
+  public static boolean sameVersion(
+    EddyProto.CRDTEddy a,
+    EddyProto.CRDTEddy b
+  ) {
+    if (a == b) return true;
+    if (a == null || b == null) return false;
+    EddyProto.CRDTVector va = a.getState();
+    EddyProto.CRDTVector vb = b.getState();
+    return (
+      va.getTimestamp() == vb.getTimestamp() &&
+      a.getLastUpdated() == b.getLastUpdated() &&
+      va.getReplicaId().equals(vb.getReplicaId()) &&
+      a.getId().equals(b.getId()) &&
+      a.getApprovals().equals(b.getApprovals())
+    );
+  }
+
+  /**
+   * @return true if {@code a} is already the merge of {@code a} and {@code b}
+   */
+  private static boolean dominates(
+    EddyProto.CRDTEddy a,
+    EddyProto.CRDTEddy b
+  ) {
+    return (
+      a.getLastUpdated() >= b.getLastUpdated() &&
+      mergeLWWVector(a.getState(), b.getState()) == a.getState() &&
+      approvalsDominate(a.getApprovals(), b.getApprovals())
+    );
+  }
+
+  /**
+   * @return true if every per-replica count in {@code b} is <= the one in {@code a}
+   */
+  private static boolean approvalsDominate(
+    EddyProto.ApprovalCounter a,
+    EddyProto.ApprovalCounter b
+  ) {
+    for (Map.Entry<String, Long> entry : b.getPerReplicaMap().entrySet()) {
+      if (entry.getValue() > a.getPerReplicaOrDefault(entry.getKey(), 0L)) return false;
+    }
+    return true;
+  }
+
   /**
    * Merge two CRDTVectors using Last-Writer-Wins (LWW) semantics:
    * - Select the vector with the highest timestamp.
@@ -128,40 +209,21 @@ public class CRDTMergeEngine {
 
   /**
    * Merge two ApprovalCounter proto messages using G-Counter merge (element-wise max).
-   * Returns a merged ApprovalCounter proto.
+   * Both sides are folded into one compact {@link ApprovalCounter}, which keeps the
+   * merged cumulative as it goes.
    *
    * @param appr1 first proto approval counter
    * @param appr2 second proto approval counter
-   * @return merged proto approval counter
+   * @return merged approval counter
    */
-  private static EddyProto.ApprovalCounter mergeApprovals(
+  private static ApprovalCounter mergeApprovals(
     EddyProto.ApprovalCounter appr1,
     EddyProto.ApprovalCounter appr2
   ) {
-    EddyProto.ApprovalCounter.Builder builder =
-      EddyProto.ApprovalCounter.newBuilder();
-
-    // Merge from first counter
-    if (appr1 != null) {
-      Map<String, Long> map1 = appr1.getPerReplicaMap();
-      for (String replicaId : map1.keySet()) {
-        builder.putPerReplica(replicaId, map1.get(replicaId));
-      }
-    }
-
-    // Merge from second counter (element-wise max)
-    if (appr2 != null) {
-      Map<String, Long> map2 = appr2.getPerReplicaMap();
-      for (String replicaId : map2.keySet()) {
-        long val2 = map2.get(replicaId);
-        long val1 = appr1 != null
-          ? appr1.getPerReplicaOrDefault(replicaId, 0L)
-          : 0L;
-        builder.putPerReplica(replicaId, Math.max(val1, val2));
-      }
-    }
-
-    return builder.build();
+    ApprovalCounter merged = new ApprovalCounter();
+    merged.merge(appr1);
+    merged.merge(appr2);
+    return merged;
   }
 
   /**
@@ -0,0 +1,176 @@
+package com.spiron.crdt;
+
+import com.spiron.core.TopicEngines;
+import com.spiron.metrics.GossipMetrics;
+import com.spiron.proto.EddyProto;
+import com.spiron.proto.EddyProto.SyncRequest;
+import com.spiron.proto.EddyProto.SyncResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Eager (push-on-write) gossip: sends freshly written CRDT eddies straight to a
+ * few peers instead of waiting for the next periodic {@link GossipScheduler} round.
+ *
+ * Semantics:
+ * - {@link #offer} queues an eddy; versions of the same id offered within the
+ *   coalescing window are merged (CRDT merge) into one pending delta.
+ * - When the window closes, all pending eddies go out in one delta SyncRequest
+ *   to {@code fanout} peers, rotating through the peer list so every peer is
+ *   pushed to within ceil(N / fanout) flushes.
+ * - Delivery is best effort: failed pushes are not retried, the periodic
+ *   pull rounds repair whatever a push missed.
+ */
+public class EagerGossipPusher {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    EagerGossipPusher.class
+  );
+
+  private final String localNodeId;
+  private final List<String> peers;
+  private final int fanout;
+  private final long coalesceWindowMs;
+  private final GossipScheduler.EddyGossipClient gossipClient;
+  private final GossipMetrics gossipMetrics;
+
+  private final ConcurrentHashMap<String, EddyProto.CRDTEddy> pending =
+    new ConcurrentHashMap<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+  private final ScheduledExecutorService executor;
+  private int cursor = 0; // only touched by the flush thread
+
+  /**
+   * @param localNodeId current node identifier (sender id on pushes)
+   * @param peers peer node addresses (host:port)
+   * @param fanout peers pushed to per flush (0 disables eager push)
+   * @param coalesceWindowMs how long writes are collected before a flush
+   * @param gossipClient RPC client used to send delta Sync requests
+   * @param gossipMetrics metrics sink (may be null)
+   */
+  public EagerGossipPusher(
+    String localNodeId,
+    List<String> peers,
+    int fanout,
+    long coalesceWindowMs,
+    GossipScheduler.EddyGossipClient gossipClient,
+    GossipMetrics gossipMetrics
+  ) {
+    this.localNodeId = localNodeId;
+    this.peers = List.copyOf(peers);
+    this.fanout = Math.max(0, Math.min(fanout, this.peers.size()));
+    this.coalesceWindowMs = Math.max(0, coalesceWindowMs);
+    this.gossipClient = gossipClient;
+    this.gossipMetrics = gossipMetrics;
+    this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "EagerGossipPusher-" + localNodeId);
+      t.setDaemon(true);
+      return t;
+    });
+    log.info(
+      "Eager gossip push {}: fanout={}, coalesce window={}ms, peers={}",
+      isEnabled() ? "enabled" : "disabled",
+      this.fanout,
+      this.coalesceWindowMs,
+      this.peers.size()
+    );
+  }
+
+  /**
+   * @return true if pushes will be sent (fanout > 0 and at least one peer)
+   */
+  public boolean isEnabled() {
+    return fanout > 0;
+  }
+
+  /**
+   * Queue a new or changed eddy for eager push. Never blocks on the network.
+   *
+   * @param eddy the eddy as just persisted locally
+   */
+  public void offer(EddyProto.CRDTEddy eddy) {
+    if (!isEnabled() || eddy == null) return;
+    // Keyed like the CRDT store, so eddies of different topics never merge
+    String key = TopicEngines.scopedId(eddy.getTopic(), eddy.getId());
+    pending.merge(key, eddy, CRDTMergeEngine::merge);
+    if (flushScheduled.compareAndSet(false, true)) {
+      try {
+        executor.schedule(this::flush, coalesceWindowMs, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        flushScheduled.set(false);
+        log.debug("Eager gossip pusher stopped, dropping push for {}", eddy.getId());
+      }
+    }
+  }
+
+  /**
+   * Send everything pending as one delta to the next {@code fanout} peers.
+   */
+  private void flush() {
+    // Clear the flag before draining so offers racing with this flush schedule another one
+    flushScheduled.set(false);
+
+    SyncRequest.Builder builder = SyncRequest.newBuilder()
+      .setSenderId(localNodeId)
+      .setDelta(true);
+    for (String eddyId : new ArrayList<>(pending.keySet())) {
+      EddyProto.CRDTEddy eddy = pending.remove(eddyId);
+      if (eddy != null) {
+        builder.putEddies(eddyId, eddy);
+      }
+    }
+    if (builder.getEddiesCount() == 0) return;
+    SyncRequest request = builder.build();
+
+    for (int i = 0; i < fanout; i++) {
+      String peer = peers.get(cursor);
+      cursor = (cursor + 1) % peers.size();
+      try {
+        Optional<SyncResponse> response = gossipClient.sync(peer, request);
+        if (response.isPresent()) {
+          log.debug(
+            "Pushed {} eddies to {} ({} applied)",
+            request.getEddiesCount(),
+            peer,
+            response.get().getApplied()
+          );
+          if (gossipMetrics != null) {
+            gossipMetrics.recordPush(request.getEddiesCount());
+          }
+        } else if (gossipMetrics != null) {
+          gossipMetrics.incPushFailure();
+        }
+      } catch (Exception e) {
+        log.debug("Eager push to {} failed: {}", peer, e.getMessage());
+        if (gossipMetrics != null) {
+          gossipMetrics.incPushFailure();
+        }
+      }
+    }
+  }
+
+  /**
+   * Number of eddies waiting for the current coalescing window to close.
+   */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Flush anything pending and stop the push thread.
+   */
+  public void stop() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,241 @@
+package com.spiron.crdt;
+
+import com.spiron.util.BloomFilter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.rocksdb.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-node index of finalized eddies: only id, cumulative approvals at finality
+ * and finalization time are kept (16 bytes per value), never the vector itself.
+ *
+ * Semantics:
+ * - Once recorded, an entry is never overwritten (finality is immutable).
+ * - {@link #isFinalized} consults a Bloom filter first, so the common "not final"
+ *   answer costs a few memory reads and no store lookup.
+ * - The RocksDB-backed index ({@link #open}) survives restarts; the Bloom filter
+ *   is rebuilt from the stored keys on open. {@link #inMemory} is for tests and
+ *   tools that have no data directory.
+ * - {@link #close} releases the database and its options; the index cannot be
+ *   used afterwards.
+ */
+public class FinalizedEddyIndex implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    FinalizedEddyIndex.class
+  );
+
+  /** Default Bloom filter sizing. */
+  public static final long DEFAULT_EXPECTED_EDDIES = 1_000_000;
+  private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+  /** Finality facts kept per eddy. */
+  public record Entry(long cumulative, long finalizedAtMs) {}
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private final RocksDB db; // null for in-memory
+  private final Options options; // null for in-memory
+  private final Map<String, Entry> memory; // null for RocksDB
+  private final BloomFilter bloom;
+  private final AtomicLong size = new AtomicLong();
+  private final long expectedEddies;
+  private volatile boolean closed = false;
+
+  private FinalizedEddyIndex(RocksDB db, Options options, long expectedEddies) {
+    this.db = db;
+    this.options = options;
+    this.memory = db == null ? new ConcurrentHashMap<>() : null;
+    this.expectedEddies = expectedEddies;
+    this.bloom = new BloomFilter(expectedEddies, BLOOM_FALSE_POSITIVE_RATE);
+  }
+
+  /**
+   * Create a non-persistent index.
+   */
+  public static FinalizedEddyIndex inMemory() {
+    return new FinalizedEddyIndex(null, null, DEFAULT_EXPECTED_EDDIES);
+  }
+
+  /**
+   * Open (or create) a RocksDB-backed index in {@code dir}.
+   *
+   * @param dir directory for the index database
+   * @param expectedEddies number of finalized eddies the Bloom filter is sized for
+   */
+  public static FinalizedEddyIndex open(Path dir, long expectedEddies) {
+    Options options = null;
+    try {
+      Files.createDirectories(dir);
+      options = new Options()
+        .setCreateIfMissing(true)
+        .setCompressionType(CompressionType.LZ4_COMPRESSION);
+      FinalizedEddyIndex index = new FinalizedEddyIndex(
+        RocksDB.open(options, dir.toString()),
+        options,
+        expectedEddies
+      );
+      index.loadBloom();
+      log.info(
+        "Opened finalized-eddy index at {} ({} entries)",
+        dir,
+        index.size()
+      );
+      return index;
+    } catch (Exception e) {
+      if (options != null) {
+        options.close();
+      }
+      throw new RuntimeException(
+        "Failed to open finalized-eddy index at " + dir,
+        e
+      );
+    }
+  }
+
+  private void loadBloom() {
+    long count = 0;
+    try (RocksIterator it = db.newIterator()) {
+      for (it.seekToFirst(); it.isValid(); it.next()) {
+        bloom.put(new String(it.key(), StandardCharsets.UTF_8));
+        count++;
+      }
+    }
+    size.set(count);
+    if (count > expectedEddies) {
+      log.warn(
+        "Finalized-eddy index holds {} entries, above the {} its Bloom filter is sized for",
+        count,
+        expectedEddies
+      );
+    }
+  }
+
+  /**
+   * @return true if {@code eddyId} has been recorded as final
+   */
+  public boolean isFinalized(String eddyId) {
+    return bloom.mightContain(eddyId) && get(eddyId).isPresent();
+  }
+
+  /**
+   * @return the finality entry for {@code eddyId}, or empty if it is not final
+   */
+  public Optional<Entry> get(String eddyId) {
+    if (!bloom.mightContain(eddyId)) return Optional.empty();
+    if (db == null) return Optional.ofNullable(memory.get(eddyId));
+    ensureOpen();
+    try {
+      byte[] value = db.get(eddyId.getBytes(StandardCharsets.UTF_8));
+      return value == null ? Optional.empty() : Optional.of(decode(value));
+    } catch (RocksDBException e) {
+      log.error("Failed to read finalized-eddy index entry {}", eddyId, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Record an eddy as final. Has no effect if it already is.
+   *
+   * @return true if this call recorded the entry
+   */
+  public synchronized boolean record(String eddyId, long cumulative, long finalizedAtMs) {
+    ensureOpen();
+    if (get(eddyId).isPresent()) return false;
+    Entry entry = new Entry(cumulative, finalizedAtMs);
+    if (db == null) {
+      memory.put(eddyId, entry);
+    } else {
+      try {
+        db.put(eddyId.getBytes(StandardCharsets.UTF_8), encode(entry));
+      } catch (RocksDBException e) {
+        log.error("Failed to write finalized-eddy index entry {}", eddyId, e);
+        throw new RuntimeException("Finalized-eddy index write failed", e);
+      }
+    }
+    // Publish to the Bloom filter only after the entry is readable
+    bloom.put(eddyId);
+    size.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Visit every finalized eddy id.
+   */
+  public void forEachId(Consumer<String> action) {
+    if (db == null) {
+      memory.keySet().forEach(action);
+      return;
+    }
+    ensureOpen();
+    try (RocksIterator it = db.newIterator()) {
+      for (it.seekToFirst(); it.isValid(); it.next()) {
+        action.accept(new String(it.key(), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  /**
+   * @return number of finalized eddies
+   */
+  public long size() {
+    return size.get();
+  }
+
+  /**
+   * Remove every entry (for testing only).
+   */
+  public synchronized void clear() {
+    if (db == null) {
+      memory.clear();
+    } else {
+      ensureOpen();
+      try (RocksIterator it = db.newIterator()) {
+        for (it.seekToFirst(); it.isValid(); it.next()) {
+          db.delete(it.key());
+        }
+      } catch (RocksDBException e) {
+        throw new RuntimeException("Finalized-eddy index clear failed", e);
+      }
+    }
+    bloom.clear();
+    size.set(0);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) return;
+    closed = true;
+    if (db != null) {
+      db.close();
+      options.close();
+    }
+  }
+
+  private void ensureOpen() {
+    if (closed) throw new IllegalStateException("Finalized-eddy index is closed");
+  }
+
+  private static byte[] encode(Entry entry) {
+    return ByteBuffer.allocate(16)
+      .putLong(entry.cumulative())
+      .putLong(entry.finalizedAtMs())
+      .array();
+  }
+
+  private static Entry decode(byte[] value) {
+    ByteBuffer buf = ByteBuffer.wrap(value);
+    return new Entry(buf.getLong(), buf.getLong());
+  }
+}
@@ -1,8 +1,10 @@
 package com.spiron.crdt;
 
 import com.spiron.proto.EddyProto;
+import com.spiron.serialization.CRDTJsonCodec;
+import com.spiron.storage.CRDTStore;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,8 +20,12 @@ import org.slf4j.LoggerFactory;
  * Usage:
  * detector.checkFinality(eddyId, eddy, threshold) -> Optional<Long> cumulative approvals
  * If present, finality is reached; absent means not yet final.
+ *
+ * Storage: finality facts (id, cumulative, time) live in a {@link FinalizedEddyIndex}
+ * shared by everything on the node; full eddies are loaded lazily from the CRDT store
+ * only when a caller asks for them.
  */
-public class FinallityDetector {
+public class FinallityDetector implements AutoCloseable {
 
   private static final Logger log = LoggerFactory.getLogger(
     FinallityDetector.class
@@ -27,10 +33,41 @@ public class FinallityDetector {
 
   // Track final eddies: once an Eddy reaches finality, it cannot change
   // Assumption: Eddy IDs are globally unique and immutable.
-  private final Map<String, EddyProto.CRDTEddy> finalizedEddies =
-    new ConcurrentHashMap<>();
+  private final FinalizedEddyIndex index;
+  private final Function<String, Optional<EddyProto.CRDTEddy>> eddyLoader;
+
+  /**
+   * Standalone detector with its own in-memory index and no eddy store
+   * ({@link #getFinalizedEddy} always returns empty).
+   */
+  public FinallityDetector() {
+    this(FinalizedEddyIndex.inMemory(), eddyId -> Optional.empty());
+  }
+
+  /**
+   * @param index finalized-eddy index (shared per node)
+   * @param eddyLoader loads the current full eddy for an id
+   */
+  public FinallityDetector(
+    FinalizedEddyIndex index,
+    Function<String, Optional<EddyProto.CRDTEddy>> eddyLoader
+  ) {
+    this.index = index;
+    this.eddyLoader = eddyLoader;
+  }
 
-  public FinallityDetector() {}
+  /**
+   * Detector whose full eddies are read from a CRDT store.
+   */
+  public static FinallityDetector backedBy(
+    FinalizedEddyIndex index,
+    CRDTStore crdtStore,
+    CRDTJsonCodec codec
+  ) {
+    return new FinallityDetector(index, eddyId ->
+      crdtStore.get(eddyId).map(codec::deserializeEddy)
+    );
+  }
 
   /**
    * Check if an Eddy has reached finality based on cumulative approvals.
@@ -46,12 +83,9 @@ public class FinallityDetector {
     long threshold
   ) {
     // Check if already finalized
-    if (finalizedEddies.containsKey(eddyId)) {
-      EddyProto.CRDTEddy final_eddy = finalizedEddies.get(eddyId);
-      long cumulative = CRDTMergeEngine.getCumulativeApprovals(
-        final_eddy.getApprovals()
-      );
-      return Optional.of(cumulative);
+    Optional<FinalizedEddyIndex.Entry> existing = index.get(eddyId);
+    if (existing.isPresent()) {
+      return Optional.of(existing.get().cumulative());
     }
 
     // Calculate cumulative approvals
@@ -61,7 +95,10 @@ public class FinallityDetector {
 
     // Check if threshold met
     if (cumulative >= threshold) {
-      finalizedEddies.put(eddyId, eddy);
+      if (!index.record(eddyId, cumulative, System.currentTimeMillis())) {
+        // Lost a race with another checker: report the value recorded first
+        return index.get(eddyId).map(FinalizedEddyIndex.Entry::cumulative);
+      }
       log.info(
         "Eddy {} reached finality: cumulative approvals={} >= threshold={}",
         eddyId,
@@ -81,39 +118,63 @@ public class FinallityDetector {
    * @return true if finality has been reached
    */
   public boolean isFinalized(String eddyId) {
-    return finalizedEddies.containsKey(eddyId);
+    return index.isFinalized(eddyId);
   }
 
   /**
-   * Get the finalized Eddy, if it exists.
+   * Get the finalized Eddy, if it exists. Loaded from the store on each call.
    *
    * @param eddyId the eddy identifier
    * @return the finalized Eddy state, or empty
    */
   public Optional<EddyProto.CRDTEddy> getFinalizedEddy(String eddyId) {
-    return Optional.ofNullable(finalizedEddies.get(eddyId));
+    if (!index.isFinalized(eddyId)) return Optional.empty();
+    return eddyLoader.apply(eddyId);
+  }
+
+  /**
+   * Get the finality entry (cumulative at finality, finalization time).
+   *
+   * @param eddyId the eddy identifier
+   * @return the entry, or empty if not final
+   */
+  public Optional<FinalizedEddyIndex.Entry> getFinalityEntry(String eddyId) {
+    return index.get(eddyId);
   }
 
   /**
-   * Get all finalized eddies.
+   * Get all finalized eddies. Loads every one from the store; prefer
+   * {@link #isFinalized} / {@link #getFinalizedEddy} on hot paths.
    *
    * @return snapshot of finalized eddies
    */
   public Map<String, EddyProto.CRDTEddy> getFinalizedEddies() {
-    return new HashMap<>(finalizedEddies);
+    Map<String, EddyProto.CRDTEddy> result = new HashMap<>();
+    index.forEachId(eddyId ->
+      eddyLoader.apply(eddyId).ifPresent(eddy -> result.put(eddyId, eddy))
+    );
+    return result;
   }
 
   /**
    * Clear finalized state (for testing only).
    */
   public void clear() {
-    finalizedEddies.clear();
+    index.clear();
   }
 
   /**
    * Get the count of finalized eddies.
    */
   public int getFinalizedCount() {
-    return finalizedEddies.size();
+    return (int) index.size();
+  }
+
+  /**
+   * Close the underlying index. Called once on node shutdown.
+   */
+  @Override
+  public void close() {
+    index.close();
   }
 }
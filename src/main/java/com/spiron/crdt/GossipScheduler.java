@@ -6,6 +6,8 @@ import com.spiron.proto.EddyProto.SyncResponse;
 import com.spiron.serialization.CRDTJsonCodec;
 import com.spiron.storage.CRDTStore;
 import com.spiron.metrics.EnergyMetrics;
+import com.spiron.metrics.GossipMetrics;
+import com.spiron.util.Threads;
 import java.util.*;
 import java.util.concurrent.*;
 import org.slf4j.Logger;
@@ -15,9 +17,11 @@ import org.slf4j.LoggerFactory;
  * Gossip Scheduler: Implements pull-based peer-to-peer CRDT synchronization.
  *
  * Semantics:
- * - Periodically selects a random peer and sends a SyncRequest with local CRDT state.
+ * - Each round selects peers via an {@link AdaptiveGossipPolicy} and sends each a SyncRequest
+ *   with local CRDT state.
  * - On receiving SyncResponse, merges remote eddies with local state (CRDT merge is idempotent).
- * - Uses random peer selection to achieve O(log N) convergence rounds.
+ * - Rounds that carry changes shorten the next interval and raise fanout; no-op rounds back off.
+ * - Peers not synced with recently are preferred, so every peer is reached within a few rounds.
  * - No leader/coordinator required; all replicas independently gossip.
  *
  * Usage:
@@ -31,7 +35,8 @@ public class GossipScheduler {
   );
   
   private EnergyMetrics metrics;
-  private FinallityDetector finalityDetector;
+  private GossipMetrics gossipMetrics;
+  private FinallityDetector finalityDetector; // null until start() unless one is supplied
   private long finalityThreshold;
 
   private String localNodeId;
@@ -41,17 +46,71 @@ public class GossipScheduler {
   private EddyGossipClient gossipClient;
   private CRDTJsonCodec codec;
   private ScheduledExecutorService executor;
-  private ScheduledFuture<?> gossipTask;
+  private ExecutorService syncExecutor; // null syncs peers one at a time on the round thread
+  private boolean virtualThreads;
+  private volatile ScheduledFuture<?> gossipTask;
   private volatile boolean running = false;
-  private Random random = new Random();
+  private AdaptiveGossipPolicy policy;
+
+  // Convergence tracking: start of the current run of changed rounds (-1 = converged)
+  private long divergedAtMs = -1;
+  private long roundsSinceDiverged = 0;
 
   public GossipScheduler() {
-    this.finalityDetector = new FinallityDetector();
   }
   
   public GossipScheduler(EnergyMetrics metrics) {
     this.metrics = metrics;
-    this.finalityDetector = new FinallityDetector();
+  }
+
+  public GossipScheduler(EnergyMetrics metrics, GossipMetrics gossipMetrics) {
+    this.metrics = metrics;
+    this.gossipMetrics = gossipMetrics;
+  }
+
+  /**
+   * @param finalityDetector node-wide finality detector to share
+   */
+  public GossipScheduler(
+    EnergyMetrics metrics,
+    GossipMetrics gossipMetrics,
+    FinallityDetector finalityDetector
+  ) {
+    this.metrics = metrics;
+    this.gossipMetrics = gossipMetrics;
+    this.finalityDetector = finalityDetector;
+  }
+
+  /**
+   * Override the gossip policy. Must be called before {@link #start}; when unset,
+   * {@link AdaptiveGossipPolicy#forInterval(long)} around the sync interval is used.
+   */
+  public void setPolicy(AdaptiveGossipPolicy policy) {
+    this.policy = policy;
+  }
+
+  /**
+   * Share a node-wide finality detector. Must be called before {@link #start};
+   * when unset, {@link #start} creates an in-memory detector of its own.
+   */
+  public void setFinalityDetector(FinallityDetector finalityDetector) {
+    this.finalityDetector = finalityDetector;
+  }
+
+  /**
+   * Run rounds on a virtual thread and sync each round's peers concurrently, one
+   * virtual thread per peer, instead of one after another. Must be called before
+   * {@link #start}. Responses are still merged one at a time on the round thread.
+   */
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * Get the active gossip policy (null before start if none was set).
+   */
+  public AdaptiveGossipPolicy getPolicy() {
+    return policy;
   }
 
   /**
@@ -59,7 +118,7 @@ public class GossipScheduler {
    *
    * @param localNodeId current node identifier
    * @param peers list of peer node addresses (host:port)
-   * @param syncIntervalMs interval in ms between sync operations
+   * @param syncIntervalMs base interval in ms between sync operations (adapted per round)
    * @param crdtStore backing storage for CRDT state
    * @param gossipClient RPC client to send Sync requests
    * @param codec JSON codec for serialization
@@ -81,23 +140,32 @@ public class GossipScheduler {
     this.gossipClient = gossipClient;
     this.codec = codec;
     this.finalityThreshold = finalityThreshold;
+    if (this.finalityDetector == null) {
+      this.finalityDetector = new FinallityDetector();
+    }
+    if (this.policy == null) {
+      this.policy = AdaptiveGossipPolicy.forInterval(syncIntervalMs);
+    }
 
-    this.executor = Executors.newScheduledThreadPool(1, r -> {
-      Thread t = new Thread(r, "GossipScheduler-" + localNodeId);
-      t.setDaemon(true);
-      return t;
-    });
+    if (virtualThreads) {
+      this.executor = Executors.newScheduledThreadPool(
+        1,
+        Threads.factory("GossipScheduler-" + localNodeId, true)
+      );
+      this.syncExecutor = Threads.blockingPool("gossip-sync-" + localNodeId, 0, true);
+    } else {
+      this.executor = Executors.newScheduledThreadPool(1, r -> {
+        Thread t = new Thread(r, "GossipScheduler-" + localNodeId);
+        t.setDaemon(true);
+        return t;
+      });
+    }
 
     running = true;
-    gossipTask = executor.scheduleAtFixedRate(
-      this::gossipRound,
-      0,
-      syncIntervalMs,
-      TimeUnit.MILLISECONDS
-    );
+    gossipTask = executor.schedule(this::runRound, 0, TimeUnit.MILLISECONDS);
 
     log.info(
-      "Started gossip scheduler for node {}: interval={}ms, peers={}",
+      "Started adaptive gossip scheduler for node {}: base interval={}ms, peers={}",
       localNodeId,
       syncIntervalMs,
       peers.size()
@@ -124,11 +192,35 @@ public class GossipScheduler {
         Thread.currentThread().interrupt();
       }
     }
+    if (syncExecutor != null) {
+      syncExecutor.shutdownNow();
+    }
     log.info("Stopped gossip scheduler for node {}", localNodeId);
   }
 
   /**
-   * Execute one gossip round: select random peer, send SyncRequest, merge response.
+   * Run one round and schedule the next one after the policy's current interval.
+   */
+  private void runRound() {
+    try {
+      gossipRound();
+    } finally {
+      if (running) {
+        try {
+          gossipTask = executor.schedule(
+            this::runRound,
+            policy.nextIntervalMs(),
+            TimeUnit.MILLISECONDS
+          );
+        } catch (RejectedExecutionException e) {
+          log.debug("Gossip scheduler shut down, not rescheduling");
+        }
+      }
+    }
+  }
+
+  /**
+   * Execute one gossip round: select peers, send SyncRequest to each, merge responses.
    */
   private void gossipRound() {
     try {
@@ -137,29 +229,112 @@ public class GossipScheduler {
         return;
       }
 
-      // Select random peer
-      String targetPeer = peers.get(random.nextInt(peers.size()));
+      long startNanos = System.nanoTime();
+      List<String> targets = policy.selectPeers(peers);
 
       // Build SyncRequest with local CRDT state
       SyncRequest request = buildSyncRequest();
+      long requestBytes = request.getSerializedSize();
 
-      // Send to peer
-      log.debug("Sending gossip sync to peer {}", targetPeer);
-      Optional<SyncResponse> responseOpt = gossipClient.sync(
-        targetPeer,
-        request
-      );
+      int changes = 0;
+      int responded = 0;
+      long bytesReceived = 0;
+      List<Optional<SyncResponse>> responses = syncAll(targets, request);
+      for (int i = 0; i < targets.size(); i++) {
+        String targetPeer = targets.get(i);
+        Optional<SyncResponse> responseOpt = responses.get(i);
+
+        // Merge response
+        if (responseOpt.isPresent()) {
+          SyncResponse response = responseOpt.get();
+          policy.recordSync(targetPeer, System.nanoTime());
+          responded++;
+          bytesReceived += response.getSerializedSize();
+          changes += response.getApplied();
+          changes += mergeRemoteEddies(response);
+        } else {
+          // Unreachable: back off so the peer does not win every round
+          policy.recordFailure(targetPeer, System.nanoTime());
+        }
+      }
 
-      // Merge response
-      if (responseOpt.isPresent()) {
-        SyncResponse response = responseOpt.get();
-        mergeRemoteEddies(response);
+      if (gossipMetrics != null) {
+        gossipMetrics.recordRound(
+          System.nanoTime() - startNanos,
+          requestBytes * targets.size(),
+          bytesReceived,
+          changes
+        );
       }
+      completeRound(changes > 0, responded, targets.size());
     } catch (Exception e) {
       log.warn("Gossip round failed", e);
     }
   }
 
+  /**
+   * Send {@code request} to every target: in turn, or all at once on the sync
+   * executor. Responses are in target order.
+   */
+  private List<Optional<SyncResponse>> syncAll(List<String> targets, SyncRequest request) {
+    List<Optional<SyncResponse>> responses = new ArrayList<>(targets.size());
+    if (syncExecutor == null) {
+      for (String targetPeer : targets) {
+        log.debug("Sending gossip sync to peer {}", targetPeer);
+        responses.add(gossipClient.sync(targetPeer, request));
+      }
+      return responses;
+    }
+    List<CompletableFuture<Optional<SyncResponse>>> calls = new ArrayList<>(targets.size());
+    for (String targetPeer : targets) {
+      log.debug("Sending gossip sync to peer {}", targetPeer);
+      calls.add(CompletableFuture.supplyAsync(
+        () -> gossipClient.sync(targetPeer, request),
+        syncExecutor
+      ));
+    }
+    for (var call : calls) {
+      responses.add(call.join());
+    }
+    return responses;
+  }
+
+  /**
+   * Feed the round outcome to the policy and track convergence time: a run of
+   * changed rounds ends (converges) at the first no-op round with a live peer.
+   */
+  private void completeRound(boolean changed, int responded, int contacted) {
+    policy.onRoundComplete(changed);
+
+    long now = System.currentTimeMillis();
+    if (changed) {
+      if (divergedAtMs < 0) {
+        divergedAtMs = now;
+        roundsSinceDiverged = 0;
+      }
+      roundsSinceDiverged++;
+    } else if (divergedAtMs >= 0 && responded > 0) {
+      long elapsed = now - divergedAtMs;
+      log.debug(
+        "Node {} converged after {} gossip rounds ({}ms)",
+        localNodeId,
+        roundsSinceDiverged,
+        elapsed
+      );
+      if (gossipMetrics != null) {
+        gossipMetrics.recordConvergence(elapsed, roundsSinceDiverged);
+      }
+      divergedAtMs = -1;
+    }
+
+    if (gossipMetrics != null) {
+      gossipMetrics.incRound(changed);
+      gossipMetrics.incPeerSyncs(contacted);
+      gossipMetrics.setIntervalMs(policy.nextIntervalMs());
+      gossipMetrics.setFanout(policy.currentFanout());
+    }
+  }
+
   /**
    * Builds a SyncRequest containing local CRDT state to send to a peer.
    */
@@ -167,18 +342,24 @@ public class GossipScheduler {
     SyncRequest.Builder builder = SyncRequest.newBuilder();
     builder.setSenderId(localNodeId);
 
+    Map<String, String> allEddies;
     try {
-      Map<String, String> allEddies = crdtStore.getAll();
-      for (Map.Entry<String, String> entry : allEddies.entrySet()) {
-        String eddyId = entry.getKey();
-        String jsonState = entry.getValue();
-        EddyProto.CRDTEddy eddy = codec.deserializeEddy(jsonState);
+      allEddies = crdtStore.getAll();
+    } catch (Exception e) {
+      log.warn("Failed to build sync request", e);
+      return builder.build();
+    }
+    for (Map.Entry<String, String> entry : allEddies.entrySet()) {
+      String eddyId = entry.getKey();
+      try {
+        EddyProto.CRDTEddy eddy = codec.deserializeEddy(entry.getValue());
         if (eddy != null) {
           builder.putEddies(eddyId, eddy);
         }
+      } catch (Exception e) {
+        // One unreadable entry must not empty the whole round
+        log.warn("Skipping unreadable eddy {} in sync request", eddyId, e);
       }
-    } catch (Exception e) {
-      log.warn("Failed to build sync request", e);
     }
 
     return builder.build();
@@ -188,9 +369,11 @@ public class GossipScheduler {
    * Merge remote eddies from SyncResponse with local state.
    *
    * @param response the SyncResponse from peer
+   * @return number of local eddies created or changed by the merge
    */
-  private void mergeRemoteEddies(SyncResponse response) {
+  private int mergeRemoteEddies(SyncResponse response) {
     Map<String, EddyProto.CRDTEddy> remoteEddies = response.getEddiesMap();
+    int changed = 0;
 
     for (Map.Entry<
       String,
@@ -210,10 +393,11 @@ public class GossipScheduler {
         // Merge with metrics tracking
         EddyProto.CRDTEddy merged;
         if (localEddy != null) {
+          long start = System.nanoTime();
+          merged = CRDTMergeEngine.merge(localEddy, remoteEddy);
           if (metrics != null) {
-            metrics.recordMerge(() -> {});
+            metrics.recordMerge(System.nanoTime() - start);
           }
-          merged = CRDTMergeEngine.merge(localEddy, remoteEddy);
         } else {
           merged = remoteEddy;
           if (metrics != null) {
@@ -221,9 +405,12 @@ public class GossipScheduler {
           }
         }
 
-        // Persist merged state
-        String mergedJson = serializeEddy(merged);
-        crdtStore.put(eddyId, mergedJson);
+        // Persist merged state only if it differs from what we already have
+        if (localEddy == null || !CRDTMergeEngine.sameVersion(merged, localEddy)) {
+          String mergedJson = serializeEddy(merged);
+          crdtStore.put(eddyId, mergedJson);
+          changed++;
+        }
 
         // Check for finality
         Optional<Long> finality = finalityDetector.checkFinality(eddyId, merged, finalityThreshold);
@@ -237,6 +424,7 @@ public class GossipScheduler {
         log.warn("Failed to merge eddy {}", eddyId, e);
       }
     }
+    return changed;
   }
 
   /**
@@ -2,8 +2,10 @@ package com.spiron.di;
 
 import com.spiron.config.SpironConfig;
 import com.spiron.core.EddyEngine;
+import com.spiron.core.TopicEngines;
 import com.spiron.metrics.EnergyMetrics;
 import com.spiron.metrics.MetricsRegistry;
+import com.spiron.network.GossipRuntime;
 import com.spiron.network.RpcClient;
 import com.spiron.network.RpcServer;
 import com.spiron.security.BlsSigner;
@@ -35,12 +37,18 @@ public interface SpironComponent {
   
   /** Returns the Eddy consensus engine */
   EddyEngine engine();
+
+  /** Returns the per-topic engines (the default topic is {@link #engine()}) */
+  TopicEngines topicEngines();
   
   /** Returns the RPC server for accepting connections */
   RpcServer rpcServer();
   
   /** Returns the RPC client for making connections */
   RpcClient rpcClient();
+
+  /** Returns the gossip runtime (started and stopped with the RPC server) */
+  GossipRuntime gossipRuntime();
   
   /** Returns the metrics registry */
   MetricsRegistry metricsRegistry();
@@ -2,21 +2,33 @@ package com.spiron.di;
 
 import com.spiron.config.BroadcastValidationConfig;
 import com.spiron.config.SpironConfig;
+import com.spiron.core.CommitFeed;
 import com.spiron.core.EddyEngine;
+import com.spiron.core.EddySpillStore;
+import com.spiron.core.EvictionPolicy;
 import com.spiron.core.LineageTracker;
 import com.spiron.core.SpironRaftLog;
 import com.spiron.core.SpironSnapshotStore;
+import com.spiron.core.TopicEngines;
 import com.spiron.crdt.ApprovalCounter;
 import com.spiron.crdt.CRDTMergeEngine;
+import com.spiron.crdt.EagerGossipPusher;
+import com.spiron.crdt.FinalizedEddyIndex;
+import com.spiron.crdt.FinallityDetector;
+import com.spiron.crdt.GossipScheduler;
 import com.spiron.metrics.EnergyMetrics;
+import com.spiron.metrics.GossipMetrics;
 import com.spiron.metrics.MetricsRegistry;
 import com.spiron.metrics.MetricsUpdater;
 import com.spiron.metrics.RpcMetrics;
 import com.spiron.metrics.StorageMetrics;
 import com.spiron.metrics.ThroughputMetrics;
+import com.spiron.network.GossipRuntime;
+import com.spiron.network.GrpcEddyGossipClient;
 import com.spiron.network.RpcClient;
 import com.spiron.network.RpcServer;
 import com.spiron.security.BlsSigner;
+import com.spiron.security.ClusterKeys;
 import com.spiron.serialization.CRDTJsonCodec;
 import com.spiron.storage.CRDTStore;
 import com.spiron.storage.EtcdCRDTStore;
@@ -24,12 +36,19 @@ import com.spiron.storage.RocksDbCRDTStore;
 import dagger.Module;
 import dagger.Provides;
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Singleton;
 
 /** Provides spiron dependency bindings. */
 @Module
 public class SpironModule {
 
+  private static final int COMMIT_STAGE_QUEUE = 1024;
+
   @Provides
   @Singleton
   EddyEngine provideEngine(
@@ -40,23 +59,137 @@ public class SpironModule {
     EnergyMetrics energyMetrics,
     ThroughputMetrics throughputMetrics,
     StorageMetrics storageMetrics,
-    LineageTracker lineageTracker
+    LineageTracker lineageTracker,
+    CRDTStore crdtStore,
+    CommitFeed commitFeed
   ) {
-    var engine = new EddyEngine(
-      cfg.dampingAlpha(),
-      cfg.siphonFactor(),
-      cfg.angularThreshold(),
-      cfg.commitEnergy()
-    );
+    var engine = newEngine(cfg);
     engine.attachStorage(log, store);
     engine.attachNetwork(client);
     engine.attachMetrics(energyMetrics);
     engine.attachThroughputMetrics(throughputMetrics);
     engine.attachStorageMetrics(storageMetrics);
     engine.attachLineageTracker(lineageTracker);
+    engine.attachDecay(cfg.engineDecayHalfLifeMs());
+    engine.attachEviction(
+      evictionPolicy(cfg, cfg.engineEvictionSpill()),
+      cfg.engineEvictionSpill() ? new EddySpillStore(crdtStore) : null
+    );
+    if (cfg.commitsFeedCapacity() > 0) {
+      engine.attachCommitFeed(commitFeed);
+    }
+    engine.attachCommitStage(newCommitStage("commit-stage"));
     return engine;
   }
 
+  /**
+   * One thread, so commits persist and propagate in order. A full queue makes the
+   * committing thread wait (it holds no engine lock by then).
+   */
+  private static Executor newCommitStage(String name) {
+    return new ThreadPoolExecutor(
+      1,
+      1,
+      0L,
+      TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(COMMIT_STAGE_QUEUE),
+      r -> {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+      },
+      (r, executor) -> {
+        if (executor.isShutdown()) {
+          throw new RejectedExecutionException("Commit stage is shut down");
+        }
+        try {
+          executor.getQueue().put(r);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RejectedExecutionException("Interrupted waiting for the commit stage", e);
+        }
+      }
+    );
+  }
+
+  /** Commits of every engine, for {@code SubscribeCommits}; unused when disabled. */
+  @Provides
+  @Singleton
+  CommitFeed provideCommitFeed(SpironConfig cfg) {
+    return new CommitFeed(Math.max(1, cfg.commitsFeedCapacity()));
+  }
+
+  /**
+   * Engines for non-default topics: same engine settings as the default engine, raft
+   * log and snapshots under {@code <dataDir>/topics/<topic>}. Eviction never spills
+   * (spilled eddies are keyed by id alone) and lineage stays with the default topic.
+   */
+  @Provides
+  @Singleton
+  TopicEngines provideTopicEngines(
+    SpironConfig cfg,
+    EddyEngine defaultEngine,
+    RpcClient client,
+    EnergyMetrics energyMetrics,
+    ThroughputMetrics throughputMetrics,
+    CommitFeed commitFeed
+  ) {
+    // Each topic always uses the same stage, so its commits stay in order
+    Executor[] commitStages = new Executor[cfg.topicsCommitThreads()];
+    for (int i = 0; i < commitStages.length; i++) {
+      commitStages[i] = newCommitStage("topic-commit-stage-" + i);
+    }
+    return new TopicEngines(
+      defaultEngine,
+      topic -> {
+        var engine = newEngine(cfg);
+        String dir = java.nio.file.Paths.get(cfg.dataDir(), "topics", topic).toString();
+        try {
+          engine.attachStorage(new SpironRaftLog(dir), new SpironSnapshotStore(dir));
+        } catch (IOException e) {
+          throw new RuntimeException("Failed to create storage for topic " + topic, e);
+        }
+        engine.attachNetwork(client, topic);
+        engine.attachMetrics(energyMetrics);
+        engine.attachThroughputMetrics(throughputMetrics);
+        engine.attachDecay(cfg.engineDecayHalfLifeMs());
+        engine.attachEviction(evictionPolicy(cfg, false), null);
+        if (cfg.commitsFeedCapacity() > 0) {
+          engine.attachCommitFeed(commitFeed);
+        }
+        engine.attachCommitStage(
+          commitStages[Math.floorMod(topic.hashCode(), commitStages.length)]
+        );
+        return engine;
+      },
+      cfg.topicsCommitThreads(),
+      cfg.topicsIdleUnloadMs(),
+      cfg.topicsCommitIntervalMs(),
+      cfg.topicsMaxLoaded()
+    );
+  }
+
+  private static EddyEngine newEngine(SpironConfig cfg) {
+    return new EddyEngine(
+      cfg.dampingAlpha(),
+      cfg.siphonFactor(),
+      cfg.angularThreshold(),
+      cfg.commitEnergy(),
+      EddyEngine.VectorStorage.fromConfig(cfg.engineVectorStorage()),
+      cfg.vectorDimensions()
+    );
+  }
+
+  private static EvictionPolicy evictionPolicy(SpironConfig cfg, boolean spill) {
+    return new EvictionPolicy(
+      cfg.engineEvictionEnergyFloor(),
+      cfg.engineEvictionIdleTtlMs(),
+      cfg.engineEvictionMaxEntries(),
+      EvictionPolicy.Order.fromConfig(cfg.engineEvictionOrder()),
+      spill
+    );
+  }
+
   @Provides
   @Singleton
   BroadcastValidationConfig provideBroadcastValidationConfig(SpironConfig cfg) {
@@ -73,9 +206,92 @@ public class SpironModule {
     RpcMetrics rpcMetrics,
     MetricsUpdater metricsUpdater,
     StorageMetrics storageMetrics,
-    BroadcastValidationConfig validationConfig
+    BroadcastValidationConfig validationConfig,
+    EagerGossipPusher gossipPusher,
+    FinallityDetector finalityDetector,
+    GossipRuntime gossipRuntime,
+    TopicEngines topics,
+    CommitFeed commitFeed
   ) {
-    return new RpcServer(cfg.port(), engine, crdtStore, codec, rpcMetrics, metricsUpdater, storageMetrics, validationConfig, cfg.finalityThreshold());
+    return new RpcServer(cfg.port(), engine, crdtStore, codec, rpcMetrics, metricsUpdater, storageMetrics, validationConfig, cfg.finalityThreshold(), gossipPusher, finalityDetector, gossipRuntime, topics, cfg.commitsFeedCapacity() > 0 ? commitFeed : null, cfg.virtualThreads(), ClusterKeys.fromHex(cfg.clusterPubkeys()));
+  }
+
+  @Provides
+  @Singleton
+  FinalizedEddyIndex provideFinalizedEddyIndex(SpironConfig cfg) {
+    return FinalizedEddyIndex.open(
+      java.nio.file.Paths.get(cfg.dataDir(), "finalized"),
+      FinalizedEddyIndex.DEFAULT_EXPECTED_EDDIES
+    );
+  }
+
+  @Provides
+  @Singleton
+  FinallityDetector provideFinalityDetector(
+    FinalizedEddyIndex index,
+    CRDTStore crdtStore,
+    CRDTJsonCodec codec
+  ) {
+    return FinallityDetector.backedBy(index, crdtStore, codec);
+  }
+
+  @Provides
+  @Singleton
+  GrpcEddyGossipClient provideGossipClient(SpironConfig cfg) {
+    return new GrpcEddyGossipClient(cfg.gossipSyncTimeoutMs());
+  }
+
+  @Provides
+  @Singleton
+  GossipScheduler provideGossipScheduler(
+    SpironConfig cfg,
+    EnergyMetrics energyMetrics,
+    GossipMetrics gossipMetrics,
+    FinallityDetector finalityDetector
+  ) {
+    GossipScheduler scheduler = new GossipScheduler(energyMetrics, gossipMetrics, finalityDetector);
+    scheduler.setVirtualThreads(cfg.virtualThreads());
+    return scheduler;
+  }
+
+  @Provides
+  @Singleton
+  GossipRuntime provideGossipRuntime(
+    SpironConfig cfg,
+    GossipScheduler scheduler,
+    EagerGossipPusher gossipPusher,
+    GrpcEddyGossipClient gossipClient,
+    CRDTStore crdtStore,
+    CRDTJsonCodec codec
+  ) {
+    return new GossipRuntime(
+      cfg.nodeId(),
+      cfg.peers(),
+      cfg.gossipIntervalMs(),
+      cfg.finalityThreshold(),
+      scheduler,
+      gossipPusher,
+      gossipClient,
+      crdtStore,
+      codec
+    );
+  }
+
+  @Provides
+  @Singleton
+  EagerGossipPusher provideGossipPusher(
+    SpironConfig cfg,
+    GrpcEddyGossipClient gossipClient,
+    GossipMetrics gossipMetrics
+  ) {
+    return new EagerGossipPusher(
+      cfg.nodeId(),
+      cfg.peers(),
+      cfg.gossipPushFanout(),
+      cfg.gossipPushCoalesceMs(),
+      gossipClient,
+      gossipMetrics
+    );
   }
 
   @Provides
@@ -91,7 +307,8 @@ public class SpironModule {
       signer,
       cfg.rpcWorkerThreads(),
       rpcMetrics,
-      throughputMetrics
+      throughputMetrics,
+      cfg.virtualThreads()
     );
   }
 
@@ -139,6 +356,12 @@ public class SpironModule {
     return energyMetrics;
   }
   
+  @Provides
+  @Singleton
+  GossipMetrics provideGossipMetrics(MetricsRegistry registry) {
+    return new GossipMetrics(registry.registry());
+  }
+
   @Provides
   @Singleton
   StorageMetrics provideStorageMetrics(MetricsRegistry registry) {
@@ -177,8 +400,13 @@ public class SpironModule {
   
   @Provides
   @Singleton
-  LineageTracker provideLineageTracker(CRDTStore crdtStore) {
-    return new LineageTracker(crdtStore);
+  LineageTracker provideLineageTracker(SpironConfig cfg, CRDTStore crdtStore) {
+    return new LineageTracker(
+      crdtStore,
+      LineageTracker.DEFAULT_QUEUE_CAPACITY,
+      LineageTracker.DEFAULT_MAX_BATCH,
+      cfg.virtualThreads()
+    );
   }
 
   @Provides
@@ -1,34 +1,63 @@
 package com.spiron.metrics;
 
 import io.micrometer.core.instrument.*;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
-/** Tracks merge frequency, energy histogram, commit latency, and CRDT operations. */
+/**
+ * Tracks merge frequency, energy histogram, commit latency, and CRDT operations.
+ *
+ * The counters are bumped on every ingest and merge under the engine lock, so they
+ * are striped {@code LongAdder}s read at scrape time; timers take durations the caller measured around the
+ * work itself.
+ */
 public class EnergyMetrics {
 
-  private final Counter merges;
-  private final Counter crdtIngests;
-  private final Counter crdtCommits;
-  private final Counter crdtDampings;
+  /** Stages of one commit, timed separately in {@code spiron_commit_stage_latency}. */
+  public enum CommitStage {
+    /** Picking the dominant eddy, under the engine lock. */
+    DECIDE,
+    /** Waiting for the commit stage to pick the commit up. */
+    QUEUE,
+    /** Raft log append and snapshot save. */
+    PERSIST,
+    /** Handing the commit to the network client (signing included). */
+    PROPAGATE,
+    /** Queuing lineage and scheduling subscriber notification. */
+    PUBLISH;
+
+    String tag() {
+      return name().toLowerCase();
+    }
+  }
+
+  private final StripedCounter merges;
+  private final StripedCounter crdtIngests;
+  private final StripedCounter crdtCommits;
+  private final StripedCounter crdtDampings;
+  private final StripedCounter mergeRebuildsAvoided;
   private final DistributionSummary energyLevels;
   private final Timer commitLatency;
   private final Timer mergeLatency;
+  private final Map<CommitStage, Timer> commitStages = new EnumMap<>(CommitStage.class);
 
   public EnergyMetrics(MeterRegistry registry) {
-    this.merges = Counter.builder("spiron_merges_total")
-      .description("Total number of vortex merges")
-      .register(registry);
+    this.merges = StripedCounter.register(registry, "spiron_merges_total",
+      "Total number of vortex merges");
       
-    this.crdtIngests = Counter.builder("spiron_crdt_ingests_total")
-      .description("Total number of CRDT ingest operations")
-      .register(registry);
+    this.crdtIngests = StripedCounter.register(registry, "spiron_crdt_ingests_total",
+      "Total number of CRDT ingest operations");
       
-    this.crdtCommits = Counter.builder("spiron_crdt_commits_total")
-      .description("Total number of CRDT commit operations")
-      .register(registry);
+    this.crdtCommits = StripedCounter.register(registry, "spiron_crdt_commits_total",
+      "Total number of CRDT commit operations");
       
-    this.crdtDampings = Counter.builder("spiron_crdt_dampings_total")
-      .description("Total number of energy damping operations")
-      .register(registry);
+    this.crdtDampings = StripedCounter.register(registry, "spiron_crdt_dampings_total",
+      "Total number of energy damping operations");
+      
+    this.mergeRebuildsAvoided = StripedCounter.register(registry,
+      "spiron_crdt_merge_rebuilds_avoided_total",
+      "CRDT merges answered with an existing eddy instead of building a new one");
       
     this.energyLevels = DistributionSummary.builder("spiron_energy_levels")
       .description("Energy level distribution of eddies")
@@ -39,9 +68,17 @@ public class EnergyMetrics {
       .register(registry);
       
     this.mergeLatency = Timer.builder("spiron_merge_latency")
-      .description("Latency of merge operations")
+      .description("Latency of merging an eddy into the one stored under its id")
       .publishPercentiles(0.5, 0.9, 0.99)
       .register(registry);
+
+    for (CommitStage stage : CommitStage.values()) {
+      commitStages.put(stage, Timer.builder("spiron_commit_stage_latency")
+        .description("Latency of one stage of the commit pipeline")
+        .tag("stage", stage.tag())
+        .publishPercentiles(0.5, 0.9, 0.99)
+        .register(registry));
+    }
   }
 
   public void incMerge() {
@@ -60,6 +97,10 @@ public class EnergyMetrics {
     crdtDampings.increment();
   }
 
+  public void incMergeRebuildAvoided() {
+    mergeRebuildsAvoided.increment();
+  }
+
   public void recordEnergy(double e) {
     energyLevels.record(e);
   }
@@ -68,7 +109,12 @@ public class EnergyMetrics {
     commitLatency.record(fn);
   }
   
-  public void recordMerge(Runnable fn) {
-    mergeLatency.record(fn);
+  public void recordCommitStage(CommitStage stage, long nanos) {
+    commitStages.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Record a merge that took {@code nanos}, measured by the caller around the merge. */
+  public void recordMerge(long nanos) {
+    mergeLatency.record(nanos, TimeUnit.NANOSECONDS);
   }
 }
@@ -0,0 +1,129 @@
+package com.spiron.metrics;
+
+import io.micrometer.core.instrument.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gossip-related metrics: round counts/latency/bytes, adaptive interval/fanout, eager pushes and convergence time.
+ */
+public class GossipMetrics {
+
+  private final Counter rounds;
+  private final Counter noopRounds;
+  private final Counter peerSyncs;
+  private final Counter pushBatches;
+  private final Counter pushedEddies;
+  private final Counter pushFailures;
+  private final Counter bytesSent;
+  private final Counter bytesReceived;
+  private final Counter eddiesMerged;
+  private final Timer roundLatency;
+  private final Timer convergenceTime;
+  private final DistributionSummary convergenceRounds;
+
+  private final AtomicLong intervalMs = new AtomicLong(0);
+  private final AtomicLong fanout = new AtomicLong(0);
+
+  public GossipMetrics(MeterRegistry registry) {
+    this.rounds = Counter.builder("spiron_gossip_rounds_total")
+      .description("Total number of gossip rounds executed")
+      .register(registry);
+
+    this.noopRounds = Counter.builder("spiron_gossip_noop_rounds_total")
+      .description("Gossip rounds in which no replica state changed")
+      .register(registry);
+
+    this.peerSyncs = Counter.builder("spiron_gossip_peer_syncs_total")
+      .description("Total number of Sync RPCs issued by gossip rounds")
+      .register(registry);
+
+    this.pushBatches = Counter.builder("spiron_gossip_push_batches_total")
+      .description("Delta Sync requests sent by eager push-on-write gossip")
+      .register(registry);
+
+    this.pushedEddies = Counter.builder("spiron_gossip_pushed_eddies_total")
+      .description("Eddies delivered by eager push-on-write gossip")
+      .register(registry);
+
+    this.pushFailures = Counter.builder("spiron_gossip_push_failures_total")
+      .description("Eager push-on-write attempts that got no response")
+      .register(registry);
+
+    this.bytesSent = Counter.builder("spiron_gossip_bytes_sent_total")
+      .description("Serialized SyncRequest bytes sent by gossip rounds")
+      .register(registry);
+
+    this.bytesReceived = Counter.builder("spiron_gossip_bytes_received_total")
+      .description("Serialized SyncResponse bytes received by gossip rounds")
+      .register(registry);
+
+    this.eddiesMerged = Counter.builder("spiron_gossip_eddies_merged_total")
+      .description("Eddies created or changed on either side by gossip rounds")
+      .register(registry);
+
+    this.roundLatency = Timer.builder("spiron_gossip_round_latency")
+      .description("Wall-clock time of one gossip round, all selected peers included")
+      .publishPercentiles(0.5, 0.9, 0.99)
+      .register(registry);
+
+    this.convergenceTime = Timer.builder("spiron_gossip_convergence_time")
+      .description("Time from the first changed round to the next no-op round")
+      .publishPercentiles(0.5, 0.9, 0.99)
+      .register(registry);
+
+    this.convergenceRounds = DistributionSummary.builder("spiron_gossip_convergence_rounds")
+      .description("Gossip rounds needed to get back to a no-op round")
+      .register(registry);
+
+    registry.gauge("spiron_gossip_interval_ms",
+      Tags.empty(),
+      intervalMs,
+      AtomicLong::get);
+
+    registry.gauge("spiron_gossip_fanout",
+      Tags.empty(),
+      fanout,
+      AtomicLong::get);
+  }
+
+  public void incRound(boolean changed) {
+    rounds.increment();
+    if (!changed) {
+      noopRounds.increment();
+    }
+  }
+
+  public void incPeerSyncs(int count) {
+    peerSyncs.increment(count);
+  }
+
+  public void recordRound(long latencyNanos, long sent, long received, int merged) {
+    roundLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    bytesSent.increment(sent);
+    bytesReceived.increment(received);
+    eddiesMerged.increment(merged);
+  }
+
+  public void recordPush(int eddies) {
+    pushBatches.increment();
+    pushedEddies.increment(eddies);
+  }
+
+  public void incPushFailure() {
+    pushFailures.increment();
+  }
+
+  public void recordConvergence(long elapsedMs, long roundCount) {
+    convergenceTime.record(elapsedMs, TimeUnit.MILLISECONDS);
+    convergenceRounds.record(roundCount);
+  }
+
+  public void setIntervalMs(long ms) {
+    intervalMs.set(ms);
+  }
+
+  public void setFanout(int value) {
+    fanout.set(value);
+  }
+}
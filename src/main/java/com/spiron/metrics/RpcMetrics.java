@@ -1,13 +1,24 @@
 package com.spiron.metrics;
 
 import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 
 /**
  * RPC-related metrics: broadcast/commit counts, latencies and failures.
+ *
+ * Per-peer meters are registered once per peer ({@link #forPeer}) and callers keep
+ * the returned {@link PeerMeters}, so the RPC path does no map lookups or
+ * registration.
  */
 public class RpcMetrics {
 
@@ -15,7 +26,7 @@ public class RpcMetrics {
   private final Counter commitTotal;
   private final Counter rpcFailures;
   private final Timer rpcLatency;
-  private final DistributionSummary inFlight;
+  private final AtomicInteger inFlight = new AtomicInteger();
   private final io.micrometer.core.instrument.MeterRegistry registry;
   
   // Broadcast rejection metrics
@@ -23,12 +34,14 @@ public class RpcMetrics {
   private final Counter broadcastRejectedDuplicate;
   private final Counter broadcastRejectedRateLimit;
   private final Counter broadcastRejectedPeerAllowlist;
+
+  // Commit verification stage
+  private final Timer commitVerifyWait;
+  private final Counter commitVerifyRejected;
   
-  // Cache per-peer counters to avoid re-registering
-  private final ConcurrentHashMap<String, Counter> broadcastCounters = new ConcurrentHashMap<>();
-  private final ConcurrentHashMap<String, Counter> commitCounters = new ConcurrentHashMap<>();
-  private final ConcurrentHashMap<String, Counter> failureCounters = new ConcurrentHashMap<>();
-  private final ConcurrentHashMap<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, PeerMeters> peers = new ConcurrentHashMap<>();
+  // Function meters hold their source weakly; keep registered suppliers reachable
+  private final List<Object> meterSources = new CopyOnWriteArrayList<>();
 
   public RpcMetrics(MeterRegistry registry) {
     this.registry = registry;
@@ -45,8 +58,8 @@ public class RpcMetrics {
       .description("RPC round-trip latency (seconds)")
       .publishPercentiles(0.5, 0.9, 0.99)
       .register(registry);
-    this.inFlight = DistributionSummary.builder("spiron_rpc_inflight")
-      .description("In-flight RPCs")
+    Gauge.builder("spiron_rpc_inflight", inFlight, AtomicInteger::get)
+      .description("RPCs sent and not yet answered")
       .register(registry);
     
     // Broadcast rejection metrics
@@ -62,6 +75,14 @@ public class RpcMetrics {
     this.broadcastRejectedPeerAllowlist = Counter.builder("spiron_broadcast_rejected_allowlist_total")
       .description("Total number of broadcasts rejected due to peer allowlist")
       .register(registry);
+
+    this.commitVerifyWait = Timer.builder("spiron_commit_verify_wait")
+      .description("Time commit signature checks spend queued before a verifier picks them up")
+      .publishPercentiles(0.5, 0.9, 0.99)
+      .register(registry);
+    this.commitVerifyRejected = Counter.builder("spiron_commit_verify_rejected_total")
+      .description("Commits rejected because the verification queue was full")
+      .register(registry);
   }
 
   public void incBroadcast() {
@@ -80,50 +101,88 @@ public class RpcMetrics {
     rpcLatency.record(fn);
   }
 
-  public void recordInFlight(double v) {
-    inFlight.record(v);
+  public void recordLatency(long nanos) {
+    rpcLatency.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** An RPC was sent; pair with {@link #rpcFinished}. */
+  public void rpcStarted() {
+    inFlight.incrementAndGet();
+  }
+
+  public void rpcFinished() {
+    inFlight.decrementAndGet();
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /** Meters tagged {@code peer=<peer>}, registered on first request for the peer. */
+  public PeerMeters forPeer(String peer) {
+    return peers.computeIfAbsent(peer, p -> new PeerMeters(registry, p));
   }
 
   // Per-peer helpers using a 'peer' tag
   public void incBroadcast(String peer) {
-    Counter counter = broadcastCounters.computeIfAbsent(peer, p -> {
-      Counter c = Counter.builder("spiron_rpc_broadcast_total")
-        .description("Total number of broadcast RPCs sent")
-        .tag("peer", p)
-        .register(registry);
-      System.out.println("Registered broadcast counter for peer: " + p + ", count=" + c.count());
-      return c;
-    });
-    counter.increment();
-    System.out.println("Incremented broadcast counter for peer: " + peer + ", count=" + counter.count());
+    forPeer(peer).broadcasts.increment();
   }
 
   public void incCommit(String peer) {
-    commitCounters.computeIfAbsent(peer, p ->
-      Counter.builder("spiron_rpc_commit_total")
-        .description("Total number of commit RPCs sent")
-        .tag("peer", p)
-        .register(registry)
-    ).increment();
+    forPeer(peer).commits.increment();
   }
 
   public void incFailure(String peer) {
-    failureCounters.computeIfAbsent(peer, p ->
-      Counter.builder("spiron_rpc_failures_total")
-        .description("Total number of failed RPC attempts")
-        .tag("peer", p)
-        .register(registry)
-    ).increment();
+    forPeer(peer).failures.increment();
   }
 
   public void recordLatency(String peer, Runnable fn) {
-    latencyTimers.computeIfAbsent(peer, p ->
-      Timer.builder("spiron_rpc_latency")
+    forPeer(peer).latency.record(fn);
+  }
+
+  /** One peer's counters and latency timer. */
+  public static final class PeerMeters {
+
+    private final Counter broadcasts;
+    private final Counter commits;
+    private final Counter failures;
+    private final Timer latency;
+
+    private PeerMeters(MeterRegistry registry, String peer) {
+      this.broadcasts = Counter.builder("spiron_rpc_broadcast_total")
+        .description("Total number of broadcast RPCs sent")
+        .tag("peer", peer)
+        .register(registry);
+      this.commits = Counter.builder("spiron_rpc_commit_total")
+        .description("Total number of commit RPCs sent")
+        .tag("peer", peer)
+        .register(registry);
+      this.failures = Counter.builder("spiron_rpc_failures_total")
+        .description("Total number of failed RPC attempts")
+        .tag("peer", peer)
+        .register(registry);
+      this.latency = Timer.builder("spiron_rpc_latency")
         .description("RPC round-trip latency")
-        .tag("peer", p)
+        .tag("peer", peer)
         .publishPercentiles(0.5, 0.9, 0.99)
-        .register(registry)
-    ).record(fn);
+        .register(registry);
+    }
+
+    public void incBroadcast() {
+      broadcasts.increment();
+    }
+
+    public void incCommit() {
+      commits.increment();
+    }
+
+    public void incFailure() {
+      failures.increment();
+    }
+
+    public void recordLatency(long nanos) {
+      latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
   }
   
   // Broadcast rejection metric methods
@@ -142,4 +201,61 @@ public class RpcMetrics {
   public void incBroadcastRejectedPeerAllowlist() {
     broadcastRejectedPeerAllowlist.increment();
   }
+
+  /**
+   * Export duplicate detector activity. Evictions are live ids forgotten early because
+   * the detector was over capacity; each one may let a duplicate through.
+   */
+  public void registerDuplicateDetector(LongSupplier checks, LongSupplier evictions, int capacity) {
+    meterSources.addAll(List.of(checks, evictions));
+    FunctionCounter.builder("spiron_duplicate_detector_checks_total", checks, LongSupplier::getAsLong)
+      .description("Broadcast ids checked by the duplicate detector")
+      .register(registry);
+    FunctionCounter.builder("spiron_duplicate_detector_evictions_total", evictions, LongSupplier::getAsLong)
+      .description("Unexpired ids overwritten because the duplicate detector was full")
+      .register(registry);
+    Gauge.builder("spiron_duplicate_detector_capacity", () -> capacity)
+      .description("Ids the duplicate detector tracks per expiry window")
+      .register(registry);
+  }
+
+  /** Export the commit verification queue depth, read at scrape time. */
+  public void registerCommitVerifyQueue(IntSupplier depth) {
+    meterSources.add(depth);
+    Gauge.builder("spiron_commit_verify_queue_depth", depth, IntSupplier::getAsInt)
+      .description("Commit signature checks waiting for a verifier thread")
+      .register(registry);
+  }
+
+  public void recordCommitVerifyWait(long nanos) {
+    commitVerifyWait.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void incCommitVerifyRejected() {
+    commitVerifyRejected.increment();
+  }
+
+  /**
+   * Export hit/miss counters and the hit ratio of a commit-path cache, tagged
+   * {@code cache=<name>}. The suppliers are read at scrape time.
+   */
+  public void registerCommitCache(String name, LongSupplier hits, LongSupplier misses) {
+    meterSources.addAll(List.of(hits, misses));
+    FunctionCounter.builder("spiron_commit_cache_hits_total", hits, LongSupplier::getAsLong)
+      .description("Commit-path cache lookups served from the cache")
+      .tag("cache", name)
+      .register(registry);
+    FunctionCounter.builder("spiron_commit_cache_misses_total", misses, LongSupplier::getAsLong)
+      .description("Commit-path cache lookups that had to do the work")
+      .tag("cache", name)
+      .register(registry);
+    Gauge.builder("spiron_commit_cache_hit_ratio", () -> {
+        long h = hits.getAsLong();
+        long total = h + misses.getAsLong();
+        return total == 0 ? 0.0 : (double) h / total;
+      })
+      .description("Fraction of commit-path cache lookups that hit")
+      .tag("cache", name)
+      .register(registry);
+  }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.spiron.metrics;
 
 import io.micrometer.core.instrument.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * Storage-related metrics: disk usage, IOps, state store size, etc.
@@ -14,11 +17,15 @@ public class StorageMetrics {
   private final Counter readOps;
   private final Timer writeLatency;
   private final Timer readLatency;
+  private final MeterRegistry registry;
   
   private final AtomicLong diskUsage = new AtomicLong(0);
   private final AtomicLong stateEntries = new AtomicLong(0);
+  // Function meters hold their source weakly; keep registered suppliers reachable
+  private final List<Object> meterSources = new CopyOnWriteArrayList<>();
 
   public StorageMetrics(MeterRegistry registry) {
+    this.registry = registry;
     this.bytesWritten = Counter.builder("spiron_storage_bytes_written_total")
       .description("Total bytes written to storage")
       .baseUnit("bytes")
@@ -89,4 +96,34 @@ public class StorageMetrics {
   public void recordRead(Runnable fn) {
     readLatency.record(fn);
   }
+
+  /**
+   * Engine eviction: eddies held in memory, evicted by reason, and brought back
+   * from the spill store.
+   */
+  public void registerEngineEviction(
+    LongSupplier live,
+    LongSupplier evictedFloor,
+    LongSupplier evictedIdle,
+    LongSupplier evictedCapacity,
+    LongSupplier rehydrated
+  ) {
+    meterSources.addAll(List.of(live, evictedFloor, evictedIdle, evictedCapacity, rehydrated));
+    Gauge.builder("spiron_engine_eddies_live", live, LongSupplier::getAsLong)
+      .description("Eddies currently held by the engine")
+      .register(registry);
+    registerEvicted("energy_floor", evictedFloor);
+    registerEvicted("idle_ttl", evictedIdle);
+    registerEvicted("max_entries", evictedCapacity);
+    FunctionCounter.builder("spiron_engine_eddies_rehydrated_total", rehydrated, LongSupplier::getAsLong)
+      .description("Evicted eddies restored from the spill store")
+      .register(registry);
+  }
+
+  private void registerEvicted(String reason, LongSupplier count) {
+    FunctionCounter.builder("spiron_engine_eddies_evicted_total", count, LongSupplier::getAsLong)
+      .description("Eddies evicted from the engine")
+      .tag("reason", reason)
+      .register(registry);
+  }
 }
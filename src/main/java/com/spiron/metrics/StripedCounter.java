@@ -0,0 +1,46 @@
+package com.spiron.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter for hot paths: an increment is one striped {@link LongAdder} add, with no
+ * registry or exemplar work; the registry reads the sum at scrape time.
+ */
+final class StripedCounter {
+
+  private final LongAdder count = new LongAdder();
+
+  private StripedCounter() {}
+
+  static StripedCounter register(MeterRegistry registry, String name, String description) {
+    return register(registry, name, description, null);
+  }
+
+  static StripedCounter register(
+    MeterRegistry registry,
+    String name,
+    String description,
+    String baseUnit
+  ) {
+    StripedCounter counter = new StripedCounter();
+    FunctionCounter.builder(name, counter.count, LongAdder::sum)
+      .description(description)
+      .baseUnit(baseUnit)
+      .register(registry);
+    return counter;
+  }
+
+  void increment() {
+    count.increment();
+  }
+
+  void add(long n) {
+    count.add(n);
+  }
+
+  long sum() {
+    return count.sum();
+  }
+}
@@ -4,36 +4,31 @@ import io.micrometer.core.instrument.*;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Throughput metrics: ingestion rate, bytes in/out per second.
+ * Throughput metrics: ingestion rate, bytes in/out per second. The totals are
+ * bumped on every ingest and are striped {@code LongAdder}s read at scrape time.
  */
 public class ThroughputMetrics {
 
-  private final Counter eddiesIngested;
-  private final Counter eddiesEmitted;
-  private final Counter bytesIngested;
-  private final Counter bytesEmitted;
+  private final StripedCounter eddiesIngested;
+  private final StripedCounter eddiesEmitted;
+  private final StripedCounter bytesIngested;
+  private final StripedCounter bytesEmitted;
   private final AtomicLong bytesIngestedPerSecValue = new AtomicLong(0);
   private final AtomicLong bytesEmittedPerSecValue = new AtomicLong(0);
   private final AtomicLong eddiesIngestedPerSecValue = new AtomicLong(0);
 
   public ThroughputMetrics(MeterRegistry registry) {
-    this.eddiesIngested = Counter.builder("spiron_eddies_ingested_total")
-      .description("Total number of eddies ingested")
-      .register(registry);
+    this.eddiesIngested = StripedCounter.register(registry, "spiron_eddies_ingested_total",
+      "Total number of eddies ingested");
       
-    this.eddiesEmitted = Counter.builder("spiron_eddies_emitted_total")
-      .description("Total number of eddies emitted/committed")
-      .register(registry);
+    this.eddiesEmitted = StripedCounter.register(registry, "spiron_eddies_emitted_total",
+      "Total number of eddies emitted/committed");
       
-    this.bytesIngested = Counter.builder("spiron_bytes_ingested_total")
-      .description("Total bytes ingested (vector data)")
-      .baseUnit("bytes")
-      .register(registry);
+    this.bytesIngested = StripedCounter.register(registry, "spiron_bytes_ingested_total",
+      "Total bytes ingested (vector data)", "bytes");
       
-    this.bytesEmitted = Counter.builder("spiron_bytes_emitted_total")
-      .description("Total bytes emitted (broadcasts/commits)")
-      .baseUnit("bytes")
-      .register(registry);
+    this.bytesEmitted = StripedCounter.register(registry, "spiron_bytes_emitted_total",
+      "Total bytes emitted (broadcasts/commits)", "bytes");
       
     registry.gauge("spiron_bytes_ingested_per_sec",
       Tags.empty(),
@@ -60,11 +55,11 @@ public class ThroughputMetrics {
   }
   
   public void recordBytesIngested(long bytes) {
-    bytesIngested.increment(bytes);
+    bytesIngested.add(bytes);
   }
   
   public void recordBytesEmitted(long bytes) {
-    bytesEmitted.increment(bytes);
+    bytesEmitted.add(bytes);
   }
   
   public void setBytesIngestedPerSec(double bytesPerSec) {
@@ -80,14 +75,14 @@ public class ThroughputMetrics {
   }
   
   public double getBytesIngestedTotal() {
-    return bytesIngested.count();
+    return bytesIngested.sum();
   }
   
   public double getBytesEmittedTotal() {
-    return bytesEmitted.count();
+    return bytesEmitted.sum();
   }
   
   public double getEddiesIngestedTotal() {
-    return eddiesIngested.count();
+    return eddiesIngested.sum();
   }
 }
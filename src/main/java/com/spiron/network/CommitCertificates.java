@@ -0,0 +1,138 @@
+package com.spiron.network;
+
+import com.google.protobuf.ByteString;
+import com.spiron.proto.EddyProto.CommitBody;
+import com.spiron.proto.EddyProto.CommitCertificate;
+import com.spiron.security.BlsSigner;
+import com.spiron.security.ClusterKeys;
+import com.spiron.security.PublicKeyCache;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.tuweni.crypto.mikuli.PublicKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build and check aggregated commit certificates: a quorum of replicas sign the same
+ * {@link CommitBody}, and one aggregate signature plus the signer key list replaces
+ * one envelope per replica.
+ *
+ * Semantics:
+ * - Every signer must be one of the configured {@link ClusterKeys}; a certificate
+ *   naming any other key is rejected before pairing, which rules out rogue-key
+ *   aggregates.
+ * - {@link #verifyQuorum} additionally requires a majority of the cluster to sign.
+ */
+public final class CommitCertificates {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    CommitCertificates.class
+  );
+
+  private CommitCertificates() {
+    // Utility class
+  }
+
+  /**
+   * Aggregate per-replica signatures over the same body into a certificate.
+   *
+   * @param signerPubkeys compressed public keys, one per signer
+   * @param signatures each signer's signature over {@code body.toByteArray()}, same order
+   */
+  public static CommitCertificate build(
+    List<byte[]> signerPubkeys,
+    List<byte[]> signatures
+  ) {
+    if (signerPubkeys.size() != signatures.size()) {
+      throw new IllegalArgumentException(
+        "signerPubkeys.size=" + signerPubkeys.size() + " != signatures.size=" + signatures.size()
+      );
+    }
+    CommitCertificate.Builder builder = CommitCertificate.newBuilder();
+    for (byte[] pk : signerPubkeys) {
+      builder.addSignerPubkeys(ByteString.copyFrom(pk));
+    }
+    builder.setAggregateSignature(ByteString.copyFrom(BlsSigner.aggregate(signatures)));
+    return builder.build();
+  }
+
+  /**
+   * Verify a certificate against a body with one fast aggregate verify.
+   *
+   * @return number of distinct signers if the certificate is valid, or 0 if it is not
+   *         (missing signers, duplicate signers, keys outside the cluster, bad keys or
+   *         a bad signature)
+   */
+  public static int verify(
+    CommitCertificate certificate,
+    CommitBody body,
+    ClusterKeys clusterKeys
+  ) {
+    return verify(certificate, body, clusterKeys, null);
+  }
+
+  /**
+   * @return true if the certificate is valid and signed by at least
+   *         {@link ClusterKeys#quorum} cluster keys
+   */
+  public static boolean verifyQuorum(
+    CommitCertificate certificate,
+    CommitBody body,
+    ClusterKeys clusterKeys,
+    PublicKeyCache keyCache
+  ) {
+    int signers = verify(certificate, body, clusterKeys, keyCache);
+    if (signers > 0 && signers < clusterKeys.quorum()) {
+      log.warn(
+        "Commit certificate for {} has {} signers, quorum is {}",
+        body.getId(),
+        signers,
+        clusterKeys.quorum()
+      );
+      return false;
+    }
+    return signers > 0;
+  }
+
+  /**
+   * As {@link #verify(CommitCertificate, CommitBody, ClusterKeys)}, decoding signer
+   * keys through {@code keyCache} when one is given.
+   */
+  public static int verify(
+    CommitCertificate certificate,
+    CommitBody body,
+    ClusterKeys clusterKeys,
+    PublicKeyCache keyCache
+  ) {
+    if (certificate.getSignerPubkeysCount() == 0 || certificate.getAggregateSignature().isEmpty()) {
+      return 0;
+    }
+    Set<ByteString> distinct = new HashSet<>();
+    List<PublicKey> keys = new ArrayList<>(certificate.getSignerPubkeysCount());
+    try {
+      for (ByteString pk : certificate.getSignerPubkeysList()) {
+        if (!distinct.add(pk)) {
+          log.warn("Commit certificate for {} lists a signer twice", body.getId());
+          return 0;
+        }
+        byte[] pkBytes = pk.toByteArray();
+        if (!clusterKeys.contains(pkBytes)) {
+          log.warn("Commit certificate for {} lists a signer outside the cluster", body.getId());
+          return 0;
+        }
+        keys.add(keyCache != null ? keyCache.get(pkBytes) : BlsSigner.parsePublicKey(pkBytes));
+      }
+    } catch (Exception e) {
+      log.warn("Commit certificate for {} has an unparseable key: {}", body.getId(), e.getMessage());
+      return 0;
+    }
+    boolean ok = BlsSigner.fastAggregateVerify(
+      keys,
+      body.toByteArray(),
+      certificate.getAggregateSignature().toByteArray()
+    );
+    return ok ? keys.size() : 0;
+  }
+}
@@ -0,0 +1,127 @@
+package com.spiron.network;
+
+import com.spiron.core.EddyState;
+import com.spiron.proto.EddyProto.CommitEvent;
+import com.spiron.proto.EddyProto.CommitSubscription;
+import com.spiron.proto.EddyRpcGrpc;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Flow.Publisher} over the {@code SubscribeCommits} stream of one node.
+ *
+ * Semantics:
+ * - Each {@link #subscribe} opens its own stream; commits made before that are not
+ *   replayed.
+ * - Subscriber demand is passed on as gRPC flow control, so the node holds back
+ *   (and, past its feed capacity, drops) commits the subscriber has not asked for.
+ * - The stream only completes when the node stops; cancelling the subscription
+ *   cancels the call.
+ */
+final class CommitPublisher implements Flow.Publisher<EddyState> {
+
+  private final EddyRpcGrpc.EddyRpcStub stub;
+  private final CommitSubscription request;
+
+  CommitPublisher(EddyRpcGrpc.EddyRpcStub stub, CommitSubscription request) {
+    this.stub = stub;
+    this.request = request;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super EddyState> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber");
+    var bridge = new Bridge(subscriber);
+    stub.subscribeCommits(request, bridge);
+    // Only now may the subscriber request: the call has started
+    bridge.start();
+  }
+
+  static EddyState toState(CommitEvent e) {
+    double[] vector = ProtoVectors.toArray(e.getVectorCount(), e::getVector);
+    String parentId = e.getParentId().isEmpty() ? null : e.getParentId();
+    return new EddyState(e.getId(), vector, e.getEnergy(), parentId);
+  }
+
+  /** Adapts one gRPC call to one Flow subscription. */
+  private static final class Bridge
+    implements ClientResponseObserver<CommitSubscription, CommitEvent>, Flow.Subscription {
+
+    private final Flow.Subscriber<? super EddyState> subscriber;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private ClientCallStreamObserver<CommitSubscription> call;
+    private boolean started; // guarded by this
+    private Runnable pendingTerminal; // guarded by this
+
+    Bridge(Flow.Subscriber<? super EddyState> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<CommitSubscription> call) {
+      this.call = call;
+      call.disableAutoRequestWithInitial(0);
+    }
+
+    void start() {
+      subscriber.onSubscribe(this);
+      Runnable terminal;
+      synchronized (this) {
+        started = true;
+        terminal = pendingTerminal;
+      }
+      if (terminal != null) terminal.run();
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        if (done.compareAndSet(false, true)) {
+          call.cancel("Invalid demand", null);
+          subscriber.onError(new IllegalArgumentException("request(n) needs n > 0, got " + n));
+        }
+        return;
+      }
+      if (!done.get()) {
+        call.request((int) Math.min(n, Integer.MAX_VALUE));
+      }
+    }
+
+    @Override
+    public void cancel() {
+      if (done.compareAndSet(false, true)) {
+        call.cancel("Subscription cancelled", null);
+      }
+    }
+
+    @Override
+    public void onNext(CommitEvent event) {
+      if (!done.get()) subscriber.onNext(toState(event));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      terminate(() -> subscriber.onError(t));
+    }
+
+    @Override
+    public void onCompleted() {
+      terminate(subscriber::onComplete);
+    }
+
+    /** Deliver a terminal signal once, and never before onSubscribe. */
+    private void terminate(Runnable signal) {
+      if (!done.compareAndSet(false, true)) return;
+      synchronized (this) {
+        if (!started) {
+          pendingTerminal = signal;
+          return;
+        }
+      }
+      signal.run();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.spiron.network;
+
+import com.spiron.core.CommitFeed;
+import com.spiron.proto.EddyProto.CommitEvent;
+import com.spiron.proto.EddyProto.CommitSubscription;
+import io.grpc.stub.ServerCallStreamObserver;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server side of one {@code SubscribeCommits} call: drains the subscriber's
+ * {@link CommitFeed.Cursor} into the call on a shared executor.
+ *
+ * Semantics:
+ * - Commits are only written while the transport is ready, so a slow client holds
+ *   back its own cursor, never the publisher. If it falls behind the feed capacity
+ *   it loses the oldest commits (visible as a gap in {@code sequence}).
+ * - At most one drain per call runs at a time; wake-ups during a drain make it loop
+ *   again instead of scheduling another.
+ * - Cancelling the call closes the cursor.
+ */
+final class CommitStream {
+
+  private static final Logger log = LoggerFactory.getLogger(CommitStream.class);
+
+  private final ServerCallStreamObserver<CommitEvent> call;
+  private final Executor executor;
+  private final CommitFeed.Cursor cursor;
+  private final AtomicInteger wip = new AtomicInteger();
+  private volatile boolean closed;
+
+  CommitStream(
+    CommitFeed feed,
+    CommitSubscription request,
+    ServerCallStreamObserver<CommitEvent> call,
+    Executor executor
+  ) {
+    this.call = call;
+    this.executor = executor;
+    String topic = request.hasTopic() ? request.getTopic() : null;
+    this.cursor = feed.subscribe(CommitFeed.filter(topic, request.getIdPrefix()), this::signal);
+    call.setOnCancelHandler(this::close);
+    call.setOnReadyHandler(this::signal);
+  }
+
+  private void signal() {
+    if (closed || wip.getAndIncrement() != 0) return;
+    try {
+      executor.execute(this::drain);
+    } catch (RejectedExecutionException e) {
+      close(); // server shutting down
+    }
+  }
+
+  private void drain() {
+    int missed = 1;
+    do {
+      try {
+        while (!closed && call.isReady()) {
+          CommitFeed.Commit c = cursor.poll();
+          if (c == null) break;
+          call.onNext(toEvent(c));
+        }
+      } catch (RuntimeException e) {
+        log.debug("Commit stream ended: {}", e.getMessage());
+        close();
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private void close() {
+    closed = true;
+    cursor.close();
+  }
+
+  static CommitEvent toEvent(CommitFeed.Commit c) {
+    var state = c.state();
+    var b = CommitEvent
+      .newBuilder()
+      .setSequence(c.sequence())
+      .setTopic(c.topic())
+      .setId(state.id())
+      .setEnergy(state.energy())
+      .setCommittedAt(c.committedAtMs());
+    ProtoVectors.addAll(state.vector(), b::addVector);
+    if (state.parentId() != null) b.setParentId(state.parentId());
+    return b.build();
+  }
+}
@@ -0,0 +1,219 @@
+package com.spiron.network;
+
+import com.spiron.metrics.RpcMetrics;
+import com.spiron.security.BlsSigner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.apache.tuweni.crypto.mikuli.PublicKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dedicated commit verification stage: a CPU-sized pool of verifier threads behind a
+ * bounded queue, so pairing checks never run on gRPC transport threads. Signature
+ * checks that queue up while the workers are busy are drained as one batch through
+ * {@link BlsSigner#verifyBatch}.
+ *
+ * Semantics:
+ * - No artificial wait: an idle worker picks up a lone check immediately, so
+ *   batching only kicks in under load, when it pays off.
+ * - Each submitted check completes with its own result; one bad signature does not
+ *   fail the rest of its batch.
+ * - The queue is bounded: when it is full a check is rejected at once (its future
+ *   fails with {@link RejectedExecutionException}) instead of growing without limit.
+ * - Futures complete on a verifier thread, so dependent work (persisting the commit,
+ *   answering the RPC) stays off the transport threads too.
+ */
+public class CommitVerificationBatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    CommitVerificationBatcher.class
+  );
+
+  static final int DEFAULT_MAX_BATCH = 64;
+  static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+  /** One queued check: a signature triple, or an opaque task (e.g. a certificate). */
+  private record Pending(
+    PublicKey key,
+    byte[] message,
+    byte[] signature,
+    BooleanSupplier task,
+    long enqueuedNanos,
+    CompletableFuture<Boolean> result
+  ) {}
+
+  private final BlockingQueue<Pending> queue;
+  private final int maxBatch;
+  private final RpcMetrics metrics; // may be null
+  private final List<Thread> workers;
+  private volatile boolean running = true;
+
+  public CommitVerificationBatcher() {
+    this(
+      Runtime.getRuntime().availableProcessors(),
+      DEFAULT_QUEUE_CAPACITY,
+      DEFAULT_MAX_BATCH,
+      null
+    );
+  }
+
+  public CommitVerificationBatcher(
+    int threads,
+    int queueCapacity,
+    int maxBatch,
+    RpcMetrics metrics
+  ) {
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    this.maxBatch = Math.max(1, maxBatch);
+    this.metrics = metrics;
+    if (metrics != null) {
+      metrics.registerCommitVerifyQueue(queue::size);
+    }
+    int n = Math.max(1, threads);
+    this.workers = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      Thread t = new Thread(this::drainLoop, "commit-verifier-" + i);
+      t.setDaemon(true);
+      t.start();
+      workers.add(t);
+    }
+  }
+
+  /**
+   * Queue a signature check.
+   *
+   * @return future completing with true if {@code signature} is valid for
+   *         {@code message} under {@code key}
+   */
+  public CompletableFuture<Boolean> verify(PublicKey key, byte[] message, byte[] signature) {
+    return enqueue(key, message, signature, null);
+  }
+
+  /**
+   * Run a self-contained check (one that is not a single signature triple, such as
+   * an aggregated certificate) on the verifier pool.
+   */
+  public CompletableFuture<Boolean> submit(BooleanSupplier check) {
+    return enqueue(null, null, null, check);
+  }
+
+  private CompletableFuture<Boolean> enqueue(
+    PublicKey key,
+    byte[] message,
+    byte[] signature,
+    BooleanSupplier task
+  ) {
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    if (!running) {
+      result.completeExceptionally(new IllegalStateException("Commit verifier is shut down"));
+      return result;
+    }
+    Pending p = new Pending(key, message, signature, task, System.nanoTime(), result);
+    if (!queue.offer(p)) {
+      if (metrics != null) metrics.incCommitVerifyRejected();
+      result.completeExceptionally(
+        new RejectedExecutionException("Commit verification queue is full")
+      );
+    }
+    return result;
+  }
+
+  private void drainLoop() {
+    List<Pending> batch = new ArrayList<>(maxBatch);
+    while (running) {
+      try {
+        Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) continue;
+        batch.add(first);
+        queue.drainTo(batch, maxBatch - 1);
+        recordWait(batch);
+        verifyAll(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+    // Fail whatever is left so callers are not stranded
+    Pending p;
+    while ((p = queue.poll()) != null) {
+      p.result().completeExceptionally(new IllegalStateException("Commit verifier is shut down"));
+    }
+  }
+
+  private void recordWait(List<Pending> batch) {
+    if (metrics == null) return;
+    long now = System.nanoTime();
+    for (Pending p : batch) {
+      metrics.recordCommitVerifyWait(now - p.enqueuedNanos());
+    }
+  }
+
+  private void verifyAll(List<Pending> batch) {
+    List<Pending> signatures = new ArrayList<>(batch.size());
+    for (Pending p : batch) {
+      if (p.task() != null) {
+        runTask(p);
+      } else {
+        signatures.add(p);
+      }
+    }
+    if (signatures.isEmpty()) return;
+
+    try {
+      if (signatures.size() == 1) {
+        Pending p = signatures.get(0);
+        p.result().complete(
+          BlsSigner.verifyAggregate(List.of(p.key()), List.of(p.message()), p.signature())
+        );
+        return;
+      }
+      List<PublicKey> keys = new ArrayList<>(signatures.size());
+      List<byte[]> messages = new ArrayList<>(signatures.size());
+      List<byte[]> sigs = new ArrayList<>(signatures.size());
+      for (Pending p : signatures) {
+        keys.add(p.key());
+        messages.add(p.message());
+        sigs.add(p.signature());
+      }
+      boolean[] results = BlsSigner.verifyBatch(keys, messages, sigs);
+      for (int i = 0; i < signatures.size(); i++) {
+        signatures.get(i).result().complete(results[i]);
+      }
+      log.debug("Verified {} commit signatures in one batch", signatures.size());
+    } catch (Exception e) {
+      log.error("Commit signature batch failed", e);
+      for (Pending p : signatures) {
+        p.result().complete(false);
+      }
+    }
+  }
+
+  private static void runTask(Pending p) {
+    try {
+      p.result().complete(p.task().getAsBoolean());
+    } catch (Exception e) {
+      log.error("Commit verification task failed", e);
+      p.result().complete(false);
+    }
+  }
+
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  public void shutdown() {
+    running = false;
+    for (Thread t : workers) {
+      t.interrupt();
+    }
+  }
+}
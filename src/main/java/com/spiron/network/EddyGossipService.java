@@ -19,6 +19,7 @@ import org.slf4j.LoggerFactory;
  * 1. Merges remote Eddy states with local state using CRDT merge
  * 2. Persists merged state to CRDTStore
  * 3. Returns local state in SyncResponse for peer to merge
+ *    (delta pushes only get the applied count back)
  */
 public class EddyGossipService extends EddyGossipGrpc.EddyGossipImplBase {
 
@@ -32,9 +33,18 @@ public class EddyGossipService extends EddyGossipGrpc.EddyGossipImplBase {
   private final long finalityThreshold;
 
   public EddyGossipService(CRDTStore crdtStore, CRDTJsonCodec codec, long finalityThreshold) {
+    this(crdtStore, codec, finalityThreshold, new FinallityDetector());
+  }
+
+  public EddyGossipService(
+    CRDTStore crdtStore,
+    CRDTJsonCodec codec,
+    long finalityThreshold,
+    FinallityDetector finalityDetector
+  ) {
     this.crdtStore = crdtStore;
     this.codec = codec;
-    this.finalityDetector = new FinallityDetector();
+    this.finalityDetector = finalityDetector;
     this.finalityThreshold = finalityThreshold;
   }
 
@@ -51,6 +61,7 @@ public class EddyGossipService extends EddyGossipGrpc.EddyGossipImplBase {
       );
 
       // Merge remote eddies with local state
+      int applied = 0;
       for (Map.Entry<
         String,
         EddyProto.CRDTEddy
@@ -61,20 +72,22 @@ public class EddyGossipService extends EddyGossipGrpc.EddyGossipImplBase {
         try {
           // Get local state (if exists)
           Optional<String> localJsonOpt = crdtStore.get(eddyId);
+          EddyProto.CRDTEddy localEddy = null;
           EddyProto.CRDTEddy merged = remoteEddy;
 
           if (localJsonOpt.isPresent()) {
-            EddyProto.CRDTEddy localEddy = codec.deserializeEddy(
-              localJsonOpt.get()
-            );
+            localEddy = codec.deserializeEddy(localJsonOpt.get());
             if (localEddy != null) {
               merged = CRDTMergeEngine.merge(localEddy, remoteEddy);
             }
           }
 
-          // Persist merged state
-          String mergedJson = codec.serializeEddy(merged);
-          crdtStore.put(eddyId, mergedJson);
+          // Persist merged state only if it changed (the count drives sender's adaptive gossip)
+          if (localEddy == null || !CRDTMergeEngine.sameVersion(merged, localEddy)) {
+            String mergedJson = codec.serializeEddy(merged);
+            crdtStore.put(eddyId, mergedJson);
+            applied++;
+          }
 
           // Check for finality
           Optional<Long> finality = finalityDetector.checkFinality(eddyId, merged, finalityThreshold);
@@ -90,20 +103,32 @@ public class EddyGossipService extends EddyGossipGrpc.EddyGossipImplBase {
       }
 
       // Build response: send local state back to peer
-      SyncResponse.Builder responseBuilder = SyncResponse.newBuilder();
+      SyncResponse.Builder responseBuilder = SyncResponse.newBuilder()
+        .setApplied(applied);
+
+      // Push-on-write deltas only need the applied count; periodic rounds repair the rest
+      if (request.getDelta()) {
+        observer.onNext(responseBuilder.build());
+        observer.onCompleted();
+        return;
+      }
 
+      Map<String, String> allLocal = Map.of();
       try {
-        Map<String, String> allLocal = crdtStore.getAll();
-        for (Map.Entry<String, String> entry : allLocal.entrySet()) {
-          String eddyId = entry.getKey();
-          String jsonState = entry.getValue();
-          EddyProto.CRDTEddy eddy = codec.deserializeEddy(jsonState);
+        allLocal = crdtStore.getAll();
+      } catch (Exception e) {
+        log.warn("Failed to read local eddies for response", e);
+      }
+      for (Map.Entry<String, String> entry : allLocal.entrySet()) {
+        String eddyId = entry.getKey();
+        try {
+          EddyProto.CRDTEddy eddy = codec.deserializeEddy(entry.getValue());
           if (eddy != null) {
             responseBuilder.putEddies(eddyId, eddy);
           }
+        } catch (Exception e) {
+          log.warn("Skipping unreadable eddy {} in sync response", eddyId, e);
         }
-      } catch (Exception e) {
-        log.warn("Failed to read local eddies for response", e);
       }
 
       observer.onNext(responseBuilder.build());
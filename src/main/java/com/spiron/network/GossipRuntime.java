@@ -0,0 +1,95 @@
+package com.spiron.network;
+
+import com.spiron.crdt.EagerGossipPusher;
+import com.spiron.crdt.GossipScheduler;
+import com.spiron.serialization.CRDTJsonCodec;
+import com.spiron.storage.CRDTStore;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Node-level gossip lifecycle: owns the periodic {@link GossipScheduler}, the eager
+ * push path and the shared gRPC gossip client, and starts/stops them together with
+ * the RPC server.
+ *
+ * Semantics:
+ * - Periodic gossip is skipped when the interval is 0 or the node has no peers;
+ *   the eager pusher is unaffected (it is driven by broadcasts).
+ * - {@link #stop} is idempotent and closes the peer channels last, after both
+ *   users of the client have stopped.
+ */
+public class GossipRuntime {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    GossipRuntime.class
+  );
+
+  private final String nodeId;
+  private final List<String> peers;
+  private final long intervalMs;
+  private final long finalityThreshold;
+  private final GossipScheduler scheduler;
+  private final EagerGossipPusher pusher; // may be null
+  private final GrpcEddyGossipClient gossipClient;
+  private final CRDTStore crdtStore;
+  private final CRDTJsonCodec codec;
+  private volatile boolean stopped = false;
+
+  public GossipRuntime(
+    String nodeId,
+    List<String> peers,
+    long intervalMs,
+    long finalityThreshold,
+    GossipScheduler scheduler,
+    EagerGossipPusher pusher,
+    GrpcEddyGossipClient gossipClient,
+    CRDTStore crdtStore,
+    CRDTJsonCodec codec
+  ) {
+    this.nodeId = nodeId;
+    this.peers = List.copyOf(peers);
+    this.intervalMs = intervalMs;
+    this.finalityThreshold = finalityThreshold;
+    this.scheduler = scheduler;
+    this.pusher = pusher;
+    this.gossipClient = gossipClient;
+    this.crdtStore = crdtStore;
+    this.codec = codec;
+  }
+
+  public void start() {
+    if (intervalMs <= 0 || peers.isEmpty()) {
+      log.info(
+        "Periodic gossip disabled for node {} (interval={}ms, peers={})",
+        nodeId,
+        intervalMs,
+        peers.size()
+      );
+      return;
+    }
+    scheduler.start(
+      nodeId,
+      peers,
+      intervalMs,
+      crdtStore,
+      gossipClient,
+      codec,
+      finalityThreshold
+    );
+  }
+
+  public synchronized void stop() {
+    if (stopped) return;
+    stopped = true;
+    scheduler.stop();
+    if (pusher != null) {
+      pusher.stop();
+    }
+    gossipClient.shutdown();
+  }
+
+  public boolean isRunning() {
+    return scheduler.isRunning();
+  }
+}
@@ -0,0 +1,108 @@
+package com.spiron.network;
+
+import com.spiron.crdt.GossipScheduler;
+import com.spiron.proto.EddyGossipGrpc;
+import com.spiron.proto.EddyProto.SyncRequest;
+import com.spiron.proto.EddyProto.SyncResponse;
+import io.grpc.ManagedChannel;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * gRPC implementation of the gossip Sync client.
+ *
+ * Semantics:
+ * - One long-lived ManagedChannel per peer, opened on first use and reused by
+ *   every gossip round and eager push afterwards.
+ * - Keepalive matches the server settings so dead peers are noticed between rounds.
+ * - Each call gets a fresh deadline; failures surface as {@code Optional.empty()}
+ *   and never tear down the channel (gRPC reconnects on its own).
+ */
+public class GrpcEddyGossipClient implements GossipScheduler.EddyGossipClient {
+
+  private static final Logger log = LoggerFactory.getLogger(
+    GrpcEddyGossipClient.class
+  );
+
+  // Timeout configuration
+  private static final long DEFAULT_SYNC_TIMEOUT_MS = 2000; // 2 second timeout per Sync
+
+  private final long syncTimeoutMs;
+  private final Map<String, ManagedChannel> channels = new ConcurrentHashMap<>();
+  private final Map<String, EddyGossipGrpc.EddyGossipBlockingStub> stubs =
+    new ConcurrentHashMap<>();
+
+  public GrpcEddyGossipClient() {
+    this(DEFAULT_SYNC_TIMEOUT_MS);
+  }
+
+  /**
+   * @param syncTimeoutMs per-call deadline for Sync RPCs
+   */
+  public GrpcEddyGossipClient(long syncTimeoutMs) {
+    this.syncTimeoutMs = syncTimeoutMs > 0 ? syncTimeoutMs : DEFAULT_SYNC_TIMEOUT_MS;
+  }
+
+  @Override
+  public Optional<SyncResponse> sync(String peerAddress, SyncRequest request) {
+    try {
+      var stub = stubs.computeIfAbsent(peerAddress, this::createStub);
+      // Fresh deadline for each call
+      return Optional.of(
+        stub.withDeadlineAfter(syncTimeoutMs, TimeUnit.MILLISECONDS).sync(request)
+      );
+    } catch (Exception e) {
+      log.debug("Gossip sync to {} failed: {}", peerAddress, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private EddyGossipGrpc.EddyGossipBlockingStub createStub(String peer) {
+    var parts = peer.split(":");
+    String host = parts[0];
+    int port = Integer.parseInt(parts[1]);
+
+    ManagedChannel channel = io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder
+      .forAddress(new java.net.InetSocketAddress(host, port))
+      .usePlaintext()
+      // Keepalive to detect dead connections between rounds
+      .keepAliveTime(30, TimeUnit.SECONDS)
+      .keepAliveTimeout(10, TimeUnit.SECONDS)
+      .keepAliveWithoutCalls(true)
+      .idleTimeout(5, TimeUnit.MINUTES)
+      .maxInboundMessageSize(64 * 1024 * 1024) // 64MB for full-state responses
+      .build();
+    channels.put(peer, channel);
+    log.info("Opened gossip channel to peer {}", peer);
+    return EddyGossipGrpc.newBlockingStub(channel);
+  }
+
+  /**
+   * @return number of peers with an open channel
+   */
+  public int getChannelCount() {
+    return channels.size();
+  }
+
+  public void shutdown() {
+    for (ManagedChannel channel : channels.values()) {
+      channel.shutdown();
+    }
+    for (ManagedChannel channel : channels.values()) {
+      try {
+        if (!channel.awaitTermination(2, TimeUnit.SECONDS)) {
+          channel.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        channel.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+    channels.clear();
+    stubs.clear();
+  }
+}
@@ -0,0 +1,72 @@
+package com.spiron.network;
+
+import com.spiron.proto.EddyProto.EddyStateMsg;
+
+/**
+ * An incoming broadcast whose vector lives in a pooled {@link VectorSlabPool.Slab}
+ * rather than in a protobuf message. Produced by {@link PooledEddyStateMsgMarshaller};
+ * the receiver must {@link #release} it once done reading the vector.
+ */
+public final class PooledEddyStateMsg {
+
+  private final String id;
+  private final String topic;
+  private final double energy;
+  private final int vectorCount;
+  private final VectorSlabPool.Slab slab; // null when the message has no vector
+
+  PooledEddyStateMsg(
+    String id,
+    String topic,
+    double energy,
+    int vectorCount,
+    VectorSlabPool.Slab slab
+  ) {
+    this.id = id;
+    this.topic = topic;
+    this.energy = energy;
+    this.vectorCount = vectorCount;
+    this.slab = slab;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  /** Consensus topic, "" for the default topic. */
+  public String getTopic() {
+    return topic;
+  }
+
+  public double getEnergy() {
+    return energy;
+  }
+
+  public int getVectorCount() {
+    return vectorCount;
+  }
+
+  public double getVector(int index) {
+    if (index < 0 || index >= vectorCount) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return slab.getDouble(index);
+  }
+
+  /** Heap protobuf copy, for callers that need the generated type. */
+  public EddyStateMsg toProto() {
+    var builder = EddyStateMsg.newBuilder()
+      .setId(id)
+      .setTopic(topic)
+      .setEnergy(energy);
+    for (int i = 0; i < vectorCount; i++) {
+      builder.addVector(slab.getDouble(i));
+    }
+    return builder.build();
+  }
+
+  /** Return the vector slab to its pool. The message must not be read afterwards. */
+  public void release() {
+    if (slab != null) slab.release();
+  }
+}
@@ -0,0 +1,123 @@
+package com.spiron.network;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.spiron.proto.EddyProto.EddyStateMsg;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.protobuf.ProtoUtils;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * gRPC marshaller for {@code EddyStateMsg} that decodes the vector straight from the
+ * transport stream into a pooled direct slab, instead of materializing a protobuf
+ * message with a boxed-list view and then copying it into a {@code double[]}.
+ *
+ * Semantics:
+ * - Wire compatible with the generated message: packed and unpacked vectors, and
+ *   unknown fields (skipped), are accepted; serialization uses the generated code.
+ * - The slab is sized from the packed length prefix, so a well-formed broadcast
+ *   needs exactly one slab and no intermediate vector buffer. The prefix is not
+ *   trusted beyond {@link #MAX_PREALLOCATED_DOUBLES} (or one pooled slab, if
+ *   larger): past that the slab grows as doubles are actually read, so a short
+ *   message claiming a huge vector cannot force a huge allocation.
+ * - Malformed input fails the call with {@code INTERNAL}, like the protobuf
+ *   marshaller, and returns any slab already taken.
+ */
+public final class PooledEddyStateMsgMarshaller
+  implements MethodDescriptor.Marshaller<PooledEddyStateMsg> {
+
+  private static final int ID_TAG = WireFormat.makeTag(
+    EddyStateMsg.ID_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+  private static final int VECTOR_PACKED_TAG = WireFormat.makeTag(
+    EddyStateMsg.VECTOR_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+  private static final int VECTOR_TAG = WireFormat.makeTag(
+    EddyStateMsg.VECTOR_FIELD_NUMBER, WireFormat.WIRETYPE_FIXED64);
+  private static final int TOPIC_TAG = WireFormat.makeTag(
+    EddyStateMsg.TOPIC_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+  private static final int ENERGY_TAG = WireFormat.makeTag(
+    EddyStateMsg.ENERGY_FIELD_NUMBER, WireFormat.WIRETYPE_FIXED64);
+
+  /** Most doubles allocated on the word of a length prefix alone (64 KB). */
+  static final int MAX_PREALLOCATED_DOUBLES = 8192;
+
+  private final VectorSlabPool pool;
+  private final MethodDescriptor.Marshaller<EddyStateMsg> protoMarshaller =
+    ProtoUtils.marshaller(EddyStateMsg.getDefaultInstance());
+
+  public PooledEddyStateMsgMarshaller(VectorSlabPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public InputStream stream(PooledEddyStateMsg value) {
+    return protoMarshaller.stream(value.toProto());
+  }
+
+  @Override
+  public PooledEddyStateMsg parse(InputStream stream) {
+    String id = "";
+    String topic = "";
+    double energy = 0.0;
+    int count = 0;
+    VectorSlabPool.Slab slab = null;
+    try {
+      CodedInputStream in = CodedInputStream.newInstance(stream);
+      boolean done = false;
+      while (!done) {
+        int tag = in.readTag();
+        if (tag == 0) {
+          done = true;
+        } else if (tag == ID_TAG) {
+          id = in.readStringRequireUtf8();
+        } else if (tag == TOPIC_TAG) {
+          topic = in.readStringRequireUtf8();
+        } else if (tag == VECTOR_PACKED_TAG) {
+          int length = in.readRawVarint32();
+          if (length < 0 || length % Double.BYTES != 0) {
+            throw new IOException("Packed vector length " + length + " is not a multiple of 8");
+          }
+          int trusted = Math.max(MAX_PREALLOCATED_DOUBLES, pool.getSlabBytes() / Double.BYTES);
+          slab = ensureCapacity(
+            slab, count, Math.addExact(count, Math.min(length / Double.BYTES, trusted)));
+          int limit = in.pushLimit(length);
+          while (in.getBytesUntilLimit() > 0) {
+            slab = ensureCapacity(slab, count, Math.addExact(count, 1));
+            slab.putLong(count++, in.readRawLittleEndian64());
+          }
+          in.popLimit(limit);
+        } else if (tag == VECTOR_TAG) {
+          slab = ensureCapacity(slab, count, Math.addExact(count, 1));
+          slab.putLong(count++, in.readRawLittleEndian64());
+        } else if (tag == ENERGY_TAG) {
+          energy = in.readDouble();
+        } else if (!in.skipField(tag)) {
+          done = true;
+        }
+      }
+      return new PooledEddyStateMsg(id, topic, energy, count, slab);
+    } catch (IOException | RuntimeException e) {
+      if (slab != null) slab.release();
+      throw Status.INTERNAL
+        .withDescription("Invalid EddyStateMsg byte sequence")
+        .withCause(e)
+        .asRuntimeException();
+    }
+  }
+
+  /** Grow to hold {@code needed} doubles, keeping the first {@code used}. */
+  private VectorSlabPool.Slab ensureCapacity(VectorSlabPool.Slab slab, int used, int needed) {
+    if (slab != null && slab.capacity() >= needed) return slab;
+    int bytes = Math.multiplyExact(
+      Math.max(needed, slab == null ? 0 : slab.capacity() * 2), Double.BYTES);
+    VectorSlabPool.Slab bigger = pool.acquire(bytes);
+    if (slab != null) {
+      for (int i = 0; i < used; i++) {
+        bigger.putDouble(i, slab.getDouble(i));
+      }
+      slab.release();
+    }
+    return bigger;
+  }
+}
@@ -0,0 +1,42 @@
+package com.spiron.network;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Copies eddy vectors between {@code double[]} and the generated {@code repeated
+ * double} proto fields without boxing.
+ *
+ * The generated list getters ({@code getVectorList()}, {@code addAllVector}) expose
+ * the field as {@code List<Double>}, which costs one {@code Double} per element;
+ * the indexed accessors ({@code getVector(int)}, {@code addVector(double)}) read and
+ * write the underlying primitive list directly. The wire format is unchanged.
+ */
+public final class ProtoVectors {
+
+  private ProtoVectors() {
+    // Utility class
+  }
+
+  /**
+   * @param count number of elements, e.g. {@code msg.getVectorCount()}
+   * @param element primitive accessor, e.g. {@code msg::getVector}
+   */
+  public static double[] toArray(int count, IntToDoubleFunction element) {
+    double[] vec = new double[count];
+    for (int i = 0; i < count; i++) {
+      vec[i] = element.applyAsDouble(i);
+    }
+    return vec;
+  }
+
+  /**
+   * @param vec source vector
+   * @param add primitive adder, e.g. {@code builder::addVector}
+   */
+  public static void addAll(double[] vec, DoubleConsumer add) {
+    for (double v : vec) {
+      add.accept(v);
+    }
+  }
+}
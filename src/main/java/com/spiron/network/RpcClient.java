@@ -5,17 +5,19 @@ import com.spiron.core.EddyState;
 import com.spiron.metrics.RpcMetrics;
 import com.spiron.metrics.ThroughputMetrics;
 import com.spiron.proto.EddyProto.CommitBody;
+import com.spiron.proto.EddyProto.CommitCertificate;
 import com.spiron.proto.EddyProto.CommitEnvelope;
+import com.spiron.proto.EddyProto.CommitSubscription;
 import com.spiron.proto.EddyProto.EddyStateMsg;
 import com.spiron.proto.EddyRpcGrpc;
 import com.spiron.security.BlsSigner;
+import com.spiron.util.Threads;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,7 @@ public class RpcClient {
   private final ExecutorService pool;
   private final BlsSigner signer; // may be null if signatures are disabled
   private final RpcMetrics rpcMetrics;
+  private final RpcMetrics.PeerMeters[] peerMeters; // by stub index; null without metrics
   private final ThroughputMetrics throughputMetrics;
   
   // Circuit breaker state per peer
@@ -63,18 +66,43 @@ public class RpcClient {
     int workerThreads,
     RpcMetrics metrics,
     ThroughputMetrics throughputMetrics
+  ) {
+    this(peers, signer, workerThreads, metrics, throughputMetrics, false);
+  }
+
+  /**
+   * @param virtualThreads send each peer RPC on its own virtual thread (and run
+   *        channel callbacks on them) instead of a pool of {@code workerThreads}
+   */
+  public RpcClient(
+    List<String> peers,
+    BlsSigner signer,
+    int workerThreads,
+    RpcMetrics metrics,
+    ThroughputMetrics throughputMetrics,
+    boolean virtualThreads
   ) {
     this.signer = signer;
-    this.stubs = createStubs(peers);
-    this.pool = Executors.newFixedThreadPool(Math.max(1, workerThreads));
+    this.pool = Threads.blockingPool("rpc-client", workerThreads, virtualThreads);
+    var byPeer = createStubs(peers, virtualThreads ? pool : null);
+    this.stubs = List.copyOf(byPeer.values());
+    this.peerMeters = metrics == null
+      ? null
+      : byPeer.keySet().stream().map(metrics::forPeer).toArray(RpcMetrics.PeerMeters[]::new);
     this.rpcMetrics = metrics;
     this.throughputMetrics = throughputMetrics;
   }
 
-  private static List<EddyRpcGrpc.EddyRpcBlockingStub> createStubs(
-    List<String> peers
+  /**
+   * Stubs for the peers that could be connected, in peer order.
+   *
+   * @param callbackExecutor executor for channel callbacks; null keeps gRPC's default
+   */
+  private static LinkedHashMap<String, EddyRpcGrpc.EddyRpcBlockingStub> createStubs(
+    List<String> peers,
+    Executor callbackExecutor
   ) {
-    List<EddyRpcGrpc.EddyRpcBlockingStub> stubs = new ArrayList<>();
+    LinkedHashMap<String, EddyRpcGrpc.EddyRpcBlockingStub> stubs = new LinkedHashMap<>();
     
     for (String peer : peers) {
       try {
@@ -87,7 +115,7 @@ public class RpcClient {
         // Create socket address directly to avoid name resolution
         java.net.InetSocketAddress socketAddress = new java.net.InetSocketAddress(host, port);
         
-        ManagedChannel channel = io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder
+        var builder = io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder
           .forAddress(socketAddress)
           .usePlaintext()
           // Enable keepalive to detect dead connections
@@ -100,13 +128,16 @@ public class RpcClient {
           .enableRetry()
           .maxRetryAttempts(3)
           // Connection settings
-          .maxInboundMessageSize(64 * 1024 * 1024) // 64MB for large vectors
-          .build();
+          .maxInboundMessageSize(64 * 1024 * 1024); // 64MB for large vectors
+        if (callbackExecutor != null) {
+          builder.executor(callbackExecutor);
+        }
+        ManagedChannel channel = builder.build();
         
         // Create stub WITHOUT deadline (we'll add fresh deadline per call)
         var stub = EddyRpcGrpc.newBlockingStub(channel);
         
-        stubs.add(stub);
+        stubs.put(peer, stub);
         log.info("Successfully connected to peer {} with keepalive and timeout configured", peer);
       } catch (Exception e) {
         log.error("Failed to connect to peer {}: {}", peer, e.getMessage(), e);
@@ -121,12 +152,16 @@ public class RpcClient {
   }
 
   public void broadcast(EddyState state) {
+    broadcast("", state);
+  }
+
+  /** Broadcast an eddy of {@code topic} ("" is the default topic). */
+  public void broadcast(String topic, EddyState state) {
     EddyStateMsg.Builder msgBuilder = EddyStateMsg.newBuilder()
       .setId(state.id())
-      .addAllVector(
-        Arrays.stream(state.vector()).boxed().collect(Collectors.toList())
-      )
+      .setTopic(topic)
       .setEnergy(state.energy());
+    ProtoVectors.addAll(state.vector(), msgBuilder::addVector);
     // parentId is not in proto, so not set
     EddyStateMsg msg = msgBuilder.build();
 
@@ -134,26 +169,24 @@ public class RpcClient {
       final var stub = stubs.get(i);
       final int peerIndex = i;
       pool.submit(() -> {
-        if (rpcMetrics != null) rpcMetrics.recordInFlight(1);
-        
         // Check circuit breaker
         CircuitBreaker cb = circuitBreakers.computeIfAbsent(peerIndex, k -> new CircuitBreaker());
         if (cb.isOpen()) {
           log.debug("Circuit breaker OPEN for peer {}, skipping broadcast", peerIndex);
-          if (rpcMetrics != null) rpcMetrics.incFailure();
+          recordFailure(peerIndex);
           return;
         }
         
+        if (rpcMetrics != null) rpcMetrics.rpcStarted();
         try {
           // Retry with exponential backoff
           executeWithRetry(() -> {
             // Refresh deadline for each call
             var freshStub = stub.withDeadlineAfter(RPC_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            timed(peerIndex, () -> freshStub.broadcast(msg));
             if (rpcMetrics != null) {
-              rpcMetrics.recordLatency(() -> freshStub.broadcast(msg));
               rpcMetrics.incBroadcast();
-            } else {
-              freshStub.broadcast(msg);
+              peerMeters[peerIndex].incBroadcast();
             }
           }, peerIndex);
           
@@ -162,28 +195,56 @@ public class RpcClient {
           
         } catch (Exception e) {
           cb.recordFailure();
-          if (rpcMetrics != null) rpcMetrics.incFailure();
+          recordFailure(peerIndex);
           
           // Log detailed error information
           String errorType = getErrorType(e);
           log.warn("Broadcast to peer {} failed after retries ({}): {}", 
             peerIndex, errorType, e.getMessage());
         } finally {
-          if (rpcMetrics != null) rpcMetrics.recordInFlight(0);
+          if (rpcMetrics != null) rpcMetrics.rpcFinished();
         }
       });
     }
   }
 
-  public void commit(EddyState state) {
-    CommitBody body = CommitBody.newBuilder()
+  /**
+   * The commit body peers sign; certificate signers must sign exactly these bytes.
+   */
+  public static CommitBody toCommitBody(EddyState state) {
+    return toCommitBody("", state);
+  }
+
+  /** Commit body for an eddy of {@code topic}; the topic is covered by the signature. */
+  public static CommitBody toCommitBody(String topic, EddyState state) {
+    CommitBody.Builder body = CommitBody.newBuilder()
       .setId(state.id())
-      .addAllVector(
-        Arrays.stream(state.vector()).boxed().collect(Collectors.toList())
-      )
-      .setEnergy(state.energy())
-      // parentId is not in proto, so not set
+      .setTopic(topic)
+      .setEnergy(state.energy());
+    // parentId is not in proto, so not set
+    ProtoVectors.addAll(state.vector(), body::addVector);
+    return body.build();
+  }
+
+  /**
+   * Commit with an aggregated certificate (see {@link CommitCertificates#build}) in
+   * place of this node's own signature.
+   */
+  public void commit(EddyState state, CommitCertificate certificate) {
+    CommitEnvelope env = CommitEnvelope.newBuilder()
+      .setBody(toCommitBody(state))
+      .setCertificate(certificate)
       .build();
+    sendCommit(env, state);
+  }
+
+  public void commit(EddyState state) {
+    commit("", state);
+  }
+
+  /** Commit an eddy of {@code topic} ("" is the default topic). */
+  public void commit(String topic, EddyState state) {
+    CommitBody body = toCommitBody(topic, state);
 
     CommitEnvelope.Builder envB = CommitEnvelope.newBuilder().setBody(body);
 
@@ -216,32 +277,32 @@ public class RpcClient {
       envB.setSigScheme("receiver-signs");
     }
 
-    CommitEnvelope env = envB.build();
+    sendCommit(envB.build(), state);
+  }
 
+  private void sendCommit(CommitEnvelope env, EddyState state) {
     for (int i = 0; i < stubs.size(); i++) {
       final var stub = stubs.get(i);
       final int peerIndex = i;
       pool.submit(() -> {
-        if (rpcMetrics != null) rpcMetrics.recordInFlight(1);
-        
         // Check circuit breaker
         CircuitBreaker cb = circuitBreakers.computeIfAbsent(peerIndex, k -> new CircuitBreaker());
         if (cb.isOpen()) {
           log.debug("Circuit breaker OPEN for peer {}, skipping commit", peerIndex);
-          if (rpcMetrics != null) rpcMetrics.incFailure();
+          recordFailure(peerIndex);
           return;
         }
         
+        if (rpcMetrics != null) rpcMetrics.rpcStarted();
         try {
           // Retry with exponential backoff
           executeWithRetry(() -> {
             // Refresh deadline for each call
             var freshStub = stub.withDeadlineAfter(RPC_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            timed(peerIndex, () -> freshStub.commit(env));
             if (rpcMetrics != null) {
-              rpcMetrics.recordLatency(() -> freshStub.commit(env));
               rpcMetrics.incCommit();
-            } else {
-              freshStub.commit(env);
+              peerMeters[peerIndex].incCommit();
             }
           }, peerIndex);
           
@@ -256,22 +317,61 @@ public class RpcClient {
           
         } catch (Exception e) {
           cb.recordFailure();
-          if (rpcMetrics != null) rpcMetrics.incFailure();
+          recordFailure(peerIndex);
           
           // Log detailed error information
           String errorType = getErrorType(e);
           log.warn("Commit to peer {} failed after retries ({}): {}", 
             peerIndex, errorType, e.getMessage());
         } finally {
-          if (rpcMetrics != null) rpcMetrics.recordInFlight(0);
+          if (rpcMetrics != null) rpcMetrics.rpcFinished();
         }
       });
     }
   }
 
+  /**
+   * Commits made by the first peer from now on, as a {@link Flow.Publisher}. Each
+   * subscriber gets its own server stream with its demand as flow control.
+   *
+   * @param topic only this topic ("" is the default topic), or null for every topic
+   * @param idPrefix only eddies whose id starts with this; null or "" for any id
+   */
+  public Flow.Publisher<EddyState> subscribeCommits(String topic, String idPrefix) {
+    if (stubs.isEmpty()) {
+      throw new IllegalStateException("No peers to subscribe to");
+    }
+    var request = CommitSubscription.newBuilder().setIdPrefix(idPrefix == null ? "" : idPrefix);
+    if (topic != null) request.setTopic(topic);
+    var stub = EddyRpcGrpc.newStub(stubs.get(0).getChannel());
+    return new CommitPublisher(stub, request.build());
+  }
+
   public void shutdown() {
     pool.shutdownNow();
   }
+
+  /** Run one call to a peer, timing it overall and for the peer. */
+  private void timed(int peerIndex, Runnable call) {
+    if (rpcMetrics == null) {
+      call.run();
+      return;
+    }
+    long start = System.nanoTime();
+    try {
+      call.run();
+    } finally {
+      long nanos = System.nanoTime() - start;
+      rpcMetrics.recordLatency(nanos);
+      peerMeters[peerIndex].recordLatency(nanos);
+    }
+  }
+
+  private void recordFailure(int peerIndex) {
+    if (rpcMetrics == null) return;
+    rpcMetrics.incFailure();
+    peerMeters[peerIndex].incFailure();
+  }
   
   /**
    * Execute RPC with retry and exponential backoff.
@@ -2,29 +2,42 @@ package com.spiron.network;
 
 import com.spiron.config.BroadcastValidationConfig;
 import com.spiron.core.*;
+import com.spiron.crdt.EagerGossipPusher;
+import com.spiron.crdt.FinallityDetector;
 import com.spiron.metrics.MetricsUpdater;
 import com.spiron.metrics.RpcMetrics;
 import com.spiron.metrics.StorageMetrics;
 import com.spiron.proto.EddyProto.*;
 import com.spiron.proto.EddyRpcGrpc;
-import com.spiron.security.BlsSigner;
+import com.spiron.security.ClusterKeys;
+import com.spiron.security.PublicKeyCache;
 import com.spiron.serialization.CRDTJsonCodec;
 import com.spiron.storage.CRDTStore;
 import com.spiron.storage.EtcdCRDTStore;
 import com.spiron.storage.RocksDbCRDTStore;
+import com.spiron.util.Threads;
 import com.spiron.validation.*;
 import io.grpc.Contexts;
 import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
 import io.grpc.Server;
 import io.grpc.ServerBuilder;
 import io.grpc.ServerCall;
 import io.grpc.ServerCallHandler;
 import io.grpc.ServerInterceptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
 import io.grpc.protobuf.services.ProtoReflectionService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
 import io.grpc.stub.StreamObserver;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntToDoubleFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +47,11 @@ public class RpcServer {
   private static final Logger log = LoggerFactory.getLogger(RpcServer.class);
   private final Server server;
   private final MetricsUpdater metricsUpdater;
+  private final GossipRuntime gossipRuntime; // may be null (no periodic gossip)
+  private final TopicEngines topics; // may be null (default topic only)
+  private final EddyRpcService rpcService;
+  private final ExecutorService callExecutor; // null uses gRPC's default executor
+  private final FinallityDetector finalityDetector; // closed with the server
 
   /**
    * Expose a Context.Key that holds the peer string (host:port) so services
@@ -80,13 +98,56 @@ public class RpcServer {
     StorageMetrics storageMetrics,
     BroadcastValidationConfig validationConfig,
     long finalityThreshold
+  ) {
+    this(port, engine, crdtStore, codec, rpcMetrics, metricsUpdater, storageMetrics, validationConfig, finalityThreshold, null, new FinallityDetector(), null, null, null, false, ClusterKeys.none());
+  }
+
+  /**
+   * @param topics per-topic engines for broadcasts and commits that carry a topic;
+   *        null accepts the default topic only
+   * @param commitFeed commits served to {@code SubscribeCommits} callers; null
+   *        disables subscriptions
+   * @param virtualThreads run each call's handlers on a virtual thread instead of
+   *        gRPC's default cached pool
+   * @param clusterKeys node keys allowed to sign commit certificates
+   */
+
+  public RpcServer(
+    int port,
+    EddyEngine engine,
+    CRDTStore crdtStore,
+    CRDTJsonCodec codec,
+    RpcMetrics rpcMetrics,
+    MetricsUpdater metricsUpdater,
+    StorageMetrics storageMetrics,
+    BroadcastValidationConfig validationConfig,
+    long finalityThreshold,
+    EagerGossipPusher gossipPusher,
+    FinallityDetector finalityDetector,
+    GossipRuntime gossipRuntime,
+    TopicEngines topics,
+    CommitFeed commitFeed,
+    boolean virtualThreads,
+    ClusterKeys clusterKeys
   ) {
     this.metricsUpdater = metricsUpdater;
-    this.server = ServerBuilder.forPort(port)
+    this.gossipRuntime = gossipRuntime;
+    this.topics = topics;
+    this.finalityDetector = finalityDetector;
+    this.rpcService = new EddyRpcService(engine, crdtStore, codec, rpcMetrics, storageMetrics, validationConfig, gossipPusher, topics, commitFeed, clusterKeys);
+    var builder = ServerBuilder.forPort(port);
+    if (virtualThreads) {
+      this.callExecutor = Threads.blockingPool("grpc-call", 0, true);
+      builder.executor(callExecutor);
+    } else {
+      this.callExecutor = null;
+    }
+    this.server = builder
       // intercept to populate peer info into the Context for each call
       .intercept(new PeerInfoInterceptor())
-      .addService(new EddyRpcService(engine, crdtStore, codec, rpcMetrics, storageMetrics, validationConfig))
-      .addService(new EddyGossipService(crdtStore, codec, finalityThreshold))
+      // Broadcast vectors are decoded into pooled slabs, not protobuf messages
+      .addService(rpcService.bindWithPooledBroadcast())
+      .addService(new EddyGossipService(crdtStore, codec, finalityThreshold, finalityDetector))
       .addService(ProtoReflectionService.newInstance())
       // Server-side keepalive settings to match client
       .keepAliveTime(30, java.util.concurrent.TimeUnit.SECONDS)
@@ -107,8 +168,25 @@ public class RpcServer {
     if (metricsUpdater != null) {
       metricsUpdater.start();
     }
+    if (gossipRuntime != null) {
+      gossipRuntime.start();
+    }
+    if (topics != null) {
+      topics.start();
+    }
     Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      if (gossipRuntime != null) {
+        gossipRuntime.stop();
+      }
+      if (topics != null) {
+        topics.close();
+      }
       server.shutdown();
+      rpcService.shutdown();
+      if (callExecutor != null) {
+        callExecutor.shutdown();
+      }
+      closeFinalityIndex();
       if (metricsUpdater != null) {
         metricsUpdater.stop();
       }
@@ -125,7 +203,31 @@ public class RpcServer {
   }
 
   public void stop() {
+    if (gossipRuntime != null) {
+      gossipRuntime.stop();
+    }
+    if (topics != null) {
+      topics.close();
+    }
     server.shutdownNow();
+    rpcService.shutdown();
+    if (callExecutor != null) {
+      callExecutor.shutdown();
+    }
+    closeFinalityIndex();
+  }
+
+  /**
+   * Close the finalized-eddy index once gossip and the server have stopped, so
+   * its RocksDB handle and options are released like the rest of the node.
+   */
+  private void closeFinalityIndex() {
+    try {
+      server.awaitTermination(5, java.util.concurrent.TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    finalityDetector.close();
   }
 
   public boolean isRunning() {
@@ -144,6 +246,15 @@ public class RpcServer {
     private final DuplicateDetector duplicateDetector;
     private final RateLimiter rateLimiter;
     private final PeerAllowlist peerAllowlist;
+    private final EagerGossipPusher gossipPusher; // may be null (no eager push)
+    private final TopicEngines topics; // may be null (default topic only)
+    private final CommitFeed commitFeed; // may be null (no subscriptions)
+    private final ExecutorService subscriptionPool; // may be null (no subscriptions)
+    private final CommitVerificationBatcher commitVerifier;
+    private final ClusterKeys clusterKeys;
+    private final PublicKeyCache publicKeys = new PublicKeyCache();
+    private final VerifiedEnvelopeCache verifiedEnvelopes = new VerifiedEnvelopeCache();
+    private final VectorSlabPool vectorSlabs;
 
     EddyRpcService(
       EddyEngine engine,
@@ -152,14 +263,38 @@ public class RpcServer {
       RpcMetrics rpcMetrics,
       StorageMetrics storageMetrics,
       BroadcastValidationConfig validationConfig
+    ) {
+      this(engine, crdtStore, codec, rpcMetrics, storageMetrics, validationConfig, null, null, null, ClusterKeys.none());
+    }
+
+    EddyRpcService(
+      EddyEngine engine,
+      CRDTStore crdtStore,
+      CRDTJsonCodec codec,
+      RpcMetrics rpcMetrics,
+      StorageMetrics storageMetrics,
+      BroadcastValidationConfig validationConfig,
+      EagerGossipPusher gossipPusher,
+      TopicEngines topics,
+      CommitFeed commitFeed,
+      ClusterKeys clusterKeys
     ) {
       this.engine = engine;
+      this.clusterKeys = clusterKeys;
+      this.gossipPusher = gossipPusher;
+      this.topics = topics;
+      this.commitFeed = commitFeed;
+      this.subscriptionPool = commitFeed == null ? null : newSubscriptionPool();
       this.crdtStore = crdtStore;
       this.codec = codec;
       this.rpcMetrics = rpcMetrics;
       this.storageMetrics = storageMetrics;
       this.validator = new BroadcastValidator(validationConfig);
-      this.duplicateDetector = new DuplicateDetector(validationConfig.duplicateExpiryMs());
+      this.duplicateDetector = new DuplicateDetector(
+        validationConfig.duplicateExpiryMs(),
+        validationConfig.duplicateCapacity(),
+        validationConfig.duplicateFalsePositiveRate()
+      );
       
       // Create appropriate RateLimitStateStore based on storage mode
       RateLimitStateStore rateLimitStore = null;
@@ -172,12 +307,151 @@ public class RpcServer {
           ((EtcdCRDTStore) crdtStore).getClient()
         );
       }
-      this.rateLimiter = new RateLimiter(validationConfig.rateLimitPerSecond(), rateLimitStore);
+      this.rateLimiter = new RateLimiter(
+        validationConfig.rateLimitPerSecond(),
+        rateLimitStore,
+        validationConfig.rateLimitDistributed()
+      );
       this.peerAllowlist = new PeerAllowlist(validationConfig.peerAllowlistRegex());
+      this.vectorSlabs = new VectorSlabPool(
+        Math.max(1, validationConfig.vectorDimensions()) * Double.BYTES,
+        2 * Runtime.getRuntime().availableProcessors()
+      );
+      this.commitVerifier = new CommitVerificationBatcher(
+        Runtime.getRuntime().availableProcessors(),
+        CommitVerificationBatcher.DEFAULT_QUEUE_CAPACITY,
+        CommitVerificationBatcher.DEFAULT_MAX_BATCH,
+        rpcMetrics
+      );
+      if (rpcMetrics != null) {
+        rpcMetrics.registerDuplicateDetector(
+          duplicateDetector::getChecks,
+          duplicateDetector::getEvictions,
+          duplicateDetector.getCapacity()
+        );
+        rpcMetrics.registerCommitCache("pubkey", publicKeys::hits, publicKeys::misses);
+        rpcMetrics.registerCommitCache(
+          "verified_envelope",
+          verifiedEnvelopes::hits,
+          verifiedEnvelopes::misses
+        );
+      }
+    }
+
+    /**
+     * Service definition with {@code Broadcast} bound to the pooled marshaller; the
+     * other methods keep their generated protobuf bindings.
+     */
+    ServerServiceDefinition bindWithPooledBroadcast() {
+      ServerServiceDefinition generated = bindService();
+      MethodDescriptor<EddyStateMsg, Ack> broadcastMethod = EddyRpcGrpc.getBroadcastMethod();
+      MethodDescriptor<PooledEddyStateMsg, Ack> pooledBroadcast = broadcastMethod
+        .toBuilder(
+          new PooledEddyStateMsgMarshaller(vectorSlabs),
+          broadcastMethod.getResponseMarshaller()
+        )
+        .build();
+
+      var others = generated.getMethods().stream()
+        .filter(m -> !m.getMethodDescriptor().getFullMethodName()
+          .equals(broadcastMethod.getFullMethodName()))
+        .toList();
+
+      // The service descriptor must list the very instances that are bound
+      var descriptor = ServiceDescriptor
+        .newBuilder(EddyRpcGrpc.SERVICE_NAME)
+        .setSchemaDescriptor(generated.getServiceDescriptor().getSchemaDescriptor())
+        .addMethod(pooledBroadcast);
+      others.forEach(m -> descriptor.addMethod(m.getMethodDescriptor()));
+      var definition = ServerServiceDefinition
+        .builder(descriptor.build())
+        .addMethod(
+          pooledBroadcast,
+          ServerCalls.<PooledEddyStateMsg, Ack>asyncUnaryCall(this::broadcast)
+        );
+      others.forEach(definition::addMethod);
+      return definition.build();
+    }
+
+    private static ExecutorService newSubscriptionPool() {
+      AtomicInteger threadIds = new AtomicInteger();
+      return Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "commit-stream-" + threadIds.getAndIncrement());
+        t.setDaemon(true);
+        return t;
+      });
+    }
+
+    /** Stop the commit verification and subscription threads. */
+    void shutdown() {
+      commitVerifier.shutdown();
+      if (subscriptionPool != null) {
+        subscriptionPool.shutdownNow();
+      }
+    }
+
+    /**
+     * Stream this node's commits from now on, optionally filtered by topic and id
+     * prefix. The stream ends only when the client cancels or the server stops.
+     */
+    @Override
+    public void subscribeCommits(CommitSubscription req, StreamObserver<CommitEvent> obs) {
+      if (commitFeed == null) {
+        obs.onError(Status.UNIMPLEMENTED.withDescription("Commit subscriptions are disabled").asRuntimeException());
+        return;
+      }
+      if (req.hasTopic() && !acceptsTopic(req.getTopic())) {
+        obs.onError(Status.INVALID_ARGUMENT.withDescription("Unknown topic '" + req.getTopic() + "'").asRuntimeException());
+        return;
+      }
+      new CommitStream(commitFeed, req, (ServerCallStreamObserver<CommitEvent>) obs, subscriptionPool);
     }
 
     @Override
     public void broadcast(EddyStateMsg req, StreamObserver<Ack> obs) {
+      handleBroadcast(
+        req.getTopic(),
+        req.getId(),
+        req.getVectorCount(),
+        req::getVector,
+        req.getEnergy(),
+        obs
+      );
+    }
+
+    /**
+     * Broadcast decoded by {@link PooledEddyStateMsgMarshaller}: the vector is read
+     * straight from its pooled slab, which is released once the call is handled.
+     */
+    void broadcast(PooledEddyStateMsg req, StreamObserver<Ack> obs) {
+      try {
+        handleBroadcast(
+          req.getTopic(),
+          req.getId(),
+          req.getVectorCount(),
+          req::getVector,
+          req.getEnergy(),
+          obs
+        );
+      } finally {
+        req.release();
+      }
+    }
+
+    /** True if this node serves {@code topic}. */
+    private boolean acceptsTopic(String topic) {
+      if (topic.isEmpty()) return true;
+      return topics != null && TopicEngines.isValidTopic(topic);
+    }
+
+    private void handleBroadcast(
+      String topic,
+      String id,
+      int vectorCount,
+      IntToDoubleFunction vector,
+      double energy,
+      StreamObserver<Ack> obs
+    ) {
       String peer = PEER_KEY.get();
       if (peer == null) peer = "unknown";
       
@@ -197,49 +471,66 @@ public class RpcServer {
         if (rpcMetrics != null) {
           rpcMetrics.incBroadcastRejectedRateLimit();
         }
-        log.warn("Rate limit exceeded for peer: {}, eddy: {}", peer, req.getId());
+        log.warn("Rate limit exceeded for peer: {}, eddy: {}", peer, id);
         obs.onNext(Ack.newBuilder().setStatus("rejected_ratelimit").build());
         obs.onCompleted();
         return;
       }
       
-      // 3. Convert to EddyState
-      double[] vec = req
-        .getVectorList()
-        .stream()
-        .mapToDouble(Double::doubleValue)
-        .toArray();
-      // No parentId in proto, so default to null
-      var state = new EddyState(req.getId(), vec, req.getEnergy(), null);
-      
-      // 4. Validate input
-      var validationResult = validator.validate(state);
-      if (!validationResult.isValid()) {
+      // 3. Topic must be one this node serves
+      if (!acceptsTopic(topic)) {
+        if (rpcMetrics != null) {
+          rpcMetrics.incBroadcastRejectedValidation();
+        }
+        log.warn("Rejected broadcast from peer: {}, eddy: {}, unsupported topic '{}'", peer, id, topic);
+        obs.onNext(Ack.newBuilder().setStatus("rejected_validation").build());
+        obs.onCompleted();
+        return;
+      }
+
+      // 4. Decode to EddyState and validate in one pass over the vector
+      // (no parentId in proto, so it defaults to null)
+      var decoded = validator.decode(id, vectorCount, vector, energy);
+      if (!decoded.isValid()) {
+        var validationResult = decoded.result();
         if (rpcMetrics != null) {
           rpcMetrics.incBroadcastRejectedValidation();
         }
         log.warn("Validation failed for broadcast from peer: {}, eddy: {}, reason: {} - {}", 
-          peer, req.getId(), validationResult.errorCode(), validationResult.errorMessage());
+          peer, id, validationResult.errorCode(), validationResult.errorMessage());
         obs.onNext(Ack.newBuilder()
           .setStatus("rejected_validation")
           .build());
         obs.onCompleted();
         return;
       }
+      var state = decoded.state();
       
-      // 5. Check for duplicates
-      if (duplicateDetector.isDuplicate(req.getId())) {
+      // 5. Check for duplicates (ids are only unique within a topic)
+      final String eddyId = TopicEngines.scopedId(topic, id);
+      if (duplicateDetector.isDuplicate(eddyId)) {
         if (rpcMetrics != null) {
           rpcMetrics.incBroadcastRejectedDuplicate();
         }
-        log.debug("Duplicate broadcast rejected from peer: {}, eddy: {}", peer, req.getId());
+        log.debug("Duplicate broadcast rejected from peer: {}, eddy: {}", peer, id);
         obs.onNext(Ack.newBuilder().setStatus("rejected_duplicate").build());
         obs.onCompleted();
         return;
       }
       
-      // 6. Ingest into engine (in-memory)
-      engine.ingest(state);
+      // 6. Ingest into the topic's engine (in-memory)
+      if (topics != null) {
+        try {
+          topics.ingest(topic, state);
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+          log.warn("Broadcast for {} rejected: {}", eddyId, e.getMessage());
+          obs.onNext(Ack.newBuilder().setStatus("rejected_overload").build());
+          obs.onCompleted();
+          return;
+        }
+      } else {
+        engine.ingest(state);
+      }
       
       // 7. Persist to CRDT store for crash recovery (with metrics)
       try {
@@ -248,20 +539,18 @@ public class RpcServer {
         var crdtVector = CRDTVector.newBuilder()
           .setTimestamp(System.currentTimeMillis())
           .setReplicaId(state.id()); // Use eddy ID as replica ID for broadcast
-        for (double v : state.vector()) {
-          crdtVector.addVector(v);
-        }
+        ProtoVectors.addAll(state.vector(), crdtVector::addVector);
         
         // Build CRDTEddy
         var crdtEddy = CRDTEddy.newBuilder()
           .setId(state.id())
+          .setTopic(topic)
           .setState(crdtVector.build())
           .setLastUpdated(System.currentTimeMillis())
           .build();
         
         final String json = codec.serializeEddy(crdtEddy);
         final long jsonBytes = json.getBytes(java.nio.charset.StandardCharsets.UTF_8).length;
-        final String eddyId = req.getId();
         
         // Record storage metrics SYNCHRONOUSLY
         if (storageMetrics != null) {
@@ -273,32 +562,45 @@ public class RpcServer {
           crdtStore.put(eddyId, json);
           log.warn("⚠️  Persisted broadcast (NO METRICS): {}", eddyId);
         }
+
+        // Push the fresh version to a few peers now instead of at the next gossip round
+        if (gossipPusher != null) {
+          gossipPusher.offer(crdtEddy);
+        }
       } catch (Exception e) {
-        log.error("Failed to persist broadcast state to CRDT store: {}", req.getId(), e);
+        log.error("Failed to persist broadcast state to CRDT store: {}", id, e);
         // Continue - in-memory state is already ingested
       }
       
       // 8. Record success metrics
       if (rpcMetrics != null) {
         rpcMetrics.incBroadcast();
-        log.info("Recorded broadcast from peer: {} for eddy: {}", peer, req.getId());
+        log.info("Recorded broadcast from peer: {} for eddy: {}", peer, id);
       } else {
-        log.warn("RpcMetrics is NULL - cannot record broadcast for eddy: {}", req.getId());
+        log.warn("RpcMetrics is NULL - cannot record broadcast for eddy: {}", id);
       }
       
       obs.onNext(Ack.newBuilder().setStatus("ok").build());
       obs.onCompleted();
     }
 
+    /**
+     * Signed commits are verified on the commit verification pool; the RPC is
+     * answered from there once the signature checks out and the state is persisted,
+     * so the transport thread is released immediately.
+     */
     @Override
     public void commit(CommitEnvelope req, StreamObserver<Ack> obs) {
       try {
         var body = req.getBody();
-        double[] vec = body
-          .getVectorList()
-          .stream()
-          .mapToDouble(Double::doubleValue)
-          .toArray();
+        String topic = body.getTopic();
+        if (!acceptsTopic(topic)) {
+          log.warn("Rejected commit for {}: unsupported topic '{}'", body.getId(), topic);
+          obs.onNext(Ack.newBuilder().setStatus("rejected_validation").build());
+          obs.onCompleted();
+          return;
+        }
+        double[] vec = ProtoVectors.toArray(body.getVectorCount(), body::getVector);
         // No parentId in proto, so default to null
         var state = new EddyState(body.getId(), vec, body.getEnergy(), null);
 
@@ -307,30 +609,38 @@ public class RpcServer {
         byte[] sigBytes = req.getBlsSignature().toByteArray();
         String sigScheme = req.getSigScheme(); // proto3-safe accessor
 
+        // 0️⃣ Aggregated certificate: one fast aggregate verify covers every signer,
+        // who must all be cluster keys and together reach the quorum
+        if (req.hasCertificate()) {
+          var certificate = req.getCertificate();
+          commitVerifier
+            .submit(() -> CommitCertificates.verifyQuorum(certificate, body, clusterKeys, publicKeys))
+            .whenComplete((ok, err) ->
+              finishVerifiedCommit(topic, state, ok, err, "invalid-certificate", obs)
+            );
+          return;
+        }
+
         // 1️⃣ Normal sender-signed path
         if (
           !sigScheme.equals("receiver-signs") &&
           pubBytes.length > 0 &&
           sigBytes.length > 0
         ) {
-          var pk = BlsSigner.parsePublicKey(pubBytes);
-          boolean ok = BlsSigner.verifyAggregate(
-            List.of(pk),
-            List.of(msg),
-            sigBytes
-          );
-          if (!ok) {
-            log.warn("Invalid BLS signature for {}", body.getId());
-            obs.onNext(Ack.newBuilder().setStatus("invalid-signature").build());
-            obs.onCompleted();
+          // Retried or redelivered envelopes skip pairing altogether
+          var envelopeKey = VerifiedEnvelopeCache.key(pubBytes, msg, sigBytes);
+          if (verifiedEnvelopes.isVerified(envelopeKey)) {
+            finishVerifiedCommit(topic, state, true, null, "invalid-signature", obs);
             return;
           }
-          engine.persistState(state);
-          String peer = PEER_KEY.get();
-          if (peer == null) peer = "unknown";
-          if (rpcMetrics != null) rpcMetrics.incCommit();
-          obs.onNext(Ack.newBuilder().setStatus("committed").build());
-          obs.onCompleted();
+          var pk = publicKeys.get(pubBytes);
+          // Batched with other commits in flight
+          commitVerifier
+            .verify(pk, msg, sigBytes)
+            .whenComplete((ok, err) -> {
+              if (err == null && ok) verifiedEnvelopes.markVerified(envelopeKey);
+              finishVerifiedCommit(topic, state, ok, err, "invalid-signature", obs);
+            });
           return;
         }
 
@@ -339,9 +649,7 @@ public class RpcServer {
           sigScheme.equals("receiver-signs") ||
           (pubBytes.length == 0 && sigBytes.length == 0)
         ) {
-          engine.persistState(state);
-          String peer = PEER_KEY.get();
-          if (peer == null) peer = "unknown";
+          persistCommitted(topic, state);
           if (rpcMetrics != null) rpcMetrics.incCommit();
           obs.onNext(Ack.newBuilder().setStatus("committed").build());
           obs.onCompleted();
@@ -357,5 +665,53 @@ public class RpcServer {
         obs.onCompleted();
       }
     }
+
+    /** Runs on a verifier thread: persist a verified commit and answer the RPC. */
+    private void finishVerifiedCommit(
+      String topic,
+      EddyState state,
+      Boolean ok,
+      Throwable err,
+      String invalidStatus,
+      StreamObserver<Ack> obs
+    ) {
+      String status;
+      try {
+        if (err != null) {
+          if (err instanceof java.util.concurrent.RejectedExecutionException) {
+            log.warn("Commit verification queue full, rejecting {}", state.id());
+            status = "rejected_overload";
+          } else {
+            log.error("Commit verification failed for {}", state.id(), err);
+            status = "error";
+          }
+        } else if (!ok) {
+          log.warn("Invalid commit signature for {} ({})", state.id(), invalidStatus);
+          status = invalidStatus;
+        } else {
+          persistCommitted(topic, state);
+          if (rpcMetrics != null) rpcMetrics.incCommit();
+          status = "committed";
+        }
+      } catch (Exception e) {
+        log.error("Commit failed", e);
+        status = "error";
+      }
+      try {
+        obs.onNext(Ack.newBuilder().setStatus(status).build());
+        obs.onCompleted();
+      } catch (Exception e) {
+        // Call already cancelled by the client
+        log.debug("Could not answer commit for {}: {}", state.id(), e.getMessage());
+      }
+    }
+
+    private void persistCommitted(String topic, EddyState state) {
+      if (topics != null) {
+        topics.persistState(topic, state);
+      } else {
+        engine.persistState(state);
+      }
+    }
   }
 }
@@ -0,0 +1,128 @@
+package com.spiron.network;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of direct, little-endian buffers sized for one eddy vector, so incoming
+ * broadcasts can be decoded without a heap allocation per message.
+ *
+ * Semantics:
+ * - Slabs are reference counted: {@link #acquire} hands one out with a count of 1,
+ *   {@link Slab#retain} / {@link Slab#release} adjust it, and the slab goes back to
+ *   the pool when the count reaches zero.
+ * - At most {@code maxPooled} free slabs are kept; extra releases are dropped for
+ *   the GC. A slab that is never released is collected the same way, so a missed
+ *   release costs a pool miss, not a leak.
+ * - Requests larger than the slab size get a one-off heap buffer that is never
+ *   pooled (such vectors fail the dimension check anyway).
+ */
+public final class VectorSlabPool {
+
+  private final int slabBytes;
+  private final BlockingQueue<ByteBuffer> free;
+  private final LongAdder allocated = new LongAdder();
+  private final LongAdder reused = new LongAdder();
+
+  /**
+   * @param slabBytes size of one pooled slab, normally {@code dimensions * 8}
+   * @param maxPooled free slabs kept for reuse
+   */
+  public VectorSlabPool(int slabBytes, int maxPooled) {
+    if (slabBytes < Double.BYTES) {
+      throw new IllegalArgumentException("slabBytes must hold at least one double");
+    }
+    this.slabBytes = slabBytes;
+    this.free = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+  }
+
+  /** Acquire a slab holding at least {@code bytes} bytes, with a reference count of 1. */
+  public Slab acquire(int bytes) {
+    if (bytes > slabBytes) {
+      allocated.increment();
+      return new Slab(ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN), false);
+    }
+    ByteBuffer buffer = free.poll();
+    if (buffer != null) {
+      reused.increment();
+    } else {
+      allocated.increment();
+      buffer = ByteBuffer.allocateDirect(slabBytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return new Slab(buffer, true);
+  }
+
+  public int getSlabBytes() {
+    return slabBytes;
+  }
+
+  /** Free slabs currently held for reuse. */
+  public int getPooledCount() {
+    return free.size();
+  }
+
+  /** Slabs created because the pool was empty (or the request was oversized). */
+  public long getAllocatedCount() {
+    return allocated.sum();
+  }
+
+  public long getReusedCount() {
+    return reused.sum();
+  }
+
+  /** A reference-counted vector buffer; doubles are addressed by element index. */
+  public final class Slab {
+
+    private final ByteBuffer buffer;
+    private final boolean pooled;
+    private final AtomicInteger refs = new AtomicInteger(1);
+
+    private Slab(ByteBuffer buffer, boolean pooled) {
+      this.buffer = buffer;
+      this.pooled = pooled;
+    }
+
+    /** Capacity in doubles. */
+    public int capacity() {
+      return buffer.capacity() / Double.BYTES;
+    }
+
+    public double getDouble(int index) {
+      return buffer.getDouble(index << 3);
+    }
+
+    public void putDouble(int index, double value) {
+      buffer.putDouble(index << 3, value);
+    }
+
+    /** Raw little-endian put, as read from the wire. */
+    public void putLong(int index, long bits) {
+      buffer.putLong(index << 3, bits);
+    }
+
+    public Slab retain() {
+      int prev = refs.getAndUpdate(n -> n > 0 ? n + 1 : n);
+      if (prev <= 0) {
+        throw new IllegalStateException("Slab already released");
+      }
+      return this;
+    }
+
+    public void release() {
+      int now = refs.decrementAndGet();
+      if (now == 0) {
+        if (pooled) free.offer(buffer);
+      } else if (now < 0) {
+        throw new IllegalStateException("Slab released more often than retained");
+      }
+    }
+
+    public int refCount() {
+      return refs.get();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.spiron.network;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived record of commit envelopes whose signature already verified, so a
+ * redelivered or retried envelope skips the pairing check entirely.
+ *
+ * Semantics:
+ * - Keyed by SHA-256 over (signer key ‖ body ‖ signature). The signer key is part of
+ *   the key: the same body and signature under a different key must be re-verified.
+ * - Only successful verifications are recorded; failures are never cached, so a
+ *   forged envelope cannot poison the cache.
+ * - Entries expire after {@code ttlMs}; the cache is bounded by {@code maxEntries}.
+ *   With a fixed TTL, insertion order is expiry order, so a FIFO of (key, expiry)
+ *   lets each insert drop expired entries, then the oldest live ones, from the head
+ *   in amortized O(1). A re-marked key leaves a stale FIFO node behind that is
+ *   skipped when it reaches the head.
+ */
+public class VerifiedEnvelopeCache {
+
+  public static final long DEFAULT_TTL_MS = 30_000;
+  public static final int DEFAULT_MAX_ENTRIES = 16_384;
+
+  private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  });
+
+  private record Expiry(ByteBuffer key, long expiresAt) {}
+
+  private final ConcurrentHashMap<ByteBuffer, Long> verified = new ConcurrentHashMap<>();
+  private final ConcurrentLinkedQueue<Expiry> expiryOrder = new ConcurrentLinkedQueue<>();
+  private final long ttlMs;
+  private final int maxEntries;
+  private final LongSupplier clock;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public VerifiedEnvelopeCache() {
+    this(DEFAULT_TTL_MS, DEFAULT_MAX_ENTRIES, System::currentTimeMillis);
+  }
+
+  public VerifiedEnvelopeCache(long ttlMs, int maxEntries, LongSupplier clock) {
+    if (ttlMs <= 0 || maxEntries <= 0) {
+      throw new IllegalArgumentException("ttlMs and maxEntries must be > 0");
+    }
+    this.ttlMs = ttlMs;
+    this.maxEntries = maxEntries;
+    this.clock = clock;
+  }
+
+  /** Cache key for one signed envelope. */
+  public static ByteBuffer key(byte[] pubkey, byte[] body, byte[] signature) {
+    MessageDigest md = SHA256.get();
+    md.reset();
+    // Length-prefix the variable parts so field boundaries cannot be shifted
+    md.update(intBytes(pubkey.length));
+    md.update(pubkey);
+    md.update(intBytes(body.length));
+    md.update(body);
+    md.update(signature);
+    return ByteBuffer.wrap(md.digest());
+  }
+
+  /** True if this envelope verified within the last {@code ttlMs}. */
+  public boolean isVerified(ByteBuffer key) {
+    Long expiresAt = verified.get(key);
+    if (expiresAt != null) {
+      if (expiresAt > clock.getAsLong()) {
+        hits.increment();
+        return true;
+      }
+      verified.remove(key, expiresAt);
+    }
+    misses.increment();
+    return false;
+  }
+
+  /** Record a successful verification. */
+  public void markVerified(ByteBuffer key) {
+    long now = clock.getAsLong();
+    long expiresAt = now + ttlMs;
+    verified.put(key, expiresAt);
+    expiryOrder.offer(new Expiry(key, expiresAt));
+    Expiry head;
+    while (
+      (head = expiryOrder.peek()) != null &&
+      (head.expiresAt() <= now || verified.size() > maxEntries)
+    ) {
+      Expiry oldest = expiryOrder.poll();
+      if (oldest != null) {
+        // No-op for stale nodes: the key was re-marked or already removed
+        verified.remove(oldest.key(), oldest.expiresAt());
+      }
+    }
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public int size() {
+    return verified.size();
+  }
+
+  private static byte[] intBytes(int v) {
+    return new byte[] { (byte) (v >>> 24), (byte) (v >>> 16), (byte) (v >>> 8), (byte) v };
+  }
+}
@@ -0,0 +1,66 @@
+package com.spiron.security;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * The BLS public keys of the cluster's nodes, as configured by the operator.
+ *
+ * Aggregate commit certificates are only sound over known keys: a caller free to
+ * choose the signer keys can pick a rogue key that cancels the honest ones and
+ * forge an aggregate nobody signed.
+ *
+ * Semantics:
+ * - Keys are compared by their compressed bytes.
+ * - {@link #quorum} is a strict majority of the configured keys.
+ * - An empty set trusts no one: every certificate is rejected.
+ */
+public final class ClusterKeys {
+
+  private static final ClusterKeys NONE = new ClusterKeys(Set.of());
+
+  private final Set<Bytes> keys;
+
+  private ClusterKeys(Set<Bytes> keys) {
+    this.keys = keys;
+  }
+
+  /** A key set that trusts no one. */
+  public static ClusterKeys none() {
+    return NONE;
+  }
+
+  /**
+   * @param pubkeys compressed public keys, one per node
+   */
+  public static ClusterKeys of(List<byte[]> pubkeys) {
+    return new ClusterKeys(
+      pubkeys.stream().map(pk -> Bytes.wrap(pk.clone())).collect(Collectors.toUnmodifiableSet())
+    );
+  }
+
+  /**
+   * @param hexKeys compressed public keys in hex, one per node
+   * @throws IllegalArgumentException if a key is not valid hex
+   */
+  public static ClusterKeys fromHex(List<String> hexKeys) {
+    HexFormat hex = HexFormat.of();
+    return of(hexKeys.stream().map(k -> hex.parseHex(k.trim())).toList());
+  }
+
+  public boolean contains(byte[] pubkey) {
+    return keys.contains(Bytes.wrap(pubkey));
+  }
+
+  public int size() {
+    return keys.size();
+  }
+
+  /** Signers a certificate needs: a strict majority of the cluster keys. */
+  public int quorum() {
+    return keys.size() / 2 + 1;
+  }
+}
@@ -0,0 +1,81 @@
+package com.spiron.security;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.crypto.mikuli.PublicKey;
+
+/**
+ * Bounded cache of decoded BLS public keys, keyed by their compressed bytes.
+ *
+ * A cluster signs with a handful of stable node keys, so decoding (and subgroup
+ * checking) the same 48 bytes on every commit is wasted work.
+ *
+ * Semantics:
+ * - Lookups are lock-free; a miss decodes outside any lock, so two racing misses
+ *   may both decode the same key (harmless, last write wins).
+ * - At capacity an arbitrary entry is evicted to make room; with a stable key set
+ *   the cache never fills.
+ * - Undecodable bytes are never cached; the decode exception propagates.
+ */
+public class PublicKeyCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+  private final ConcurrentHashMap<Bytes, PublicKey> keys = new ConcurrentHashMap<>();
+  private final int maxEntries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public PublicKeyCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  public PublicKeyCache(int maxEntries) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be > 0");
+    }
+    this.maxEntries = maxEntries;
+  }
+
+  /** Decoded key for {@code pkBytes}, parsing and caching it on first use. */
+  public PublicKey get(byte[] pkBytes) {
+    Objects.requireNonNull(pkBytes, "public key bytes cannot be null");
+    Bytes key = Bytes.wrap(pkBytes);
+    PublicKey cached = keys.get(key);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    PublicKey parsed = BlsSigner.parsePublicKey(pkBytes);
+    if (keys.size() >= maxEntries) {
+      Iterator<Bytes> it = keys.keySet().iterator();
+      if (it.hasNext()) {
+        it.next();
+        it.remove();
+      }
+    }
+    // Copy so a caller reusing its array cannot corrupt the key
+    keys.put(Bytes.wrap(pkBytes.clone()), parsed);
+    return parsed;
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public int size() {
+    return keys.size();
+  }
+
+  public void clear() {
+    keys.clear();
+  }
+}
@@ -33,9 +33,35 @@ public interface CRDTStore {
   /** Store lineage (ancestry chain) for an eddy. Persists immediately. */
   void putLineage(String eddyId, String lineageJson);
 
+  /**
+   * Store several lineage entries (eddyId -> lineage JSON). Implementations write
+   * them in one round-trip where the backend allows it; the default stores them one
+   * by one.
+   */
+  default void putLineageBatch(Map<String, String> lineageJsonById) {
+    lineageJsonById.forEach(this::putLineage);
+  }
+
   /** Retrieve lineage for an eddy by id (as JSON), or empty if not found. */
   Optional<String> getLineage(String eddyId);
 
+  /** Store an eddy evicted from the engine (as JSON) so it can be rehydrated later. */
+  void putSpilled(String eddyId, String eddyJson);
+
+  /**
+   * Store several spilled eddies (eddyId -> JSON) in one round-trip where the backend
+   * allows it; the default stores them one by one.
+   */
+  default void putSpilledBatch(Map<String, String> eddyJsonById) {
+    eddyJsonById.forEach(this::putSpilled);
+  }
+
+  /** Retrieve a spilled eddy by id (as JSON), or empty if not found. */
+  Optional<String> getSpilled(String eddyId);
+
+  /** Delete a spilled eddy entry. */
+  void deleteSpilled(String eddyId);
+
   /** Close and release resources. */
   void close();
 }
@@ -6,8 +6,10 @@ import io.etcd.jetcd.KV;
 import io.etcd.jetcd.KeyValue;
 import io.etcd.jetcd.kv.DeleteResponse;
 import io.etcd.jetcd.kv.GetResponse;
+import io.etcd.jetcd.op.Op;
 import io.etcd.jetcd.options.DeleteOption;
 import io.etcd.jetcd.options.GetOption;
+import io.etcd.jetcd.options.PutOption;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -30,7 +32,9 @@ public class EtcdCRDTStore implements CRDTStore {
 
   private static final String KEY_PREFIX = "spiron/eddy/";
   private static final String LINEAGE_PREFIX = "spiron/lineage/";
+  private static final String SPILL_PREFIX = "spiron/spill/";
   private static final long OPERATION_TIMEOUT_SECONDS = 5;
+  private static final int MAX_TXN_OPS = 128; // etcd's default --max-txn-ops
 
   private final String etcdEndpoints;
   private final Client client;
@@ -221,6 +225,41 @@ public class EtcdCRDTStore implements CRDTStore {
     }
   }
 
+  /** One transaction per {@value #MAX_TXN_OPS} entries instead of one put each. */
+  @Override
+  public void putLineageBatch(Map<String, String> lineageJsonById) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    List<Op> ops = new ArrayList<>(Math.min(lineageJsonById.size(), MAX_TXN_OPS));
+    try {
+      for (var e : lineageJsonById.entrySet()) {
+        ops.add(Op.put(
+          ByteSequence.from(LINEAGE_PREFIX + e.getKey(), StandardCharsets.UTF_8),
+          ByteSequence.from(e.getValue(), StandardCharsets.UTF_8),
+          PutOption.DEFAULT
+        ));
+        if (ops.size() == MAX_TXN_OPS) {
+          commitTxn(ops);
+        }
+      }
+      if (!ops.isEmpty()) {
+        commitTxn(ops);
+      }
+      log.debug("Stored lineage for {} eddies in etcd", lineageJsonById.size());
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      log.error("Failed to put lineage batch of {} to etcd", lineageJsonById.size(), e);
+      throw new RuntimeException("etcd lineage write failed", e);
+    }
+  }
+
+  private void commitTxn(List<Op> ops)
+    throws InterruptedException, ExecutionException, TimeoutException {
+    kvClient.txn()
+      .Then(ops.toArray(new Op[0]))
+      .commit()
+      .get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    ops.clear();
+  }
+
   @Override
   public Optional<String> getLineage(String eddyId) {
     if (closed) throw new IllegalStateException("Store is closed");
@@ -247,6 +286,53 @@ public class EtcdCRDTStore implements CRDTStore {
     }
   }
 
+  @Override
+  public void putSpilled(String eddyId, String eddyJson) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try {
+      kvClient.put(
+        ByteSequence.from(SPILL_PREFIX + eddyId, StandardCharsets.UTF_8),
+        ByteSequence.from(eddyJson, StandardCharsets.UTF_8)
+      ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      log.debug("Spilled eddy {} to etcd", eddyId);
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      log.error("Failed to spill eddy {} to etcd", eddyId, e);
+      throw new RuntimeException("etcd spill write failed", e);
+    }
+  }
+
+  @Override
+  public Optional<String> getSpilled(String eddyId) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try {
+      GetResponse response = kvClient.get(
+        ByteSequence.from(SPILL_PREFIX + eddyId, StandardCharsets.UTF_8)
+      ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      if (response.getKvs().isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(
+        response.getKvs().get(0).getValue().toString(StandardCharsets.UTF_8)
+      );
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      log.error("Failed to get spilled eddy {} from etcd", eddyId, e);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void deleteSpilled(String eddyId) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try {
+      kvClient.delete(
+        ByteSequence.from(SPILL_PREFIX + eddyId, StandardCharsets.UTF_8)
+      ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      log.error("Failed to delete spilled eddy {} from etcd", eddyId, e);
+      throw new RuntimeException("etcd spill delete failed", e);
+    }
+  }
+
   @Override
   public void close() {
     if (!closed) {
@@ -20,6 +20,9 @@ public class RocksDbCRDTStore implements CRDTStore {
   );
 
   private static final String LINEAGE_PREFIX = "lineage:";
+  private static final String SPILL_PREFIX = "spill:";
+  // Written to the same database by RocksDbRateLimitStore
+  private static final String RATELIMIT_PREFIX = "ratelimit:";
 
   static {
     RocksDB.loadLibrary();
@@ -86,6 +89,7 @@ public class RocksDbCRDTStore implements CRDTStore {
     try (RocksIterator iterator = db.newIterator()) {
       for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
         String key = new String(iterator.key(), StandardCharsets.UTF_8);
+        if (!isEddyKey(key)) continue;
         String value = new String(iterator.value(), StandardCharsets.UTF_8);
         result.put(key, value);
       }
@@ -95,6 +99,13 @@ public class RocksDbCRDTStore implements CRDTStore {
     return result;
   }
 
+  /** Lineage, spill and rate-limit entries share the database but are not CRDT eddies. */
+  private static boolean isEddyKey(String key) {
+    return !key.startsWith(LINEAGE_PREFIX)
+      && !key.startsWith(SPILL_PREFIX)
+      && !key.startsWith(RATELIMIT_PREFIX);
+  }
+
   @Override
   public void delete(String eddyId) {
     if (closed) throw new IllegalStateException("Store is closed");
@@ -170,6 +181,85 @@ public class RocksDbCRDTStore implements CRDTStore {
     }
   }
 
+  /** Writes the batch atomically in one RocksDB write. */
+  @Override
+  public void putLineageBatch(Map<String, String> lineageJsonById) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try (WriteBatch batch = new WriteBatch(); WriteOptions options = new WriteOptions()) {
+      for (var e : lineageJsonById.entrySet()) {
+        batch.put(
+          (LINEAGE_PREFIX + e.getKey()).getBytes(StandardCharsets.UTF_8),
+          e.getValue().getBytes(StandardCharsets.UTF_8)
+        );
+      }
+      db.write(options, batch);
+      log.debug("Stored lineage for {} eddies in RocksDB", lineageJsonById.size());
+    } catch (RocksDBException e) {
+      log.error("Failed to put lineage batch of {} to RocksDB", lineageJsonById.size(), e);
+      throw new RuntimeException("RocksDB lineage write failed", e);
+    }
+  }
+
+  @Override
+  public void putSpilled(String eddyId, String eddyJson) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try {
+      db.put(
+        (SPILL_PREFIX + eddyId).getBytes(StandardCharsets.UTF_8),
+        eddyJson.getBytes(StandardCharsets.UTF_8)
+      );
+      log.debug("Spilled eddy {} to RocksDB", eddyId);
+    } catch (RocksDBException e) {
+      log.error("Failed to spill eddy {} to RocksDB", eddyId, e);
+      throw new RuntimeException("RocksDB spill write failed", e);
+    }
+  }
+
+  /** Writes the batch atomically in one RocksDB write. */
+  @Override
+  public void putSpilledBatch(Map<String, String> eddyJsonById) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try (WriteBatch batch = new WriteBatch(); WriteOptions options = new WriteOptions()) {
+      for (var e : eddyJsonById.entrySet()) {
+        batch.put(
+          (SPILL_PREFIX + e.getKey()).getBytes(StandardCharsets.UTF_8),
+          e.getValue().getBytes(StandardCharsets.UTF_8)
+        );
+      }
+      db.write(options, batch);
+      log.debug("Spilled {} eddies to RocksDB", eddyJsonById.size());
+    } catch (RocksDBException e) {
+      log.error("Failed to spill batch of {} to RocksDB", eddyJsonById.size(), e);
+      throw new RuntimeException("RocksDB spill write failed", e);
+    }
+  }
+
+  @Override
+  public Optional<String> getSpilled(String eddyId) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try {
+      byte[] value = db.get((SPILL_PREFIX + eddyId).getBytes(StandardCharsets.UTF_8));
+      if (value == null) {
+        return Optional.empty();
+      }
+      return Optional.of(new String(value, StandardCharsets.UTF_8));
+    } catch (RocksDBException e) {
+      log.error("Failed to get spilled eddy {} from RocksDB", eddyId, e);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void deleteSpilled(String eddyId) {
+    if (closed) throw new IllegalStateException("Store is closed");
+    try {
+      db.delete((SPILL_PREFIX + eddyId).getBytes(StandardCharsets.UTF_8));
+    } catch (RocksDBException e) {
+      log.error("Failed to delete spilled eddy {} from RocksDB", eddyId, e);
+      throw new RuntimeException("RocksDB spill delete failed", e);
+    }
+  }
+
   @Override
   public void close() {
     if (!closed) {
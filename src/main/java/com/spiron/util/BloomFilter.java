@@ -0,0 +1,101 @@
+package com.spiron.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over string keys.
+ *
+ * Semantics:
+ * - {@link #mightContain} never returns false for a key that was {@link #put}.
+ * - False positives occur at roughly the configured rate while the number of
+ *   inserted keys stays at or below {@code expectedInsertions}; beyond that the
+ *   rate degrades gracefully, it never produces false negatives.
+ * - Bits are set with CAS, so concurrent puts and reads need no locking.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  /**
+   * @param expectedInsertions number of keys the filter is sized for (>= 1)
+   * @param falsePositiveRate target false positive rate, in (0, 1)
+   */
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions < 1) {
+      throw new IllegalArgumentException("expectedInsertions must be >= 1");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+    }
+    // Standard sizing: m = -n ln p / (ln 2)^2, k = m/n ln 2
+    long m = (long) Math.ceil(
+      -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))
+    );
+    int words = (int) Math.max(1, (m + 63) / 64);
+    this.bits = new AtomicLongArray(words);
+    this.bitCount = (long) words * 64;
+    this.hashCount = Math.max(
+      1,
+      (int) Math.round((double) bitCount / expectedInsertions * Math.log(2))
+    );
+  }
+
+  /**
+   * Add a key to the filter.
+   */
+  public void put(String key) {
+    long hash = Hashing.hash64(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+      while (((current = bits.get(word)) & mask) == 0) {
+        if (bits.compareAndSet(word, current, current | mask)) break;
+      }
+    }
+  }
+
+  /**
+   * @return false if the key was definitely never added, true if it may have been
+   */
+  public boolean mightContain(String key) {
+    long hash = Hashing.hash64(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reset every bit. Not atomic with respect to concurrent puts.
+   */
+  public void clear() {
+    for (int i = 0; i < bits.length(); i++) {
+      bits.set(i, 0L);
+    }
+  }
+
+  /**
+   * @return size of the bit array
+   */
+  public long bitSize() {
+    return bitCount;
+  }
+
+  /**
+   * @return number of hash functions per key
+   */
+  public int hashCount() {
+    return hashCount;
+  }
+}
@@ -0,0 +1,47 @@
+package com.spiron.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Millisecond wall clock that is read with a single volatile load.
+ *
+ * A daemon thread refreshes the value about once per millisecond, so hot paths that
+ * only need millisecond resolution (rate limiting, expiry checks) avoid a
+ * {@link System#currentTimeMillis()} call per request.
+ *
+ * Semantics:
+ * - Never ahead of the system clock; may lag it by roughly one tick.
+ * - Monotonic: a system clock step backwards is held at the last value until the
+ *   system clock catches up.
+ */
+public final class CoarseClock {
+
+  private static final CoarseClock SYSTEM = new CoarseClock();
+
+  private volatile long nowMs = System.currentTimeMillis();
+
+  private CoarseClock() {
+    Thread ticker = new Thread(this::tick, "coarse-clock");
+    ticker.setDaemon(true);
+    ticker.start();
+  }
+
+  /** Shared process-wide clock. */
+  public static CoarseClock system() {
+    return SYSTEM;
+  }
+
+  public long currentTimeMillis() {
+    return nowMs;
+  }
+
+  private void tick() {
+    while (true) {
+      long now = System.currentTimeMillis();
+      if (now > nowMs) {
+        nowMs = now;
+      }
+      LockSupport.parkNanos(1_000_000L);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.spiron.util;
+
+import java.nio.charset.StandardCharsets;
+
+/** Fast non-cryptographic hashing for in-memory filters. */
+public final class Hashing {
+
+  private Hashing() {
+    // Utility class
+  }
+
+  /** FNV-1a over UTF-8 bytes, finished with a murmur3 fmix64 avalanche. */
+  public static long hash64(String key) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
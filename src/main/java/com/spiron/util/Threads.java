@@ -0,0 +1,40 @@
+package com.spiron.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Threads for work that blocks (peer RPCs, etcd and RocksDB calls), in either of the
+ * two modes selected by {@code spiron.threads.virtual}.
+ *
+ * Semantics:
+ * - Platform mode: a fixed pool of daemon threads named {@code <name>-N}, as before.
+ * - Virtual mode: one virtual thread per task, named {@code <name>-N}; the pool size
+ *   is ignored, so blocking tasks never queue behind each other.
+ * - Native calls (RocksDB JNI) still hold their carrier thread while they run, so
+ *   long-running native work should stay on platform threads.
+ */
+public final class Threads {
+
+  private Threads() {
+    // Utility class
+  }
+
+  /** Factory for threads named {@code name-0}, {@code name-1}, ... */
+  public static ThreadFactory factory(String name, boolean virtual) {
+    return virtual
+      ? Thread.ofVirtual().name(name + "-", 0).factory()
+      : Thread.ofPlatform().name(name + "-", 0).daemon(true).factory();
+  }
+
+  /**
+   * Executor for blocking tasks: {@code platformThreads} platform threads, or a new
+   * virtual thread per task.
+   */
+  public static ExecutorService blockingPool(String name, int platformThreads, boolean virtual) {
+    return virtual
+      ? Executors.newThreadPerTaskExecutor(factory(name, true))
+      : Executors.newFixedThreadPool(Math.max(1, platformThreads), factory(name, false));
+  }
+}
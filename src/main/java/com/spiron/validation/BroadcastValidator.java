@@ -2,6 +2,7 @@ package com.spiron.validation;
 
 import com.spiron.config.BroadcastValidationConfig;
 import com.spiron.core.EddyState;
+import java.util.function.IntToDoubleFunction;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,21 +10,38 @@ import org.slf4j.LoggerFactory;
 /**
  * Validates broadcast messages for crash fault tolerance.
  * Checks vector dimensions, energy bounds, and ID format.
+ *
+ * Semantics:
+ * - The default ID pattern ({@link #DEFAULT_ID_PATTERN}) is checked by a plain
+ *   character loop; any other configured pattern goes through the regex engine.
+ * - {@link #decode} validates a wire vector while copying it, so the NaN/Infinity
+ *   check and the dimension check cost one pass over the data.
+ * - Both entry points accept and reject exactly the same states.
  */
 public class BroadcastValidator {
 
   private static final Logger log = LoggerFactory.getLogger(BroadcastValidator.class);
 
+  /** Default ID pattern; matched without the regex engine. */
+  public static final String DEFAULT_ID_PATTERN = "^[a-zA-Z0-9_-]{1,128}$";
+  private static final int DEFAULT_ID_MAX_LENGTH = 128;
+
   private final int expectedVectorDimensions;
   private final double minEnergy;
   private final double maxEnergy;
   private final Pattern idPattern;
+  private final boolean defaultIdPattern;
 
   public BroadcastValidator(BroadcastValidationConfig config) {
     this.expectedVectorDimensions = config.vectorDimensions();
     this.minEnergy = config.minEnergy();
     this.maxEnergy = config.maxEnergy();
     this.idPattern = Pattern.compile(config.idPattern());
+    this.defaultIdPattern = DEFAULT_ID_PATTERN.equals(config.idPattern());
+    log.debug(
+      "Broadcast ID check: {}",
+      defaultIdPattern ? "built-in charset" : "regex " + config.idPattern()
+    );
   }
 
   /**
@@ -33,51 +51,143 @@ public class BroadcastValidator {
    * @return ValidationResult with success/failure and reason
    */
   public ValidationResult validate(EddyState state) {
-    // Validate ID format
-    if (state.id() == null || state.id().isBlank()) {
-      return ValidationResult.failure("ID_EMPTY", "Eddy ID cannot be null or empty");
-    }
-    if (!idPattern.matcher(state.id()).matches()) {
-      return ValidationResult.failure("ID_INVALID_FORMAT", 
-        "Eddy ID does not match required pattern: " + idPattern.pattern());
-    }
+    var idResult = validateId(state.id());
+    if (idResult != null) return idResult;
 
     // Validate vector dimensions
     if (state.vector() == null) {
       return ValidationResult.failure("VECTOR_NULL", "Vector cannot be null");
     }
     if (state.vector().length != expectedVectorDimensions) {
-      return ValidationResult.failure("VECTOR_DIMENSION_MISMATCH",
-        String.format("Expected %d dimensions, got %d", 
-          expectedVectorDimensions, state.vector().length));
+      return dimensionMismatch(state.vector().length);
     }
 
     // Validate vector values (no NaN, no Infinity)
-    for (int i = 0; i < state.vector().length; i++) {
-      double val = state.vector()[i];
-      if (Double.isNaN(val) || Double.isInfinite(val)) {
-        return ValidationResult.failure("VECTOR_INVALID_VALUE",
-          String.format("Vector contains invalid value at index %d: %f", i, val));
+    double[] vec = state.vector();
+    for (int i = 0; i < vec.length; i++) {
+      if (!Double.isFinite(vec[i])) {
+        return invalidValue(i, vec[i]);
       }
     }
 
-    // Validate energy bounds
-    if (Double.isNaN(state.energy()) || Double.isInfinite(state.energy())) {
+    return validateEnergy(state.energy());
+  }
+
+  /**
+   * Decodes a wire vector into an {@link EddyState} and validates it in the same
+   * pass. The vector is read through a primitive accessor (e.g. the generated
+   * {@code getVector(int)}), so no element is boxed.
+   *
+   * @param id eddy ID
+   * @param dimensions number of vector elements on the wire
+   * @param element primitive accessor for element {@code i}
+   * @param energy eddy energy
+   * @return the decoded state, or the first validation failure
+   */
+  public Decoded decode(
+    String id,
+    int dimensions,
+    IntToDoubleFunction element,
+    double energy
+  ) {
+    var idResult = validateId(id);
+    if (idResult != null) return Decoded.rejected(idResult);
+    if (dimensions != expectedVectorDimensions) {
+      return Decoded.rejected(dimensionMismatch(dimensions));
+    }
+    double[] vec = new double[dimensions];
+    double poison = 0.0;
+    for (int i = 0; i < dimensions; i++) {
+      double v = element.applyAsDouble(i);
+      vec[i] = v;
+      // v - v is 0 for finite values and NaN for NaN or Infinity
+      poison += v - v;
+    }
+    // NaN or Infinity in any element poisons the sum, so one check covers them all
+    if (poison != 0.0) {
+      for (int i = 0; i < dimensions; i++) {
+        if (!Double.isFinite(vec[i])) {
+          return Decoded.rejected(invalidValue(i, vec[i]));
+        }
+      }
+    }
+    var energyResult = validateEnergy(energy);
+    if (!energyResult.isValid()) return Decoded.rejected(energyResult);
+    return new Decoded(ValidationResult.success(), new EddyState(id, vec, energy, null));
+  }
+
+  /** @return null if the ID is acceptable, otherwise the failure */
+  private ValidationResult validateId(String id) {
+    if (id == null || id.isBlank()) {
+      return ValidationResult.failure("ID_EMPTY", "Eddy ID cannot be null or empty");
+    }
+    boolean matches = defaultIdPattern
+      ? isDefaultIdCharset(id)
+      : idPattern.matcher(id).matches();
+    if (!matches) {
+      return ValidationResult.failure("ID_INVALID_FORMAT",
+        "Eddy ID does not match required pattern: " + idPattern.pattern());
+    }
+    return null;
+  }
+
+  /** Hand-compiled {@code ^[a-zA-Z0-9_-]{1,128}$}. */
+  static boolean isDefaultIdCharset(String id) {
+    int len = id.length();
+    if (len < 1 || len > DEFAULT_ID_MAX_LENGTH) return false;
+    for (int i = 0; i < len; i++) {
+      char c = id.charAt(i);
+      boolean ok =
+        (c >= 'a' && c <= 'z') ||
+        (c >= 'A' && c <= 'Z') ||
+        (c >= '0' && c <= '9') ||
+        c == '_' ||
+        c == '-';
+      if (!ok) return false;
+    }
+    return true;
+  }
+
+  private ValidationResult validateEnergy(double energy) {
+    if (Double.isNaN(energy) || Double.isInfinite(energy)) {
       return ValidationResult.failure("ENERGY_INVALID_VALUE",
-        "Energy is NaN or Infinite: " + state.energy());
+        "Energy is NaN or Infinite: " + energy);
     }
-    if (state.energy() < minEnergy) {
+    if (energy < minEnergy) {
       return ValidationResult.failure("ENERGY_TOO_LOW",
-        String.format("Energy %.4f below minimum %.4f", state.energy(), minEnergy));
+        String.format("Energy %.4f below minimum %.4f", energy, minEnergy));
     }
-    if (state.energy() > maxEnergy) {
+    if (energy > maxEnergy) {
       return ValidationResult.failure("ENERGY_TOO_HIGH",
-        String.format("Energy %.4f exceeds maximum %.4f", state.energy(), maxEnergy));
+        String.format("Energy %.4f exceeds maximum %.4f", energy, maxEnergy));
     }
-
     return ValidationResult.success();
   }
 
+  private ValidationResult dimensionMismatch(int actual) {
+    return ValidationResult.failure("VECTOR_DIMENSION_MISMATCH",
+      String.format("Expected %d dimensions, got %d", expectedVectorDimensions, actual));
+  }
+
+  private static ValidationResult invalidValue(int index, double value) {
+    return ValidationResult.failure("VECTOR_INVALID_VALUE",
+      String.format("Vector contains invalid value at index %d: %f", index, value));
+  }
+
+  /**
+   * Outcome of {@link #decode}: the validation result and, when valid, the decoded
+   * state.
+   */
+  public record Decoded(ValidationResult result, EddyState state) {
+    static Decoded rejected(ValidationResult result) {
+      return new Decoded(result, null);
+    }
+
+    public boolean isValid() {
+      return result.isValid();
+    }
+  }
+
   /**
    * Result of validation with success flag and optional error details.
    */
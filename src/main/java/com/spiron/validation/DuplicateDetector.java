@@ -1,88 +1,230 @@
 package com.spiron.validation;
 
-import java.util.concurrent.ConcurrentHashMap;
+import com.spiron.util.CoarseClock;
+import com.spiron.util.Hashing;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Detects duplicate broadcast messages with time-based expiry.
- * Thread-safe implementation using ConcurrentHashMap.
+ *
+ * Messages are remembered as compact fingerprints in a fixed-size hash table of
+ * 8-slot buckets (one cache line each); every id has two candidate buckets, which
+ * keeps overflow rare up to the configured capacity. Every slot is a single long
+ * holding a fingerprint and the time it was first seen, so expiry is exact and
+ * lazy: an expired slot is simply reusable, and there is no cleanup sweep.
+ *
+ * Semantics:
+ * - O(1) checks (two bucket scans) and constant memory, fixed at construction.
+ * - False positives (a new id reported as duplicate) happen when two ids share a
+ *   bucket and fingerprint; the fingerprint width is sized for the configured rate.
+ * - When more than {@code capacity} ids are live within the expiry window, a new id
+ *   whose buckets are both full overwrites the oldest entry; that id may then be
+ *   accepted again. Such evictions are counted.
+ * - Lock-free (CAS per slot). Two threads racing on the very first sighting of the
+ *   same id normally see exactly one "new"; an expiry landing between their scans
+ *   can let both through.
  */
 public class DuplicateDetector {
 
   private static final Logger log = LoggerFactory.getLogger(DuplicateDetector.class);
 
-  private final ConcurrentHashMap<String, Long> seenMessages = new ConcurrentHashMap<>();
+  public static final int DEFAULT_CAPACITY = 100_000;
+  public static final double DEFAULT_FALSE_POSITIVE_RATE = 1e-6;
+
+  private static final int BUCKET_SLOTS = 8;
+  private static final long TIME_MASK = 0xFFFF_FFFFL;
+
+  private final AtomicLongArray slots;
+  private final int bucketMask;
+  private final long fingerprintMask;
   private final long expiryMillis;
-  private volatile long lastCleanupTime = System.currentTimeMillis();
-  private static final long CLEANUP_INTERVAL_MS = 60_000; // Cleanup every minute
+  private final int capacity;
+  private final LongSupplier clock;
+  private final long epochMs;
+
+  private final LongAdder checks = new LongAdder();
+  private final LongAdder duplicates = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
 
   public DuplicateDetector(long expiryMillis) {
+    this(expiryMillis, DEFAULT_CAPACITY, DEFAULT_FALSE_POSITIVE_RATE);
+  }
+
+  /**
+   * @param capacity ids expected to be live within one expiry window
+   * @param falsePositiveRate target probability that a new id is reported duplicate
+   */
+  public DuplicateDetector(long expiryMillis, int capacity, double falsePositiveRate) {
+    this(expiryMillis, capacity, falsePositiveRate, CoarseClock.system()::currentTimeMillis);
+  }
+
+  DuplicateDetector(
+    long expiryMillis,
+    int capacity,
+    double falsePositiveRate,
+    LongSupplier clock
+  ) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be >= 1");
+    }
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+    }
+    if (expiryMillis < 0 || expiryMillis > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("expiryMillis must be in [0, 2^31)");
+    }
     this.expiryMillis = expiryMillis;
+    this.capacity = capacity;
+    this.clock = clock;
+    this.epochMs = clock.getAsLong();
+
+    // Keep buckets at most ~75% full at capacity
+    long wantedSlots = (long) Math.ceil(capacity / 0.75);
+    int wantedBuckets = (int) Math.max(1, (wantedSlots + BUCKET_SLOTS - 1) / BUCKET_SLOTS);
+    int buckets = Integer.highestOneBit(wantedBuckets);
+    if (buckets < wantedBuckets) buckets <<= 1;
+    this.bucketMask = buckets - 1;
+    this.slots = new AtomicLongArray(buckets * BUCKET_SLOTS);
+
+    // A new id is compared against at most 2 * BUCKET_SLOTS fingerprints
+    int bits = (int) Math.ceil(Math.log(2 * BUCKET_SLOTS / falsePositiveRate) / Math.log(2));
+    bits = Math.max(8, Math.min(32, bits));
+    this.fingerprintMask = (1L << bits) - 1;
+
+    log.debug(
+      "Duplicate detector: {} slots, {}-bit fingerprints, expiry {}ms",
+      slots.length(),
+      bits,
+      expiryMillis
+    );
   }
 
   /**
    * Checks if a message ID has been seen recently (within expiry window).
    * If not seen, records it for future duplicate detection.
-   * 
+   *
    * @param messageId unique identifier for the message
    * @return true if duplicate (already seen), false if new
    */
   public boolean isDuplicate(String messageId) {
-    long now = System.currentTimeMillis();
-    
-    // Periodic cleanup of expired entries
-    if (now - lastCleanupTime > CLEANUP_INTERVAL_MS) {
-      cleanup(now);
-    }
+    checks.increment();
+    long hash = Hashing.hash64(messageId);
+    long fingerprint = (hash >>> 32) & fingerprintMask;
+    if (fingerprint == 0) fingerprint = 1; // 0 marks an empty slot
+    int base1 = ((int) hash & bucketMask) * BUCKET_SLOTS;
+    int base2 = (alternateBucket(hash) & bucketMask) * BUCKET_SLOTS;
+    int now = now();
 
-    // putIfAbsent returns null if key was absent, returns existing value if present
-    Long previousTimestamp = seenMessages.putIfAbsent(messageId, now);
-    
-    if (previousTimestamp == null) {
-      // New message, not a duplicate
-      return false;
-    }
-    
-    // Check if previous entry has expired
-    if (now - previousTimestamp > expiryMillis) {
-      // Expired, update timestamp and treat as new
-      seenMessages.put(messageId, now);
-      return false;
+    while (true) {
+      // Free slot and free count per candidate bucket, plus the oldest live entry
+      int free1 = -1;
+      int free2 = -1;
+      int freeCount1 = 0;
+      int freeCount2 = 0;
+      int oldest = -1;
+      int oldestAge = -1;
+      for (int n = 0; n < 2 * BUCKET_SLOTS; n++) {
+        boolean first = n < BUCKET_SLOTS;
+        int i = first ? base1 + n : base2 + n - BUCKET_SLOTS;
+        long slot = slots.get(i);
+        int age = now - (int) slot;
+        if (slot == 0 || age < 0 || age > expiryMillis) {
+          if (first) {
+            if (free1 < 0) free1 = i;
+            freeCount1++;
+          } else {
+            if (free2 < 0) free2 = i;
+            freeCount2++;
+          }
+        } else if ((slot >>> 32) == fingerprint) {
+          duplicates.increment();
+          return true;
+        } else if (age > oldestAge) {
+          oldest = i;
+          oldestAge = age;
+        }
+      }
+
+      // Fill the emptier bucket, which keeps both balanced as the table fills
+      int free = freeCount2 > freeCount1 ? free2 : free1;
+      int target = free >= 0 ? free : oldest;
+      long expected = slots.get(target);
+      if (free < 0) {
+        // Re-check the slot still holds the entry we chose to evict
+        if (expected == 0 || now - (int) expected != oldestAge) continue;
+      } else if (expected != 0 && isLive(expected, now)) {
+        continue;
+      }
+      if (slots.compareAndSet(target, expected, (fingerprint << 32) | (now & TIME_MASK))) {
+        if (free < 0) evictions.increment();
+        return false;
+      }
+      // Lost a race for the slot: rescan, the winner may have been this very id
     }
-    
-    // Still within expiry window, this is a duplicate
-    return true;
   }
 
-  /**
-   * Remove expired entries to prevent unbounded memory growth.
-   */
-  private void cleanup(long now) {
-    lastCleanupTime = now;
-    int initialSize = seenMessages.size();
-    
-    seenMessages.entrySet().removeIf(entry -> 
-      now - entry.getValue() > expiryMillis
-    );
-    
-    int removed = initialSize - seenMessages.size();
-    if (removed > 0) {
-      log.debug("Cleaned up {} expired duplicate detection entries", removed);
-    }
+  // Second, independent bucket choice derived from the same hash
+  private static int alternateBucket(long hash) {
+    long h = hash * 0x9E3779B97F4A7C15L;
+    return (int) (h >>> 32) ^ (int) h;
+  }
+
+  private boolean isLive(long slot, int now) {
+    int age = now - (int) slot;
+    return age >= 0 && age <= expiryMillis;
+  }
+
+  /** Milliseconds since construction, truncated to the slot's 32-bit time field. */
+  private int now() {
+    return (int) (clock.getAsLong() - epochMs);
   }
 
   /**
-   * Get current count of tracked messages (for metrics/debugging).
+   * Get current count of tracked (unexpired) messages, for metrics/debugging.
+   * Scans the whole table.
    */
   public int getTrackedCount() {
-    return seenMessages.size();
+    int now = now();
+    int count = 0;
+    for (int i = 0; i < slots.length(); i++) {
+      long slot = slots.get(i);
+      if (slot != 0 && isLive(slot, now)) count++;
+    }
+    return count;
   }
 
   /**
    * Clear all tracked messages (for testing).
    */
   public void clear() {
-    seenMessages.clear();
+    for (int i = 0; i < slots.length(); i++) {
+      slots.set(i, 0L);
+    }
+  }
+
+  public long getChecks() {
+    return checks.sum();
+  }
+
+  public long getDuplicates() {
+    return duplicates.sum();
+  }
+
+  /** Live entries overwritten because their bucket was full (possible missed duplicates). */
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /** Table size in slots (8 bytes each). */
+  public int getSlotCount() {
+    return slots.length();
   }
 }
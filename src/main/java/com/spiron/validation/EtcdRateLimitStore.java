@@ -3,11 +3,11 @@ package com.spiron.validation;
 import io.etcd.jetcd.ByteSequence;
 import io.etcd.jetcd.Client;
 import io.etcd.jetcd.KV;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.options.GetOption;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
@@ -15,12 +15,15 @@ import org.slf4j.LoggerFactory;
 
 /**
  * etcd-backed rate limiter state store for cluster mode.
- * Persists per-peer token buckets across distributed nodes.
+ * Persists per-peer token buckets across distributed nodes, and carries each
+ * node's per-peer demand reports for cluster-wide rate sharing (one key per
+ * limiter instance, written and scanned once per reconcile interval).
  */
 public class EtcdRateLimitStore implements RateLimitStateStore {
 
   private static final Logger log = LoggerFactory.getLogger(EtcdRateLimitStore.class);
   private static final String KEY_PREFIX = "spiron/ratelimit/";
+  private static final String USAGE_PREFIX = "spiron/ratelimit-usage/";
   private static final long OPERATION_TIMEOUT_SECONDS = 2;
 
   private final KV kvClient;
@@ -33,7 +36,7 @@ public class EtcdRateLimitStore implements RateLimitStateStore {
   public void save(String peerId, RateLimitState state) {
     try {
       String key = KEY_PREFIX + peerId;
-      byte[] value = serialize(state);
+      byte[] value = RateLimitStateCodec.encodeState(state);
       kvClient.put(
         ByteSequence.from(key, StandardCharsets.UTF_8),
         ByteSequence.from(value)
@@ -56,7 +59,7 @@ public class EtcdRateLimitStore implements RateLimitStateStore {
       }
       
       byte[] value = response.getKvs().get(0).getValue().getBytes();
-      return Optional.of(deserialize(value));
+      return Optional.of(RateLimitStateCodec.decodeState(value));
     } catch (Exception e) {
       log.error("Failed to load rate limit state for peer: {}", peerId, e);
       return Optional.empty();
@@ -64,32 +67,89 @@ public class EtcdRateLimitStore implements RateLimitStateStore {
   }
 
   @Override
-  public void delete(String peerId) {
+  public Map<String, RateLimitState> loadAll() {
+    Map<String, RateLimitState> result = new HashMap<>();
     try {
-      String key = KEY_PREFIX + peerId;
-      kvClient.delete(
-        ByteSequence.from(key, StandardCharsets.UTF_8)
+      var response = kvClient.get(
+        ByteSequence.from(KEY_PREFIX, StandardCharsets.UTF_8),
+        GetOption.builder().isPrefix(true).build()
       ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+      for (KeyValue kv : response.getKvs()) {
+        String key = kv.getKey().toString(StandardCharsets.UTF_8);
+        try {
+          result.put(
+            key.substring(KEY_PREFIX.length()),
+            RateLimitStateCodec.decodeState(kv.getValue().getBytes())
+          );
+        } catch (Exception e) {
+          log.warn("Skipping unreadable rate limit state: {}", key);
+        }
+      }
     } catch (Exception e) {
-      log.error("Failed to delete rate limit state for peer: {}", peerId, e);
+      log.error("Failed to scan rate limit states", e);
+    }
+    return result;
+  }
+
+  @Override
+  public void publishUsage(String instanceId, UsageReport report) {
+    try {
+      kvClient.put(
+        ByteSequence.from(USAGE_PREFIX + instanceId, StandardCharsets.UTF_8),
+        ByteSequence.from(RateLimitStateCodec.encodeUsage(report))
+      ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      log.warn("Failed to publish rate limit usage: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public Map<String, UsageReport> loadUsage() {
+    Map<String, UsageReport> result = new HashMap<>();
+    try {
+      var response = kvClient.get(
+        ByteSequence.from(USAGE_PREFIX, StandardCharsets.UTF_8),
+        GetOption.builder().isPrefix(true).build()
+      ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+      for (KeyValue kv : response.getKvs()) {
+        String key = kv.getKey().toString(StandardCharsets.UTF_8);
+        try {
+          result.put(
+            key.substring(USAGE_PREFIX.length()),
+            RateLimitStateCodec.decodeUsage(kv.getValue().getBytes())
+          );
+        } catch (Exception e) {
+          log.warn("Skipping unreadable rate limit usage: {}", key);
+        }
+      }
+    } catch (Exception e) {
+      log.warn("Failed to load rate limit usage: {}", e.getMessage());
     }
+    return result;
   }
 
-  private byte[] serialize(RateLimitState state) throws Exception {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
-      oos.writeDouble(state.tokens);
-      oos.writeLong(state.lastRefillTime);
-      oos.flush();
+  @Override
+  public void deleteUsage(String instanceId) {
+    try {
+      kvClient.delete(
+        ByteSequence.from(USAGE_PREFIX + instanceId, StandardCharsets.UTF_8)
+      ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      log.warn("Failed to delete rate limit usage for {}: {}", instanceId, e.getMessage());
     }
-    return baos.toByteArray();
   }
 
-  private RateLimitState deserialize(byte[] data) throws Exception {
-    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
-      double tokens = ois.readDouble();
-      long lastRefillTime = ois.readLong();
-      return new RateLimitState(tokens, lastRefillTime);
+  @Override
+  public void delete(String peerId) {
+    try {
+      String key = KEY_PREFIX + peerId;
+      kvClient.delete(
+        ByteSequence.from(key, StandardCharsets.UTF_8)
+      ).get(OPERATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      log.error("Failed to delete rate limit state for peer: {}", peerId, e);
     }
   }
 }
@@ -0,0 +1,96 @@
+package com.spiron.validation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding for persisted rate limiter state, shared by the RocksDB
+ * and etcd stores.
+ *
+ * Layouts (big-endian):
+ * - state: version(1) tokens(double 8) lastRefillTime(long 8), 17 bytes
+ * - usage: version(1) publishedAtMs(long 8) count(int 4), then per peer
+ *   idLength(short 2) id(UTF-8) demandPerSecond(double 8)
+ *
+ * States written by the previous Java-serialization format are still readable.
+ */
+final class RateLimitStateCodec {
+
+  static final byte VERSION = 1;
+  static final int STATE_BYTES = 1 + Double.BYTES + Long.BYTES;
+
+  // ObjectOutputStream stream header
+  private static final byte JAVA_MAGIC_0 = (byte) 0xAC;
+  private static final byte JAVA_MAGIC_1 = (byte) 0xED;
+
+  private RateLimitStateCodec() {
+    // Utility class
+  }
+
+  static byte[] encodeState(RateLimitStateStore.RateLimitState state) {
+    return ByteBuffer.allocate(STATE_BYTES)
+      .put(VERSION)
+      .putDouble(state.tokens)
+      .putLong(state.lastRefillTime)
+      .array();
+  }
+
+  static RateLimitStateStore.RateLimitState decodeState(byte[] data) throws Exception {
+    if (data.length == STATE_BYTES && data[0] == VERSION) {
+      ByteBuffer buf = ByteBuffer.wrap(data, 1, STATE_BYTES - 1);
+      return new RateLimitStateStore.RateLimitState(buf.getDouble(), buf.getLong());
+    }
+    if (data.length > 2 && data[0] == JAVA_MAGIC_0 && data[1] == JAVA_MAGIC_1) {
+      try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+        double tokens = ois.readDouble();
+        long lastRefillTime = ois.readLong();
+        return new RateLimitStateStore.RateLimitState(tokens, lastRefillTime);
+      }
+    }
+    throw new IllegalArgumentException("Unknown rate limit state encoding (" + data.length + " bytes)");
+  }
+
+  static byte[] encodeUsage(RateLimitStateStore.UsageReport report) {
+    int size = 1 + Long.BYTES + Integer.BYTES;
+    List<byte[]> ids = new ArrayList<>(report.demandPerSecond().size());
+    List<Double> demands = new ArrayList<>(report.demandPerSecond().size());
+    for (var e : report.demandPerSecond().entrySet()) {
+      byte[] id = e.getKey().getBytes(StandardCharsets.UTF_8);
+      if (id.length > Short.MAX_VALUE) continue;
+      ids.add(id);
+      demands.add(e.getValue());
+      size += Short.BYTES + id.length + Double.BYTES;
+    }
+    ByteBuffer buf = ByteBuffer.allocate(size)
+      .put(VERSION)
+      .putLong(report.publishedAtMs())
+      .putInt(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      byte[] id = ids.get(i);
+      buf.putShort((short) id.length).put(id).putDouble(demands.get(i));
+    }
+    return buf.array();
+  }
+
+  static RateLimitStateStore.UsageReport decodeUsage(byte[] data) {
+    ByteBuffer buf = ByteBuffer.wrap(data);
+    if (buf.get() != VERSION) {
+      throw new IllegalArgumentException("Unknown rate limit usage encoding");
+    }
+    long publishedAtMs = buf.getLong();
+    int count = buf.getInt();
+    Map<String, Double> demand = new HashMap<>(Math.max(4, count * 2));
+    for (int i = 0; i < count; i++) {
+      byte[] id = new byte[buf.getShort()];
+      buf.get(id);
+      demand.put(new String(id, StandardCharsets.UTF_8), buf.getDouble());
+    }
+    return new RateLimitStateStore.UsageReport(publishedAtMs, demand);
+  }
+}
@@ -1,5 +1,6 @@
 package com.spiron.validation;
 
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,6 +19,31 @@ public interface RateLimitStateStore {
    */
   Optional<RateLimitState> load(String peerId);
 
+  /**
+   * Load every persisted peer state, used to warm the limiter in the background.
+   * Stores that cannot enumerate their entries return an empty map.
+   */
+  default Map<String, RateLimitState> loadAll() {
+    return Map.of();
+  }
+
+  /**
+   * Publish this limiter instance's recent per-peer demand for cluster-wide
+   * rate sharing. Stores without a shared backend ignore it.
+   */
+  default void publishUsage(String instanceId, UsageReport report) {}
+
+  /**
+   * Usage reports of every limiter instance in the cluster (including this one),
+   * keyed by instance id. Stores without a shared backend return an empty map.
+   */
+  default Map<String, UsageReport> loadUsage() {
+    return Map.of();
+  }
+
+  /** Remove an instance's usage report (on shutdown, or once it has gone stale). */
+  default void deleteUsage(String instanceId) {}
+
   /**
    * Delete rate limit state for a peer.
    */
@@ -35,4 +61,10 @@ public interface RateLimitStateStore {
       this.lastRefillTime = lastRefillTime;
     }
   }
+
+  /**
+   * One limiter instance's observed demand (requests per second, admitted or not)
+   * per peer over its last reconcile interval.
+   */
+  record UsageReport(long publishedAtMs, Map<String, Double> demandPerSecond) {}
 }
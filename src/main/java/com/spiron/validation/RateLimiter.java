@@ -1,74 +1,264 @@
 package com.spiron.validation;
 
+import com.spiron.util.CoarseClock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Token bucket rate limiter with per-peer tracking.
  * Implements crash fault tolerance by limiting request rates and persisting state.
+ *
+ * Semantics:
+ * - The request path is lock-free: each bucket is a single packed long updated by
+ *   CAS, and time comes from a coarse millisecond clock.
+ * - The persistent store is never consulted on the request path. Known peer states
+ *   are preloaded in the background at startup, and a peer first seen afterwards
+ *   starts with a fresh bucket while its saved state loads asynchronously; the
+ *   restored state can only lower the bucket, never raise it.
+ * - Buckets idle for {@link #IDLE_EVICT_MS} are dropped (after being persisted).
+ *   An idle bucket has long since refilled, so nothing is lost.
+ * - Distributed mode: the configured rate is a cluster-wide limit per peer. Each
+ *   node still enforces locally; once per {@link #RECONCILE_INTERVAL_MS} it publishes
+ *   its per-peer demand through the store and takes a demand-proportional share of
+ *   the limit. The global limit is honored approximately (shares lag one interval,
+ *   and every node keeps a small floor so it can notice new demand).
  */
 public class RateLimiter {
 
   private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
 
+  /** Buckets untouched for this long are evicted by the maintenance sweep. */
+  static final long IDLE_EVICT_MS = TimeUnit.MINUTES.toMillis(10);
+  /** How often distributed mode exchanges demand and recomputes shares. */
+  static final long RECONCILE_INTERVAL_MS = 1000;
+  /** Usage reports older than this are ignored, and removed after 10x as long. */
+  static final long USAGE_STALE_MS = 3 * RECONCILE_INTERVAL_MS;
+
   private final ConcurrentHashMap<String, TokenBucket> peerBuckets = new ConcurrentHashMap<>();
   private final int maxRequestsPerSecond;
-  private final int burstCapacity;
   private final RateLimitStateStore store;
+  private final LongSupplier clock;
+  private final long epochMs;
   private final ScheduledExecutorService persistenceScheduler;
+  private final ExecutorService preloader; // null without a store
+  private final boolean distributed;
+  private final String instanceId = UUID.randomUUID().toString();
+  private volatile int activeInstances = 1;
+  private long lastReconcileMs;
 
   public RateLimiter(int maxRequestsPerSecond, RateLimitStateStore store) {
-    this.maxRequestsPerSecond = maxRequestsPerSecond;
-    // Allow burst up to 2x the rate limit
-    this.burstCapacity = maxRequestsPerSecond * 2;
+    this(maxRequestsPerSecond, store, false);
+  }
+
+  /**
+   * @param distributed treat {@code maxRequestsPerSecond} as a cluster-wide limit,
+   *        shared through {@code store} (requires a shared store such as etcd)
+   */
+  public RateLimiter(int maxRequestsPerSecond, RateLimitStateStore store, boolean distributed) {
+    this(maxRequestsPerSecond, store, distributed, CoarseClock.system()::currentTimeMillis);
+  }
+
+  public RateLimiter(int maxRequestsPerSecond) {
+    this(maxRequestsPerSecond, null);
+  }
+
+  RateLimiter(int maxRequestsPerSecond, RateLimitStateStore store, LongSupplier clock) {
+    this(maxRequestsPerSecond, store, false, clock);
+  }
+
+  RateLimiter(
+    int maxRequestsPerSecond,
+    RateLimitStateStore store,
+    boolean distributed,
+    LongSupplier clock
+  ) {
+    // Packed buckets hold milli-tokens in 32 bits
+    this.maxRequestsPerSecond = Math.min(maxRequestsPerSecond, TokenBucket.MAX_RATE);
     this.store = store;
-    
-    // Periodic persistence every 5 seconds
+    this.clock = clock;
+    this.epochMs = clock.getAsLong();
+    this.lastReconcileMs = epochMs;
+    this.distributed = distributed && store != null;
+    if (distributed && store == null) {
+      log.warn("Distributed rate limiting needs a shared state store; enforcing per node");
+    }
+
+    // Periodic persistence and idle eviction every 5 seconds
     this.persistenceScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
       Thread t = new Thread(r, "RateLimiter-Persistence");
       t.setDaemon(true);
       return t;
     });
-    
+    persistenceScheduler.scheduleAtFixedRate(this::maintain, 5, 5, TimeUnit.SECONDS);
+
     if (store != null) {
+      this.preloader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "RateLimiter-Preload");
+        t.setDaemon(true);
+        return t;
+      });
+      preloader.execute(this::preloadAll);
+    } else {
+      this.preloader = null;
+    }
+
+    if (this.distributed) {
       persistenceScheduler.scheduleAtFixedRate(
-        this::persistAll,
-        5, 5, TimeUnit.SECONDS
+        this::reconcileSafely,
+        RECONCILE_INTERVAL_MS,
+        RECONCILE_INTERVAL_MS,
+        TimeUnit.MILLISECONDS
       );
     }
   }
 
-  public RateLimiter(int maxRequestsPerSecond) {
-    this(maxRequestsPerSecond, null);
-  }
-
   /**
    * Checks if a request from the given peer should be allowed.
-   * 
+   *
    * @param peerId identifier for the peer (e.g., "host:port")
    * @return true if request is allowed, false if rate limit exceeded
    */
   public boolean allowRequest(String peerId) {
-    TokenBucket bucket = peerBuckets.computeIfAbsent(
-      peerId, 
-      k -> {
-        // Try to restore from persistent state
-        if (store != null) {
-          var saved = store.load(k);
-          if (saved.isPresent()) {
-            log.debug("Restored rate limit state for peer: {} (tokens={})", k, saved.get().tokens);
-            return new TokenBucket(maxRequestsPerSecond, burstCapacity, 
-              saved.get().tokens, saved.get().lastRefillTime);
-          }
+    TokenBucket bucket = peerBuckets.get(peerId);
+    if (bucket == null) {
+      bucket = newBucket(peerId);
+    }
+    if (distributed) {
+      bucket.recordDemand();
+    }
+    return bucket.tryConsume(now());
+  }
+
+  private TokenBucket newBucket(String peerId) {
+    TokenBucket fresh = createBucket();
+    TokenBucket existing = peerBuckets.putIfAbsent(peerId, fresh);
+    if (existing != null) {
+      return existing;
+    }
+    if (preloader != null) {
+      try {
+        preloader.execute(() -> restore(peerId, fresh));
+      } catch (RejectedExecutionException e) {
+        // Shutting down
+      }
+    }
+    return fresh;
+  }
+
+  private void restore(String peerId, TokenBucket bucket) {
+    store.load(peerId).ifPresent(saved -> {
+      bucket.restore(saved.tokens, saved.lastRefillTime, clock.getAsLong(), now());
+      log.debug("Restored rate limit state for peer: {} (tokens={})", peerId, saved.tokens);
+    });
+  }
+
+  private void preloadAll() {
+    Map<String, RateLimitStateStore.RateLimitState> saved = store.loadAll();
+    for (var entry : saved.entrySet()) {
+      var state = entry.getValue();
+      TokenBucket bucket = peerBuckets.computeIfAbsent(
+        entry.getKey(),
+        k -> createBucket()
+      );
+      bucket.restore(state.tokens, state.lastRefillTime, clock.getAsLong(), now());
+    }
+    if (!saved.isEmpty()) {
+      log.info("Preloaded rate limit state for {} peers", saved.size());
+    }
+  }
+
+  /** A full bucket; in distributed mode at an even split until the first reconcile. */
+  private TokenBucket createBucket() {
+    int rate = distributed
+      ? Math.max(1, maxRequestsPerSecond / activeInstances)
+      : maxRequestsPerSecond;
+    // Allow burst up to 2x the rate limit
+    return new TokenBucket(rate, rate * 2, now());
+  }
+
+  private void reconcileSafely() {
+    try {
+      reconcile();
+    } catch (Exception e) {
+      // Keep the schedule alive; shares stay as they were until the next round
+      log.warn("Rate limit reconcile failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Distributed mode: publish this node's per-peer demand since the last call, read
+   * everyone else's, and resize each local bucket to its share of the global limit.
+   */
+  void reconcile() {
+    long wallNow = clock.getAsLong();
+    double seconds = Math.max(1, wallNow - lastReconcileMs) / 1000.0;
+    lastReconcileMs = wallNow;
+
+    Map<String, Double> localDemand = new HashMap<>();
+    for (var entry : peerBuckets.entrySet()) {
+      long requests = entry.getValue().drainDemand();
+      if (requests > 0) {
+        localDemand.put(entry.getKey(), requests / seconds);
+      }
+    }
+    store.publishUsage(instanceId, new RateLimitStateStore.UsageReport(wallNow, localDemand));
+
+    Map<String, Double> otherDemand = new HashMap<>();
+    int instances = 1;
+    for (var entry : store.loadUsage().entrySet()) {
+      if (entry.getKey().equals(instanceId)) continue;
+      long age = wallNow - entry.getValue().publishedAtMs();
+      if (age > USAGE_STALE_MS) {
+        if (age > 10 * USAGE_STALE_MS) {
+          store.deleteUsage(entry.getKey());
         }
-        return new TokenBucket(maxRequestsPerSecond, burstCapacity);
+        continue;
       }
-    );
-    return bucket.tryConsume();
+      instances++;
+      entry.getValue().demandPerSecond().forEach((peer, d) -> otherDemand.merge(peer, d, Double::sum));
+    }
+    activeInstances = instances;
+
+    for (var entry : peerBuckets.entrySet()) {
+      int share = shareOf(
+        maxRequestsPerSecond,
+        localDemand.getOrDefault(entry.getKey(), 0.0),
+        otherDemand.getOrDefault(entry.getKey(), 0.0),
+        instances
+      );
+      entry.getValue().setRate(share);
+    }
+  }
+
+  /**
+   * This node's share of {@code globalRate} for one peer: proportional to its share
+   * of the peer's cluster-wide demand, all of it when no other node sees the peer,
+   * and never below a small floor so a node can still pick up new demand.
+   */
+  static int shareOf(int globalRate, double localDemand, double otherDemand, int instances) {
+    if (otherDemand <= 0) {
+      return globalRate;
+    }
+    int floor = Math.max(1, globalRate / (4 * Math.max(1, instances)));
+    long share = Math.round(globalRate * localDemand / (localDemand + otherDemand));
+    return (int) Math.max(floor, Math.min(globalRate, share));
+  }
+
+  /** Milliseconds since this limiter was created, truncated to the bucket's 32-bit field. */
+  private int now() {
+    return (int) (clock.getAsLong() - epochMs);
   }
 
   /**
@@ -76,7 +266,7 @@ public class RateLimiter {
    */
   public double getAvailableTokens(String peerId) {
     TokenBucket bucket = peerBuckets.get(peerId);
-    return bucket != null ? bucket.getAvailableTokens() : maxRequestsPerSecond;
+    return bucket != null ? bucket.getAvailableTokens(now()) : maxRequestsPerSecond;
   }
 
   /**
@@ -86,24 +276,37 @@ public class RateLimiter {
     peerBuckets.clear();
   }
 
+  int getTrackedPeerCount() {
+    return peerBuckets.size();
+  }
+
+  /** Persist all buckets, then drop the ones that have been idle for a while. */
+  void maintain() {
+    persistAll();
+    int now = now();
+    peerBuckets.entrySet().removeIf(e -> e.getValue().idleMs(now) > IDLE_EVICT_MS);
+  }
+
   /**
    * Persist all current rate limit states to RocksDB.
    */
   private void persistAll() {
     if (store == null) return;
-    
+
     int persisted = 0;
+    long wallNow = clock.getAsLong();
+    int now = now();
     for (var entry : peerBuckets.entrySet()) {
       try {
         TokenBucket bucket = entry.getValue();
-        RateLimitStateStore.RateLimitState state = bucket.getState();
+        RateLimitStateStore.RateLimitState state = bucket.getState(wallNow, now);
         store.save(entry.getKey(), state);
         persisted++;
       } catch (Exception e) {
         log.error("Failed to persist rate limit for peer: {}", entry.getKey(), e);
       }
     }
-    
+
     if (persisted > 0) {
       log.debug("Persisted {} rate limit states", persisted);
     }
@@ -113,6 +316,12 @@ public class RateLimiter {
    * Shutdown persistence scheduler.
    */
   public void shutdown() {
+    if (preloader != null) {
+      preloader.shutdownNow();
+    }
+    if (distributed) {
+      store.deleteUsage(instanceId);
+    }
     if (persistenceScheduler != null) {
       persistAll(); // Final persistence
       persistenceScheduler.shutdown();
@@ -120,56 +329,111 @@ public class RateLimiter {
   }
 
   /**
-   * Token bucket implementation for rate limiting.
-   * Refills at a steady rate, allows bursts up to capacity.
+   * Lock-free token bucket. Refills at a steady rate, allows bursts up to capacity.
+   *
+   * The whole state is one long: milli-tokens in the high 32 bits (unsigned) and
+   * the last refill time in the low 32 bits, as milliseconds relative to the
+   * limiter's epoch. Time differences are taken as signed ints, which stays exact as
+   * long as a bucket is touched at least every ~24 days; idle eviction guarantees it.
    */
-  private static class TokenBucket {
-    private final double refillRate; // tokens per millisecond
-    private final double capacity;
-    private double tokens;
-    private long lastRefillTime;
-
-    TokenBucket(int tokensPerSecond, int capacity) {
-      this.refillRate = tokensPerSecond / 1000.0; // Convert to per-ms
-      this.capacity = capacity;
-      this.tokens = capacity; // Start with full bucket
-      this.lastRefillTime = System.currentTimeMillis();
-    }
-
-    TokenBucket(int tokensPerSecond, int capacity, double initialTokens, long initialTime) {
-      this.refillRate = tokensPerSecond / 1000.0;
-      this.capacity = capacity;
-      this.tokens = Math.min(capacity, initialTokens);
-      this.lastRefillTime = initialTime;
-    }
-
-    synchronized boolean tryConsume() {
-      refill();
-      if (tokens >= 1.0) {
-        tokens -= 1.0;
-        return true;
+  static final class TokenBucket {
+
+    static final long SCALE = 1000; // milli-tokens per token
+    /** Largest rate whose 2x burst still fits 32 bits of milli-tokens. */
+    static final int MAX_RATE = (int) (0xFFFF_FFFFL / SCALE / 2);
+    private static final long TIME_MASK = 0xFFFF_FFFFL;
+
+    private volatile long refillPerMs; // milli-tokens per millisecond == tokens per second
+    private volatile long capacity; // milli-tokens
+    private final AtomicLong state;
+    private final LongAdder demand = new LongAdder(); // distributed mode only
+
+    TokenBucket(int tokensPerSecond, int capacity, int now) {
+      this.refillPerMs = tokensPerSecond;
+      this.capacity = capacity * SCALE;
+      this.state = new AtomicLong(pack(this.capacity, now)); // Start with full bucket
+    }
+
+    /** Resize to a new rate (burst stays 2x); excess tokens are trimmed on next use. */
+    void setRate(int tokensPerSecond) {
+      this.refillPerMs = tokensPerSecond;
+      this.capacity = tokensPerSecond * 2L * SCALE;
+    }
+
+    void recordDemand() {
+      demand.increment();
+    }
+
+    long drainDemand() {
+      return demand.sumThenReset();
+    }
+
+    boolean tryConsume(int now) {
+      while (true) {
+        long s = state.get();
+        int last = (int) s;
+        long tokens = refilled(s, now);
+        if (tokens < SCALE) {
+          return false;
+        }
+        int stamp = now - last > 0 ? now : last;
+        if (state.compareAndSet(s, pack(tokens - SCALE, stamp))) {
+          return true;
+        }
       }
-      return false;
     }
 
-    synchronized double getAvailableTokens() {
-      refill();
-      return tokens;
+    double getAvailableTokens(int now) {
+      return refilled(state.get(), now) / (double) SCALE;
+    }
+
+    RateLimitStateStore.RateLimitState getState(long wallNow, int now) {
+      long s = state.get();
+      long tokens = refilled(s, now);
+      return new RateLimitStateStore.RateLimitState(tokens / (double) SCALE, wallNow);
+    }
+
+    long idleMs(int now) {
+      return Math.max(0, now - (int) state.get());
     }
 
-    synchronized RateLimitStateStore.RateLimitState getState() {
-      refill();
-      return new RateLimitStateStore.RateLimitState(tokens, lastRefillTime);
+    /**
+     * Lower the bucket to a persisted state (refilled up to now) if that state has
+     * fewer tokens; never grants tokens the live bucket does not have.
+     */
+    void restore(double savedTokens, long savedRefillTime, long wallNow, int now) {
+      long elapsed = Math.max(0, wallNow - savedRefillTime);
+      double restored = Math.min(
+        (double) capacity,
+        savedTokens * SCALE + (double) elapsed * refillPerMs
+      );
+      long restoredTokens = (long) Math.max(0, restored);
+      while (true) {
+        long s = state.get();
+        long current = refilled(s, now);
+        if (current <= restoredTokens) {
+          return;
+        }
+        int last = (int) s;
+        int stamp = now - last > 0 ? now : last;
+        if (state.compareAndSet(s, pack(restoredTokens, stamp))) {
+          return;
+        }
+      }
     }
 
-    private void refill() {
-      long now = System.currentTimeMillis();
-      long elapsedMs = now - lastRefillTime;
-      if (elapsedMs > 0) {
-        double tokensToAdd = elapsedMs * refillRate;
-        tokens = Math.min(capacity, tokens + tokensToAdd);
-        lastRefillTime = now;
+    private long refilled(long s, int now) {
+      long tokens = s >>> 32;
+      int elapsed = now - (int) s;
+      if (elapsed <= 0) {
+        // Another thread already refilled at a newer tick
+        return Math.min(capacity, tokens);
       }
+      return Math.min(capacity, tokens + elapsed * refillPerMs);
+    }
+
+    private static long pack(long tokens, int time) {
+      return (tokens << 32) | (time & TIME_MASK);
     }
   }
 }
@@ -1,13 +1,12 @@
 package com.spiron.validation;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,7 +29,7 @@ public class RocksDbRateLimitStore implements RateLimitStateStore {
   public void save(String peerId, RateLimitState state) {
     try {
       String key = KEY_PREFIX + peerId;
-      byte[] value = serialize(state);
+      byte[] value = RateLimitStateCodec.encodeState(state);
       db.put(key.getBytes(StandardCharsets.UTF_8), value);
     } catch (Exception e) {
       log.error("Failed to save rate limit state for peer: {}", peerId, e);
@@ -45,13 +44,33 @@ public class RocksDbRateLimitStore implements RateLimitStateStore {
       if (value == null) {
         return Optional.empty();
       }
-      return Optional.of(deserialize(value));
+      return Optional.of(RateLimitStateCodec.decodeState(value));
     } catch (Exception e) {
       log.error("Failed to load rate limit state for peer: {}", peerId, e);
       return Optional.empty();
     }
   }
 
+  @Override
+  public Map<String, RateLimitState> loadAll() {
+    Map<String, RateLimitState> result = new HashMap<>();
+    byte[] prefix = KEY_PREFIX.getBytes(StandardCharsets.UTF_8);
+    try (RocksIterator it = db.newIterator()) {
+      for (it.seek(prefix); it.isValid(); it.next()) {
+        String key = new String(it.key(), StandardCharsets.UTF_8);
+        if (!key.startsWith(KEY_PREFIX)) break;
+        try {
+          result.put(key.substring(KEY_PREFIX.length()), RateLimitStateCodec.decodeState(it.value()));
+        } catch (Exception e) {
+          log.warn("Skipping unreadable rate limit state: {}", key);
+        }
+      }
+    } catch (Exception e) {
+      log.error("Failed to scan rate limit states", e);
+    }
+    return result;
+  }
+
   @Override
   public void delete(String peerId) {
     try {
@@ -61,22 +80,4 @@ public class RocksDbRateLimitStore implements RateLimitStateStore {
       log.error("Failed to delete rate limit state for peer: {}", peerId, e);
     }
   }
-
-  private byte[] serialize(RateLimitState state) throws Exception {
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
-      oos.writeDouble(state.tokens);
-      oos.writeLong(state.lastRefillTime);
-      oos.flush();
-    }
-    return baos.toByteArray();
-  }
-
-  private RateLimitState deserialize(byte[] data) throws Exception {
-    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
-      double tokens = ois.readDouble();
-      long lastRefillTime = ois.readLong();
-      return new RateLimitState(tokens, lastRefillTime);
-    }
-  }
 }
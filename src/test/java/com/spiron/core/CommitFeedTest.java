@@ -0,0 +1,207 @@
+package com.spiron.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.spiron.storage.CRDTStore;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CommitFeedTest {
+
+  private static final double[] X = { 1.0, 0.0 };
+  private static final Runnable NO_OP = () -> {};
+
+  private static EddyState eddy(String id, double energy) {
+    return new EddyState(id, X, energy, null);
+  }
+
+  @Test
+  void everySubscriber_seesEveryCommit() {
+    var feed = new CommitFeed(8, () -> 42L);
+    var a = feed.subscribe(CommitFeed.filter(null, ""), NO_OP);
+    var b = feed.subscribe(CommitFeed.filter(null, ""), NO_OP);
+
+    feed.publish("", eddy("E1", 1.0));
+    feed.publish("t", eddy("E2", 2.0));
+
+    for (var cursor : new CommitFeed.Cursor[] { a, b }) {
+      var first = cursor.poll();
+      assertEquals(0, first.sequence());
+      assertEquals("E1", first.state().id());
+      assertEquals(42L, first.committedAtMs());
+      assertEquals("t", cursor.poll().topic());
+      assertNull(cursor.poll());
+    }
+  }
+
+  @Test
+  void subscriber_onlySeesLaterCommits() {
+    var feed = new CommitFeed(8);
+    feed.publish("", eddy("old", 1.0));
+    var cursor = feed.subscribe(CommitFeed.filter(null, ""), NO_OP);
+    feed.publish("", eddy("new", 1.0));
+
+    assertEquals("new", cursor.poll().state().id());
+    assertNull(cursor.poll());
+  }
+
+  @Test
+  void filter_matchesTopicAndIdPrefix() {
+    var feed = new CommitFeed(8);
+    var defaultTopic = feed.subscribe(CommitFeed.filter("", ""), NO_OP);
+    var orders = feed.subscribe(CommitFeed.filter("t", "order-"), NO_OP);
+
+    feed.publish("", eddy("order-1", 1.0));
+    feed.publish("t", eddy("user-1", 1.0));
+    feed.publish("t", eddy("order-2", 1.0));
+
+    assertEquals("order-1", defaultTopic.poll().state().id());
+    assertNull(defaultTopic.poll());
+    assertEquals("order-2", orders.poll().state().id());
+    assertNull(orders.poll());
+  }
+
+  @Test
+  void slowSubscriber_skipsToOldestRetainedCommit() {
+    var feed = new CommitFeed(3); // rounded up to 4
+    assertEquals(4, feed.capacity());
+    var cursor = feed.subscribe(CommitFeed.filter(null, ""), NO_OP);
+
+    for (int i = 0; i < 10; i++) {
+      feed.publish("", eddy("E" + i, i));
+    }
+
+    assertEquals(6, cursor.poll().sequence());
+    assertEquals(6, cursor.getDropped());
+    assertEquals(7, cursor.poll().sequence());
+  }
+
+  @Test
+  void publish_wakesOpenSubscribersOnly() {
+    var feed = new CommitFeed(8);
+    var wakeups = new AtomicInteger();
+    var cursor = feed.subscribe(CommitFeed.filter(null, ""), wakeups::incrementAndGet);
+
+    feed.publish("", eddy("E", 1.0));
+    cursor.close();
+    feed.publish("", eddy("E", 2.0));
+
+    assertEquals(1, wakeups.get());
+    assertEquals(0, feed.getSubscriberCount());
+    assertEquals(2, feed.getPublishedTotal());
+  }
+
+  @Test
+  void engine_publishesCommitsOncePerChange() {
+    var feed = new CommitFeed(8);
+    var cursor = feed.subscribe(CommitFeed.filter(null, ""), NO_OP);
+    var engine = new EddyEngine(0.5, 0.2, 0.5, 3.0);
+    engine.attachCommitFeed(feed);
+
+    engine.ingest(eddy("E", 5.0));
+    engine.checkAndCommit();
+    engine.checkAndCommit(); // same dominant eddy, not republished
+    engine.ingest(eddy("E", 1.0)); // aligned merge gains energy
+    engine.checkAndCommit();
+
+    assertEquals(5.0, cursor.poll().state().energy());
+    assertTrue(cursor.poll().state().energy() > 5.0);
+    assertNull(cursor.poll());
+  }
+
+  @Test
+  void engine_publishesOnlyOnceLineageIsStored() throws Exception {
+    var gate = new CountDownLatch(1);
+    var store = new GatedLineageStore(gate);
+    var tracker = new LineageTracker(store);
+    var feed = new CommitFeed(8);
+    var cursor = feed.subscribe(CommitFeed.filter(null, ""), NO_OP);
+    var engine = new EddyEngine(0.5, 0.2, 0.5, 3.0);
+    engine.attachLineageTracker(tracker);
+    engine.attachCommitFeed(feed);
+
+    engine.ingest(eddy("E", 5.0));
+    assertTrue(engine.checkAndCommit().isPresent()); // returns while lineage is pending
+    engine.ingest(eddy("F", 1.0)); // engine lock is free
+    assertNull(cursor.poll());
+
+    gate.countDown();
+    long deadline = System.currentTimeMillis() + 5000;
+    CommitFeed.Commit c = null;
+    while (c == null && System.currentTimeMillis() < deadline) {
+      c = cursor.poll();
+      Thread.sleep(5);
+    }
+    assertEquals("E", c.state().id());
+    assertTrue(store.lineage.containsKey("E"));
+    tracker.shutdown();
+  }
+
+  /** Holds lineage writes until the gate opens. */
+  private static class GatedLineageStore implements CRDTStore {
+
+    final Map<String, String> lineage = new ConcurrentHashMap<>();
+    private final CountDownLatch gate;
+
+    GatedLineageStore(CountDownLatch gate) {
+      this.gate = gate;
+    }
+
+    @Override
+    public void putLineage(String eddyId, String lineageJson) {
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      lineage.put(eddyId, lineageJson);
+    }
+
+    @Override
+    public Optional<String> getLineage(String eddyId) {
+      return Optional.ofNullable(lineage.get(eddyId));
+    }
+
+    @Override
+    public void put(String eddyId, String eddyJsonState) {}
+
+    @Override
+    public Optional<String> get(String eddyId) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Map<String, String> getAll() {
+      return Map.of();
+    }
+
+    @Override
+    public void delete(String eddyId) {}
+
+    @Override
+    public void clear() {}
+
+    @Override
+    public boolean exists(String eddyId) {
+      return false;
+    }
+
+    @Override
+    public void putSpilled(String eddyId, String eddyJson) {}
+
+    @Override
+    public Optional<String> getSpilled(String eddyId) {
+      return Optional.empty();
+    }
+
+    @Override
+    public void deleteSpilled(String eddyId) {}
+
+    @Override
+    public void close() {}
+  }
+}
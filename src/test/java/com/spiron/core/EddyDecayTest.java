@@ -0,0 +1,103 @@
+package com.spiron.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EddyDecayTest {
+
+  private static final double[] X = { 1.0, 0.0 };
+  private static final double[] Y = { 0.0, 1.0 };
+
+  private final AtomicLong now = new AtomicLong(0);
+  private EddyEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    engine = newEngine(EddyEngine.VectorStorage.HEAP);
+  }
+
+  private EddyEngine newEngine(EddyEngine.VectorStorage storage) {
+    var e = new EddyEngine(0.5, 0.2, 0.5, 3.0, storage, 2);
+    e.useClock(now::get);
+    e.attachDecay(1000);
+    return e;
+  }
+
+  @Test
+  void staleEddy_losesDominance() {
+    engine.ingest(new EddyState("A", X, 10.0, null));
+    assertEquals("A", engine.dominant().orElseThrow().id());
+
+    now.set(2000); // two half-lives: 10 -> 2.5
+    assertTrue(engine.dominant().isEmpty());
+    assertEquals(2.5, engine.snapshot().get(0).energy(), 1e-9);
+
+    engine.ingest(new EddyState("B", X, 5.0, null));
+    assertEquals("B", engine.dominant().orElseThrow().id());
+  }
+
+  @Test
+  void merge_usesDecayedEnergy() {
+    engine.ingest(new EddyState("A", X, 10.0, null));
+    now.set(1000);
+    engine.ingest(new EddyState("A", Y, 1.0, null)); // damped: 5.0 * 0.5
+
+    assertEquals(2.5, engine.snapshot().get(0).energy(), 1e-9);
+    now.set(2000);
+    assertEquals(1.25, engine.snapshot().get(0).energy(), 1e-9);
+  }
+
+  @Test
+  void dominant_matchesHighestDecayedEnergy() {
+    engine = new EddyEngine(0.5, 0.2, 0.5, 0.0);
+    engine.useClock(now::get);
+    engine.attachDecay(1000);
+
+    for (int i = 0; i < 50; i++) {
+      now.set(i * 37L);
+      engine.ingest(new EddyState("e" + i, X, 1.0 + (i * 7919 % 13), null));
+    }
+    for (long t : new long[] { 2000, 5000, 20_000 }) {
+      now.set(t);
+      EddyState expected = engine
+        .snapshot()
+        .stream()
+        .max(Comparator.comparingDouble(EddyState::energy))
+        .orElseThrow();
+      EddyState dom = engine.dominant().orElseThrow();
+      assertEquals(expected.energy(), dom.energy(), 1e-12);
+    }
+  }
+
+  @Test
+  void commit_persistsDecayedEnergy() {
+    engine.ingest(new EddyState("A", X, 8.0, null));
+    now.set(1000);
+    EddyState committed = engine.checkAndCommit().orElseThrow();
+    assertEquals(4.0, committed.energy(), 1e-9);
+    // Committing rewrites the eddy, so it decays from the committed value
+    now.set(2000);
+    assertEquals(2.0, engine.snapshot().get(0).energy(), 1e-9);
+  }
+
+  @Test
+  void offHeap_decaysLikeHeap() {
+    engine = newEngine(EddyEngine.VectorStorage.OFF_HEAP);
+    engine.ingest(new EddyState("A", X, 10.0, null));
+    now.set(1000);
+    engine.ingest(new EddyState("A", Y, 1.0, null));
+    assertEquals(2.5, engine.snapshot().get(0).energy(), 1e-9);
+    engine.close();
+  }
+
+  @Test
+  void attachDecay_afterEviction_isRejected() {
+    var e = new EddyEngine(0.5, 0.2, 0.5, 3.0);
+    e.attachEviction(new EvictionPolicy(0, 0, 10, EvictionPolicy.Order.ENERGY, false), null);
+    assertThrows(IllegalStateException.class, () -> e.attachDecay(1000));
+  }
+}
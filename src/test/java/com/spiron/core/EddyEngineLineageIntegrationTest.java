@@ -6,7 +6,9 @@ import com.spiron.storage.CRDTStore;
 import com.spiron.storage.RocksDbCRDTStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -76,6 +78,33 @@ class EddyEngineLineageIntegrationTest {
     assertEquals(0, ancestry.size(), "Root eddy should have no ancestors");
   }
 
+  @Test
+  void testFailedLineageWriteIsRetriedOnRecommit() throws Exception {
+    List<String> recorded = new ArrayList<>();
+    LineageTracker flaky = new LineageTracker(store) {
+      @Override
+      public CompletableFuture<Void> recordLineageAsync(String eddyId, String parentId) {
+        recorded.add(eddyId);
+        if (recorded.size() == 1) {
+          return CompletableFuture.failedFuture(new IllegalStateException("disk full"));
+        }
+        return super.recordLineageAsync(eddyId, parentId);
+      }
+    };
+    try {
+      engine.attachLineageTracker(flaky);
+      engine.ingest(new EddyState("retry-eddy", new double[] { 1.0, 0.0 }, 150.0, null));
+
+      engine.checkAndCommit();
+      engine.checkAndCommit();
+
+      assertEquals(List.of("retry-eddy", "retry-eddy"), recorded);
+      assertEquals(0, flaky.getAncestry("retry-eddy").size());
+    } finally {
+      flaky.shutdown();
+    }
+  }
+
   @Test
   void testLineageWithMergedEddies() throws Exception {
     // Create similar eddies that will merge
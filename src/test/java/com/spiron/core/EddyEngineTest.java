@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -100,6 +101,27 @@ class EddyEngineTest {
     assertEquals("C1", snaps.lastSaved.id());
   }
 
+  @Test
+  void checkAndCommit_withCommitStage_persistsAndSendsOnTheStage() {
+    List<Runnable> stage = new ArrayList<>();
+    engine.attachCommitStage(stage::add);
+    engine.ingest(new EddyState("C2", new double[] { 0.9, 0.3 }, commitEnergy + 1.0, null));
+
+    var committed = engine.checkAndCommit();
+
+    // Decided and visible, but nothing written or sent yet
+    assertEquals("C2", committed.get().id());
+    assertEquals(0, rpc.commitCalls);
+    assertNull(snaps.lastSaved);
+    engine.ingest(new EddyState("D", new double[] { 0.1, 0.9 }, 1.0, null));
+
+    assertEquals(1, stage.size());
+    stage.get(0).run();
+    assertEquals("C2", rpc.lastCommitted.id());
+    assertTrue(log.lastLine.startsWith("commit:C2,"));
+    assertEquals("C2", snaps.lastSaved.id());
+  }
+
   @Test
   void persistState_updatesInMemory_so_dominant_can_become_present_via_rpc() {
     EddyState committed = new EddyState(
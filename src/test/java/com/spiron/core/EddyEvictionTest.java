@@ -0,0 +1,218 @@
+package com.spiron.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.spiron.storage.CRDTStore;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class EddyEvictionTest {
+
+  private static final double[] X = { 1.0, 0.0 };
+  private static final double[] Y = { 0.0, 1.0 };
+
+  private static EddyEngine engine() {
+    return new EddyEngine(0.5, 0.2, 0.5, 100.0);
+  }
+
+  private static Set<String> ids(EddyEngine engine) {
+    return engine.snapshot().stream().map(EddyState::id).collect(Collectors.toSet());
+  }
+
+  @Test
+  void dampedBelowFloor_isEvicted() {
+    var engine = engine();
+    engine.attachEviction(new EvictionPolicy(0.6, 0, 0, EvictionPolicy.Order.ENERGY, false), null);
+
+    engine.ingest(new EddyState("E", X, 1.0, null));
+    engine.ingest(new EddyState("F", X, 0.1, null)); // fresh eddies ignore the floor
+    assertEquals(Set.of("E", "F"), ids(engine));
+
+    engine.ingest(new EddyState("E", Y, 1.0, null)); // damped to 0.5
+    assertEquals(Set.of("F"), ids(engine));
+  }
+
+  @Test
+  void idleEddies_expireAfterTtl() {
+    var engine = engine();
+    AtomicLong now = new AtomicLong(0);
+    engine.useClock(now::get);
+    engine.attachEviction(new EvictionPolicy(0, 1000, 0, EvictionPolicy.Order.ENERGY, false), null);
+
+    engine.ingest(new EddyState("A", X, 1.0, null));
+    now.set(500);
+    engine.ingest(new EddyState("B", X, 1.0, null));
+    now.set(1100);
+    assertEquals(Set.of("B"), ids(engine));
+
+    // Activity resets the idle timer
+    engine.ingest(new EddyState("B", X, 1.0, null));
+    now.set(2000);
+    assertEquals(Set.of("B"), ids(engine));
+    now.set(2200);
+    assertTrue(engine.snapshot().isEmpty());
+  }
+
+  @Test
+  void overCapacity_evictsLowestEnergyDownToNinetyPercent() {
+    var engine = engine();
+    engine.attachEviction(new EvictionPolicy(0, 0, 10, EvictionPolicy.Order.ENERGY, false), null);
+
+    for (int i = 10; i >= 0; i--) {
+      engine.ingest(new EddyState("e" + i, X, i + 1.0, null));
+    }
+
+    Set<String> kept = ids(engine);
+    assertEquals(9, kept.size());
+    assertFalse(kept.contains("e0"));
+    assertFalse(kept.contains("e1"));
+    assertTrue(kept.contains("e10"));
+  }
+
+  @Test
+  void overCapacity_lruEvictsLeastRecentlyIngested() {
+    var engine = engine();
+    engine.attachEviction(new EvictionPolicy(0, 0, 10, EvictionPolicy.Order.LRU, false), null);
+
+    for (int i = 0; i < 10; i++) {
+      engine.ingest(new EddyState("e" + i, X, 100.0 - i, null));
+    }
+    engine.ingest(new EddyState("e0", X, 1.0, null)); // e0 is now the most recent
+    engine.ingest(new EddyState("e10", X, 1.0, null));
+
+    Set<String> kept = ids(engine);
+    assertEquals(9, kept.size());
+    assertTrue(kept.contains("e0"));
+    assertFalse(kept.contains("e1"));
+    assertFalse(kept.contains("e2"));
+  }
+
+  @Test
+  void spilledEddy_isRehydratedOnNextIngest() {
+    var engine = engine();
+    var store = new InMemoryCRDTStore();
+    engine.attachEviction(
+      new EvictionPolicy(0.6, 0, 0, EvictionPolicy.Order.ENERGY, true),
+      new EddySpillStore(store, 1000, Runnable::run)
+    );
+
+    engine.ingest(new EddyState("E", X, 1.0, null));
+    engine.ingest(new EddyState("E", Y, 1.0, null)); // damped to 0.5, spilled
+    assertTrue(engine.snapshot().isEmpty());
+    assertTrue(store.spilled.containsKey("E"));
+
+    engine.ingest(new EddyState("E", X, 1.0, "P"));
+    EddyState e = engine.snapshot().get(0);
+    assertEquals("E", e.id());
+    // Merged into the rehydrated eddy rather than inserted fresh
+    assertEquals("E", e.parentId());
+    assertTrue(store.spilled.isEmpty());
+  }
+
+  @Test
+  void spillWrites_runOnTheWriter_andRehydrateBeforeTheWriteLands() {
+    var engine = engine();
+    var store = new InMemoryCRDTStore();
+    List<Runnable> writer = new ArrayList<>();
+    engine.attachEviction(
+      new EvictionPolicy(0, 0, 2, EvictionPolicy.Order.LRU, true),
+      new EddySpillStore(store, 1000, writer::add)
+    );
+
+    engine.ingest(new EddyState("A", X, 1.0, null));
+    engine.ingest(new EddyState("B", Y, 1.0, null));
+    engine.ingest(new EddyState("C", X, 1.0, null)); // over capacity, A is coldest
+    assertFalse(ids(engine).contains("A"));
+    // Evicted under the lock, not yet written
+    assertTrue(store.spilled.isEmpty());
+    assertEquals(1, writer.size());
+
+    // Comes back from memory while the write is still queued
+    engine.ingest(new EddyState("A", X, 1.0, null));
+    assertEquals(Set.of("A", "C"), ids(engine));
+
+    List.copyOf(writer).forEach(Runnable::run);
+    // The write landed after the rehydrate, so it is cleaned up again
+    assertFalse(store.spilled.containsKey("A"));
+  }
+
+  @Test
+  void disabledPolicy_keepsEverything() {
+    var engine = engine();
+    engine.attachEviction(EvictionPolicy.NONE, null);
+    engine.ingest(new EddyState("E", X, 1.0, null));
+    engine.ingest(new EddyState("E", Y, 1.0, null));
+    assertEquals(1, engine.snapshot().size());
+  }
+
+  @Test
+  void orderFromConfig_rejectsUnknown() {
+    assertEquals(EvictionPolicy.Order.LRU, EvictionPolicy.Order.fromConfig(" LRU "));
+    assertThrows(IllegalArgumentException.class, () -> EvictionPolicy.Order.fromConfig("fifo"));
+  }
+
+  /** Only the spill methods matter here. */
+  private static class InMemoryCRDTStore implements CRDTStore {
+
+    final Map<String, String> spilled = new HashMap<>();
+
+    @Override
+    public void put(String eddyId, String eddyJsonState) {}
+
+    @Override
+    public Optional<String> get(String eddyId) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Map<String, String> getAll() {
+      return Map.of();
+    }
+
+    @Override
+    public void delete(String eddyId) {}
+
+    @Override
+    public void clear() {
+      spilled.clear();
+    }
+
+    @Override
+    public boolean exists(String eddyId) {
+      return false;
+    }
+
+    @Override
+    public void putLineage(String eddyId, String lineageJson) {}
+
+    @Override
+    public Optional<String> getLineage(String eddyId) {
+      return Optional.empty();
+    }
+
+    @Override
+    public void putSpilled(String eddyId, String eddyJson) {
+      spilled.put(eddyId, eddyJson);
+    }
+
+    @Override
+    public Optional<String> getSpilled(String eddyId) {
+      return Optional.ofNullable(spilled.get(eddyId));
+    }
+
+    @Override
+    public void deleteSpilled(String eddyId) {
+      spilled.remove(eddyId);
+    }
+
+    @Override
+    public void close() {}
+  }
+}
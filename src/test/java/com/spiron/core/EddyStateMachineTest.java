@@ -0,0 +1,114 @@
+package com.spiron.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EddyStateMachineTest {
+
+  private EddyEngine engine;
+  private EddyStateMachine machine;
+
+  @BeforeEach
+  void setUp() {
+    engine = new EddyEngine(0.5, 0.2, 0.5, 3.0);
+    machine = new EddyStateMachine(engine);
+  }
+
+  @Test
+  void binaryCommand_roundTrips() {
+    var state = new EddyState("é-1", new double[] { 0.1, 0.2, 0.3 }, 4.5, null);
+    byte[] command = EddyCommandCodec.encode(state);
+    assertEquals(EddyCommandCodec.encodedSize(state), command.length);
+
+    machine.apply(command);
+
+    EddyState applied = engine.snapshot().get(0);
+    assertEquals("é-1", applied.id());
+    assertArrayEquals(state.vector(), applied.vector());
+    assertEquals(4.5, applied.energy());
+  }
+
+  @Test
+  void textCommand_acceptsAnyDimension() {
+    machine.apply("E,0.1,0.2,0.3,2.0".getBytes(StandardCharsets.UTF_8));
+
+    EddyState applied = engine.snapshot().get(0);
+    assertArrayEquals(new double[] { 0.1, 0.2, 0.3 }, applied.vector());
+    assertEquals(2.0, applied.energy());
+  }
+
+  @Test
+  void textCommand_withNonAsciiId_isNotTakenForBinary() {
+    // "혁" is ED 98 81 in UTF-8; no UTF-8 lead byte may equal the binary magic
+    machine.apply("혁,1.0,0.0,2.0".getBytes(StandardCharsets.UTF_8));
+
+    EddyState applied = engine.snapshot().get(0);
+    assertEquals("혁", applied.id());
+    assertArrayEquals(new double[] { 1.0, 0.0 }, applied.vector());
+    assertEquals(2.0, applied.energy());
+  }
+
+  @Test
+  void applyBatch_decodesFromSharedDirectBuffer() {
+    var a = new EddyState("A", new double[] { 1.0, 0.0 }, 1.0, null);
+    var b = new EddyState("B", new double[] { 0.0, 1.0 }, 2.0, null);
+    ByteBuffer buf = ByteBuffer.allocateDirect(
+      EddyCommandCodec.encodedSize(a) + EddyCommandCodec.encodedSize(b)
+    );
+    EddyCommandCodec.encode(a, buf);
+    int split = buf.position();
+    EddyCommandCodec.encode(b, buf);
+
+    ByteBuffer first = buf.duplicate().position(0).limit(split);
+    ByteBuffer second = buf.duplicate().position(split);
+
+    machine.applyBatch(List.of(first, second));
+
+    assertEquals(
+      List.of("A", "B"),
+      engine.snapshot().stream().map(EddyState::id).sorted().toList()
+    );
+    assertEquals(0, first.position()); // buffers are read, not consumed
+    assertEquals(split, second.position());
+  }
+
+  @Test
+  void applyBatch_skipsMalformedCommands() {
+    var good = ByteBuffer.wrap(EddyCommandCodec.encode(new EddyState("G", new double[] { 1.0 }, 1.0, null)));
+    var truncated = ByteBuffer.wrap(EddyCommandCodec.encode(new EddyState("T", new double[] { 1.0 }, 1.0, null)), 0, 8);
+    var text = ByteBuffer.wrap("bad".getBytes(StandardCharsets.UTF_8));
+
+    machine.applyBatch(List.of(truncated, good, text));
+
+    assertEquals(1, engine.snapshot().size());
+    assertEquals("G", engine.snapshot().get(0).id());
+  }
+
+  @Test
+  void applyBatch_skipsCommandsTheEngineRejects() {
+    engine = new EddyEngine(0.5, 0.2, 0.5, 3.0, EddyEngine.VectorStorage.OFF_HEAP, 2);
+    machine = new EddyStateMachine(engine);
+    var wrongDims = ByteBuffer.wrap(EddyCommandCodec.encode(new EddyState("W", new double[] { 1.0 }, 1.0, null)));
+    var a = ByteBuffer.wrap(EddyCommandCodec.encode(new EddyState("A", new double[] { 1.0, 0.0 }, 1.0, null)));
+    var b = ByteBuffer.wrap(EddyCommandCodec.encode(new EddyState("B", new double[] { 0.0, 1.0 }, 1.0, null)));
+
+    machine.applyBatch(List.of(a, wrongDims, b));
+
+    assertEquals(
+      List.of("A", "B"),
+      engine.snapshot().stream().map(EddyState::id).sorted().toList()
+    );
+  }
+
+  @Test
+  void decode_rejectsImpossibleDimensions() {
+    byte[] command = EddyCommandCodec.encode(new EddyState("E", new double[] { 1.0 }, 1.0, null));
+    command[1 + 2 + 1 + 3] = 100; // dimensions = 100, far past the end
+    assertThrows(IllegalArgumentException.class, () -> EddyCommandCodec.decode(ByteBuffer.wrap(command)));
+  }
+}
@@ -229,4 +229,33 @@ class LineageTrackerTest {
     assertNotNull(tracker.getAncestry("concurrent-2"));
     assertNotNull(tracker.getAncestry("concurrent-3"));
   }
+
+  @Test
+  void testAsyncRecording_resolvesParentsWithinBatch() throws Exception {
+    var f1 = tracker.recordLineageAsync("a-root", null);
+    var f2 = tracker.recordLineageAsync("a-child", "a-root");
+    var f3 = tracker.recordLineageAsync("a-grandchild", "a-child");
+
+    CompletableFuture.allOf(f1, f2, f3).get(5, TimeUnit.SECONDS);
+
+    assertEquals(List.of("a-root", "a-child"), tracker.getAncestry("a-grandchild"));
+    assertEquals(3, tracker.getRecordsWritten());
+    assertTrue(tracker.getBatchesWritten() <= 3);
+  }
+
+  @Test
+  void testGetAncestry_seesQueuedRecord() {
+    tracker.recordLineageAsync("q-root", null);
+    tracker.recordLineageAsync("q-child", "q-root");
+
+    // No join: the read waits for the queued write
+    assertEquals(List.of("q-root"), tracker.getAncestry("q-child"));
+  }
+
+  @Test
+  void testAsyncRecording_afterShutdownFails() {
+    tracker.shutdown();
+    var f = tracker.recordLineageAsync("late", null);
+    assertTrue(f.isCompletedExceptionally());
+  }
 }
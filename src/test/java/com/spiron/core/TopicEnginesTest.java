@@ -0,0 +1,222 @@
+package com.spiron.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TopicEnginesTest {
+
+  private static final double[] X = { 1.0, 0.0 };
+
+  private final AtomicLong now = new AtomicLong(0);
+  private final List<String> created = new ArrayList<>();
+  private EddyEngine defaultEngine;
+  private TopicEngines topics;
+
+  @BeforeEach
+  void setUp() {
+    defaultEngine = new EddyEngine(0.5, 0.2, 0.5, 3.0);
+    topics = newTopics(1000);
+  }
+
+  private TopicEngines newTopics(int maxLoaded) {
+    return new TopicEngines(
+      defaultEngine,
+      topic -> {
+        synchronized (created) {
+          created.add(topic);
+        }
+        return new EddyEngine(0.5, 0.2, 0.5, 3.0);
+      },
+      2,
+      1000,
+      10,
+      maxLoaded,
+      now::get
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    topics.close();
+  }
+
+  @Test
+  void defaultTopic_usesDefaultEngine() {
+    topics.ingest("", new EddyState("E", X, 1.0, null));
+
+    assertEquals(1, defaultEngine.snapshot().size());
+    assertEquals(0, topics.getLoadedCount());
+    assertTrue(created.isEmpty());
+  }
+
+  @Test
+  void topics_areIsolated() {
+    topics.ingest("a", new EddyState("E", X, 1.0, null));
+    topics.ingest("b", new EddyState("E", X, 2.0, null));
+
+    assertEquals(2, topics.getLoadedCount());
+    assertEquals(1.0, topics.loaded("a").orElseThrow().snapshot().get(0).energy());
+    assertEquals(2.0, topics.loaded("b").orElseThrow().snapshot().get(0).energy());
+    assertTrue(defaultEngine.snapshot().isEmpty());
+    assertEquals(List.of("a", "b"), created);
+  }
+
+  @Test
+  void commitCheck_runsOnlyForTopicsWithNewEddies() {
+    topics.ingest("hot", new EddyState("E", X, 5.0, null));
+    topics.ingest("cold", new EddyState("E", X, 1.0, null));
+
+    topics.checkDirty();
+    assertEquals(1, topics.getCommitsTotal());
+
+    // Nothing new since the last check
+    topics.checkDirty();
+    assertEquals(1, topics.getCommitsTotal());
+  }
+
+  @Test
+  void idleTopics_areUnloadedAndReloadedOnDemand() {
+    topics.ingest("a", new EddyState("E", X, 1.0, null));
+    topics.checkDirty();
+
+    now.set(500);
+    topics.unloadIdle();
+    assertEquals(1, topics.getLoadedCount());
+
+    now.set(1500);
+    topics.unloadIdle();
+    assertEquals(0, topics.getLoadedCount());
+    assertEquals(1, topics.getUnloadsTotal());
+    assertTrue(topics.loaded("a").isEmpty());
+
+    topics.ingest("a", new EddyState("E", X, 1.0, null));
+    assertEquals(2, topics.getLoadsTotal());
+  }
+
+  @Test
+  void pendingCommitCheck_keepsTopicLoaded() {
+    topics.ingest("a", new EddyState("E", X, 5.0, null));
+    now.set(5000);
+
+    topics.unloadIdle();
+    assertEquals(1, topics.getLoadedCount());
+
+    topics.checkDirty();
+    topics.unloadIdle();
+    assertEquals(1, topics.getCommitsTotal());
+    assertEquals(0, topics.getLoadedCount());
+  }
+
+  @Test
+  void loadPastLimit_unloadsColdestIdleTopic_orRejects() {
+    topics.close();
+    topics = newTopics(3);
+    for (String t : List.of("a", "b", "c")) {
+      now.incrementAndGet();
+      topics.ingest(t, new EddyState("E", X, 1.0, null));
+    }
+    topics.checkDirty();
+    now.incrementAndGet();
+    topics.ingest("a", new EddyState("E", X, 1.0, null));
+    topics.checkDirty();
+
+    topics.ingest("d", new EddyState("E", X, 1.0, null));
+    assertEquals(3, topics.getLoadedCount());
+    assertTrue(topics.loaded("b").isEmpty());
+    assertEquals(1, topics.getUnloadsTotal());
+
+    // Every loaded topic now has a pending commit check
+    topics.ingest("a", new EddyState("E", X, 1.0, null));
+    topics.ingest("c", new EddyState("E", X, 1.0, null));
+    assertThrows(
+      java.util.concurrent.RejectedExecutionException.class,
+      () -> topics.ingest("e", new EddyState("E", X, 1.0, null))
+    );
+    assertEquals(3, topics.getLoadedCount());
+    assertTrue(topics.loaded("e").isEmpty());
+  }
+
+  @Test
+  void commitWaitingOnFullStage_doesNotBlockIngest() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    topics.close();
+    topics = new TopicEngines(
+      defaultEngine,
+      topic -> {
+        var engine = new EddyEngine(0.5, 0.2, 0.5, 3.0);
+        // Like a full stage queue: the hand-off waits until there is room
+        engine.attachCommitStage(r -> {
+          entered.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          r.run();
+        });
+        return engine;
+      },
+      2,
+      1000,
+      10,
+      1000,
+      now::get
+    );
+    topics.ingest("a", new EddyState("E", X, 5.0, null));
+    Thread committer = new Thread(topics::checkDirty);
+    committer.start();
+    assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+    Thread ingester = new Thread(() -> topics.ingest("a", new EddyState("F", X, 1.0, null)));
+    ingester.start();
+    ingester.join(5000);
+    assertFalse(ingester.isAlive());
+
+    assertEquals(2, topics.loaded("a").orElseThrow().snapshot().size());
+
+    release.countDown();
+    committer.join(5000);
+    assertFalse(committer.isAlive());
+  }
+
+  @Test
+  void start_commitsOnSharedPool() throws Exception {
+    topics.start();
+    for (int i = 0; i < 100; i++) {
+      topics.ingest("t" + i, new EddyState("E", X, 5.0, null));
+    }
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (topics.getCommitsTotal() < 100 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(100, topics.getCommitsTotal());
+  }
+
+  @Test
+  void invalidTopic_isRejected() {
+    assertFalse(TopicEngines.isValidTopic("../etc"));
+    assertFalse(TopicEngines.isValidTopic(null));
+    assertTrue(TopicEngines.isValidTopic(""));
+    assertTrue(TopicEngines.isValidTopic("session_42-a"));
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> topics.ingest("a/b", new EddyState("E", X, 1.0, null))
+    );
+  }
+
+  @Test
+  void scopedId_keepsDefaultTopicIdsUnchanged() {
+    assertEquals("E", TopicEngines.scopedId("", "E"));
+    assertEquals("t/E", TopicEngines.scopedId("t", "E"));
+  }
+}
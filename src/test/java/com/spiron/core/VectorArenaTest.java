@@ -0,0 +1,156 @@
+package com.spiron.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Off-heap vector storage: VectorArena and EddyEngine in OFF_HEAP mode.
+ *
+ * Validates:
+ * 1. Vectors round-trip through native memory and freed slots are reused, and
+ *    slabs start small and grow with demand
+ * 2. Similarity kernels match EddyMath exactly
+ * 3. An off-heap engine reaches the same state as a heap engine
+ */
+class VectorArenaTest {
+
+  private static double[] randomVector(Random random, int dims) {
+    double[] v = new double[dims];
+    for (int i = 0; i < dims; i++) {
+      v[i] = random.nextGaussian();
+    }
+    return v;
+  }
+
+  @Test
+  void testWriteReadAndSlotReuse() {
+    try (var arena = new VectorArena(4)) {
+      int a = arena.allocate();
+      int b = arena.allocate();
+      arena.write(a, new double[] { 1, 2, 3, 4 });
+      arena.write(b, new double[] { 5, 6, 7, 8 });
+
+      assertArrayEquals(new double[] { 1, 2, 3, 4 }, arena.read(a));
+      assertArrayEquals(new double[] { 5, 6, 7, 8 }, arena.read(b));
+      assertEquals(2, arena.getLiveSlots());
+
+      arena.free(a);
+      assertEquals(1, arena.getLiveSlots());
+      assertEquals(a, arena.allocate(), "Freed slot is handed out again");
+    }
+  }
+
+  @Test
+  void testSpansMultipleSlabs() {
+    int dims = 4096;
+    int perSlab = (int) (VectorArena.SLAB_BYTES / (dims * 8L));
+    Random random = new Random(1);
+    try (var arena = new VectorArena(dims)) {
+      // Past every growth slab and into the second full-size one
+      int count = 2 * perSlab;
+      double[][] written = new double[count][];
+      int[] slots = new int[count];
+      for (int i = 0; i < count; i++) {
+        slots[i] = arena.allocate();
+        written[i] = randomVector(random, dims);
+        arena.write(slots[i], written[i]);
+      }
+      for (int i = 0; i < count; i++) {
+        assertArrayEquals(written[i], arena.read(slots[i]));
+      }
+      long used = (long) count * dims * 8L;
+      assertTrue(arena.getReservedBytes() >= used);
+      assertTrue(arena.getReservedBytes() < used + VectorArena.SLAB_BYTES);
+    }
+  }
+
+  @Test
+  void testFirstSlabIsSizedByDemand() {
+    try (var arena = new VectorArena(128)) {
+      arena.allocate();
+      assertEquals(VectorArena.INITIAL_SLAB_BYTES, arena.getReservedBytes());
+    }
+  }
+
+  @Test
+  void testSimilarityMatchesEddyMath() {
+    Random random = new Random(2);
+    try (var arena = new VectorArena(256)) {
+      double[] x = randomVector(random, 256);
+      double[] y = randomVector(random, 256);
+      int sx = arena.allocate();
+      int sy = arena.allocate();
+      arena.write(sx, x);
+      arena.write(sy, y);
+
+      double expected = EddyMath.angularSimilarity(x, y);
+      assertEquals(expected, arena.angularSimilarity(sx, y));
+      assertEquals(expected, arena.angularSimilarity(sx, sy));
+    }
+  }
+
+  @Test
+  void testRejectsWrongDimensions() {
+    try (var arena = new VectorArena(4)) {
+      int slot = arena.allocate();
+      assertThrows(IllegalArgumentException.class, () -> arena.write(slot, new double[3]));
+    }
+  }
+
+  @Test
+  void testOffHeapEngineMatchesHeapEngine() {
+    int dims = 32;
+    var heap = new EddyEngine(0.9, 0.3, 0.2, 5.0);
+    var offHeap = new EddyEngine(0.9, 0.3, 0.2, 5.0, EddyEngine.VectorStorage.OFF_HEAP, dims);
+    Random random = new Random(3);
+    try {
+      for (int i = 0; i < 500; i++) {
+        var state = new EddyState(
+          "eddy-" + random.nextInt(20),
+          randomVector(random, dims),
+          random.nextDouble() * 3,
+          random.nextBoolean() ? null : "parent-" + i
+        );
+        heap.ingest(state);
+        offHeap.ingest(state);
+      }
+
+      List<EddyState> expected = sorted(heap.snapshot());
+      List<EddyState> actual = sorted(offHeap.snapshot());
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals(expected.get(i).id(), actual.get(i).id());
+        assertEquals(expected.get(i).energy(), actual.get(i).energy());
+        assertEquals(expected.get(i).parentId(), actual.get(i).parentId());
+        assertArrayEquals(expected.get(i).vector(), actual.get(i).vector());
+      }
+      assertEquals(
+        heap.dominant().map(EddyState::id),
+        offHeap.dominant().map(EddyState::id)
+      );
+    } finally {
+      offHeap.close();
+    }
+  }
+
+  @Test
+  void testVectorStorageFromConfig() {
+    assertEquals(EddyEngine.VectorStorage.HEAP, EddyEngine.VectorStorage.fromConfig("heap"));
+    assertEquals(
+      EddyEngine.VectorStorage.OFF_HEAP,
+      EddyEngine.VectorStorage.fromConfig(" OffHeap ")
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> EddyEngine.VectorStorage.fromConfig("disk")
+    );
+  }
+
+  private static List<EddyState> sorted(List<EddyState> states) {
+    return states.stream().sorted(Comparator.comparing(EddyState::id)).toList();
+  }
+}
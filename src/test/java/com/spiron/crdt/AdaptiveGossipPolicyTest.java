@@ -0,0 +1,124 @@
+package com.spiron.crdt;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AdaptiveGossipPolicy.
+ *
+ * Validates:
+ * 1. Changed rounds shorten the interval and raise fanout (bounded)
+ * 2. No-op rounds back off the interval and lower fanout (bounded)
+ * 3. Peer selection prefers peers not synced with recently
+ * 4. An unresponsive peer backs off instead of winning every round
+ */
+public class AdaptiveGossipPolicyTest {
+
+  @Test
+  void testChangedRoundsSpeedUpWithinBounds() {
+    AdaptiveGossipPolicy policy = new AdaptiveGossipPolicy(400, 100, 1600, 1, 3, true, new Random(1));
+    assertThat(policy.nextIntervalMs()).isEqualTo(400);
+    assertThat(policy.currentFanout()).isEqualTo(1);
+
+    policy.onRoundComplete(true);
+    assertThat(policy.nextIntervalMs()).isEqualTo(200);
+    assertThat(policy.currentFanout()).isEqualTo(2);
+
+    for (int i = 0; i < 10; i++) {
+      policy.onRoundComplete(true);
+    }
+    assertThat(policy.nextIntervalMs()).isEqualTo(100);
+    assertThat(policy.currentFanout()).isEqualTo(3);
+  }
+
+  @Test
+  void testNoopRoundsBackOffWithinBounds() {
+    AdaptiveGossipPolicy policy = new AdaptiveGossipPolicy(400, 100, 1600, 1, 3, true, new Random(1));
+    policy.onRoundComplete(true);
+    policy.onRoundComplete(true);
+
+    policy.onRoundComplete(false);
+    assertThat(policy.nextIntervalMs()).isEqualTo(150);
+    assertThat(policy.currentFanout()).isEqualTo(2);
+
+    for (int i = 0; i < 20; i++) {
+      policy.onRoundComplete(false);
+    }
+    assertThat(policy.nextIntervalMs()).isEqualTo(1600);
+    assertThat(policy.currentFanout()).isEqualTo(1);
+  }
+
+  @Test
+  void testFixedPolicyNeverAdapts() {
+    AdaptiveGossipPolicy policy = AdaptiveGossipPolicy.fixed(500, new Random(1));
+    policy.onRoundComplete(true);
+    assertThat(policy.nextIntervalMs()).isEqualTo(500);
+    assertThat(policy.currentFanout()).isEqualTo(1);
+    policy.onRoundComplete(false);
+    assertThat(policy.nextIntervalMs()).isEqualTo(500);
+  }
+
+  @Test
+  void testSelectionPrefersLeastRecentlySyncedPeers() {
+    AdaptiveGossipPolicy policy = new AdaptiveGossipPolicy(400, 100, 1600, 1, 3, true, new Random(7));
+    List<String> peers = List.of("a", "b", "c", "d");
+
+    // Visiting one peer per round reaches every peer within N rounds
+    Set<String> visited = new HashSet<>();
+    for (int round = 0; round < peers.size(); round++) {
+      List<String> selected = policy.selectPeers(peers);
+      assertThat(selected).hasSize(1);
+      visited.add(selected.get(0));
+      policy.recordSync(selected.get(0), round);
+    }
+    assertThat(visited).containsExactlyInAnyOrderElementsOf(peers);
+
+    // Oldest sync first
+    policy.recordSync("a", 100);
+    policy.recordSync("b", 101);
+    policy.recordSync("c", 102);
+    policy.recordSync("d", 50);
+    assertThat(policy.selectPeers(peers)).containsExactly("d");
+  }
+
+  @Test
+  void testUnresponsivePeerDoesNotStallGossip() {
+    AdaptiveGossipPolicy policy = new AdaptiveGossipPolicy(400, 100, 1600, 1, 3, true, new Random(5));
+    List<String> peers = List.of("dead", "b", "c");
+    Map<String, Integer> visits = new HashMap<>();
+
+    for (int round = 0; round < 60; round++) {
+      String peer = policy.selectPeers(peers).get(0);
+      visits.merge(peer, 1, Integer::sum);
+      if (peer.equals("dead")) {
+        policy.recordFailure(peer, round);
+      } else {
+        policy.recordSync(peer, round);
+      }
+    }
+
+    // Live peers alternate; the dead one is retried with growing backoff (1, 2, 4, 8, 16, 32)
+    assertThat(visits.get("b")).isGreaterThanOrEqualTo(25);
+    assertThat(visits.get("c")).isGreaterThanOrEqualTo(25);
+    assertThat(visits.get("dead")).isBetween(2, 6);
+  }
+
+  @Test
+  void testFanoutNeverExceedsPeerCount() {
+    AdaptiveGossipPolicy policy = new AdaptiveGossipPolicy(400, 100, 1600, 1, 3, true, new Random(3));
+    policy.onRoundComplete(true);
+    policy.onRoundComplete(true);
+    assertThat(policy.selectPeers(List.of("a", "b"))).hasSize(2);
+    assertThat(policy.selectPeers(List.of())).isEmpty();
+  }
+
+  @Test
+  void testInvalidBoundsRejected() {
+    assertThatThrownBy(() -> new AdaptiveGossipPolicy(100, 200, 100, 1, 1, true, null))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AdaptiveGossipPolicy(100, 100, 100, 0, 1, true, null))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,112 @@
+package com.spiron.crdt;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.spiron.proto.EddyProto;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the compact ApprovalCounter representation.
+ *
+ * Validates:
+ * 1. Running cumulative stays correct across increments and merges
+ * 2. G-Counter merge properties (commutative, idempotent)
+ * 3. Proto round trip and equality independent of interning order
+ */
+public class ApprovalCounterTest {
+
+  @Test
+  void testIncrementMaintainsCumulative() {
+    ApprovalCounter counter = new ApprovalCounter();
+    counter.increment("ac-node-1");
+    counter.increment("ac-node-1");
+    counter.increment("ac-node-2");
+
+    assertThat(counter.get("ac-node-1")).isEqualTo(2);
+    assertThat(counter.get("ac-node-2")).isEqualTo(1);
+    assertThat(counter.get("ac-unknown")).isZero();
+    assertThat(counter.getCumulative()).isEqualTo(3);
+    assertThat(counter.isEmpty()).isFalse();
+  }
+
+  @Test
+  void testMergeIsElementWiseMax() {
+    ApprovalCounter a = new ApprovalCounter(Map.of("ac-node-1", 3L, "ac-node-2", 1L));
+    ApprovalCounter b = new ApprovalCounter(Map.of("ac-node-2", 4L, "ac-node-3", 2L));
+
+    ApprovalCounter ab = a.copy();
+    ab.merge(b);
+    ApprovalCounter ba = b.copy();
+    ba.merge(a);
+
+    assertThat(ab).isEqualTo(ba);
+    assertThat(ab.hashCode()).isEqualTo(ba.hashCode());
+    assertThat(ab.getPerReplicaMap())
+      .containsExactlyInAnyOrderEntriesOf(Map.of("ac-node-1", 3L, "ac-node-2", 4L, "ac-node-3", 2L));
+    assertThat(ab.getCumulative()).isEqualTo(9);
+
+    // Idempotent, and the merged-from copy is unaffected
+    ab.merge(b);
+    assertThat(ab.getCumulative()).isEqualTo(9);
+    assertThat(a.getCumulative()).isEqualTo(4);
+  }
+
+  @Test
+  void testProtoRoundTrip() {
+    EddyProto.ApprovalCounter proto = EddyProto.ApprovalCounter.newBuilder()
+      .putPerReplica("ac-node-1", 5L)
+      .putPerReplica("ac-node-4", 2L)
+      .build();
+
+    ApprovalCounter counter = ApprovalCounter.fromProto(proto);
+    assertThat(counter.getCumulative()).isEqualTo(7);
+    assertThat(counter.toProto()).isEqualTo(proto);
+
+    counter.merge(EddyProto.ApprovalCounter.newBuilder().putPerReplica("ac-node-4", 6L).build());
+    assertThat(counter.getCumulative()).isEqualTo(11);
+    assertThat(counter.toProto().getPerReplicaMap()).containsEntry("ac-node-4", 6L);
+  }
+
+  @Test
+  void testEmptyCountersAreEqualRegardlessOfCapacity() {
+    ApprovalCounter fresh = new ApprovalCounter();
+    ApprovalCounter zeroed = new ApprovalCounter(Map.of("ac-node-9", 0L));
+
+    assertThat(fresh.isEmpty()).isTrue();
+    assertThat(zeroed.isEmpty()).isTrue();
+    assertThat(zeroed).isEqualTo(fresh);
+    assertThat(zeroed.hashCode()).isEqualTo(fresh.hashCode());
+  }
+
+  @Test
+  void testFloodedCounterDoesNotAffectOtherCounters() {
+    var flood = EddyProto.ApprovalCounter.newBuilder();
+    for (int i = 0; i <= ApprovalCounter.MAX_REPLICAS; i++) {
+      flood.putPerReplica("ac-fake-" + i, 1L);
+    }
+    assertThatThrownBy(() -> ApprovalCounter.fromProto(flood.build()))
+      .isInstanceOf(IllegalArgumentException.class);
+
+    // Replica ids are per counter: a genuinely new replica still merges elsewhere
+    ApprovalCounter counter = new ApprovalCounter();
+    counter.merge(EddyProto.ApprovalCounter.newBuilder().putPerReplica("ac-node-new", 2L).build());
+    assertThat(counter.get("ac-node-new")).isEqualTo(2);
+    assertThat(counter.getCumulative()).isEqualTo(2);
+  }
+
+  @Test
+  void testEqualityIgnoresReplicaOrder() {
+    ApprovalCounter ab = new ApprovalCounter();
+    ab.increment("ac-node-a");
+    ab.increment("ac-node-b");
+    ApprovalCounter ba = new ApprovalCounter();
+    ba.increment("ac-node-b");
+    ba.increment("ac-node-a");
+
+    assertThat(ab).isEqualTo(ba);
+    assertThat(ab.hashCode()).isEqualTo(ba.hashCode());
+    ab.merge(ba);
+    assertThat(ab.getCumulative()).isEqualTo(2);
+  }
+}
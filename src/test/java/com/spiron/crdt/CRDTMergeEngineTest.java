@@ -18,6 +18,7 @@ import org.junit.jupiter.api.Test;
  * 2. Associativity: merge(a, merge(b, c)) == merge(merge(a, b), c)
  * 3. Idempotence: merge(a, a) == a
  * 4. Determinism: same inputs always produce same output
+ * 5. Fast paths: dominating or same-version inputs are returned without rebuilding
  */
 public class CRDTMergeEngineTest {
 
@@ -193,6 +194,51 @@ public class CRDTMergeEngineTest {
     assertThat(cumulative).isEqualTo(0);
   }
 
+  /**
+   * Test dominance: a side that wins LWW and has every approval count >= is returned as-is
+   */
+  @Test
+  void testDominatingEddyReturnedWithoutRebuild() {
+    CRDTEddy newer = eddy2.toBuilder()
+      .setApprovals(
+        ApprovalCounter.newBuilder()
+          .putPerReplica("replica-A", 3)
+          .putPerReplica("replica-C", 6)
+          .build()
+      )
+      .setLastUpdated(eddy1.getLastUpdated() + 1)
+      .build();
+
+    assertThat(CRDTMergeEngine.merge(eddy1, newer)).isSameAs(newer);
+    assertThat(CRDTMergeEngine.merge(newer, eddy1)).isSameAs(newer);
+  }
+
+  /**
+   * Test version equality: distinct but identical instances merge to the first one
+   */
+  @Test
+  void testSameVersionIgnoresInstanceIdentity() {
+    CRDTEddy copy = eddy1.toBuilder().build();
+
+    assertThat(CRDTMergeEngine.sameVersion(eddy1, copy)).isTrue();
+    assertThat(CRDTMergeEngine.merge(eddy1, copy)).isSameAs(eddy1);
+    assertThat(CRDTMergeEngine.sameVersion(eddy1, eddy2)).isFalse();
+    assertThat(CRDTMergeEngine.sameVersion(eddy1, null)).isFalse();
+  }
+
+  /**
+   * Test concurrent updates: neither side dominates, so a new eddy is built
+   */
+  @Test
+  void testConcurrentUpdatesStillMerged() {
+    // eddy2 wins LWW but eddy1 has more approvals on replica-A and replica-C
+    CRDTEddy merged = CRDTMergeEngine.merge(eddy1, eddy2);
+
+    assertThat(merged).isNotSameAs(eddy1).isNotSameAs(eddy2);
+    assertThat(merged.getState()).isSameAs(eddy2.getState());
+    assertThat(merged.getApprovals()).isSameAs(eddy1.getApprovals());
+  }
+
   // Helper: create a test eddy
   private CRDTEddy createEddy(
     String id,
@@ -0,0 +1,119 @@
+package com.spiron.crdt;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.spiron.proto.EddyProto;
+import com.spiron.proto.EddyProto.SyncRequest;
+import com.spiron.proto.EddyProto.SyncResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for EagerGossipPusher.
+ *
+ * Validates:
+ * 1. Writes within the coalescing window go out as one delta request
+ * 2. Each flush reaches exactly {@code fanout} peers, rotating through all peers
+ * 3. Fanout 0 disables eager push
+ */
+public class EagerGossipPusherTest {
+
+  /** Records every push as (peer, request). */
+  static class RecordingClient implements GossipScheduler.EddyGossipClient {
+
+    final List<String> peers = new CopyOnWriteArrayList<>();
+    final List<SyncRequest> requests = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Optional<SyncResponse> sync(String peerAddress, SyncRequest request) {
+      peers.add(peerAddress);
+      requests.add(request);
+      return Optional.of(
+        SyncResponse.newBuilder().setApplied(request.getEddiesCount()).build()
+      );
+    }
+  }
+
+  private EagerGossipPusher pusher;
+
+  @AfterEach
+  void tearDown() {
+    if (pusher != null) {
+      pusher.stop();
+    }
+  }
+
+  @Test
+  void testWritesWithinWindowAreCoalesced() {
+    RecordingClient client = new RecordingClient();
+    pusher = new EagerGossipPusher("node-1", List.of("p1:1"), 1, 100, client, null);
+
+    pusher.offer(eddy("eddy-1", 1L, 1.0));
+    pusher.offer(eddy("eddy-1", 2L, 2.0));
+    pusher.offer(eddy("eddy-2", 1L, 3.0));
+
+    Awaitility.await()
+      .atMost(Duration.ofSeconds(2))
+      .until(() -> client.requests.size() == 1);
+
+    SyncRequest request = client.requests.get(0);
+    assertThat(request.getDelta()).isTrue();
+    assertThat(request.getSenderId()).isEqualTo("node-1");
+    assertThat(request.getEddiesMap()).containsOnlyKeys("eddy-1", "eddy-2");
+    // LWW: the newer write of eddy-1 wins
+    assertThat(request.getEddiesMap().get("eddy-1").getState().getTimestamp()).isEqualTo(2L);
+    assertThat(pusher.getPendingCount()).isZero();
+  }
+
+  @Test
+  void testFanoutRotatesThroughPeers() {
+    RecordingClient client = new RecordingClient();
+    List<String> peers = List.of("p1:1", "p2:2", "p3:3", "p4:4");
+    pusher = new EagerGossipPusher("node-1", peers, 2, 0, client, null);
+
+    pusher.offer(eddy("eddy-1", 1L, 1.0));
+    Awaitility.await()
+      .atMost(Duration.ofSeconds(2))
+      .until(() -> client.requests.size() == 2);
+
+    pusher.offer(eddy("eddy-2", 1L, 1.0));
+    Awaitility.await()
+      .atMost(Duration.ofSeconds(2))
+      .until(() -> client.requests.size() == 4);
+
+    // Two flushes with fanout 2 cover all four peers exactly once
+    assertThat(client.peers).containsExactlyInAnyOrderElementsOf(peers);
+  }
+
+  @Test
+  void testZeroFanoutDisablesPush() throws Exception {
+    RecordingClient client = new RecordingClient();
+    pusher = new EagerGossipPusher("node-1", List.of("p1:1"), 0, 0, client, null);
+
+    assertThat(pusher.isEnabled()).isFalse();
+    pusher.offer(eddy("eddy-1", 1L, 1.0));
+    Thread.sleep(100);
+
+    assertThat(client.requests).isEmpty();
+    assertThat(pusher.getPendingCount()).isZero();
+  }
+
+  private static EddyProto.CRDTEddy eddy(String id, long timestamp, double value) {
+    return EddyProto.CRDTEddy.newBuilder()
+      .setId(id)
+      .setState(
+        EddyProto.CRDTVector.newBuilder()
+          .addVector(value)
+          .setTimestamp(timestamp)
+          .setReplicaId("node-1")
+          .build()
+      )
+      .setApprovals(EddyProto.ApprovalCounter.newBuilder().putPerReplica("node-1", 1L).build())
+      .setLastUpdated(timestamp)
+      .build();
+  }
+}
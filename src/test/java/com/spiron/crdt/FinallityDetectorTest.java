@@ -6,8 +6,10 @@ import com.spiron.proto.EddyProto.ApprovalCounter;
 import com.spiron.proto.EddyProto.CRDTEddy;
 import com.spiron.proto.EddyProto.CRDTVector;
 import java.util.*;
+import java.nio.file.Path;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Unit tests for Finality Detector.
@@ -16,16 +18,21 @@ import org.junit.jupiter.api.Test;
  * 1. Finality is reached when cumulative approvals >= threshold
  * 2. Once final, eddy cannot change (immutability)
  * 3. Finality is deterministic (independent of node order)
+ * 4. Finality survives a restart when the index is persistent
  */
 public class FinallityDetectorTest {
 
   private FinallityDetector detector;
+  private final Map<String, CRDTEddy> store = new HashMap<>();
   private CRDTEddy eddyBelowThreshold;
   private CRDTEddy eddyAboveThreshold;
 
   @BeforeEach
   void setup() {
-    detector = new FinallityDetector();
+    detector = new FinallityDetector(
+      FinalizedEddyIndex.inMemory(),
+      id -> Optional.ofNullable(store.get(id))
+    );
 
     // Eddy with cumulative approvals < 10 (below threshold)
     eddyBelowThreshold = CRDTEddy.newBuilder()
@@ -65,6 +72,9 @@ public class FinallityDetectorTest {
       )
       .setLastUpdated(System.currentTimeMillis())
       .build();
+
+    store.put(eddyBelowThreshold.getId(), eddyBelowThreshold);
+    store.put(eddyAboveThreshold.getId(), eddyAboveThreshold);
   }
 
   /**
@@ -200,9 +210,28 @@ public class FinallityDetectorTest {
     assertThat(finality1).isEqualTo(finality2);
   }
 
-  // Helper: create eddy with given cumulative approvals
+  /**
+   * Test persistence: a RocksDB-backed index keeps finality across reopen
+   */
+  @Test
+  void testFinalityPersistsAcrossReopen(@TempDir Path dir) {
+    try (FinalizedEddyIndex index = FinalizedEddyIndex.open(dir, 1000)) {
+      FinallityDetector persistent = new FinallityDetector(index, id -> Optional.empty());
+      assertThat(persistent.checkFinality("eddy-above", eddyAboveThreshold, 10)).contains(10L);
+      assertThat(persistent.isFinalized("eddy-below")).isFalse();
+    }
+
+    try (FinalizedEddyIndex reopened = FinalizedEddyIndex.open(dir, 1000)) {
+      assertThat(reopened.size()).isEqualTo(1);
+      assertThat(reopened.isFinalized("eddy-above")).isTrue();
+      assertThat(reopened.get("eddy-above")).map(FinalizedEddyIndex.Entry::cumulative).contains(10L);
+      assertThat(reopened.isFinalized("eddy-below")).isFalse();
+    }
+  }
+
+  // Helper: create eddy with given cumulative approvals (also stored for lazy loading)
   private CRDTEddy createEddy(String id, long cumulativeApprovals) {
-    return CRDTEddy.newBuilder()
+    CRDTEddy eddy = CRDTEddy.newBuilder()
       .setId(id)
       .setState(
         CRDTVector.newBuilder()
@@ -218,5 +247,7 @@ public class FinallityDetectorTest {
       )
       .setLastUpdated(System.currentTimeMillis())
       .build();
+    store.put(id, eddy);
+    return eddy;
   }
 }
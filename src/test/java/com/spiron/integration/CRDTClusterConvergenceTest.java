@@ -303,6 +303,21 @@ public class CRDTClusterConvergenceTest {
       return Optional.ofNullable(data.get("lineage:" + eddyId));
     }
 
+    @Override
+    public void putSpilled(String eddyId, String eddyJson) {
+      data.put("spill:" + eddyId, eddyJson);
+    }
+
+    @Override
+    public Optional<String> getSpilled(String eddyId) {
+      return Optional.ofNullable(data.get("spill:" + eddyId));
+    }
+
+    @Override
+    public void deleteSpilled(String eddyId) {
+      data.remove("spill:" + eddyId);
+    }
+
     @Override
     public void close() {}
   }
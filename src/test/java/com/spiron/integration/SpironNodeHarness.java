@@ -67,9 +67,30 @@ public class SpironNodeHarness {
       1000.0, // broadcastMaxEnergy
       "^[a-zA-Z0-9_-]{1,128}$", // broadcastIdPattern
       60000L, // broadcastDuplicateExpiryMs
+      100000, // broadcastDuplicateCapacity
+      1e-6, // broadcastDuplicateFalsePositiveRate
       100, // broadcastRateLimitPerSecond
       "", // broadcastPeerAllowlistRegex
-      3L // finalityThreshold
+      false, // broadcastRateLimitDistributed
+      3L, // finalityThreshold
+      2, // gossipPushFanout
+      20L, // gossipPushCoalesceMs
+      500L, // gossipIntervalMs
+      2000L, // gossipSyncTimeoutMs
+      "heap", // engineVectorStorage
+      0.0, // engineEvictionEnergyFloor
+      0L, // engineEvictionIdleTtlMs
+      0, // engineEvictionMaxEntries
+      "energy", // engineEvictionOrder
+      false, // engineEvictionSpill
+      0L, // engineDecayHalfLifeMs
+      2, // topicsCommitThreads
+      300L, // topicsCommitIntervalMs
+      600000L, // topicsIdleUnloadMs
+      4096, // commitsFeedCapacity
+      false, // virtualThreads
+      List.of(), // clusterPubkeys
+      1024 // topicsMaxLoaded
     );
 
     // Inject deterministic BlsSigner into Dagger before build
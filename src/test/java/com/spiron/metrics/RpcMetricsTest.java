@@ -38,4 +38,27 @@ public class RpcMetricsTest {
       .count();
     assertEquals(1.0, peerB, 0.0001);
   }
+
+  @Test
+  void inFlightGaugeAndPeerMeters() {
+    MeterRegistry reg = new MetricsRegistry().registry();
+    RpcMetrics m = new RpcMetrics(reg);
+
+    m.rpcStarted();
+    m.rpcStarted();
+    m.rpcFinished();
+    assertEquals(1.0, reg.get("spiron_rpc_inflight").gauge().value(), 0.0001);
+
+    // Registered once per peer; the helpers and the kept meters are the same meters
+    RpcMetrics.PeerMeters peer = m.forPeer("peer-b:1");
+    assertSame(peer, m.forPeer("peer-b:1"));
+    peer.incCommit();
+    m.incCommit("peer-b:1");
+    double commits = reg
+      .get("spiron_rpc_commit_total")
+      .tag("peer", "peer-b:1")
+      .counter()
+      .count();
+    assertEquals(2.0, commits, 0.0001);
+  }
 }
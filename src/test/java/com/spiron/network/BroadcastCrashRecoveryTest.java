@@ -118,6 +118,20 @@ class BroadcastCrashRecoveryTest {
     }
   }
 
+  @Test
+  void testGetAllReturnsOnlyEddiesAfterSideWrites() throws Exception {
+    EddyStateMsg msg = createTestMessage("eddy-side", 128, 10.0);
+    TestStreamObserver observer = new TestStreamObserver();
+    rpcService.broadcast(msg, observer);
+    assertEquals("ok", observer.getStatus());
+
+    // Lineage and spill entries share the database with the eddies
+    crdtStore.putLineage("eddy-side", "[\"eddy-parent\"]");
+    crdtStore.putSpilled("eddy-spilled", "{}");
+
+    assertEquals(List.of("eddy-side"), List.copyOf(crdtStore.getAll().keySet()));
+  }
+
   @Test
   void testValidationRejectionNotPersisted() {
     // Create invalid message (wrong dimensions)
@@ -0,0 +1,165 @@
+package com.spiron.network;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.spiron.proto.EddyProto.CommitBody;
+import com.spiron.proto.EddyProto.CommitCertificate;
+import com.spiron.security.BlsSigner;
+import com.spiron.security.ClusterKeys;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Aggregated commit certificates and batched commit signature verification.
+ *
+ * Validates:
+ * 1. A quorum certificate verifies with one aggregate check and reports its signers
+ * 2. Duplicate signers, a different body or a missing signature are rejected
+ * 3. Signers outside the cluster and sub-quorum certificates are rejected
+ * 4. The batcher resolves every queued check with its own result
+ * 5. A full verification queue rejects instead of growing
+ */
+public class CommitCertificatesTest {
+
+  private static final CommitBody BODY = CommitBody.newBuilder()
+    .setId("eddy-1")
+    .addVector(0.5)
+    .setEnergy(2.0)
+    .build();
+
+  @Test
+  void testQuorumCertificateVerifies() {
+    BlsSigner s1 = new BlsSigner();
+    BlsSigner s2 = new BlsSigner();
+    BlsSigner s3 = new BlsSigner();
+    byte[] msg = BODY.toByteArray();
+
+    CommitCertificate cert = CommitCertificates.build(
+      List.of(pk(s1), pk(s2), pk(s3)),
+      List.of(s1.sign(msg), s2.sign(msg), s3.sign(msg))
+    );
+
+    ClusterKeys cluster = ClusterKeys.of(List.of(pk(s1), pk(s2), pk(s3)));
+    assertThat(CommitCertificates.verify(cert, BODY, cluster)).isEqualTo(3);
+    assertThat(CommitCertificates.verifyQuorum(cert, BODY, cluster, null)).isTrue();
+  }
+
+  @Test
+  void testInvalidCertificatesRejected() {
+    BlsSigner s1 = new BlsSigner();
+    BlsSigner s2 = new BlsSigner();
+    byte[] msg = BODY.toByteArray();
+    ClusterKeys cluster = ClusterKeys.of(List.of(pk(s1), pk(s2)));
+
+    CommitCertificate duplicate = CommitCertificates.build(
+      List.of(pk(s1), pk(s1)),
+      List.of(s1.sign(msg), s1.sign(msg))
+    );
+    assertThat(CommitCertificates.verify(duplicate, BODY, cluster)).isZero();
+
+    CommitCertificate valid = CommitCertificates.build(
+      List.of(pk(s1), pk(s2)),
+      List.of(s1.sign(msg), s2.sign(msg))
+    );
+    CommitBody otherBody = BODY.toBuilder().setEnergy(3.0).build();
+    assertThat(CommitCertificates.verify(valid, otherBody, cluster)).isZero();
+
+    CommitCertificate missingSigner = valid.toBuilder()
+      .setAggregateSignature(
+        com.google.protobuf.ByteString.copyFrom(BlsSigner.aggregate(List.of(s1.sign(msg))))
+      )
+      .build();
+    assertThat(CommitCertificates.verify(missingSigner, BODY, cluster)).isZero();
+  }
+
+  @Test
+  void testSignersOutsideClusterAndBelowQuorumRejected() {
+    BlsSigner s1 = new BlsSigner();
+    BlsSigner s2 = new BlsSigner();
+    BlsSigner s3 = new BlsSigner();
+    BlsSigner outsider = new BlsSigner();
+    byte[] msg = BODY.toByteArray();
+    ClusterKeys cluster = ClusterKeys.of(List.of(pk(s1), pk(s2), pk(s3)));
+
+    // Validly signed, but by a key the cluster does not know
+    CommitCertificate foreign = CommitCertificates.build(
+      List.of(pk(s1), pk(outsider)),
+      List.of(s1.sign(msg), outsider.sign(msg))
+    );
+    assertThat(CommitCertificates.verify(foreign, BODY, cluster)).isZero();
+    assertThat(CommitCertificates.verify(foreign, BODY, ClusterKeys.none())).isZero();
+
+    // Valid cluster signature, but one of three is not a majority
+    CommitCertificate single = CommitCertificates.build(List.of(pk(s1)), List.of(s1.sign(msg)));
+    assertThat(CommitCertificates.verify(single, BODY, cluster)).isEqualTo(1);
+    assertThat(CommitCertificates.verifyQuorum(single, BODY, cluster, null)).isFalse();
+
+    CommitCertificate majority = CommitCertificates.build(
+      List.of(pk(s1), pk(s3)),
+      List.of(s1.sign(msg), s3.sign(msg))
+    );
+    assertThat(CommitCertificates.verifyQuorum(majority, BODY, cluster, null)).isTrue();
+  }
+
+  @Test
+  void testBatcherResolvesEachCheck() {
+    CommitVerificationBatcher batcher = new CommitVerificationBatcher(2, 64, 8, null);
+    try {
+      BlsSigner s1 = new BlsSigner();
+      BlsSigner s2 = new BlsSigner();
+      byte[] msg = BODY.toByteArray();
+      byte[] other = "other".getBytes();
+
+      CompletableFuture<Boolean> good1 = batcher.verify(s1.publicKey(), msg, s1.sign(msg));
+      CompletableFuture<Boolean> good2 = batcher.verify(s2.publicKey(), msg, s2.sign(msg));
+      CompletableFuture<Boolean> bad = batcher.verify(s2.publicKey(), msg, s2.sign(other));
+
+      assertThat(good1.join()).isTrue();
+      assertThat(good2.join()).isTrue();
+      assertThat(bad.join()).isFalse();
+    } finally {
+      batcher.shutdown();
+    }
+  }
+
+  @Test
+  void testFullQueueRejects() throws Exception {
+    CommitVerificationBatcher batcher = new CommitVerificationBatcher(1, 1, 8, null);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      // Occupy the only worker, then fill the single queue slot
+      CompletableFuture<Boolean> busy = batcher.submit(() -> {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return true;
+      });
+      started.await();
+      CompletableFuture<Boolean> queued = batcher.submit(() -> true);
+      CompletableFuture<Boolean> rejected = batcher.submit(() -> true);
+
+      assertThatThrownBy(rejected::join)
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(RejectedExecutionException.class);
+
+      release.countDown();
+      assertThat(busy.join()).isTrue();
+      assertThat(queued.join()).isTrue();
+    } finally {
+      release.countDown();
+      batcher.shutdown();
+    }
+  }
+
+  private static byte[] pk(BlsSigner signer) {
+    return BlsSigner.serializePublicKey(signer.publicKey());
+  }
+}
@@ -0,0 +1,95 @@
+package com.spiron.network;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.spiron.proto.EddyProto;
+import com.spiron.proto.EddyProto.SyncRequest;
+import com.spiron.proto.EddyProto.SyncResponse;
+import com.spiron.serialization.CRDTJsonCodec;
+import com.spiron.storage.RocksDbCRDTStore;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * GrpcEddyGossipClient against a real EddyGossipService over gRPC.
+ *
+ * Validates:
+ * 1. Sync merges into the peer's store and returns its state
+ * 2. One channel per peer is reused across calls
+ * 3. An unreachable peer yields empty instead of throwing
+ */
+public class GrpcEddyGossipClientTest {
+
+  @TempDir
+  Path tempDir;
+
+  private RocksDbCRDTStore peerStore;
+  private Server server;
+  private GrpcEddyGossipClient client;
+  private final CRDTJsonCodec codec = new CRDTJsonCodec();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    peerStore = new RocksDbCRDTStore(tempDir);
+    server = ServerBuilder.forPort(0)
+      .addService(new EddyGossipService(peerStore, codec, 3))
+      .build()
+      .start();
+    client = new GrpcEddyGossipClient(1000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.shutdown();
+    server.shutdownNow();
+    peerStore.close();
+  }
+
+  @Test
+  void testSyncMergesIntoPeerAndReusesChannel() {
+    String peer = "localhost:" + server.getPort();
+    SyncRequest request = SyncRequest.newBuilder()
+      .setSenderId("node-1")
+      .putEddies("eddy-1", eddy("eddy-1", 100L))
+      .build();
+
+    Optional<SyncResponse> first = client.sync(peer, request);
+    assertThat(first).isPresent();
+    assertThat(first.get().getApplied()).isEqualTo(1);
+    assertThat(first.get().getEddiesMap()).containsKey("eddy-1");
+    assertThat(peerStore.exists("eddy-1")).isTrue();
+
+    // Same state again: nothing applied, same channel
+    Optional<SyncResponse> second = client.sync(peer, request);
+    assertThat(second).isPresent();
+    assertThat(second.get().getApplied()).isZero();
+    assertThat(client.getChannelCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testUnreachablePeerReturnsEmpty() {
+    SyncRequest request = SyncRequest.newBuilder().setSenderId("node-1").build();
+    assertThat(client.sync("localhost:1", request)).isEmpty();
+  }
+
+  private static EddyProto.CRDTEddy eddy(String id, long timestamp) {
+    return EddyProto.CRDTEddy.newBuilder()
+      .setId(id)
+      .setState(
+        EddyProto.CRDTVector.newBuilder()
+          .addVector(1.0)
+          .setTimestamp(timestamp)
+          .setReplicaId("node-1")
+          .build()
+      )
+      .setApprovals(EddyProto.ApprovalCounter.newBuilder().putPerReplica("node-1", 1L).build())
+      .setLastUpdated(timestamp)
+      .build();
+  }
+}
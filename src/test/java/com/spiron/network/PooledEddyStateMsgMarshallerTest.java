@@ -0,0 +1,157 @@
+package com.spiron.network;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.google.protobuf.CodedOutputStream;
+import com.spiron.proto.EddyProto.EddyStateMsg;
+import io.grpc.StatusRuntimeException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * PooledEddyStateMsgMarshaller: EddyStateMsg decoded into pooled vector slabs.
+ *
+ * Validates:
+ * 1. Messages from the generated encoder decode to the same id, topic, energy and vector
+ * 2. Unpacked vectors and unknown fields are accepted
+ * 3. Released slabs are reused; oversized vectors bypass the pool
+ * 4. Malformed input fails with INTERNAL and returns its slab
+ * 5. A huge declared vector length does not size the allocation
+ */
+public class PooledEddyStateMsgMarshallerTest {
+
+  private static final int DIMS = 64;
+
+  private static EddyStateMsg message(int dims) {
+    var builder = EddyStateMsg.newBuilder().setId("eddy-1").setEnergy(4.25);
+    for (int i = 0; i < dims; i++) {
+      builder.addVector(i * 0.5 - 3);
+    }
+    return builder.build();
+  }
+
+  @Test
+  void testDecodesGeneratedEncoding() {
+    var pool = new VectorSlabPool(DIMS * 8, 4);
+    var marshaller = new PooledEddyStateMsgMarshaller(pool);
+    var expected = message(DIMS);
+
+    var decoded = marshaller.parse(new ByteArrayInputStream(expected.toByteArray()));
+
+    assertThat(decoded.getId()).isEqualTo("eddy-1");
+    assertThat(decoded.getTopic()).isEmpty();
+    assertThat(decoded.getEnergy()).isEqualTo(4.25);
+    assertThat(decoded.getVectorCount()).isEqualTo(DIMS);
+    assertThat(decoded.toProto()).isEqualTo(expected);
+    decoded.release();
+  }
+
+  @Test
+  void testDecodesTopic() {
+    var expected = message(DIMS).toBuilder().setTopic("session-42").build();
+
+    var decoded = new PooledEddyStateMsgMarshaller(new VectorSlabPool(DIMS * 8, 1))
+      .parse(new ByteArrayInputStream(expected.toByteArray()));
+
+    assertThat(decoded.getTopic()).isEqualTo("session-42");
+    assertThat(decoded.toProto()).isEqualTo(expected);
+    decoded.release();
+  }
+
+  @Test
+  void testUnpackedVectorAndUnknownFields() throws Exception {
+    var bytes = new ByteArrayOutputStream();
+    var out = CodedOutputStream.newInstance(bytes);
+    out.writeString(1, "eddy-2");
+    out.writeUInt64(99, 7); // unknown field
+    for (int i = 0; i < 3; i++) {
+      out.writeDouble(2, i + 1.0); // unpacked
+    }
+    out.writeDouble(3, 1.5);
+    out.flush();
+
+    var decoded = new PooledEddyStateMsgMarshaller(new VectorSlabPool(16, 1))
+      .parse(new ByteArrayInputStream(bytes.toByteArray()));
+
+    assertThat(decoded.getId()).isEqualTo("eddy-2");
+    assertThat(decoded.getEnergy()).isEqualTo(1.5);
+    assertThat(decoded.getVectorCount()).isEqualTo(3);
+    assertThat(decoded.getVector(2)).isEqualTo(3.0);
+    decoded.release();
+  }
+
+  @Test
+  void testSlabsAreReused() {
+    var pool = new VectorSlabPool(DIMS * 8, 4);
+    var marshaller = new PooledEddyStateMsgMarshaller(pool);
+    byte[] wire = message(DIMS).toByteArray();
+
+    for (int i = 0; i < 100; i++) {
+      marshaller.parse(new ByteArrayInputStream(wire)).release();
+    }
+
+    assertThat(pool.getAllocatedCount()).isEqualTo(1);
+    assertThat(pool.getReusedCount()).isEqualTo(99);
+    assertThat(pool.getPooledCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testOversizedVectorIsNotPooled() {
+    var pool = new VectorSlabPool(DIMS * 8, 4);
+    var decoded = new PooledEddyStateMsgMarshaller(pool)
+      .parse(new ByteArrayInputStream(message(DIMS * 2).toByteArray()));
+
+    assertThat(decoded.getVectorCount()).isEqualTo(DIMS * 2);
+    decoded.release();
+    assertThat(pool.getPooledCount()).isZero();
+  }
+
+  @Test
+  void testRefCounting() {
+    var pool = new VectorSlabPool(DIMS * 8, 4);
+    var slab = pool.acquire(DIMS * 8).retain();
+
+    slab.release();
+    assertThat(pool.getPooledCount()).isZero();
+    slab.release();
+    assertThat(pool.getPooledCount()).isEqualTo(1);
+    assertThatThrownBy(slab::release).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(slab::retain).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void testMalformedInputReturnsSlab() {
+    var pool = new VectorSlabPool(DIMS * 8, 4);
+    byte[] wire = message(DIMS).toByteArray();
+    byte[] truncated = java.util.Arrays.copyOf(wire, wire.length - 20);
+
+    assertThatThrownBy(() ->
+      new PooledEddyStateMsgMarshaller(pool).parse(new ByteArrayInputStream(truncated))
+    )
+      .isInstanceOf(StatusRuntimeException.class)
+      .hasMessageContaining("INTERNAL");
+    assertThat(pool.getPooledCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testHugeDeclaredLengthIsNotPreallocated() throws Exception {
+    var bytes = new ByteArrayOutputStream();
+    var out = CodedOutputStream.newInstance(bytes);
+    out.writeString(1, "eddy-3");
+    out.writeTag(2, com.google.protobuf.WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    out.writeUInt32NoTag(1 << 30); // 1 GB of doubles claimed, 8 bytes sent
+    out.writeFixed64NoTag(1L);
+    out.flush();
+    var pool = new VectorSlabPool(DIMS * 8, 4);
+
+    assertThatThrownBy(() ->
+      new PooledEddyStateMsgMarshaller(pool).parse(new ByteArrayInputStream(bytes.toByteArray()))
+    )
+      .isInstanceOf(StatusRuntimeException.class)
+      .hasMessageContaining("INTERNAL");
+    // One capped heap preallocation (never pooled), not a 1 GB buffer
+    assertThat(pool.getAllocatedCount()).isEqualTo(1);
+    assertThat(pool.getPooledCount()).isZero();
+  }
+}
@@ -0,0 +1,61 @@
+package com.spiron.network;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.spiron.core.EddyState;
+import com.spiron.proto.EddyProto.CommitBody;
+import com.spiron.proto.EddyProto.EddyStateMsg;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ProtoVectors: primitive copies between double[] and repeated double fields.
+ *
+ * Validates:
+ * 1. A vector survives encode, wire round trip and decode unchanged
+ * 2. Encoded bytes match the boxed list path, so signed commit bodies are unchanged
+ */
+public class ProtoVectorsTest {
+
+  private static double[] randomVector(int dims) {
+    Random random = new Random(7);
+    double[] vec = new double[dims];
+    for (int i = 0; i < dims; i++) {
+      vec[i] = random.nextGaussian();
+    }
+    return vec;
+  }
+
+  @Test
+  void testRoundTrip() throws Exception {
+    double[] vec = randomVector(4096);
+    var builder = EddyStateMsg.newBuilder().setId("eddy-1").setEnergy(2.0);
+    ProtoVectors.addAll(vec, builder::addVector);
+
+    var parsed = EddyStateMsg.parseFrom(builder.build().toByteArray());
+
+    assertThat(ProtoVectors.toArray(parsed.getVectorCount(), parsed::getVector))
+      .containsExactly(vec);
+  }
+
+  @Test
+  void testCommitBodyBytesMatchBoxedEncoding() {
+    double[] vec = randomVector(512);
+    var boxed = CommitBody.newBuilder()
+      .setId("eddy-1")
+      .addAllVector(Arrays.stream(vec).boxed().collect(Collectors.toList()))
+      .setEnergy(3.5)
+      .build();
+
+    var primitive = RpcClient.toCommitBody(new EddyState("eddy-1", vec, 3.5, null));
+
+    assertThat(primitive.toByteArray()).isEqualTo(boxed.toByteArray());
+  }
+
+  @Test
+  void testEmptyVector() {
+    assertThat(ProtoVectors.toArray(0, i -> 1.0)).isEmpty();
+  }
+}
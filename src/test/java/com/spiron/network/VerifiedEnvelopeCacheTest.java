@@ -0,0 +1,78 @@
+package com.spiron.network;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * VerifiedEnvelopeCache: short-lived memo of verified commit envelopes.
+ *
+ * Validates:
+ * 1. A verified envelope hits until its TTL elapses
+ * 2. Changing the signer key, body or signature changes the key
+ * 3. The cache stays within its bound, dropping the oldest entries first
+ */
+public class VerifiedEnvelopeCacheTest {
+
+  private static final byte[] PK = bytes("pk");
+  private static final byte[] BODY = bytes("body");
+  private static final byte[] SIG = bytes("sig");
+
+  @Test
+  void testHitUntilExpiry() {
+    AtomicLong now = new AtomicLong(1_000);
+    var cache = new VerifiedEnvelopeCache(100, 16, now::get);
+    ByteBuffer key = VerifiedEnvelopeCache.key(PK, BODY, SIG);
+
+    assertThat(cache.isVerified(key)).isFalse();
+    cache.markVerified(key);
+    assertThat(cache.isVerified(VerifiedEnvelopeCache.key(PK, BODY, SIG))).isTrue();
+
+    now.addAndGet(100);
+    assertThat(cache.isVerified(key)).isFalse();
+    assertThat(cache.hits()).isEqualTo(1);
+    assertThat(cache.misses()).isEqualTo(2);
+  }
+
+  @Test
+  void testKeyCoversSignerBodyAndSignature() {
+    ByteBuffer key = VerifiedEnvelopeCache.key(PK, BODY, SIG);
+    assertThat(VerifiedEnvelopeCache.key(bytes("pk2"), BODY, SIG)).isNotEqualTo(key);
+    assertThat(VerifiedEnvelopeCache.key(PK, bytes("body2"), SIG)).isNotEqualTo(key);
+    assertThat(VerifiedEnvelopeCache.key(PK, BODY, bytes("sig2"))).isNotEqualTo(key);
+    // Shifting bytes between fields must not collide
+    assertThat(VerifiedEnvelopeCache.key(bytes("pkb"), bytes("ody"), SIG)).isNotEqualTo(key);
+  }
+
+  @Test
+  void testBounded() {
+    var cache = new VerifiedEnvelopeCache(60_000, 8, System::currentTimeMillis);
+    for (int i = 0; i < 100; i++) {
+      cache.markVerified(VerifiedEnvelopeCache.key(PK, bytes("body-" + i), SIG));
+    }
+    assertThat(cache.size()).isLessThanOrEqualTo(8);
+    // The newest entries survive
+    assertThat(cache.isVerified(VerifiedEnvelopeCache.key(PK, bytes("body-99"), SIG))).isTrue();
+    assertThat(cache.isVerified(VerifiedEnvelopeCache.key(PK, bytes("body-0"), SIG))).isFalse();
+  }
+
+  @Test
+  void testExpiredEntriesDroppedOnInsert() {
+    AtomicLong now = new AtomicLong(1_000);
+    var cache = new VerifiedEnvelopeCache(100, 16, now::get);
+    cache.markVerified(VerifiedEnvelopeCache.key(PK, bytes("old-1"), SIG));
+    cache.markVerified(VerifiedEnvelopeCache.key(PK, bytes("old-2"), SIG));
+
+    now.addAndGet(100);
+    cache.markVerified(VerifiedEnvelopeCache.key(PK, bytes("new"), SIG));
+
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -3,6 +3,8 @@ package com.spiron.security;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.apache.tuweni.crypto.mikuli.PublicKey;
 import org.junit.jupiter.api.Test;
@@ -61,8 +63,8 @@ class BlsSignerTest {
 
   @Test
   void aggregate_two_signatures_currently_not_verified_by_simplified_impl() {
-    // NOTE: Your current verifyAggregate() verifies each message against the same aggregate signature.
-    // That is NOT true BLS multi-agg verification, so we expect it to return false here.
+    // Distinct-message aggregates need one pairing per message, which verifyAggregate()
+    // does not do; only same-message (fast) aggregates are accepted.
     BlsSigner s1 = new BlsSigner();
     BlsSigner s2 = new BlsSigner();
 
@@ -84,6 +86,81 @@ class BlsSignerTest {
     );
   }
 
+  @Test
+  void fast_aggregate_verify_same_message_ok() {
+    BlsSigner s1 = new BlsSigner();
+    BlsSigner s2 = new BlsSigner();
+    BlsSigner s3 = new BlsSigner();
+    byte[] msg = "spiron:quorum".getBytes(StandardCharsets.UTF_8);
+
+    byte[] agg = BlsSigner.aggregate(List.of(s1.sign(msg), s2.sign(msg), s3.sign(msg)));
+    List<PublicKey> keys = List.of(s1.publicKey(), s2.publicKey(), s3.publicKey());
+
+    assertTrue(BlsSigner.fastAggregateVerify(keys, msg, agg));
+    assertTrue(BlsSigner.verifyAggregate(keys, List.of(msg, msg, msg), agg));
+    // A missing signer must fail
+    assertFalse(
+      BlsSigner.fastAggregateVerify(List.of(s1.publicKey(), s2.publicKey()), msg, agg)
+    );
+  }
+
+  @Test
+  void verify_batch_isolates_bad_signatures() {
+    BlsSigner s1 = new BlsSigner();
+    BlsSigner s2 = new BlsSigner();
+    BlsSigner s3 = new BlsSigner();
+    byte[] shared = "spiron:shared".getBytes(StandardCharsets.UTF_8);
+    byte[] other = "spiron:other".getBytes(StandardCharsets.UTF_8);
+
+    boolean[] results = BlsSigner.verifyBatch(
+      List.of(s1.publicKey(), s2.publicKey(), s3.publicKey(), s1.publicKey()),
+      List.of(shared, shared, shared, other),
+      // s3's signature is over the wrong message
+      List.of(s1.sign(shared), s2.sign(shared), s3.sign(other), s1.sign(other))
+    );
+
+    assertArrayEquals(new boolean[] { true, true, false, true }, results);
+  }
+
+  @Test
+  void verify_batch_rejects_cancelling_signatures() {
+    BlsSigner s1 = new BlsSigner();
+    BlsSigner s2 = new BlsSigner();
+    byte[] msg = "spiron:cancel".getBytes(StandardCharsets.UTF_8);
+
+    // Swapped signatures are σ1+Δ and σ2−Δ with Δ = σ2−σ1: their sum is a valid
+    // aggregate for both keys, but neither is valid for its own key
+    boolean[] results = BlsSigner.verifyBatch(
+      List.of(s1.publicKey(), s2.publicKey()),
+      List.of(msg, msg),
+      List.of(s2.sign(msg), s1.sign(msg))
+    );
+
+    assertArrayEquals(new boolean[] { false, false }, results);
+  }
+
+  @Test
+  void verify_batch_bisects_to_the_bad_signature() {
+    byte[] msg = "spiron:many".getBytes(StandardCharsets.UTF_8);
+    byte[] wrong = "spiron:wrong".getBytes(StandardCharsets.UTF_8);
+    List<PublicKey> keys = new ArrayList<>();
+    List<byte[]> sigs = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      BlsSigner s = new BlsSigner();
+      keys.add(s.publicKey());
+      sigs.add(s.sign(i == 5 ? wrong : msg));
+    }
+    sigs.add(new byte[] { 1, 2, 3 }); // undecodable
+    keys.add(keys.get(0));
+
+    boolean[] results = BlsSigner.verifyBatch(keys, Collections.nCopies(9, msg), sigs);
+
+    assertArrayEquals(
+      new boolean[] { true, true, true, true, true, false, true, true, false },
+      results
+    );
+  }
+
   @Test
   void verify_rejects_size_mismatch() {
     BlsSigner s = new BlsSigner();
@@ -154,4 +231,22 @@ class BlsSignerTest {
       BlsSigner.verifyAggregate(List.of(s.publicKey()), List.of(msg), sig)
     );
   }
+
+  @Test
+  void public_key_cache_decodes_each_key_once() {
+    BlsSigner s = new BlsSigner();
+    byte[] pkBytes = BlsSigner.serializePublicKey(s.publicKey());
+    PublicKeyCache cache = new PublicKeyCache(2);
+
+    PublicKey first = cache.get(pkBytes);
+    PublicKey second = cache.get(pkBytes.clone());
+    assertSame(first, second);
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+
+    // Bounded: a third distinct key evicts instead of growing
+    cache.get(BlsSigner.serializePublicKey(new BlsSigner().publicKey()));
+    cache.get(BlsSigner.serializePublicKey(new BlsSigner().publicKey()));
+    assertEquals(2, cache.size());
+  }
 }
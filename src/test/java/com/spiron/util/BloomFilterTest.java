@@ -0,0 +1,56 @@
+package com.spiron.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for BloomFilter.
+ *
+ * Validates:
+ * 1. No false negatives
+ * 2. False positive rate close to the configured target
+ * 3. clear() resets the filter
+ */
+public class BloomFilterTest {
+
+  @Test
+  void testNoFalseNegatives() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("eddy-" + i);
+    }
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(filter.mightContain("eddy-" + i)).isTrue();
+    }
+  }
+
+  @Test
+  void testFalsePositiveRateNearTarget() {
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("eddy-" + i);
+    }
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("other-" + i)) falsePositives++;
+    }
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+  }
+
+  @Test
+  void testClear() {
+    BloomFilter filter = new BloomFilter(100, 0.01);
+    filter.put("eddy-1");
+    filter.clear();
+    assertThat(filter.mightContain("eddy-1")).isFalse();
+  }
+
+  @Test
+  void testInvalidSizingRejected() {
+    assertThatThrownBy(() -> new BloomFilter(0, 0.01))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BloomFilter(100, 1.0))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+}
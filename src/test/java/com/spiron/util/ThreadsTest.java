@@ -0,0 +1,50 @@
+package com.spiron.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ThreadsTest {
+
+  @Test
+  void platformPool_usesNamedDaemonThreads() throws Exception {
+    ExecutorService pool = Threads.blockingPool("test-platform", 2, false);
+    try {
+      Thread t = pool.submit(Thread::currentThread).get();
+      assertThat(t.isVirtual()).isFalse();
+      assertThat(t.isDaemon()).isTrue();
+      assertThat(t.getName()).startsWith("test-platform-");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void virtualPool_runsBlockingTasksWithoutQueueing() throws Exception {
+    ExecutorService pool = Threads.blockingPool("test-virtual", 1, true);
+    int tasks = 100;
+    var started = new CountDownLatch(tasks);
+    var release = new CountDownLatch(1);
+    try {
+      for (int i = 0; i < tasks; i++) {
+        pool.execute(() -> {
+          assertThat(Thread.currentThread().isVirtual()).isTrue();
+          started.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+      }
+      // Every task is blocked at once, far more than the platform pool size
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      release.countDown();
+      pool.shutdownNow();
+    }
+  }
+}
@@ -141,4 +141,95 @@ class BroadcastValidatorTest {
     var state2 = new EddyState("test-eddy", vec, 100.0, null);
     assertTrue(validator.validate(state2).isValid());
   }
+
+  @Test
+  void testDefaultIdCharsetMatchesRegex() {
+    var regex = java.util.regex.Pattern.compile(BroadcastValidator.DEFAULT_ID_PATTERN);
+    String[] ids = {
+      "a", "eddy-1_X", "Z9", "-", "_", "has space", "tab\t", "dot.id", "\u00fcnicode",
+      "slash/id", "a".repeat(128), "a".repeat(129), "x\n",
+    };
+    for (String id : ids) {
+      assertEquals(
+        regex.matcher(id).matches(),
+        BroadcastValidator.isDefaultIdCharset(id),
+        "Charset check disagrees with regex for: " + id
+      );
+    }
+  }
+
+  @Test
+  void testCustomIdPatternUsesRegex() {
+    var config = new BroadcastValidationConfig(
+      VECTOR_DIM, 0.0, 100.0, "^eddy-[0-9]+$", 60000, 100, ""
+    );
+    var custom = new BroadcastValidator(config);
+    double[] vec = new double[VECTOR_DIM];
+
+    assertTrue(custom.validate(new EddyState("eddy-42", vec, 1.0, null)).isValid());
+    assertEquals(
+      "ID_INVALID_FORMAT",
+      custom.validate(new EddyState("eddy_42", vec, 1.0, null)).errorCode()
+    );
+  }
+
+  @Test
+  void testDecodeReturnsState() {
+    double[] wire = new double[VECTOR_DIM];
+    wire[0] = 3.0;
+    wire[1] = 4.0;
+
+    var decoded = validator.decode("test-eddy", wire.length, i -> wire[i], 50.0);
+
+    assertTrue(decoded.isValid());
+    assertEquals("test-eddy", decoded.state().id());
+    assertArrayEquals(wire, decoded.state().vector());
+    assertEquals(50.0, decoded.state().energy());
+    assertNull(decoded.state().parentId());
+  }
+
+  @Test
+  void testDecodeRejectsLikeValidate() {
+    double[] nan = new double[VECTOR_DIM];
+    nan[7] = Double.NaN;
+    double[] inf = new double[VECTOR_DIM];
+    inf[3] = Double.NEGATIVE_INFINITY;
+    double[] ok = new double[VECTOR_DIM];
+    double[] shortVec = new double[VECTOR_DIM - 1];
+
+    assertDecodeMatchesValidate("test-eddy", nan, 50.0, "VECTOR_INVALID_VALUE");
+    assertDecodeMatchesValidate("test-eddy", inf, 50.0, "VECTOR_INVALID_VALUE");
+    assertDecodeMatchesValidate("test-eddy", shortVec, 50.0, "VECTOR_DIMENSION_MISMATCH");
+    assertDecodeMatchesValidate("bad id", ok, 50.0, "ID_INVALID_FORMAT");
+    assertDecodeMatchesValidate("", ok, 50.0, "ID_EMPTY");
+    assertDecodeMatchesValidate("test-eddy", ok, 150.0, "ENERGY_TOO_HIGH");
+    assertDecodeMatchesValidate("test-eddy", nan, 150.0, "VECTOR_INVALID_VALUE");
+  }
+
+  @Test
+  void testDecodeAcceptsHugeFiniteValues() {
+    double[] huge = new double[VECTOR_DIM];
+    huge[0] = Double.MAX_VALUE;
+    huge[1] = Double.MAX_VALUE;
+
+    var decoded = validator.decode("test-eddy", huge.length, i -> huge[i], 50.0);
+
+    assertTrue(decoded.isValid(), "Finite elements are valid even if their squares overflow");
+    assertArrayEquals(huge, decoded.state().vector());
+  }
+
+  private void assertDecodeMatchesValidate(
+    String id,
+    double[] vec,
+    double energy,
+    String expectedCode
+  ) {
+    var viaValidate = validator.validate(new EddyState(id, vec, energy, null));
+    var viaDecode = validator.decode(id, vec.length, i -> vec[i], energy);
+    assertFalse(viaDecode.isValid());
+    assertNull(viaDecode.state());
+    assertEquals(expectedCode, viaValidate.errorCode());
+    assertEquals(viaValidate.errorCode(), viaDecode.result().errorCode());
+    assertEquals(viaValidate.errorMessage(), viaDecode.result().errorMessage());
+  }
 }
@@ -2,6 +2,7 @@ package com.spiron.validation;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -86,4 +87,50 @@ class DuplicateDetectorTest {
     // Should have tracked all unique messages
     assertTrue(detector.getTrackedCount() <= numThreads * messagesPerThread);
   }
+
+  @Test
+  void testExactExpiryWithManualClock() {
+    AtomicLong now = new AtomicLong(5_000);
+    var d = new DuplicateDetector(1000, 1000, 1e-6, now::get);
+    assertFalse(d.isDuplicate("msg1"));
+
+    now.addAndGet(1000);
+    assertTrue(d.isDuplicate("msg1"), "Still inside the window at exactly expiry");
+
+    now.addAndGet(1);
+    assertFalse(d.isDuplicate("msg1"), "Expired one millisecond later");
+    assertTrue(d.isDuplicate("msg1"), "Re-recorded on the new sighting");
+  }
+
+  @Test
+  void testMemoryStaysFixedBeyondCapacity() {
+    AtomicLong now = new AtomicLong(5_000);
+    var d = new DuplicateDetector(60_000, 1000, 1e-6, now::get);
+    int slots = d.getSlotCount();
+
+    for (int i = 0; i < 50_000; i++) {
+      d.isDuplicate("flood-" + i);
+    }
+
+    assertEquals(slots, d.getSlotCount());
+    assertTrue(d.getTrackedCount() <= slots);
+    assertTrue(d.getEvictions() > 0, "Over capacity, the oldest ids are evicted");
+    // The most recent ids are still remembered
+    assertTrue(d.isDuplicate("flood-49999"));
+  }
+
+  @Test
+  void testFalsePositiveRateWithinCapacity() {
+    var d = new DuplicateDetector(60_000, 10_000, 1e-3);
+    for (int i = 0; i < 10_000; i++) {
+      d.isDuplicate("seen-" + i);
+    }
+    assertEquals(0, d.getEvictions(), "Nothing evicted within capacity");
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (d.isDuplicate("new-" + i)) falsePositives++;
+    }
+    // Expected ~10 at 1e-3; allow generous slack
+    assertTrue(falsePositives < 50, "Too many false positives: " + falsePositives);
+  }
 }
@@ -0,0 +1,45 @@
+package com.spiron.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RateLimitStateCodecTest {
+
+  @Test
+  void testStateRoundTripIsCompact() throws Exception {
+    var state = new RateLimitStateStore.RateLimitState(12.5, 1_700_000_000_000L);
+    byte[] encoded = RateLimitStateCodec.encodeState(state);
+    assertEquals(RateLimitStateCodec.STATE_BYTES, encoded.length);
+
+    var decoded = RateLimitStateCodec.decodeState(encoded);
+    assertEquals(12.5, decoded.tokens);
+    assertEquals(1_700_000_000_000L, decoded.lastRefillTime);
+  }
+
+  @Test
+  void testLegacyJavaSerializedStateStillReadable() throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeDouble(3.0);
+      oos.writeLong(42L);
+    }
+    var decoded = RateLimitStateCodec.decodeState(baos.toByteArray());
+    assertEquals(3.0, decoded.tokens);
+    assertEquals(42L, decoded.lastRefillTime);
+  }
+
+  @Test
+  void testUsageRoundTrip() {
+    var report = new RateLimitStateStore.UsageReport(
+      1234L,
+      Map.of("10.0.0.1:9000", 250.0, "10.0.0.2:9000", 0.5)
+    );
+    var decoded = RateLimitStateCodec.decodeUsage(RateLimitStateCodec.encodeUsage(report));
+    assertEquals(1234L, decoded.publishedAtMs());
+    assertEquals(report.demandPerSecond(), decoded.demandPerSecond());
+  }
+}
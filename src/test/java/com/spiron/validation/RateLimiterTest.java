@@ -2,6 +2,13 @@ package com.spiron.validation;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -93,4 +100,133 @@ class RateLimiterTest {
     assertTrue(afterFirstRequest < 20.0 && afterFirstRequest >= 18.0, 
       "After consuming 1 token from burst, should have ~19 tokens");
   }
+
+  @Test
+  void testConcurrentConsumersNeverExceedCapacity() throws InterruptedException {
+    AtomicLong now = new AtomicLong(1_000_000);
+    RateLimiter limiter = new RateLimiter(10, null, now::get); // frozen clock: no refill
+    AtomicInteger allowed = new AtomicInteger();
+    int threads = 16;
+    CountDownLatch done = new CountDownLatch(threads);
+    for (int t = 0; t < threads; t++) {
+      new Thread(() -> {
+        for (int i = 0; i < 100; i++) {
+          if (limiter.allowRequest("shared")) allowed.incrementAndGet();
+        }
+        done.countDown();
+      }).start();
+    }
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(20, allowed.get(), "Exactly the burst capacity must be granted");
+    limiter.shutdown();
+  }
+
+  @Test
+  void testPersistedStateRestoredAsynchronously() {
+    AtomicLong now = new AtomicLong(1_000_000);
+    var store = new MapStateStore();
+    store.save("drained", new RateLimitStateStore.RateLimitState(0.0, now.get()));
+    RateLimiter limiter = new RateLimiter(10, store, now::get);
+
+    // Startup preload lowers the known peer's bucket without a request-path lookup
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (limiter.getAvailableTokens("drained") > 0.5 && System.currentTimeMillis() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertFalse(limiter.allowRequest("drained"));
+
+    // 100ms later one token has refilled
+    now.addAndGet(100);
+    assertTrue(limiter.allowRequest("drained"));
+    limiter.shutdown();
+  }
+
+  @Test
+  void testIdleBucketsEvicted() {
+    AtomicLong now = new AtomicLong(1_000_000);
+    RateLimiter limiter = new RateLimiter(10, null, now::get);
+    limiter.allowRequest("idle");
+    limiter.allowRequest("busy");
+
+    now.addAndGet(RateLimiter.IDLE_EVICT_MS + 1);
+    limiter.allowRequest("busy");
+    limiter.maintain();
+
+    assertEquals(1, limiter.getTrackedPeerCount());
+    assertTrue(limiter.allowRequest("idle"), "Evicted peer starts with a full bucket");
+    limiter.shutdown();
+  }
+
+  @Test
+  void testShareFollowsDemand() {
+    // Same peer, three times the demand here as on the rest of the cluster
+    assertEquals(75, RateLimiter.shareOf(100, 300, 100, 2));
+    assertEquals(25, RateLimiter.shareOf(100, 100, 300, 2));
+    // Alone on a peer, a node gets the whole limit
+    assertEquals(100, RateLimiter.shareOf(100, 50, 0, 2));
+    // A node with no demand keeps a floor to notice new traffic
+    assertEquals(12, RateLimiter.shareOf(100, 0, 500, 2));
+  }
+
+  @Test
+  void testDistributedBucketResized() {
+    AtomicLong now = new AtomicLong(1_000_000);
+    var store = new MapStateStore();
+    store.publishUsage("other-node", new RateLimitStateStore.UsageReport(
+      now.get(), Map.of("peer", 300.0)));
+    RateLimiter limiter = new RateLimiter(100, store, true, now::get);
+
+    for (int i = 0; i < 100; i++) limiter.allowRequest("peer");
+    now.addAndGet(1000);
+    limiter.reconcile();
+
+    // Local demand 100/s vs 300/s elsewhere: a quarter of the limit, burst 2x
+    assertEquals(50.0, limiter.getAvailableTokens("peer"), 0.001);
+    assertEquals(2, store.usage.size());
+
+    limiter.shutdown();
+    assertEquals(1, store.usage.size(), "Own usage report is withdrawn on shutdown");
+  }
+
+  /** In-memory store for restore tests. */
+  private static final class MapStateStore implements RateLimitStateStore {
+
+    private final Map<String, RateLimitState> states = new ConcurrentHashMap<>();
+    private final Map<String, UsageReport> usage = new ConcurrentHashMap<>();
+
+    @Override
+    public void publishUsage(String instanceId, UsageReport report) {
+      usage.put(instanceId, report);
+    }
+
+    @Override
+    public Map<String, UsageReport> loadUsage() {
+      return Map.copyOf(usage);
+    }
+
+    @Override
+    public void deleteUsage(String instanceId) {
+      usage.remove(instanceId);
+    }
+
+    @Override
+    public void save(String peerId, RateLimitState state) {
+      states.put(peerId, state);
+    }
+
+    @Override
+    public Optional<RateLimitState> load(String peerId) {
+      return Optional.ofNullable(states.get(peerId));
+    }
+
+    @Override
+    public Map<String, RateLimitState> loadAll() {
+      return Map.copyOf(states);
+    }
+
+    @Override
+    public void delete(String peerId) {
+      states.remove(peerId);
+    }
+  }
 }